@@ -19,7 +19,10 @@ import static java.util.stream.Collectors.joining;
 
 import java.util.Arrays;
 import org.activiti.api.runtime.shared.NotFoundException;
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.audit.api.controllers.AuditEventsController;
 import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
@@ -30,6 +33,7 @@ import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelA
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventSpecificationsBuilder;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.repository.KeysetSpecification;
 import org.activiti.cloud.services.audit.jpa.repository.SearchOperation;
 import org.activiti.cloud.services.audit.jpa.security.SecurityPoliciesApplicationServiceImpl;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
@@ -39,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.hateoas.MediaTypes;
@@ -111,8 +116,53 @@ public class AuditEventsControllerImpl implements AuditEventsController {
         spec = securityPoliciesApplicationService.createSpecWithSecurity(spec,
                                                                          SecurityPolicyAccess.READ);
 
-        Page<AuditEventEntity> allAuditInPage = eventsRepository.findAll(spec,
-                                                                         pageable);
+        if (pageable instanceof KeysetPageRequest) {
+            return findAllAfterCursor(spec,
+                                      (KeysetPageRequest) pageable);
+        }
+
+        Page<AuditEventEntity> allAuditInPage = findPage(spec,
+                                                         pageable,
+                                                         AlfrescoPageRequest.isTotalCountRequired(pageable));
+        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = convertToAPI(allAuditInPage);
+
+        return pagedCollectionModelAssembler.toModel(pageable,
+                                                  new PageImpl<>(events,
+                                                                 pageable,
+                                                                 allAuditInPage.getTotalElements()),
+                                                  eventRepresentationModelAssembler);
+    }
+
+    private PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAllAfterCursor(Specification<AuditEventEntity> spec,
+                                                                                                     KeysetPageRequest pageable) {
+        // the keyset specification applies the ordering itself, so the seek page request is left unsorted
+        Page<AuditEventEntity> allAuditInPage = findPage(Specification.where(spec)
+                                                                      .and(new KeysetSpecification(pageable)),
+                                                         PageRequest.of(0,
+                                                                        pageable.getPageSize()),
+                                                         pageable.isCountTotal());
+
+        return pagedCollectionModelAssembler.toModel(pageable,
+                                                  new KeysetPage<>(convertToAPI(allAuditInPage),
+                                                                   pageable,
+                                                                   allAuditInPage.getTotalElements(),
+                                                                   pageable.nextCursor(allAuditInPage,
+                                                                                       KeysetSpecification.ID_PROPERTY)),
+                                                  eventRepresentationModelAssembler);
+    }
+
+    private Page<AuditEventEntity> findPage(Specification<AuditEventEntity> spec,
+                                            Pageable pageable,
+                                            boolean countTotal) {
+        if (countTotal) {
+            return eventsRepository.findAll(spec,
+                                            pageable);
+        }
+        return eventsRepository.findAllWithoutCount(spec,
+                                                    pageable);
+    }
+
+    private List<CloudRuntimeEvent<?, CloudRuntimeEventType>> convertToAPI(Page<AuditEventEntity> allAuditInPage) {
         List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
 
         for (AuditEventEntity aee : allAuditInPage.getContent()) {
@@ -123,12 +173,7 @@ public class AuditEventsControllerImpl implements AuditEventsController {
                 LOGGER.warn("Converter not found for Event Type: " + aee.getEventType());
             }
         }
-
-        return pagedCollectionModelAssembler.toModel(pageable,
-                                                  new PageImpl<>(events,
-                                                                 pageable,
-                                                                 allAuditInPage.getTotalElements()),
-                                                  eventRepresentationModelAssembler);
+        return events;
     }
 
     private Specification<AuditEventEntity> createSearchSpec(String search) {
@@ -23,16 +23,28 @@ import javax.persistence.DiscriminatorColumn;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "TYPE")
 @Entity(name = "AuditEvent")
+@Table(indexes = {
+        @Index(name = "audit_event_event_id_idx", columnList = "eventId"),
+        @Index(name = "audit_event_pi_idx", columnList = "processInstanceId"),
+        @Index(name = "audit_event_entity_id_idx", columnList = "entityId"),
+        @Index(name = "audit_event_type_idx", columnList = "eventType"),
+        @Index(name = "audit_event_timestamp_idx", columnList = "timestamp"),
+        @Index(name = "audit_event_policy_idx", columnList = "serviceName,processDefinitionKey")
+})
 public abstract class AuditEventEntity {
 
     @Id
     @GeneratedValue(generator = "audit_sequence")
+    @SequenceGenerator(name = "audit_sequence", sequenceName = "audit_sequence", allocationSize = 50)
     private Long id;
     private String eventId;
     private Long timestamp;
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.util.Assert;
+
+public class CustomizedEventsRepositoryImpl implements CustomizedEventsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<AuditEventEntity> findAllWithoutCount(Specification<AuditEventEntity> spec,
+                                                      Pageable pageable) {
+        Assert.notNull(pageable, "Pageable must not be null!");
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditEventEntity> query = builder.createQuery(AuditEventEntity.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root,
+                                                   query,
+                                                   builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(),
+                                              root,
+                                              builder));
+        }
+        query.select(root);
+
+        TypedQuery<AuditEventEntity> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(typedQuery.getResultList());
+        }
+
+        // fetch one extra row to know whether there is a next page without counting all the matches
+        List<AuditEventEntity> content = new ArrayList<>(typedQuery.setFirstResult((int) pageable.getOffset())
+                                                                   .setMaxResults(pageable.getPageSize() + 1)
+                                                                   .getResultList());
+        boolean hasMore = content.size() > pageable.getPageSize();
+        if (hasMore) {
+            content.remove(content.size() - 1);
+        }
+        return new PageImpl<>(content,
+                              pageable,
+                              pageable.getOffset() + content.size() + (hasMore ? 1 : 0));
+    }
+}
@@ -16,15 +16,41 @@
 package org.activiti.cloud.services.audit.jpa.repository;
 
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RepositoryRestResource(exported = false)
 public interface EventsRepository<T extends AuditEventEntity> extends PagingAndSortingRepository<T, Long>,
-                                                            JpaSpecificationExecutor<T> {
+                                                            JpaSpecificationExecutor<T>,
+                                                            CustomizedEventsRepository {
 
     Optional<T> findByEventId(String eventId);
+
+    @Query("select e.eventId from AuditEvent e where e.eventId in :eventIds")
+    Set<String> findEventIdsByEventIdIn(@Param("eventIds") Collection<String> eventIds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from AuditEvent e where e.timestamp < :timestamp")
+    int deleteByTimestampBefore(@Param("timestamp") Long timestamp);
+
+    @Query("select e.id from AuditEvent e where e.timestamp < :timestamp")
+    List<Long> findIdsByTimestampBefore(@Param("timestamp") Long timestamp,
+                                        Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from AuditEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.activiti.cloud.alfresco.argument.resolver.ContinuationToken;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Restricts the query to the events following the cursor of a {@link KeysetPageRequest} and orders them
+ * by the sort property with nulls last, then by id. The ordering is applied here rather than through
+ * the pageable because JPA criteria can't express the null precedence otherwise.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class KeysetSpecification implements Specification<AuditEventEntity> {
+
+    public static final String ID_PROPERTY = "id";
+
+    private final KeysetPageRequest pageRequest;
+
+    public KeysetSpecification(KeysetPageRequest pageRequest) {
+        this.pageRequest = pageRequest;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<AuditEventEntity> root,
+                                 CriteriaQuery<?> query,
+                                 CriteriaBuilder builder) {
+        boolean ascending = pageRequest.getDirection().isAscending();
+        String sortProperty = pageRequest.getSortProperty();
+        boolean sortedById = sortProperty == null || ID_PROPERTY.equals(sortProperty);
+
+        Path<Comparable> id = root.get(ID_PROPERTY);
+        List<Order> orders = new ArrayList<>();
+        if (!sortedById) {
+            Path<?> sortPath = root.get(sortProperty);
+            orders.add(builder.asc(builder.selectCase()
+                                           .when(builder.isNull(sortPath), 1)
+                                           .otherwise(0)));
+            orders.add(ascending ? builder.asc(sortPath) : builder.desc(sortPath));
+        }
+        orders.add(ascending ? builder.asc(id) : builder.desc(id));
+        query.orderBy(orders);
+
+        ContinuationToken cursor = pageRequest.getCursor();
+        if (cursor == null) {
+            return null;
+        }
+        Predicate afterId = after(builder, id, cursor.getId(), ascending);
+        if (sortedById) {
+            return afterId;
+        }
+
+        Path<Comparable> sortPath = root.get(sortProperty);
+        Comparable sortValue = convert(cursor.getSortValue(), sortPath);
+        if (sortValue == null) {
+            // nulls come last, so only the remaining null values are after the cursor
+            return builder.and(builder.isNull(sortPath),
+                               afterId);
+        }
+        return builder.or(after(builder, sortPath, sortValue, ascending),
+                          builder.and(builder.equal(sortPath, sortValue),
+                                      afterId),
+                          builder.isNull(sortPath));
+    }
+
+    private Predicate after(CriteriaBuilder builder,
+                            Path<Comparable> path,
+                            Object value,
+                            boolean ascending) {
+        Comparable comparable = convert(value, path);
+        return ascending ? builder.greaterThan((Expression) path, comparable) : builder.lessThan((Expression) path, comparable);
+    }
+
+    private Comparable convert(Object value,
+                               Path<?> path) {
+        return (Comparable) ContinuationToken.convert(value,
+                                                      ClassUtils.resolvePrimitiveIfNecessary(path.getJavaType()));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+/**
+ * A partition of the audit event table, with the exclusive upper bound of its timestamp range.
+ * The upper bound is {@code null} for the default partition.
+ */
+public class AuditEventPartition {
+
+    private final String name;
+    private final Long upperBound;
+
+    public AuditEventPartition(String name,
+                               Long upperBound) {
+        this.name = name;
+        this.upperBound = upperBound;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isExpired(long cutoff) {
+        return upperBound != null && upperBound <= cutoff;
+    }
+}
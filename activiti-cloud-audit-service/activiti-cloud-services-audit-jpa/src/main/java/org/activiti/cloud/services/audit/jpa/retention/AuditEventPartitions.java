@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.sql.DatabaseMetaData;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Manages the monthly range partitions of the audit event table on PostgreSQL.
+ * Any other database, or a table that was not partitioned, is reported as not partitioned.
+ */
+public class AuditEventPartitions {
+
+    static final String TABLE = "audit_event";
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('?(-?\\d+)'?\\)");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean partitioned;
+
+    public AuditEventPartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = isPostgreSQL() && jdbcTemplate.queryForObject(
+                    "select count(*) from pg_partitioned_table pt join pg_class c on c.oid = pt.partrelid where c.relname = ?",
+                    Integer.class,
+                    TABLE) > 0;
+        }
+        return partitioned;
+    }
+
+    public List<AuditEventPartition> findPartitions() {
+        return jdbcTemplate.query(
+                "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i"
+                        + " join pg_class c on c.oid = i.inhrelid"
+                        + " join pg_class p on p.oid = i.inhparent"
+                        + " where p.relname = ?",
+                (resultSet, rowNum) -> new AuditEventPartition(resultSet.getString(1),
+                                                               parseUpperBound(resultSet.getString(2))),
+                TABLE);
+    }
+
+    /**
+     * Creates the monthly partition covering the given month, unless its range starts before
+     * the end of an existing partition.
+     * <p>
+     * Rows of that month already stored in the default partition, which would make attaching the new
+     * partition fail, are moved to it by the same statement.
+     */
+    public boolean createPartition(YearMonth month) {
+        long from = toEpochMilli(month);
+        long to = toEpochMilli(month.plusMonths(1));
+        List<AuditEventPartition> existing = findPartitions();
+        boolean covered = existing.stream()
+                                  .anyMatch(partition -> partition.getUpperBound() != null
+                                          && partition.getUpperBound() > from);
+        if (covered) {
+            return false;
+        }
+        String name = quote(TABLE + "_p" + month.format(PARTITION_SUFFIX));
+        Optional<AuditEventPartition> defaultPartition = existing.stream()
+                                                                 .filter(partition -> partition.getUpperBound() == null)
+                                                                 .findFirst();
+        if (defaultPartition.isPresent()) {
+            String range = "\"timestamp\" >= " + from + " and \"timestamp\" < " + to;
+            String source = quote(defaultPartition.get().getName());
+            jdbcTemplate.execute("do $$ begin"
+                                         + " create table " + name + " (like " + TABLE + " including defaults);"
+                                         + " insert into " + name + " select * from " + source + " where " + range + ";"
+                                         + " delete from " + source + " where " + range + ";"
+                                         + " alter table " + TABLE + " attach partition " + name
+                                         + " for values from (" + from + ") to (" + to + ");"
+                                         + " end $$");
+        } else {
+            jdbcTemplate.execute("create table if not exists " + name
+                                         + " partition of " + TABLE + " for values from (" + from + ") to (" + to + ")");
+        }
+        return true;
+    }
+
+    public void drop(AuditEventPartition partition) {
+        jdbcTemplate.execute("drop table if exists " + quote(partition.getName()));
+    }
+
+    public void detach(AuditEventPartition partition) {
+        jdbcTemplate.execute("alter table " + TABLE + " detach partition " + quote(partition.getName()));
+    }
+
+    static Long parseUpperBound(String bound) {
+        if (bound == null) {
+            return null;
+        }
+        Matcher matcher = UPPER_BOUND.matcher(bound);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    static long toEpochMilli(YearMonth month) {
+        return month.atDay(1)
+                    .atStartOfDay(ZoneOffset.UTC)
+                    .toInstant()
+                    .toEpochMilli();
+    }
+
+    private boolean isPostgreSQL() {
+        String productName = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        return "PostgreSQL".equalsIgnoreCase(productName);
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Purges audit events older than {@link AuditRetentionProperties#getMaxAge()}.
+ * <p>
+ * When the audit table is partitioned by month, upcoming partitions are created ahead of time and
+ * expired partitions are dropped (or detached for archiving) as a whole. Otherwise expired events
+ * are deleted in chunks of {@link AuditRetentionProperties#getDeleteChunkSize()}, each in its own
+ * transaction, so that a large backlog does not hold locks and undo for the whole purge.
+ */
+public class AuditEventRetentionJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventRetentionJob.class);
+
+    // keeps the id list of a chunk within the Oracle limit of 1000 expressions
+    private static final int MAX_DELETE_CHUNK_SIZE = 1000;
+
+    private final EventsRepository<?> eventsRepository;
+    private final AuditEventPartitions partitions;
+    private final AuditRetentionProperties properties;
+    private final Clock clock;
+
+    public AuditEventRetentionJob(EventsRepository<?> eventsRepository,
+                                  AuditEventPartitions partitions,
+                                  AuditRetentionProperties properties,
+                                  Clock clock) {
+        this.eventsRepository = eventsRepository;
+        this.partitions = partitions;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${" + AuditRetentionProperties.PREFIX + ".cron:0 0 2 * * *}")
+    public void run() {
+        long cutoff = clock.millis() - properties.getMaxAge().toMillis();
+        if (partitions.isPartitioned()) {
+            createUpcomingPartitions();
+            purgePartitions(cutoff);
+        } else {
+            deleteExpiredEvents(cutoff);
+        }
+    }
+
+    private void deleteExpiredEvents(long cutoff) {
+        int chunkSize = Math.max(1, Math.min(properties.getDeleteChunkSize(), MAX_DELETE_CHUNK_SIZE));
+        long deleted = 0;
+        List<Long> ids = eventsRepository.findIdsByTimestampBefore(cutoff, PageRequest.of(0, chunkSize));
+        while (!ids.isEmpty()) {
+            deleted += eventsRepository.deleteByIdIn(ids);
+            ids = eventsRepository.findIdsByTimestampBefore(cutoff, PageRequest.of(0, chunkSize));
+        }
+        LOGGER.info("Deleted {} audit events older than {}", deleted, cutoff);
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int offset = 0; offset <= properties.getPartitionsAhead(); offset++) {
+            YearMonth month = current.plusMonths(offset);
+            if (partitions.createPartition(month)) {
+                LOGGER.info("Created audit event partition for {}", month);
+            }
+        }
+    }
+
+    private void purgePartitions(long cutoff) {
+        for (AuditEventPartition partition : partitions.findPartitions()) {
+            if (partition.isExpired(cutoff)) {
+                if (properties.isArchive()) {
+                    partitions.detach(partition);
+                    LOGGER.info("Detached expired audit event partition {} for archiving", partition.getName());
+                } else {
+                    partitions.drop(partition);
+                    LOGGER.info("Dropped expired audit event partition {}", partition.getName());
+                }
+            }
+        }
+    }
+}
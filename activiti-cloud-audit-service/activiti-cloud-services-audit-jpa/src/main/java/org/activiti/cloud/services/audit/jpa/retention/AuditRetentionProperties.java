@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(AuditRetentionProperties.PREFIX)
+public class AuditRetentionProperties {
+
+    public static final String PREFIX = "activiti.cloud.services.audit.retention";
+
+    /**
+     * Enable the scheduled purge of audit events older than the configured maximum age
+     */
+    private boolean enabled;
+
+    /**
+     * Audit events older than this are purged
+     */
+    private Duration maxAge = Duration.ofDays(365);
+
+    /**
+     * Cron expression of the retention job
+     */
+    private String cron = "0 0 2 * * *";
+
+    /**
+     * Number of upcoming monthly partitions kept created in advance when the audit table is partitioned
+     */
+    private int partitionsAhead = 2;
+
+    /**
+     * Detach expired partitions instead of dropping them, so that they can be archived externally
+     */
+    private boolean archive;
+
+    /**
+     * Number of expired audit events deleted per transaction when the audit table is not partitioned, at most 1000
+     */
+    private int deleteChunkSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    public void setPartitionsAhead(int partitionsAhead) {
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    public boolean isArchive() {
+        return archive;
+    }
+
+    public void setArchive(boolean archive) {
+        this.archive = archive;
+    }
+
+    public int getDeleteChunkSize() {
+        return deleteChunkSize;
+    }
+
+    public void setDeleteChunkSize(int deleteChunkSize) {
+        this.deleteChunkSize = deleteChunkSize;
+    }
+}
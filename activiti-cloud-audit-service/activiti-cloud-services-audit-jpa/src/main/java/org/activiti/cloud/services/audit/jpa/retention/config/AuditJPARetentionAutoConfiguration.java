@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention.config;
+
+import java.time.Clock;
+
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventPartitions;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventRetentionJob;
+import org.activiti.cloud.services.audit.jpa.retention.AuditRetentionProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AuditRetentionProperties.class)
+@ConditionalOnProperty(prefix = AuditRetentionProperties.PREFIX, name = "enabled", havingValue = "true")
+public class AuditJPARetentionAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventPartitions auditEventPartitions(JdbcTemplate jdbcTemplate) {
+        return new AuditEventPartitions(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventRetentionJob auditEventRetentionJob(EventsRepository<?> eventsRepository,
+                                                         AuditEventPartitions auditEventPartitions,
+                                                         AuditRetentionProperties auditRetentionProperties) {
+        return new AuditEventRetentionJob(eventsRepository,
+                                          auditEventPartitions,
+                                          auditRetentionProperties,
+                                          Clock.systemUTC());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.model.shared.impl.events.CloudRuntimeEventImpl;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
+import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
+import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannels;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Headers;
+
+/**
+ * Converts every event of a message up front and stores them with a single {@code saveAll},
+ * so that the inserts are flushed as JDBC batches within one transaction.
+ * <p>
+ * Events are identified by the id assigned by the runtime bundle, which is unchanged when the
+ * message is redelivered: an event is only inserted if no event with the same id is stored yet,
+ * or earlier in the same message. The broker does not redeliver a message while a delivery of it
+ * is still unacknowledged, so the lookup is not raced by another consumer of the same message.
+ */
+@SuppressWarnings("rawtypes")
+public class BatchingAuditConsumerChannelHandler implements AuditConsumerChannelHandler {
+
+    private static Logger LOGGER = LoggerFactory.getLogger(BatchingAuditConsumerChannelHandler.class);
+
+    private final EventsRepository eventsRepository;
+
+    private final APIEventToEntityConverters eventConverters;
+
+    public BatchingAuditConsumerChannelHandler(EventsRepository eventsRepository,
+                                               APIEventToEntityConverters eventConverters) {
+        this.eventsRepository = eventsRepository;
+        this.eventConverters = eventConverters;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    @StreamListener(AuditConsumerChannels.AUDIT_CONSUMER)
+    public void receiveCloudRuntimeEvent(@Headers Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
+        if (events == null || events.length == 0) {
+            return;
+        }
+        String messageId = headers.get(MessageHeaders.ID).toString();
+        List<AuditEventEntity> entities = new ArrayList<>(events.length);
+        int sequenceNumber = 0;
+        for (CloudRuntimeEvent event : events) {
+            EventToEntityConverter converter = eventConverters.getConverterByEventTypeName(event.getEventType().name());
+            if (converter != null) {
+                ((CloudRuntimeEventImpl) event).setMessageId(messageId);
+                ((CloudRuntimeEventImpl) event).setSequenceNumber(sequenceNumber++);
+                entities.add((AuditEventEntity) converter.convertToEntity(event));
+            } else {
+                LOGGER.warn(">>> Ignoring CloudRuntimeEvents type: " + event.getEventType().name());
+            }
+        }
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        Set<String> eventIds = entities.stream()
+                .map(AuditEventEntity::getEventId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> storedEventIds = eventIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(eventsRepository.findEventIdsByEventIdIn(eventIds));
+        int received = entities.size();
+        entities.removeIf(entity -> entity.getEventId() != null && !storedEventIds.add(entity.getEventId()));
+        if (entities.size() < received) {
+            LOGGER.debug("Skipping {} events of message {} that are already stored",
+                         received - entities.size(),
+                         messageId);
+        }
+        if (!entities.isEmpty()) {
+            eventsRepository.saveAll(entities);
+        }
+    }
+}
@@ -20,7 +20,11 @@ import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannels;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerChannelHandlerImpl;
+import org.activiti.cloud.services.audit.jpa.streams.BatchingAuditConsumerChannelHandler;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,10 +35,29 @@ public class AuditJPAStreamsAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.audit.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
     public AuditConsumerChannelHandler auditConsumerChannelHandler(EventsRepository eventsRepository,
                                                                    APIEventToEntityConverters eventConverters) {
         return new AuditConsumerChannelHandlerImpl(eventsRepository,
                                                    eventConverters);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.audit.consumer.batch.enabled", havingValue = "true")
+    public AuditConsumerChannelHandler batchingAuditConsumerChannelHandler(EventsRepository eventsRepository,
+                                                                           APIEventToEntityConverters eventConverters) {
+        return new BatchingAuditConsumerChannelHandler(eventsRepository,
+                                                       eventConverters);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "activiti.cloud.services.audit.consumer.batch.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer batchingAuditHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, "50");
+            hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+        };
+    }
+
 }
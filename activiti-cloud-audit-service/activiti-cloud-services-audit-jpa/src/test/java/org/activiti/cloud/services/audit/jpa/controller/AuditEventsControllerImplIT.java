@@ -19,6 +19,8 @@ import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
@@ -66,6 +68,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -189,6 +192,25 @@ public class AuditEventsControllerImplIT {
                 .node("list.pagination.totalItems").isEqualTo(12);
     }
 
+    @Test
+    public void getEventsAfterCursorShouldSkipTheCountWhenTotalCountIsSkipped() throws Exception {
+        given(eventsRepository.findAllWithoutCount(any(),
+                                                   any(PageRequest.class)))
+                .willReturn(new PageImpl<>(buildEventsData(1),
+                                           PageRequest.of(0,
+                                                          10),
+                                           1));
+
+        mockMvc.perform(get("/{version}/events?cursor=&maxItems=10&skipTotalCount=true",
+                            "v1")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(eventsRepository,
+               never()).findAll(any(),
+                                any(Pageable.class));
+    }
+
     @Test
     public void headEvents() throws Exception {
         PageRequest pageable = PageRequest.of(1,
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AuditEventRetentionJobTest {
+
+    private static final Instant NOW = Instant.parse("2020-06-15T10:00:00Z");
+
+    @Mock
+    private EventsRepository<?> eventsRepository;
+
+    @Mock
+    private AuditEventPartitions partitions;
+
+    private AuditRetentionProperties properties = new AuditRetentionProperties();
+
+    private AuditEventRetentionJob job;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        properties.setMaxAge(Duration.ofDays(30));
+        properties.setPartitionsAhead(1);
+        job = new AuditEventRetentionJob(eventsRepository,
+                                         partitions,
+                                         properties,
+                                         Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void runShouldDeleteExpiredEventsInChunksWhenTableIsNotPartitioned() {
+        //given
+        long cutoff = NOW.minus(Duration.ofDays(30)).toEpochMilli();
+        properties.setDeleteChunkSize(2);
+        given(partitions.isPartitioned()).willReturn(false);
+        given(eventsRepository.findIdsByTimestampBefore(cutoff, PageRequest.of(0, 2)))
+                .willReturn(asList(1L, 2L),
+                            asList(3L),
+                            emptyList());
+        given(eventsRepository.deleteByIdIn(any())).willAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        //when
+        job.run();
+
+        //then
+        verify(eventsRepository).deleteByIdIn(asList(1L, 2L));
+        verify(eventsRepository).deleteByIdIn(asList(3L));
+        verify(eventsRepository, never()).deleteByTimestampBefore(anyLong());
+        verify(partitions, never()).drop(any());
+    }
+
+    @Test
+    public void runShouldCapTheDeleteChunkSize() {
+        //given
+        long cutoff = NOW.minus(Duration.ofDays(30)).toEpochMilli();
+        properties.setDeleteChunkSize(5000);
+        given(partitions.isPartitioned()).willReturn(false);
+        given(eventsRepository.findIdsByTimestampBefore(anyLong(), any())).willReturn(emptyList());
+
+        //when
+        job.run();
+
+        //then
+        verify(eventsRepository).findIdsByTimestampBefore(cutoff, PageRequest.of(0, 1000));
+        verify(eventsRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    public void runShouldCreateUpcomingPartitionsAndDropExpiredOnes() {
+        //given
+        AuditEventPartition expired = new AuditEventPartition("audit_event_p202004",
+                                                              AuditEventPartitions.toEpochMilli(YearMonth.of(2020, 5)));
+        AuditEventPartition live = new AuditEventPartition("audit_event_p202005",
+                                                           AuditEventPartitions.toEpochMilli(YearMonth.of(2020, 6)));
+        AuditEventPartition defaultPartition = new AuditEventPartition("audit_event_default",
+                                                                       null);
+        given(partitions.isPartitioned()).willReturn(true);
+        given(partitions.findPartitions()).willReturn(asList(expired, live, defaultPartition));
+
+        //when
+        job.run();
+
+        //then
+        verify(partitions).createPartition(YearMonth.of(2020, 6));
+        verify(partitions).createPartition(YearMonth.of(2020, 7));
+        verify(partitions).drop(expired);
+        verify(partitions, never()).drop(live);
+        verify(partitions, never()).drop(defaultPartition);
+        verify(eventsRepository, never()).deleteByTimestampBefore(anyLong());
+    }
+
+    @Test
+    public void runShouldDetachExpiredPartitionsWhenArchiving() {
+        //given
+        properties.setArchive(true);
+        AuditEventPartition expired = new AuditEventPartition("audit_event_legacy",
+                                                              AuditEventPartitions.toEpochMilli(YearMonth.of(2020, 1)));
+        given(partitions.isPartitioned()).willReturn(true);
+        given(partitions.findPartitions()).willReturn(asList(expired));
+
+        //when
+        job.run();
+
+        //then
+        verify(partitions).detach(expired);
+        verify(partitions, never()).drop(any());
+    }
+
+    @Test
+    public void parseUpperBoundShouldReadThePartitionRange() {
+        assertThat(AuditEventPartitions.parseUpperBound("FOR VALUES FROM (MINVALUE) TO ('1593561600000')"))
+                .isEqualTo(1593561600000L);
+        assertThat(AuditEventPartitions.parseUpperBound("DEFAULT")).isNull();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import org.activiti.api.process.model.events.ProcessRuntimeEvent;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.model.shared.impl.events.CloudRuntimeEventImpl;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BatchingAuditConsumerChannelHandlerTest {
+
+    @InjectMocks
+    private BatchingAuditConsumerChannelHandler handler;
+
+    @Mock
+    private EventsRepository eventsRepository;
+
+    @Mock
+    private APIEventToEntityConverters converters;
+
+    @Mock
+    private EventToEntityConverter converter;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(converters.getConverterByEventTypeName(ProcessRuntimeEvent.ProcessEvents.PROCESS_CREATED.name())).thenReturn(converter);
+        when(eventsRepository.findEventIdsByEventIdIn(anyCollection())).thenReturn(Collections.emptySet());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void receiveEventShouldStoreAllEntitiesOfTheMessageAtOnce() {
+        //given
+        AuditEventEntity first = entityFor("1");
+        AuditEventEntity second = entityFor("2");
+        CloudRuntimeEvent[] events = {eventConvertedTo(first), eventConvertedTo(second)};
+
+        //when
+        handler.receiveCloudRuntimeEvent(headers(), events);
+
+        //then
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventsRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(first, second);
+        verify((CloudRuntimeEventImpl) events[0]).setSequenceNumber(0);
+        verify((CloudRuntimeEventImpl) events[1]).setSequenceNumber(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void receiveEventShouldSkipEventsAlreadyStoredWhenTheMessageIsRedelivered() {
+        //given
+        AuditEventEntity first = entityFor("1");
+        AuditEventEntity second = entityFor("2");
+        CloudRuntimeEvent[] events = {eventConvertedTo(first), eventConvertedTo(second)};
+        when(eventsRepository.findEventIdsByEventIdIn(new HashSet<>(Arrays.asList("1", "2"))))
+                .thenReturn(Collections.singleton("1"));
+
+        //when
+        handler.receiveCloudRuntimeEvent(headers(), events);
+
+        //then
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventsRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(second);
+    }
+
+    @Test
+    public void receiveEventShouldNotWriteWhenTheWholeMessageWasAlreadyStored() {
+        //given
+        CloudRuntimeEvent[] events = {eventConvertedTo(entityFor("1"))};
+        when(eventsRepository.findEventIdsByEventIdIn(Collections.singleton("1")))
+                .thenReturn(Collections.singleton("1"));
+
+        //when
+        handler.receiveCloudRuntimeEvent(headers(), events);
+
+        //then
+        verify(eventsRepository, never()).saveAll(any());
+        verify(eventsRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void receiveEventShouldStoreAnEventRepeatedWithinTheMessageOnce() {
+        //given
+        AuditEventEntity first = entityFor("1");
+        AuditEventEntity repeated = entityFor("1");
+        CloudRuntimeEvent[] events = {eventConvertedTo(first), eventConvertedTo(repeated)};
+
+        //when
+        handler.receiveCloudRuntimeEvent(headers(), events);
+
+        //then
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventsRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(first);
+    }
+
+    private Map<String, Object> headers() {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("id", UUID.randomUUID());
+        return headers;
+    }
+
+    private AuditEventEntity entityFor(String eventId) {
+        AuditEventEntity entity = mock(AuditEventEntity.class);
+        when(entity.getEventId()).thenReturn(eventId);
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CloudRuntimeEvent eventConvertedTo(AuditEventEntity entity) {
+        String eventId = entity.getEventId();
+        CloudRuntimeEvent event = mock(CloudRuntimeEventImpl.class);
+        when(event.getId()).thenReturn(eventId);
+        when(event.getEventType()).thenReturn(ProcessRuntimeEvent.ProcessEvents.PROCESS_CREATED);
+        when(converter.convertToEntity(event)).thenReturn(entity);
+        return event;
+    }
+}
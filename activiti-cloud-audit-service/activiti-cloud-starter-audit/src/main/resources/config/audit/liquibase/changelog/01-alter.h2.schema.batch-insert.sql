@@ -0,0 +1 @@
+alter sequence audit_sequence increment by 50;
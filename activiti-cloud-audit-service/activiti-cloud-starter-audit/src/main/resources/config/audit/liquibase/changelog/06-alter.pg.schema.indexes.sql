@@ -0,0 +1,6 @@
+create index audit_event_event_id_idx on audit_event (event_id);
+create index audit_event_pi_idx on audit_event (process_instance_id);
+create index audit_event_entity_id_idx on audit_event (entity_id);
+create index audit_event_type_idx on audit_event (event_type);
+create index audit_event_timestamp_idx on audit_event (timestamp);
+create index audit_event_policy_idx on audit_event (service_name, process_definition_key);
@@ -0,0 +1,41 @@
+DO $$
+DECLARE
+    boundary bigint;
+    legacy_index text;
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM pg_partitioned_table pt
+               JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'audit_event') THEN
+        RETURN;
+    END IF;
+
+    UPDATE audit_event SET "timestamp" = 0 WHERE "timestamp" IS NULL;
+    ALTER TABLE audit_event ALTER COLUMN "timestamp" SET NOT NULL;
+
+    -- existing rows, and the ones received until the end of the current month, stay in the legacy partition
+    SELECT (extract(epoch FROM date_trunc('month', greatest(now() AT TIME ZONE 'utc',
+                                                            coalesce(to_timestamp(max("timestamp") / 1000.0) AT TIME ZONE 'utc',
+                                                                     now() AT TIME ZONE 'utc')))
+                               + interval '1 month') * 1000)::bigint
+    INTO boundary
+    FROM audit_event;
+
+    ALTER TABLE audit_event RENAME TO audit_event_legacy;
+    FOR legacy_index IN SELECT indexname FROM pg_indexes WHERE tablename = 'audit_event_legacy' LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', legacy_index, 'legacy_' || legacy_index);
+    END LOOP;
+
+    CREATE TABLE audit_event (LIKE audit_event_legacy INCLUDING DEFAULTS) PARTITION BY RANGE ("timestamp");
+    ALTER TABLE audit_event ADD PRIMARY KEY (id, "timestamp");
+    CREATE INDEX audit_event_event_id_idx ON audit_event (event_id);
+    CREATE INDEX audit_event_pi_idx ON audit_event (process_instance_id);
+    CREATE INDEX audit_event_entity_id_idx ON audit_event (entity_id);
+    CREATE INDEX audit_event_type_idx ON audit_event (event_type);
+    CREATE INDEX audit_event_timestamp_idx ON audit_event ("timestamp");
+    CREATE INDEX audit_event_policy_idx ON audit_event (service_name, process_definition_key);
+
+    EXECUTE format('ALTER TABLE audit_event_legacy ADD CONSTRAINT audit_event_legacy_range CHECK ("timestamp" < %s)', boundary);
+    EXECUTE format('ALTER TABLE audit_event ATTACH PARTITION audit_event_legacy FOR VALUES FROM (MINVALUE) TO (%s)', boundary);
+    CREATE TABLE audit_event_default PARTITION OF audit_event DEFAULT;
+END $$;
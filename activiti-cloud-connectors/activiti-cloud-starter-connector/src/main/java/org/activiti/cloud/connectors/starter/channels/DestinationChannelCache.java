@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.channels;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.stream.binding.BinderAwareChannelResolver;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * Bounded cache of the message channels resolved by the {@link BinderAwareChannelResolver}.
+ * <p>
+ * The set of result and error destinations of a connector is small and stable, so each of them
+ * only goes through the dynamic destination lookup once. Entries are evicted explicitly, either
+ * when a send to the channel fails or when the bindings of a destination change.
+ */
+public class DestinationChannelCache {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final BinderAwareChannelResolver resolver;
+    private final int maxSize;
+    private final ConcurrentMap<String, MessageChannel> channels = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public DestinationChannelCache(BinderAwareChannelResolver resolver,
+                                   int maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.resolver = resolver;
+        this.maxSize = Math.max(1, maxSize);
+
+        Gauge.builder("connector.destination.channel.cache.size", channels, ConcurrentMap::size)
+             .register(meterRegistry);
+        this.hits = Counter.builder("connector.destination.channel.cache.hits")
+                           .register(meterRegistry);
+        this.misses = Counter.builder("connector.destination.channel.cache.misses")
+                             .register(meterRegistry);
+        this.evictions = Counter.builder("connector.destination.channel.cache.evictions")
+                                .register(meterRegistry);
+    }
+
+    public MessageChannel resolveDestination(String destination) {
+        MessageChannel channel = channels.get(destination);
+        if (channel != null) {
+            hits.increment();
+            return channel;
+        }
+
+        misses.increment();
+        channel = resolver.resolveDestination(destination);
+        if (channel == null) {
+            return null;
+        }
+        if (channels.size() >= maxSize) {
+            evictAny();
+        }
+        MessageChannel existing = channels.putIfAbsent(destination, channel);
+        return existing != null ? existing : channel;
+    }
+
+    public void evict(String destination) {
+        if (channels.remove(destination) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void evictAll() {
+        evictions.increment(channels.size());
+        channels.clear();
+    }
+
+    public int size() {
+        return channels.size();
+    }
+
+    // destinations are not expected to churn, so any entry is as good a victim as another
+    private void evictAny() {
+        Iterator<String> destinations = channels.keySet().iterator();
+        if (destinations.hasNext()) {
+            evict(destinations.next());
+        }
+    }
+}
@@ -15,19 +15,28 @@
  */
 package org.activiti.cloud.connectors.starter.channels;
 
+import io.micrometer.core.instrument.Metrics;
 import org.activiti.cloud.api.process.model.IntegrationRequest;
 import org.springframework.cloud.stream.binding.BinderAwareChannelResolver;
 import org.springframework.messaging.MessageChannel;
 
 public class IntegrationErrorChannelResolverImpl implements IntegrationErrorChannelResolver {
 
-    private final BinderAwareChannelResolver resolver;
+    private final DestinationChannelCache destinationChannelCache;
 
     private final IntegrationErrorDestinationBuilder integrationErrorDestinationBuilder;
 
     public IntegrationErrorChannelResolverImpl(BinderAwareChannelResolver resolver,
                                                IntegrationErrorDestinationBuilder integrationErrorDestinationBuilder) {
-        this.resolver = resolver;
+        this(new DestinationChannelCache(resolver,
+                                         DestinationChannelCache.DEFAULT_MAX_SIZE,
+                                         Metrics.globalRegistry),
+             integrationErrorDestinationBuilder);
+    }
+
+    public IntegrationErrorChannelResolverImpl(DestinationChannelCache destinationChannelCache,
+                                               IntegrationErrorDestinationBuilder integrationErrorDestinationBuilder) {
+        this.destinationChannelCache = destinationChannelCache;
         this.integrationErrorDestinationBuilder = integrationErrorDestinationBuilder;
     }
 
@@ -35,10 +44,12 @@ public class IntegrationErrorChannelResolverImpl implements IntegrationErrorChan
     public MessageChannel resolveDestination(IntegrationRequest event) {
         String destination = integrationErrorDestinationBuilder.buildDestination(event);
 
-        return resolver.resolveDestination(destination);
+        return destinationChannelCache.resolveDestination(destination);
     }
 
-
-
+    @Override
+    public void evictDestination(IntegrationRequest event) {
+        destinationChannelCache.evict(integrationErrorDestinationBuilder.buildDestination(event));
+    }
 
 }
@@ -22,4 +22,11 @@ public interface IntegrationResultChannelResolver {
 
     MessageChannel resolveDestination(IntegrationRequest event);
 
+    /**
+     * Drops the channel cached for the destination of the event, if any,
+     * so that the next resolution goes through the binder again.
+     */
+    default void evictDestination(IntegrationRequest event) {
+    }
+
 }
\ No newline at end of file
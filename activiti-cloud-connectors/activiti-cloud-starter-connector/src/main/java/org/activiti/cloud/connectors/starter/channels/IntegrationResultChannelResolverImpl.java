@@ -15,19 +15,28 @@
  */
 package org.activiti.cloud.connectors.starter.channels;
 
+import io.micrometer.core.instrument.Metrics;
 import org.activiti.cloud.api.process.model.IntegrationRequest;
 import org.springframework.cloud.stream.binding.BinderAwareChannelResolver;
 import org.springframework.messaging.MessageChannel;
 
 public class IntegrationResultChannelResolverImpl implements IntegrationResultChannelResolver {
 
-    private final BinderAwareChannelResolver resolver;
+    private final DestinationChannelCache destinationChannelCache;
 
     private final IntegrationResultDestinationBuilder integrationResultDestinationBuilder;
 
     public IntegrationResultChannelResolverImpl(BinderAwareChannelResolver resolver,
                                                 IntegrationResultDestinationBuilder integrationResultDestinationBuilder) {
-        this.resolver = resolver;
+        this(new DestinationChannelCache(resolver,
+                                         DestinationChannelCache.DEFAULT_MAX_SIZE,
+                                         Metrics.globalRegistry),
+             integrationResultDestinationBuilder);
+    }
+
+    public IntegrationResultChannelResolverImpl(DestinationChannelCache destinationChannelCache,
+                                                IntegrationResultDestinationBuilder integrationResultDestinationBuilder) {
+        this.destinationChannelCache = destinationChannelCache;
         this.integrationResultDestinationBuilder = integrationResultDestinationBuilder;
     }
 
@@ -35,10 +44,12 @@ public class IntegrationResultChannelResolverImpl implements IntegrationResultCh
     public MessageChannel resolveDestination(IntegrationRequest event) {
         String destination = integrationResultDestinationBuilder.buildDestination(event);
 
-        return resolver.resolveDestination(destination);
+        return destinationChannelCache.resolveDestination(destination);
     }
 
-
-
+    @Override
+    public void evictDestination(IntegrationRequest event) {
+        destinationChannelCache.evict(integrationResultDestinationBuilder.buildDestination(event));
+    }
 
 }
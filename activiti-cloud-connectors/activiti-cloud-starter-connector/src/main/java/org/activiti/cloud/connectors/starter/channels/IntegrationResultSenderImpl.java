@@ -34,6 +34,15 @@ public class IntegrationResultSenderImpl implements IntegrationResultSender {
 
         MessageChannel destination = resolver.resolveDestination(request);
 
-        destination.send(message);
+        boolean sent;
+        try {
+            sent = destination.send(message);
+        } catch (RuntimeException cause) {
+            resolver.evictDestination(request);
+            throw cause;
+        }
+        if (!sent) {
+            resolver.evictDestination(request);
+        }
     }
 }
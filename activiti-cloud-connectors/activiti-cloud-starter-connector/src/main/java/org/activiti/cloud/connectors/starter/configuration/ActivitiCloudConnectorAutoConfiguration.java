@@ -15,6 +15,9 @@
  */
 package org.activiti.cloud.connectors.starter.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.activiti.cloud.connectors.starter.channels.DestinationChannelCache;
 import org.activiti.cloud.connectors.starter.channels.IntegrationRequestErrorChannelListener;
 import org.activiti.cloud.connectors.starter.channels.IntegrationErrorChannelResolver;
 import org.activiti.cloud.connectors.starter.channels.IntegrationErrorChannelResolverImpl;
@@ -31,6 +34,7 @@ import org.activiti.cloud.connectors.starter.channels.IntegrationResultDestinati
 import org.activiti.cloud.connectors.starter.channels.IntegrationResultSender;
 import org.activiti.cloud.connectors.starter.channels.IntegrationResultSenderImpl;
 import org.activiti.cloud.connectors.starter.channels.ProcessRuntimeChannels;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.annotation.EnableBinding;
@@ -77,9 +81,19 @@ public class ActivitiCloudConnectorAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public IntegrationResultChannelResolver integrationResultChannelResolver(BinderAwareChannelResolver resolver,
+    public DestinationChannelCache destinationChannelCache(BinderAwareChannelResolver resolver,
+                                                           ConnectorProperties connectorProperties,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DestinationChannelCache(resolver,
+                                           connectorProperties.getDestinationCacheMaxSize(),
+                                           meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IntegrationResultChannelResolver integrationResultChannelResolver(DestinationChannelCache destinationChannelCache,
                                                                              IntegrationResultDestinationBuilder integrationResultDestinationBuilder) {
-        return new IntegrationResultChannelResolverImpl(resolver, integrationResultDestinationBuilder);
+        return new IntegrationResultChannelResolverImpl(destinationChannelCache, integrationResultDestinationBuilder);
     }
 
     @Bean
@@ -96,9 +110,9 @@ public class ActivitiCloudConnectorAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public IntegrationErrorChannelResolver integrationErrorChannelResolver(BinderAwareChannelResolver resolver,
+    public IntegrationErrorChannelResolver integrationErrorChannelResolver(DestinationChannelCache destinationChannelCache,
                                                                            IntegrationErrorDestinationBuilder integrationErrorDestinationBuilder) {
-        return new IntegrationErrorChannelResolverImpl(resolver, integrationErrorDestinationBuilder);
+        return new IntegrationErrorChannelResolverImpl(destinationChannelCache, integrationErrorDestinationBuilder);
     }
 
 
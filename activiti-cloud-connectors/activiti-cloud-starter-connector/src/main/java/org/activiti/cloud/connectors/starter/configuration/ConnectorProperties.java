@@ -36,6 +36,8 @@ public class ConnectorProperties {
 
     private String errorDestinationOverride;
 
+    private int destinationCacheMaxSize = 256;
+
     public String getServiceName() {
         return serviceName;
     }
@@ -80,6 +82,14 @@ public class ConnectorProperties {
         this.errorDestinationOverride = errorDestinationOverride;
     }
 
+    public int getDestinationCacheMaxSize() {
+        return destinationCacheMaxSize;
+    }
+
+    public void setDestinationCacheMaxSize(int destinationCacheMaxSize) {
+        this.destinationCacheMaxSize = destinationCacheMaxSize;
+    }
+
     public void setServiceName(String serviceName) {
         this.serviceName = serviceName;
     }
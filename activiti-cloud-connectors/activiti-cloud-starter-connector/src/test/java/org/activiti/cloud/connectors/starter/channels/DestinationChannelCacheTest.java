@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.channels;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.cloud.stream.binding.BinderAwareChannelResolver;
+import org.springframework.messaging.MessageChannel;
+
+public class DestinationChannelCacheTest {
+
+    private DestinationChannelCache cache;
+
+    @Mock
+    private BinderAwareChannelResolver resolver;
+
+    @Mock
+    private MessageChannel messageChannel;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        given(resolver.resolveDestination(anyString())).willReturn(messageChannel);
+
+        cache = new DestinationChannelCache(resolver, 2, meterRegistry);
+    }
+
+    @Test
+    public void shouldResolveDestinationOnlyOnce() {
+        //when
+        MessageChannel first = cache.resolveDestination("integrationResult_rb");
+        MessageChannel second = cache.resolveDestination("integrationResult_rb");
+
+        //then
+        assertThat(first).isSameAs(messageChannel);
+        assertThat(second).isSameAs(messageChannel);
+        verify(resolver).resolveDestination("integrationResult_rb");
+        assertThat(meterRegistry.get("connector.destination.channel.cache.hits").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("connector.destination.channel.cache.misses").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldResolveDestinationAgainAfterEviction() {
+        //given
+        cache.resolveDestination("integrationResult_rb");
+
+        //when
+        cache.evict("integrationResult_rb");
+        cache.resolveDestination("integrationResult_rb");
+
+        //then
+        verify(resolver, times(2)).resolveDestination("integrationResult_rb");
+        assertThat(meterRegistry.get("connector.destination.channel.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxSize() {
+        //when
+        cache.resolveDestination("integrationResult_rb");
+        cache.resolveDestination("integrationResult_rb2");
+        cache.resolveDestination("integrationResult_rb3");
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
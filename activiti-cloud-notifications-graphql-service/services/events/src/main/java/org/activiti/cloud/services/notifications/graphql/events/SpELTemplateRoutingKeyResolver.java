@@ -16,34 +16,62 @@
 package org.activiti.cloud.services.notifications.graphql.events;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
+/**
+ * Resolves routing keys from the {@link SpELTemplateRoutingKey} template of the object class.
+ * Templates are parsed once per class and their expressions compiled after warm-up;
+ * the routing key of an {@link EngineEvent} is computed once and kept on the event.
+ */
 public class SpELTemplateRoutingKeyResolver implements RoutingKeyResolver {
 
-	private ExpressionParser parser = new SpelExpressionParser();
+	private ExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED,
+																						   SpELTemplateRoutingKeyResolver.class.getClassLoader()));
 
 	private ParserContext parserContext = new TemplateParserContext();
 
+	private final Map<Class<?>, Expression> expressions = new ConcurrentHashMap<>();
 
 	@Override
 	public String resolveRoutingKey(Object object) {
+		if (object instanceof EngineEvent) {
+			EngineEvent engineEvent = (EngineEvent) object;
+			String routingKey = engineEvent.getRoutingKey();
+			if (routingKey == null) {
+				routingKey = evaluate(object);
+				engineEvent.setRoutingKey(routingKey);
+			}
+			return routingKey;
+		}
+		return evaluate(object);
+	}
+
+	private String evaluate(Object object) {
+		return expressions.computeIfAbsent(object.getClass(), this::parseTemplate)
+						  .getValue(object)
+						  .toString();
+	}
 
-		Annotation annotation = AnnotationUtils.findAnnotation(object.getClass(), SpELTemplateRoutingKey.class);
+	private Expression parseTemplate(Class<?> type) {
+		Annotation annotation = AnnotationUtils.findAnnotation(type, SpELTemplateRoutingKey.class);
 
 		if(annotation == null)
-			throw new RuntimeException("Cannot resolve routing key for class: "+object.getClass());
+			throw new RuntimeException("Cannot resolve routing key for class: "+type);
 
 		String value = AnnotationUtils.getValue(annotation).toString();
 
-		Expression expression = parser.parseExpression(value, parserContext);
-
-		return expression.getValue(object).toString();
-    }
+		return parser.parseExpression(value, parserContext);
+	}
 
 }
@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.services.notifications.graphql.events.consumer;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -26,7 +27,6 @@ import org.springframework.cloud.stream.annotation.Input;
 import org.springframework.cloud.stream.annotation.StreamListener;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 
 public class EngineEventsConsumerMessageHandler {
@@ -45,23 +45,18 @@ public class EngineEventsConsumerMessageHandler {
 
     @StreamListener(EngineEventsConsumerChannels.SOURCE)
     public void receive(Message<List<Map<String, Object>>> input) {
+        String routingKey = (String) input.getHeaders().get("routingKey");
 
-        // Let's process and transform message from input stream
-        Flux.just(input)
-                .flatMapSequential(message -> {
-                    List<Map<String, Object>> events = message.getPayload();
-                    String routingKey = (String) message.getHeaders().get("routingKey");
+        logger.info("Recieved source message with routingKey: {}", routingKey);
 
-                    logger.info("Recieved source message with routingKey: {}", routingKey);
+        // Events are transformed once per message and shared read-only by all subscribers of the hot processor
+        try {
+            List<EngineEvent> engineEvents = Collections.unmodifiableList(transformer.transform(input.getPayload()));
 
-                    return Flux.fromIterable(transformer.transform(events))
-                                   .collectList()
-                                   .map(list -> MessageBuilder.<List<EngineEvent>>createMessage(list,
-                                                                                                message.getHeaders()));
-                })
-                .doOnNext(processorSink::next)
-                .doOnError(error -> logger.error("Error handling message ", error))
-                .retry()
-                .subscribe();
+            processorSink.next(MessageBuilder.createMessage(engineEvents,
+                                                            input.getHeaders()));
+        } catch (Exception error) {
+            logger.error("Error handling message ", error);
+        }
     }
 }
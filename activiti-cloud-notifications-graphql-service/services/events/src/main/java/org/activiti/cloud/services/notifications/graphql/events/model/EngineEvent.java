@@ -28,6 +28,8 @@ public class EngineEvent extends LinkedHashMap<String, Object>{
      */
     private static final long serialVersionUID = 1L;
 
+    private transient volatile String routingKey;
+
     public EngineEvent() {
         super();
     }
@@ -40,4 +42,15 @@ public class EngineEvent extends LinkedHashMap<String, Object>{
         return get("eventType").toString();
     }
 
+    /**
+     * @return the routing key resolved for this event, or {@code null} when not resolved yet
+     */
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public void setRoutingKey(String routingKey) {
+        this.routingKey = routingKey;
+    }
+
 }
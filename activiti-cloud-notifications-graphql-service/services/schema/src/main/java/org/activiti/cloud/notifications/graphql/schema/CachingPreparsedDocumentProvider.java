@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.notifications.graphql.schema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded LRU cache of parsed and validated GraphQL documents keyed by the normalized query text,
+ * so that clients repeatedly sending the same documents only pay the parse and validation cost once.
+ * <p>
+ * Publishes {@code graphql.document.cache.requests} (tagged with {@code result=hit|miss}),
+ * {@code graphql.document.cache.size} and {@code graphql.document.cache.hit.ratio}, tagged with the cache name.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private final Map<String, PreparsedDocumentEntry> documents;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingPreparsedDocumentProvider(String name,
+                                            int maximumSize,
+                                            MeterRegistry meterRegistry) {
+        this.documents = new LinkedHashMap<String, PreparsedDocumentEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        this.hits = Counter.builder("graphql.document.cache.requests")
+                           .tag("cache", name)
+                           .tag("result", "hit")
+                           .register(meterRegistry);
+        this.misses = Counter.builder("graphql.document.cache.requests")
+                             .tag("cache", name)
+                             .tag("result", "miss")
+                             .register(meterRegistry);
+        Gauge.builder("graphql.document.cache.size", this, provider -> provider.size())
+             .tag("cache", name)
+             .register(meterRegistry);
+        Gauge.builder("graphql.document.cache.hit.ratio", this, provider -> provider.hitRatio())
+             .tag("cache", name)
+             .register(meterRegistry);
+    }
+
+    /**
+     * Creates the provider configured by the given properties, which does not cache anything when disabled.
+     */
+    public static PreparsedDocumentProvider of(String name,
+                                               PreparsedDocumentCacheProperties properties,
+                                               MeterRegistry meterRegistry) {
+        if (!properties.isEnabled() || properties.getMaximumSize() <= 0) {
+            return NoOpPreparsedDocumentProvider.INSTANCE;
+        }
+        return new CachingPreparsedDocumentProvider(name,
+                                                    properties.getMaximumSize(),
+                                                    meterRegistry);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String key = normalize(executionInput.getQuery());
+
+        PreparsedDocumentEntry entry;
+        synchronized (documents) {
+            entry = documents.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        // parse outside of the lock: concurrent misses on the same document only parse it twice
+        entry = parseAndValidateFunction.apply(executionInput);
+        synchronized (documents) {
+            documents.put(key, entry);
+        }
+        return entry;
+    }
+
+    public int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    public double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    /**
+     * Drops comments and collapses whitespace outside of string literals, so that documents only
+     * differing by their formatting or comments share the same cache entry.
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(query.length());
+        boolean inString = false;
+        boolean pendingSpace = false;
+        for (int index = 0; index < query.length(); index++) {
+            char current = query.charAt(index);
+            if (inString) {
+                normalized.append(current);
+                if (current == '\\' && index + 1 < query.length()) {
+                    normalized.append(query.charAt(++index));
+                } else if (current == '"') {
+                    inString = false;
+                }
+            } else if (current == '#') {
+                // a comment runs up to the end of the line and is ignored like whitespace
+                while (index + 1 < query.length() && query.charAt(index + 1) != '\n' && query.charAt(index + 1) != '\r') {
+                    index++;
+                }
+                pendingSpace = normalized.length() > 0;
+            } else if (Character.isWhitespace(current) || current == ',') {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(current);
+                inString = current == '"';
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.notifications.graphql.schema;
+
+/**
+ * Settings of a {@link CachingPreparsedDocumentProvider}, bound by each GraphQL endpoint under its own prefix.
+ */
+public class PreparsedDocumentCacheProperties {
+
+    /* Enable or disable the cache of parsed and validated GraphQL documents. Default is true */
+    private boolean enabled = true;
+
+    /* Maximum number of distinct documents kept per schema. Default is 500 */
+    private int maximumSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.notifications.graphql.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.Scalars;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CachingPreparsedDocumentProviderTest {
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider("test", 2, meterRegistry);
+
+    private AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    public void shouldParseDocumentsDifferingOnlyByFormattingOnce() {
+        provider.getDocument(input("{ hello }"), this::parse);
+        provider.getDocument(input("{\n  hello\n}"), this::parse);
+        provider.getDocument(input("  {hello}  "), this::parse);
+
+        assertThat(parsed.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("graphql.document.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("graphql.document.cache.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("graphql.document.cache.hit.ratio").gauge().value()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedDocuments() {
+        provider.getDocument(input("{ a }"), this::parse);
+        provider.getDocument(input("{ b }"), this::parse);
+        provider.getDocument(input("{ a }"), this::parse);
+        provider.getDocument(input("{ c }"), this::parse);
+        provider.getDocument(input("{ a }"), this::parse);
+        provider.getDocument(input("{ b }"), this::parse);
+
+        assertThat(parsed.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("graphql.document.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void normalizeShouldKeepStringLiterals() {
+        assertThat(CachingPreparsedDocumentProvider.normalize("{ hello(name: \"a  b\",  other: \"c\\\"  d\") }"))
+            .isEqualTo("{ hello(name: \"a  b\" other: \"c\\\"  d\") }");
+    }
+
+    @Test
+    public void normalizeShouldDropComments() {
+        assertThat(CachingPreparsedDocumentProvider.normalize("# tasks\n{\n  hello # greeting }\n  world(name: \"#a\")\r\n}"))
+            .isEqualTo("{ hello world(name: \"#a\") }");
+    }
+
+    @Test
+    public void shouldNotShareDocumentsWhoseFieldsAreCommentedOut() {
+        PreparsedDocumentEntry both = provider.getDocument(input("{ hello # note\n world }"), this::parse);
+        PreparsedDocumentEntry commented = provider.getDocument(input("{ hello # note world\n }"), this::parse);
+        PreparsedDocumentEntry reformatted = provider.getDocument(input("{\n  hello\n  world # note\n}"), this::parse);
+
+        assertThat(parsed.get()).isEqualTo(2);
+        assertThat(commented).isNotSameAs(both);
+        assertThat(reformatted).isSameAs(both);
+    }
+
+    @Test
+    public void shouldExecuteQueriesWithCachedDocuments() {
+        GraphQLSchema schema = GraphQLSchema.newSchema()
+                                            .query(GraphQLObjectType.newObject()
+                                                                    .name("query")
+                                                                    .field(GraphQLFieldDefinition.newFieldDefinition()
+                                                                                                 .name("hello")
+                                                                                                 .type(Scalars.GraphQLString)
+                                                                                                 .dataFetcher(environment -> "world")))
+                                            .build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema)
+                                 .preparsedDocumentProvider(provider)
+                                 .build();
+
+        graphQL.execute("{\n  hello\n}");
+        Object data = graphQL.execute("{ hello }").getData();
+
+        assertThat(data.toString()).isEqualTo("{hello=world}");
+        assertThat(provider.size()).isEqualTo(1);
+    }
+
+    private ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput()
+                             .query(query)
+                             .build();
+    }
+
+    private PreparsedDocumentEntry parse(ExecutionInput executionInput) {
+        parsed.incrementAndGet();
+        return new PreparsedDocumentEntry(new Parser().parseDocument(executionInput.getQuery()));
+    }
+}
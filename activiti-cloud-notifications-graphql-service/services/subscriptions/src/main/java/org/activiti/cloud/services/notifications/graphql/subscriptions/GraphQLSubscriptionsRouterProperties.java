@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+
+@ConfigurationProperties(prefix = GraphQLSubscriptionsRouterProperties.PREFIX)
+public class GraphQLSubscriptionsRouterProperties {
+
+    public static final String PREFIX = "spring.activiti.cloud.services.notifications.graphql.subscriptions.router";
+
+    /**
+     * Route engine events through the shared destination router. Defaults to true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of routed event batches buffered for a slow subscriber. Defaults to 256
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * What to do when a subscriber buffer is full: DROP_OLDEST keeps the latest batches, DROP_LATEST keeps
+     * the oldest ones and ERROR terminates the subscription. Defaults to DROP_OLDEST
+     */
+    private BufferOverflowStrategy subscriberOverflowStrategy = BufferOverflowStrategy.DROP_OLDEST;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSubscriberBufferSize() {
+        return subscriberBufferSize;
+    }
+
+    public void setSubscriberBufferSize(int subscriberBufferSize) {
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    public BufferOverflowStrategy getSubscriberOverflowStrategy() {
+        return subscriberOverflowStrategy;
+    }
+
+    public void setSubscriberOverflowStrategy(BufferOverflowStrategy subscriberOverflowStrategy) {
+        this.subscriberOverflowStrategy = subscriberOverflowStrategy;
+    }
+}
@@ -21,15 +21,19 @@ import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolv
 import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaBuilder;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaProperties;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionsRouterProperties;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDestinationRouter;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDestinationsPredicateFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsFluxPublisherFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPredicateFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherDataFetcher;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherFactory;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsRouterPublisherFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
@@ -46,6 +50,7 @@ import reactor.core.publisher.Flux;
 public class GraphQLSubscriptionsAutoConfiguration {
 
     @Configuration
+    @EnableConfigurationProperties(GraphQLSubscriptionsRouterProperties.class)
     static class DefaultGraphQLSubscriptionsSchemaConfiguration {
 
         @Autowired
@@ -59,11 +64,30 @@ public class GraphQLSubscriptionsAutoConfiguration {
         
         @Bean
         @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "spring.activiti.cloud.services.notifications.graphql.subscriptions.router.enabled", havingValue = "false")
         public EngineEventsPublisherFactory engineEventPublisherFactory(EngineEventsPredicateFactory engineEventsPredicateFactory,
                                                                         Flux<Message<List<EngineEvent>>> engineEventsFlux) {
             return new EngineEventsFluxPublisherFactory(engineEventsFlux, engineEventsPredicateFactory);
         }
 
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "spring.activiti.cloud.services.notifications.graphql.subscriptions.router.enabled", havingValue = "true", matchIfMissing = true)
+        public EngineEventsDestinationRouter engineEventsDestinationRouter(Flux<Message<List<EngineEvent>>> engineEventsFlux,
+                                                                           RoutingKeyResolver routingKeyResolver) {
+            return new EngineEventsDestinationRouter(engineEventsFlux, routingKeyResolver);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "spring.activiti.cloud.services.notifications.graphql.subscriptions.router.enabled", havingValue = "true", matchIfMissing = true)
+        public EngineEventsPublisherFactory engineEventRouterPublisherFactory(EngineEventsDestinationRouter engineEventsDestinationRouter,
+                                                                              GraphQLSubscriptionsRouterProperties routerProperties) {
+            return new EngineEventsRouterPublisherFactory(engineEventsDestinationRouter,
+                                                          routerProperties.getSubscriberBufferSize(),
+                                                          routerProperties.getSubscriberOverflowStrategy());
+        }
+
         @Bean
         @ConditionalOnMissingBean
         public EngineEventsPublisherDataFetcher engineEventPublisherDataFetcher(EngineEventsPublisherFactory engineEventPublisherFactory) {
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Index of Ant-style destination patterns keyed on their dot separated segments, where {@code *}
+ * matches exactly one segment and {@code **} any number of segments. Matching a routing key walks
+ * the trie once, whatever the number of registered patterns.
+ * <p>
+ * Patterns using partial wildcards inside a segment (such as {@code abc*}) cannot be indexed and are
+ * matched one by one with an {@link AntPathMatcher}.
+ */
+public class DestinationPatternTrie<T> {
+
+    private static final String SEPARATOR = ".";
+    private static final String WILDCARD = "*";
+    private static final String ANY = "**";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node<T> root = new Node<>();
+    private final Map<String, Set<T>> unindexedPatterns = new HashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher(SEPARATOR);
+
+    public void add(String pattern,
+                    T value) {
+        lock.writeLock().lock();
+        try {
+            if (isIndexable(pattern)) {
+                Node<T> node = root;
+                for (String segment : split(pattern)) {
+                    node = node.children.computeIfAbsent(segment,
+                                                         key -> new Node<>());
+                }
+                node.values.add(value);
+            } else {
+                unindexedPatterns.computeIfAbsent(pattern,
+                                                  key -> new LinkedHashSet<>())
+                                 .add(value);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String pattern,
+                       T value) {
+        lock.writeLock().lock();
+        try {
+            if (isIndexable(pattern)) {
+                remove(root,
+                       split(pattern),
+                       0,
+                       value);
+            } else {
+                Set<T> values = unindexedPatterns.get(pattern);
+                if (values != null && values.remove(value) && values.isEmpty()) {
+                    unindexedPatterns.remove(pattern);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the values registered with at least one pattern matching the routing key, each one once
+     */
+    public Set<T> match(String routingKey) {
+        Set<T> result = new LinkedHashSet<>();
+        String[] segments = split(routingKey);
+        lock.readLock().lock();
+        try {
+            collect(root,
+                    segments,
+                    0,
+                    result);
+            unindexedPatterns.forEach((pattern, values) -> {
+                if (pathMatcher.match(pattern, routingKey)) {
+                    result.addAll(values);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        lock.readLock().lock();
+        try {
+            return root.isEmpty() && unindexedPatterns.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Node<T> node,
+                         String[] segments,
+                         int index,
+                         Set<T> result) {
+        Node<T> any = node.children.get(ANY);
+        if (any != null) {
+            for (int next = index; next <= segments.length; next++) {
+                collect(any,
+                        segments,
+                        next,
+                        result);
+            }
+        }
+        if (index == segments.length) {
+            result.addAll(node.values);
+            return;
+        }
+        Node<T> literal = node.children.get(segments[index]);
+        if (literal != null) {
+            collect(literal,
+                    segments,
+                    index + 1,
+                    result);
+        }
+        Node<T> wildcard = node.children.get(WILDCARD);
+        if (wildcard != null && wildcard != literal) {
+            collect(wildcard,
+                    segments,
+                    index + 1,
+                    result);
+        }
+    }
+
+    private boolean remove(Node<T> node,
+                           String[] segments,
+                           int index,
+                           T value) {
+        if (index == segments.length) {
+            node.values.remove(value);
+        } else {
+            Node<T> child = node.children.get(segments[index]);
+            if (child != null && remove(child,
+                                        segments,
+                                        index + 1,
+                                        value)) {
+                node.children.remove(segments[index]);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    private static boolean isIndexable(String pattern) {
+        for (String segment : split(pattern)) {
+            if (!WILDCARD.equals(segment) && !ANY.equals(segment) && containsWildcards(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsWildcards(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static String[] split(String value) {
+        return value.split(Pattern.quote(SEPARATOR), -1);
+    }
+
+    private static class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final Set<T> values = new LinkedHashSet<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+}
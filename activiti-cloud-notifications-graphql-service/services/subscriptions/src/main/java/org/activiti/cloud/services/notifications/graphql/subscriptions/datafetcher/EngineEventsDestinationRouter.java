@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolver;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Single consumer of the engine events flux that fans events out to the subscriptions
+ * registered in a shared {@link DestinationPatternTrie}: the routing key of each event is resolved
+ * and matched once per message, and every subscription only receives the events it is interested in.
+ * Events that cannot be routed or delivered are logged and skipped, keeping the shared subscription alive.
+ */
+public class EngineEventsDestinationRouter {
+
+    private static Logger logger = LoggerFactory.getLogger(EngineEventsDestinationRouter.class);
+
+    private final RoutingKeyResolver routingKeyResolver;
+    private final DestinationPatternTrie<Registration> subscriptions = new DestinationPatternTrie<>();
+    private final Disposable engineEventsSubscription;
+
+    public EngineEventsDestinationRouter(Flux<Message<List<EngineEvent>>> engineEventsFlux,
+                                         RoutingKeyResolver routingKeyResolver) {
+        this.routingKeyResolver = routingKeyResolver;
+        this.engineEventsSubscription = engineEventsFlux.subscribe(this::route,
+                                                                   error -> logger.error("Engine events flux terminated with error", error));
+    }
+
+    public Disposable register(List<String> destinations,
+                               FluxSink<List<EngineEvent>> sink) {
+        Registration registration = new Registration(destinations,
+                                                     sink);
+        destinations.forEach(destination -> subscriptions.add(destination,
+                                                              registration));
+        return registration;
+    }
+
+    public void shutdown() {
+        engineEventsSubscription.dispose();
+    }
+
+    protected void route(Message<List<EngineEvent>> message) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Map<Registration, List<EngineEvent>> batches = new IdentityHashMap<>();
+        for (EngineEvent engineEvent : message.getPayload()) {
+            // an error escaping to the shared subscription would cancel it for every subscriber
+            try {
+                String routingKey = routingKeyResolver.resolveRoutingKey(engineEvent);
+
+                logger.debug("Resolved routing key {} for {}", routingKey, engineEvent);
+
+                for (Registration registration : subscriptions.match(routingKey)) {
+                    batches.computeIfAbsent(registration,
+                                            key -> new ArrayList<>())
+                           .add(engineEvent);
+                }
+            } catch (Exception e) {
+                logger.error("Unable to route engine event {}", engineEvent, e);
+            }
+        }
+        batches.forEach(this::deliver);
+    }
+
+    private void deliver(Registration registration,
+                         List<EngineEvent> events) {
+        try {
+            registration.sink.next(Collections.unmodifiableList(events));
+        } catch (Exception e) {
+            logger.error("Unable to deliver engine events to subscription {}", registration.destinations, e);
+        }
+    }
+
+    private class Registration implements Disposable {
+
+        private final List<String> destinations;
+        private final FluxSink<List<EngineEvent>> sink;
+        private volatile boolean disposed;
+
+        private Registration(List<String> destinations,
+                             FluxSink<List<EngineEvent>> sink) {
+            this.destinations = destinations;
+            this.sink = sink;
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                destinations.forEach(destination -> subscriptions.remove(destination,
+                                                                         this));
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import java.util.List;
+
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import graphql.schema.DataFetchingEnvironment;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Publishes the engine events routed by the shared {@link EngineEventsDestinationRouter} to the
+ * destinations resolved from the subscription arguments.
+ * <p>
+ * Each subscriber gets its own bounded buffer, so that a slow client only loses its own batches
+ * according to the configured {@link BufferOverflowStrategy} instead of holding back the router.
+ */
+public class EngineEventsRouterPublisherFactory implements EngineEventsPublisherFactory {
+
+    private static Logger logger = LoggerFactory.getLogger(EngineEventsRouterPublisherFactory.class);
+
+    private final EngineEventsDestinationRouter router;
+
+    private final int bufferSize;
+    private final BufferOverflowStrategy overflowStrategy;
+
+    private DataFetcherDestinationResolver destinationResolver = new AntPathDestinationResolver();
+
+    public EngineEventsRouterPublisherFactory(EngineEventsDestinationRouter router) {
+        this(router,
+             Integer.MAX_VALUE,
+             BufferOverflowStrategy.ERROR);
+    }
+
+    public EngineEventsRouterPublisherFactory(EngineEventsDestinationRouter router,
+                                              int bufferSize,
+                                              BufferOverflowStrategy overflowStrategy) {
+        this.router = router;
+        this.bufferSize = bufferSize;
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    @Override
+    public Flux<List<EngineEvent>> getPublisher(DataFetchingEnvironment environment) {
+        List<String> destinations = destinationResolver.resolveDestinations(environment);
+
+        logger.info("Resolved destinations {} for environment: {}", destinations, environment);
+
+        Flux<List<EngineEvent>> publisher = Flux.create(sink -> sink.onDispose(router.register(destinations,
+                                                                                                sink)),
+                                                        FluxSink.OverflowStrategy.IGNORE);
+        if (bufferSize == Integer.MAX_VALUE) {
+            return publisher.onBackpressureBuffer();
+        }
+        return publisher.onBackpressureBuffer(bufferSize,
+                                              dropped -> logger.warn("Dropped {} engine events for slow subscriber on destinations {}",
+                                                                     dropped.size(),
+                                                                     destinations),
+                                              overflowStrategy);
+    }
+
+    public EngineEventsRouterPublisherFactory destinationResolver(DataFetcherDestinationResolver destinationResolver) {
+        this.destinationResolver = destinationResolver;
+
+        return this;
+    }
+}
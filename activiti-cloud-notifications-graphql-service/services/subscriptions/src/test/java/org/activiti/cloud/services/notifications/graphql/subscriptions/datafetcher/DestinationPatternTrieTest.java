@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+public class DestinationPatternTrieTest {
+
+    private static final String ROUTING_KEY = "engineEvents.my-rb.app.PROCESS_STARTED.Simple.12._";
+
+    private DestinationPatternTrie<String> trie = new DestinationPatternTrie<>();
+
+    @Test
+    public void matchShouldReturnValuesOfMatchingPatternsOnlyOnce() {
+        trie.add("engineEvents.**", "all");
+        trie.add("engineEvents.*.*.PROCESS_STARTED.*.*.*", "started");
+        trie.add("engineEvents.*.*.PROCESS_COMPLETED.*.*.*", "completed");
+        trie.add("engineEvents.*.*.*.*.12.*", "instance");
+        trie.add("engineEvents.*.*.*.*.13.*", "other");
+        trie.add("engineEvents.my-rb.**", "instance");
+
+        assertThat(trie.match(ROUTING_KEY)).containsExactlyInAnyOrder("all", "started", "instance");
+    }
+
+    @Test
+    public void matchShouldAgreeWithAntPathMatcher() {
+        AntPathMatcher pathMatcher = new AntPathMatcher(".");
+        String[] patterns = {
+            "engineEvents.**",
+            "engineEvents.**.12.*",
+            "engineEvents.**.Simple.**",
+            "engineEvents.*.app.**",
+            "engineEvents.*.*.PROCESS_*.*.*.*",
+            "engineEvents.*.*.*",
+            "**"
+        };
+
+        for (String pattern : patterns) {
+            DestinationPatternTrie<String> single = new DestinationPatternTrie<>();
+            single.add(pattern, pattern);
+
+            assertThat(single.match(ROUTING_KEY).contains(pattern))
+                .as(pattern)
+                .isEqualTo(pathMatcher.match(pattern, ROUTING_KEY));
+        }
+    }
+
+    @Test
+    public void removeShouldUnregisterValue() {
+        trie.add("engineEvents.**", "all");
+        trie.add("engineEvents.*.*.PROCESS_*.*.*.*", "process");
+
+        trie.remove("engineEvents.**", "all");
+        trie.remove("engineEvents.*.*.PROCESS_*.*.*.*", "process");
+
+        assertThat(trie.match(ROUTING_KEY)).isEmpty();
+        assertThat(trie.isEmpty()).isTrue();
+    }
+}
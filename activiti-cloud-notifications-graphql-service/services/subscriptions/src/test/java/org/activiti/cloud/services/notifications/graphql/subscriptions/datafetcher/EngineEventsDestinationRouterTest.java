@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+
+public class EngineEventsDestinationRouterTest {
+
+    private DirectProcessor<Message<List<EngineEvent>>> engineEvents;
+
+    private EngineEventsDestinationRouter router;
+
+    @BeforeEach
+    public void setUp() {
+        engineEvents = DirectProcessor.create();
+        router = new EngineEventsDestinationRouter(engineEvents,
+                                                   event -> {
+                                                       Object processInstanceId = ((EngineEvent) event).get("processInstanceId");
+                                                       if (processInstanceId == null) {
+                                                           throw new IllegalArgumentException("Missing process instance id");
+                                                       }
+                                                       return "rb.app." + processInstanceId;
+                                                   });
+    }
+
+    @Test
+    public void shouldKeepRoutingEventsAfterAnEventFailsToRoute() {
+        //given
+        List<List<EngineEvent>> received = new ArrayList<>();
+        Flux.<List<EngineEvent>>create(sink -> router.register(Collections.singletonList("rb.app.*"),
+                                                               sink))
+            .subscribe(received::add);
+
+        //when
+        engineEvents.onNext(MessageBuilder.withPayload(Collections.singletonList(new EngineEvent())).build());
+        engineEvents.onNext(MessageBuilder.withPayload(Collections.singletonList(engineEvent("p1"))).build());
+
+        //then
+        assertThat(engineEvents.hasDownstreams()).isTrue();
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0)).extracting(event -> event.get("processInstanceId"))
+                                   .containsExactly("p1");
+    }
+
+    @Test
+    public void shouldRouteTheOtherEventsOfAMessageWithAnEventFailingToRoute() {
+        //given
+        List<List<EngineEvent>> received = new ArrayList<>();
+        Flux.<List<EngineEvent>>create(sink -> router.register(Collections.singletonList("rb.app.*"),
+                                                               sink))
+            .subscribe(received::add);
+
+        //when
+        List<EngineEvent> events = new ArrayList<>();
+        events.add(new EngineEvent());
+        events.add(engineEvent("p1"));
+        engineEvents.onNext(MessageBuilder.withPayload(events).build());
+
+        //then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0)).extracting(event -> event.get("processInstanceId"))
+                                   .containsExactly("p1");
+    }
+
+    private EngineEvent engineEvent(String processInstanceId) {
+        EngineEvent event = new EngineEvent();
+        event.put("processInstanceId", processInstanceId);
+        return event;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import graphql.schema.DataFetchingEnvironment;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.DirectProcessor;
+
+public class EngineEventsRouterPublisherFactoryTest {
+
+    private DirectProcessor<Message<List<EngineEvent>>> engineEvents;
+
+    private EngineEventsDestinationRouter router;
+
+    @BeforeEach
+    public void setUp() {
+        engineEvents = DirectProcessor.create();
+        router = new EngineEventsDestinationRouter(engineEvents,
+                                                   event -> "rb.app." + ((EngineEvent) event).get("processInstanceId"));
+    }
+
+    @Test
+    public void shouldKeepLatestBatchesForSlowSubscriber() {
+        //given
+        EngineEventsRouterPublisherFactory subject = new EngineEventsRouterPublisherFactory(router,
+                                                                                            2,
+                                                                                            BufferOverflowStrategy.DROP_OLDEST)
+                .destinationResolver(environment -> Collections.singletonList("rb.app.*"));
+        SlowSubscriber subscriber = new SlowSubscriber();
+        subject.getPublisher(mock(DataFetchingEnvironment.class)).subscribe(subscriber);
+
+        //when
+        publish("p1");
+        publish("p2");
+        publish("p3");
+        subscriber.request(Long.MAX_VALUE);
+
+        //then
+        assertThat(subscriber.received).extracting(events -> events.get(0).get("processInstanceId"))
+                                       .containsExactly("p2", "p3");
+    }
+
+    @Test
+    public void shouldOnlyReceiveMatchingReadOnlyBatches() {
+        //given
+        EngineEventsRouterPublisherFactory subject = new EngineEventsRouterPublisherFactory(router,
+                                                                                            16,
+                                                                                            BufferOverflowStrategy.DROP_OLDEST)
+                .destinationResolver(environment -> Collections.singletonList("rb.app.p1"));
+        SlowSubscriber subscriber = new SlowSubscriber();
+        subject.getPublisher(mock(DataFetchingEnvironment.class)).subscribe(subscriber);
+
+        //when
+        publish("p1");
+        publish("p2");
+        subscriber.request(Long.MAX_VALUE);
+
+        //then
+        assertThat(subscriber.received).hasSize(1);
+        assertThat(subscriber.received.get(0)).extracting(event -> event.get("processInstanceId"))
+                                              .containsExactly("p1");
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> subscriber.received.get(0).add(new EngineEvent()));
+    }
+
+    private void publish(String processInstanceId) {
+        EngineEvent event = new EngineEvent();
+        event.put("processInstanceId", processInstanceId);
+        engineEvents.onNext(MessageBuilder.withPayload(Collections.singletonList(event)).build());
+    }
+
+    private static class SlowSubscriber extends BaseSubscriber<List<EngineEvent>> {
+
+        private final List<List<EngineEvent>> received = new ArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // no initial demand: routed batches pile up in the subscriber buffer
+        }
+
+        @Override
+        protected void hookOnNext(List<EngineEvent> events) {
+            received.add(events);
+        }
+    }
+}
@@ -17,10 +17,13 @@ package org.activiti.cloud.services.graphql.autoconfigure;
 
 import java.util.Map;
 
+import org.activiti.cloud.notifications.graphql.schema.CachingPreparsedDocumentProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,9 +33,10 @@ import com.fasterxml.jackson.annotation.JsonInclude.Value;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
-import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
 import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 /**
  * Spring Boot auto configuration of Activiti GraphQL Query Service components
@@ -40,6 +44,7 @@ import graphql.schema.GraphQLSchema;
 @Configuration
 @ConditionalOnClass({GraphQL.class})
 @ConditionalOnProperty(name = "spring.activiti.cloud.services.query.graphql.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(QueryDocumentCacheProperties.class)
 public class ActivitiGraphQLAutoConfiguration {
 
     /**
@@ -60,8 +65,13 @@ public class ActivitiGraphQLAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean(GraphQLExecutor.class)
-        public GraphQLExecutor graphQLExecutor(GraphQLSchema querySchema) {
-            return new GraphQLJpaExecutor(querySchema);
+        public GraphQLExecutor graphQLExecutor(GraphQLSchema querySchema,
+                                               QueryDocumentCacheProperties documentCacheProperties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+            return new ActivitiGraphQLExecutor(querySchema,
+                                               CachingPreparsedDocumentProvider.of("query",
+                                                                                   documentCacheProperties,
+                                                                                   meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
         }
     }
 }
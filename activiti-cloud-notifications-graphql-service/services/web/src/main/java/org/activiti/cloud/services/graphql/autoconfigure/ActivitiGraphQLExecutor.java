@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.graphql.autoconfigure;
+
+import java.util.Map;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+
+/**
+ * GraphQL query executor reusing parsed and validated documents from a {@link PreparsedDocumentProvider}
+ */
+public class ActivitiGraphQLExecutor implements GraphQLExecutor {
+
+    private final GraphQL graphQL;
+
+    public ActivitiGraphQLExecutor(GraphQLSchema graphQLSchema,
+                                   PreparsedDocumentProvider preparsedDocumentProvider) {
+        this.graphQL = GraphQL.newGraphQL(graphQLSchema)
+                              .preparsedDocumentProvider(preparsedDocumentProvider)
+                              .build();
+    }
+
+    @Override
+    public ExecutionResult execute(String query) {
+        return graphQL.execute(query);
+    }
+
+    @Override
+    public ExecutionResult execute(String query,
+                                   Map<String, Object> arguments) {
+        if (arguments == null) {
+            return graphQL.execute(query);
+        }
+        return graphQL.execute(ExecutionInput.newExecutionInput()
+                                             .query(query)
+                                             .variables(arguments)
+                                             .build());
+    }
+}
@@ -17,13 +17,18 @@ package org.activiti.cloud.services.notifications.graphql.ws.config;
 
 import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.activiti.cloud.notifications.graphql.schema.CachingPreparsedDocumentProvider;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLBrokerMessageHandler;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLBrokerSubProtocolHandler;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSubscriptionExecutor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.MessageChannel;
@@ -45,6 +50,7 @@ import org.springframework.web.socket.server.support.HttpSessionHandshakeInterce
 @ConditionalOnWebApplication
 @ConditionalOnClass({GraphQL.class, EnableWebSocketMessageBroker.class})
 @ConditionalOnProperty(name = "spring.activiti.cloud.services.query.graphql.ws.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SubscriptionDocumentCacheProperties.class)
 public class GraphQLWebSocketMessageBrokerAutoConfiguration {
 
     @Configuration
@@ -90,7 +96,8 @@ public class GraphQLWebSocketMessageBrokerAutoConfiguration {
 
             messageHandler.setTaskScheduler(messageBrokerTaskScheduler)
                 .setBufferCount(configurationProperties.getBufferCount())
-                .setBufferTimeSpanMs(configurationProperties.getBufferTimeSpanMs());
+                .setBufferTimeSpanMs(configurationProperties.getBufferTimeSpanMs())
+                .setMultiResultFrames(configurationProperties.isMultiResultFrames());
 
             return messageHandler;
         }
@@ -115,8 +122,13 @@ public class GraphQLWebSocketMessageBrokerAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public GraphQLSubscriptionExecutor graphQLSubscriptionExecutor(GraphQLSchema graphQLSchema) {
-            return new GraphQLSubscriptionExecutor(graphQLSchema);
+        public GraphQLSubscriptionExecutor graphQLSubscriptionExecutor(GraphQLSchema graphQLSchema,
+                                                                       SubscriptionDocumentCacheProperties documentCacheProperties,
+                                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+            return new GraphQLSubscriptionExecutor(graphQLSchema,
+                                                   CachingPreparsedDocumentProvider.of("subscriptions",
+                                                                                       documentCacheProperties,
+                                                                                       meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
         }
 
         @Bean
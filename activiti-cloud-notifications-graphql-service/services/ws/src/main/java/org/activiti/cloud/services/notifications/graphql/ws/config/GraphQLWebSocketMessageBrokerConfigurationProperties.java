@@ -72,6 +72,9 @@ public class GraphQLWebSocketMessageBrokerConfigurationProperties {
     @NotNull
     private Integer bufferTimeSpanMs;
 
+    /* Buffer the results of a subscription for up to bufferTimeSpanMs and merge them into a single data frame. Default is false */
+    private boolean multiResultFrames;
+
     @Configuration
     @PropertySource("classpath:META-INF/graphql-ws.properties")
     @PropertySource(value = "classpath:graphql-ws.properties", ignoreResourceNotFound = true)
@@ -155,6 +158,14 @@ public class GraphQLWebSocketMessageBrokerConfigurationProperties {
         this.bufferTimeSpanMs = bufferTimeSpanMs;
     }
 
+    public boolean isMultiResultFrames() {
+        return multiResultFrames;
+    }
+
+    public void setMultiResultFrames(boolean multiResultFrames) {
+        this.multiResultFrames = multiResultFrames;
+    }
+
     public String getSystemLogin() {
         return systemLogin;
     }
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.config;
+
+import org.activiti.cloud.notifications.graphql.schema.PreparsedDocumentCacheProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(SubscriptionDocumentCacheProperties.PREFIX)
+public class SubscriptionDocumentCacheProperties extends PreparsedDocumentCacheProperties {
+
+    public static final String PREFIX = "spring.activiti.cloud.services.notifications.graphql.document-cache";
+
+}
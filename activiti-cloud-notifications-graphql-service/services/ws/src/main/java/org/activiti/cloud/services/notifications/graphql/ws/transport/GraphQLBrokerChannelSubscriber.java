@@ -15,7 +15,12 @@
  */
 package org.activiti.cloud.services.notifications.graphql.ws.transport;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -36,6 +41,13 @@ import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.UnicastProcessor;
 
+/**
+ * Relays subscription results to the client websocket session. By default each result is sent as soon as it
+ * is published, while up to {@code bufferCount} results are requested ahead from the publisher. With multi
+ * result frames enabled, results are buffered in windows of up to {@code bufferCount} results or
+ * {@code bufferTimeSpanMs} milliseconds and the results of a window are merged into a single data frame by
+ * concatenating their list fields, which trades up to {@code bufferTimeSpanMs} of latency for fewer frames.
+ */
 public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResult>{
 
     private static Logger log = LoggerFactory.getLogger(GraphQLBrokerChannelSubscriber.class);
@@ -52,17 +64,37 @@ public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResul
     
     private final Disposable control;
 
+    private final int bufferCount;
+
+    private final boolean multiResultFrames;
+
 	public GraphQLBrokerChannelSubscriber(Message<?> message,  String operationMessageId,
 			MessageChannel outboundChannel,
 			long bufferTimeSpanMs, int bufferCount)
+	{
+	    this(message, operationMessageId, outboundChannel, bufferTimeSpanMs, bufferCount, false);
+	}
+
+	public GraphQLBrokerChannelSubscriber(Message<?> message,  String operationMessageId,
+			MessageChannel outboundChannel,
+			long bufferTimeSpanMs, int bufferCount,
+			boolean multiResultFrames)
 	{
 		this.outboundChannel = outboundChannel;
 		this.operationMessageId = operationMessageId;
 		this.message = message;
+		this.bufferCount = Math.max(1, bufferCount);
+		this.multiResultFrames = multiResultFrames;
+
+        Flux<Object> results = Flux.from(processor)
+                                   .map(ExecutionResult::getData);
 
-        this.control = Flux.from(processor)
-                           .map(ExecutionResult::getData)
-                           .subscribe(this::sendDataToClient);
+        if (multiResultFrames && this.bufferCount > 1 && bufferTimeSpanMs > 0) {
+            this.control = results.bufferTimeout(this.bufferCount, Duration.ofMillis(bufferTimeSpanMs))
+                                  .subscribe(this::sendResultsToClient);
+        } else {
+            this.control = results.subscribe(data -> sendResultsToClient(Collections.singletonList(data)));
+        }
 	}
 
 	public void cancel() {
@@ -84,15 +116,13 @@ public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResul
         log.info("New subscription: {}", s);
         subscriptionRef.set(s);
         
-        requestNext(1);
+        requestNext(bufferCount);
     }
 
     @Override
     public void onNext(ExecutionResult executionResult) {
         log.debug("Process {} executionResult {} ", subscriptionRef.get(), executionResult);
     	processor.onNext(executionResult);
-
-        requestNext(1);
     }
 
     @Override
@@ -113,6 +143,9 @@ public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResul
     public void onComplete() {
         log.info("Subscription complete: {}", subscriptionRef.get());
 
+        // flush the results still buffered before completing
+        processor.onComplete();
+
         cancel();
 
         GraphQLMessage operationMessage = new GraphQLMessage(operationMessageId, GraphQLMessageType.COMPLETE);
@@ -129,6 +162,19 @@ public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResul
         }
     }
 
+    protected void sendResultsToClient(List<Object> results) {
+        Object merged = multiResultFrames && results.size() > 1 ? merge(results) : null;
+
+        if (merged != null) {
+            sendDataToClient(merged);
+        } else {
+            results.forEach(this::sendDataToClient);
+        }
+
+        // replenish the demand consumed by this window
+        requestNext(results.size());
+    }
+
     protected void sendDataToClient(Object data) {
 	    Map<String, Object> payload = Collections.singletonMap("data", data);
 	    GraphQLMessage operationData = new GraphQLMessage(operationMessageId, GraphQLMessageType.DATA, payload);
@@ -139,6 +185,34 @@ public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResul
 	    outboundChannel.send(responseMessage);
     }
     
+    /**
+     * Merges results sharing the same fields by concatenating their list values, i.e. the events
+     * of a subscription field, or returns {@code null} when the results cannot be merged.
+     */
+    @SuppressWarnings("unchecked")
+    protected Object merge(List<Object> results) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+
+        for (Object result : results) {
+            if (!(result instanceof Map)) {
+                return null;
+            }
+            Map<String, Object> fields = (Map<String, Object>) result;
+            if (!merged.isEmpty() && !merged.keySet().equals(fields.keySet())) {
+                return null;
+            }
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                if (!(field.getValue() instanceof Collection)) {
+                    return null;
+                }
+                ((List<Object>) merged.computeIfAbsent(field.getKey(), key -> new ArrayList<>()))
+                    .addAll((Collection<Object>) field.getValue());
+            }
+        }
+
+        return merged;
+    }
+
     private MessageHeaders getMessageHeaders() {
         MessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.getMutableAccessor(message);
         headerAccessor.setLeaveMutable(true); // must be mutable to preserve publish order!
@@ -69,6 +69,8 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
     private int bufferCount = 50;
 
+    private boolean multiResultFrames;
+
     public GraphQLBrokerMessageHandler(SubscribableChannel inboundChannel,
         MessageChannel outboundChannel,
         SubscribableChannel brokerChannel,
@@ -105,6 +107,16 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
         return this;
     }
 
+    public boolean isMultiResultFrames() {
+        return multiResultFrames;
+    }
+
+    public GraphQLBrokerMessageHandler setMultiResultFrames(boolean multiResultFrames) {
+        this.multiResultFrames = multiResultFrames;
+
+        return this;
+    }
+
     @EventListener
     public void on(BrokerAvailabilityEvent event) {
         this.brokerAvailable.set(event.isBrokerAvailable());
@@ -280,7 +292,8 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
                             operationPayload.getId(),
                             outboundChannel,
                             bufferTimeSpanMs,
-                            bufferCount);
+                            bufferCount,
+                            multiResultFrames);
                         graphQLsubscriptionRegistry.subscribe(sessionId,
                             operationPayload.getId(),
                             subscriber,
@@ -21,6 +21,8 @@ import java.util.Map;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
 
 /**
@@ -37,7 +39,20 @@ public class GraphQLSubscriptionExecutor  {
      * @param graphQLSchema instance
      */
     public GraphQLSubscriptionExecutor(GraphQLSchema graphQLSchema) {
-        this.graphQL = GraphQL.newGraphQL(graphQLSchema).build();
+        this(graphQLSchema, NoOpPreparsedDocumentProvider.INSTANCE);
+    }
+
+    /**
+     * Creates instance using GraphQLSchema parameter, reusing parsed and validated documents from the provider.
+     *
+     * @param graphQLSchema instance
+     * @param preparsedDocumentProvider cache of parsed documents
+     */
+    public GraphQLSubscriptionExecutor(GraphQLSchema graphQLSchema,
+                                       PreparsedDocumentProvider preparsedDocumentProvider) {
+        this.graphQL = GraphQL.newGraphQL(graphQLSchema)
+                              .preparsedDocumentProvider(preparsedDocumentProvider)
+                              .build();
     }
 
     public ExecutionResult execute(String query) {
@@ -18,11 +18,13 @@ package org.activiti.cloud.services.notifications.graphql.ws.transport;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -138,6 +140,80 @@ public class GraphQLBrokerChannelSubscriberTest {
 
     }
 
+    @Test
+    public void testOnNextBuffersResultsIntoSingleFrame() {
+        // given
+        GraphQLBrokerChannelSubscriber bufferingSubject = new GraphQLBrokerChannelSubscriber(startMessage("operationId", "sessionId"),
+                                                                                             "operationId",
+                                                                                             messageChannel,
+                                                                                             60000,
+                                                                                             3,
+                                                                                             true);
+        bufferingSubject.onSubscribe(subscription);
+
+        // when
+        bufferingSubject.onNext(new ExecutionResultImpl(Collections.singletonMap("engineEvents", Arrays.asList("a", "b")), Collections.emptyList()));
+        bufferingSubject.onNext(new ExecutionResultImpl(Collections.singletonMap("engineEvents", Arrays.asList("c")), Collections.emptyList()));
+        bufferingSubject.onNext(new ExecutionResultImpl(Collections.singletonMap("engineEvents", Arrays.asList("d")), Collections.emptyList()));
+
+        // then
+        verify(messageChannel).send(messageCaptor.capture());
+        verify(subscription, times(2)).request(eq(3L));
+
+        assertThat(messageCaptor.getValue().getPayload().getType()).isEqualTo(GraphQLMessageType.DATA);
+        assertThat(messageCaptor.getValue().getPayload().getPayload())
+            .containsEntry("data", Collections.singletonMap("engineEvents", Arrays.asList("a", "b", "c", "d")));
+    }
+
+    @Test
+    public void testOnNextSendsResultsRightAwayWithoutMultiResultFrames() {
+        // given
+        GraphQLBrokerChannelSubscriber unbufferedSubject = new GraphQLBrokerChannelSubscriber(startMessage("operationId", "sessionId"),
+                                                                                              "operationId",
+                                                                                              messageChannel,
+                                                                                              60000,
+                                                                                              3,
+                                                                                              false);
+        unbufferedSubject.onSubscribe(subscription);
+
+        // when
+        unbufferedSubject.onNext(new ExecutionResultImpl(Collections.singletonMap("engineEvents", Arrays.asList("a")), Collections.emptyList()));
+
+        // then
+        verify(messageChannel).send(messageCaptor.capture());
+        verify(subscription).request(eq(3L));
+        verify(subscription).request(eq(1L));
+
+        assertThat(messageCaptor.getValue().getPayload().getPayload())
+            .containsEntry("data", Collections.singletonMap("engineEvents", Arrays.asList("a")));
+    }
+
+    @Test
+    public void testOnCompleteFlushesBufferedResults() {
+        // given
+        GraphQLBrokerChannelSubscriber bufferingSubject = new GraphQLBrokerChannelSubscriber(startMessage("operationId", "sessionId"),
+                                                                                             "operationId",
+                                                                                             messageChannel,
+                                                                                             60000,
+                                                                                             3,
+                                                                                             true);
+        bufferingSubject.onSubscribe(subscription);
+        bufferingSubject.onNext(new ExecutionResultImpl(Collections.singletonMap("engineEvents", Arrays.asList("a")), Collections.emptyList()));
+        bufferingSubject.onNext(new ExecutionResultImpl(Collections.singletonMap("engineEvents", Arrays.asList("b")), Collections.emptyList()));
+
+        // when
+        bufferingSubject.onComplete();
+
+        // then
+        verify(messageChannel, times(2)).send(messageCaptor.capture());
+
+        assertThat(messageCaptor.getAllValues()).extracting(message -> message.getPayload().getType())
+                                                .containsExactly(GraphQLMessageType.DATA,
+                                                                 GraphQLMessageType.COMPLETE);
+        assertThat(messageCaptor.getAllValues().get(0).getPayload().getPayload())
+            .containsEntry("data", Collections.singletonMap("engineEvents", Arrays.asList("a", "b")));
+    }
+
     private Message<GraphQLMessage> startMessage(String operationId, String sessionId) {
         SimpMessageHeaderAccessor headerAccessor = simpHeaderAccessor(mockWebSocketSession(sessionId));
 
@@ -15,8 +15,12 @@
  */
 package org.activiti.cloud.services.query.model;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
+import java.util.TimeZone;
+import java.util.regex.Pattern;
 
 import javax.persistence.Column;
 import javax.persistence.ConstraintMode;
@@ -28,6 +32,9 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.activiti.cloud.api.model.shared.CloudVariableInstance;
@@ -36,8 +43,22 @@ import org.springframework.format.annotation.DateTimeFormat;
 @MappedSuperclass
 public abstract class AbstractVariableEntity extends ActivitiEntityMetadata implements CloudVariableInstance {
 
+    public static final int STRING_VALUE_MAX_LENGTH = 255;
+
+    public static final String DATE_TYPE = "date";
+
+    /**
+     * Serialized form of date values, stored in the date column when declared with the date type.
+     */
+    private static final Pattern DATE_VALUE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}\\+0000");
+
+    /**
+     * Drawn from a pooled sequence rather than an identity column, so that the inserts of a batch of
+     * variables can be sent as JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "variable_sequence")
+    @SequenceGenerator(name = "variable_sequence", sequenceName = "variable_sequence", allocationSize = 50)
     private Long id;
 
     private String type;
@@ -56,6 +77,28 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
     @Column(columnDefinition = "text")
     private VariableValue<?> value;
 
+    /**
+     * Typed copies of primitive values, used for indexed equality search instead of comparing serialized JSON,
+     * and to read loaded values without deserializing the JSON column.
+     * At most one of them is set, none for complex values that are only stored in the JSON column.
+     */
+    @JsonIgnore
+    private Long longValue;
+
+    @JsonIgnore
+    private Double doubleValue;
+
+    @JsonIgnore
+    private Boolean booleanValue;
+
+    @JsonIgnore
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date dateValue;
+
+    @JsonIgnore
+    @Column(length = STRING_VALUE_MAX_LENGTH)
+    private String stringValue;
+
     private Boolean markedAsDeleted = false;
 
     private String processInstanceId;
@@ -141,15 +184,96 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
         this.executionId = executionId;
     }
 
+    /**
+     * Sets the value and its typed copy. Date values arrive serialized as strings, so the declared
+     * type has to be set first for them to be stored in the date column.
+     */
     public <T> void setValue(T value) {
         this.value = new VariableValue<>(value);
+        setTypedValue(value);
+    }
+
+    private void setTypedValue(Object value) {
+        longValue = null;
+        doubleValue = null;
+        booleanValue = null;
+        dateValue = null;
+        stringValue = null;
+
+        if (value instanceof Boolean) {
+            booleanValue = (Boolean) value;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            longValue = ((Number) value).longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            doubleValue = toDouble((Number) value);
+        } else if (value instanceof Date) {
+            dateValue = (Date) value;
+        } else if (value instanceof String && DATE_TYPE.equals(type) && DATE_VALUE.matcher((String) value).matches()) {
+            dateValue = parseDate((String) value);
+        } else if (value instanceof String && ((String) value).length() <= STRING_VALUE_MAX_LENGTH) {
+            stringValue = (String) value;
+        }
     }
 
+    /**
+     * Widens floats through their decimal representation, which is the one serialized to JSON.
+     */
+    public static Double toDouble(Number value) {
+        return value instanceof Float ? Double.valueOf(value.toString()) : Double.valueOf(value.doubleValue());
+    }
+
+    private static Date parseDate(String value) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        try {
+            return format.parse(value);
+        } catch (ParseException e) {
+            throw new QueryException("Unable to parse date variable value " + value, e);
+        }
+    }
+
+    /**
+     * Loaded values are answered from their typed copy when there is one, the JSON column is only
+     * deserialized for dates and complex values. Integral values are narrowed the way Jackson does.
+     */
     @Override
     public <T> T getValue() {
+        if (value instanceof SerializedVariableValue && !((SerializedVariableValue) value).isDeserialized()) {
+            if (booleanValue != null) {
+                return (T) booleanValue;
+            } else if (longValue != null) {
+                return (T) (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE
+                        ? (Object) longValue.intValue()
+                        : longValue);
+            } else if (doubleValue != null) {
+                return (T) doubleValue;
+            } else if (stringValue != null) {
+                return (T) stringValue;
+            }
+        }
         return (T) value.getValue();
     }
 
+    public Long getLongValue() {
+        return longValue;
+    }
+
+    public Double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public Boolean getBooleanValue() {
+        return booleanValue;
+    }
+
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
     public Boolean getMarkedAsDeleted() {
         return markedAsDeleted;
     }
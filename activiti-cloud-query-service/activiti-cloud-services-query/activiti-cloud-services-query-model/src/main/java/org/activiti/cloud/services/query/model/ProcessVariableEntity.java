@@ -26,7 +26,11 @@ import javax.persistence.Table;
         indexes = {
                 @Index(name = "proc_var_processInstanceId_idx", columnList = "processInstanceId", unique = false),
                 @Index(name = "proc_var_name_idx", columnList = "name", unique = false),
-                @Index(name = "proc_var_executionId_idx", columnList = "executionId", unique = false)
+                @Index(name = "proc_var_executionId_idx", columnList = "executionId", unique = false),
+                @Index(name = "proc_var_name_string_value_idx", columnList = "name,stringValue", unique = false),
+                @Index(name = "proc_var_name_long_value_idx", columnList = "name,longValue", unique = false),
+                @Index(name = "proc_var_name_double_value_idx", columnList = "name,doubleValue", unique = false),
+                @Index(name = "proc_var_name_date_value_idx", columnList = "name,dateValue", unique = false)
         })
 public class ProcessVariableEntity extends AbstractVariableEntity {
 
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Value loaded from the serialized JSON column, only deserialized when first read, so that rows whose
+ * value is answered from a typed column are never parsed.
+ */
+class SerializedVariableValue extends VariableValue<Object> {
+
+    private final String json;
+    private final ObjectMapper objectMapper;
+    private Object value;
+    private boolean deserialized;
+
+    SerializedVariableValue(String json,
+                            ObjectMapper objectMapper) {
+        this.json = json;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object getValue() {
+        if (!deserialized) {
+            try {
+                value = objectMapper.readValue(json, VariableValue.class).getValue();
+            } catch (IOException e) {
+                throw new QueryException("Unable to deserialize variable.", e);
+            }
+            deserialized = true;
+        }
+        return value;
+    }
+
+    String getJson() {
+        return json;
+    }
+
+    boolean isDeserialized() {
+        return deserialized;
+    }
+}
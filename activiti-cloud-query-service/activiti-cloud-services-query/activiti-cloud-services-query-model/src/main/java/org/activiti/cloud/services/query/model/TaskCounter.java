@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.util.Objects;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.activiti.api.task.model.Task.TaskStatus;
+
+/**
+ * Materialized number of tasks in a given status for an assignee, a candidate group (unassigned
+ * tasks only) or a process definition key. Maintained incrementally by the task event handlers.
+ */
+@Entity(name="TaskCounter")
+@IdClass(TaskCounterId.class)
+@Table(name="TASK_COUNTER")
+public class TaskCounter {
+
+    public enum Dimension {
+        ASSIGNEE,
+        CANDIDATE_GROUP,
+        PROCESS_DEFINITION_KEY
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Dimension dimension;
+
+    @Id
+    private String counterKey;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    private long taskCount;
+
+    public TaskCounter() {
+
+    }
+
+    public TaskCounter(TaskCounterId id,
+                       long taskCount) {
+        this.dimension = id.getDimension();
+        this.counterKey = id.getCounterKey();
+        this.status = id.getStatus();
+        this.taskCount = taskCount;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(Dimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getCounterKey() {
+        return counterKey;
+    }
+
+    public void setCounterKey(String counterKey) {
+        this.counterKey = counterKey;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, counterKey, status);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TaskCounter other = (TaskCounter) obj;
+        return dimension == other.dimension
+                && Objects.equals(counterKey, other.counterKey)
+                && status == other.status;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCounter [dimension=" + dimension + ", counterKey=" + counterKey + ", status=" + status
+                + ", taskCount=" + taskCount + "]";
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Objects;
+
+import org.activiti.api.task.model.Task.TaskStatus;
+
+/**
+ * Identifies a {@link TaskCounter}. Ids are ordered so that counters can always be updated in the same
+ * order, which keeps concurrent transactions from deadlocking on each other's counter rows.
+ */
+public class TaskCounterId implements Serializable, Comparable<TaskCounterId> {
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<TaskCounterId> ORDER = Comparator.comparing(TaskCounterId::getDimension)
+                                                                      .thenComparing(TaskCounterId::getCounterKey)
+                                                                      .thenComparing(TaskCounterId::getStatus);
+
+    private TaskCounter.Dimension dimension;
+    private String counterKey;
+    private TaskStatus status;
+
+    public TaskCounterId() {
+
+    }
+
+    public TaskCounterId(TaskCounter.Dimension dimension,
+                         String counterKey,
+                         TaskStatus status) {
+        this.dimension = dimension;
+        this.counterKey = counterKey;
+        this.status = status;
+    }
+
+    public TaskCounter.Dimension getDimension() {
+        return dimension;
+    }
+
+    public String getCounterKey() {
+        return counterKey;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public int compareTo(TaskCounterId other) {
+        return ORDER.compare(this,
+                             other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, counterKey, status);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TaskCounterId other = (TaskCounterId) obj;
+        return dimension == other.dimension
+                && Objects.equals(counterKey, other.counterKey)
+                && status == other.status;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCounterId [dimension=" + dimension + ", counterKey=" + counterKey + ", status=" + status + "]";
+    }
+}
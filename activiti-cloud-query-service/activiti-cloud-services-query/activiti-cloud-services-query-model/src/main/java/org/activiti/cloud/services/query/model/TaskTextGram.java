@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * One lower-cased trigram of the name or description of a task. A task matches a substring search
+ * only if it owns every trigram of the searched value, which lets the search be answered from the
+ * (field, gram) index on databases without native trigram support. Maintained by the task event handlers.
+ */
+@Entity(name="TaskTextGram")
+@IdClass(TaskTextGramId.class)
+@Table(name="TASK_TEXT_GRAM", indexes= {
+		@Index(name="ttg_gram_idx", columnList="field,gram,taskId", unique=false)
+	}
+)
+public class TaskTextGram {
+
+    public static final int GRAM_LENGTH = 3;
+
+    public enum Field {
+        NAME,
+        DESCRIPTION
+    }
+
+    @Id
+    private String taskId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Field field;
+
+    @Id
+    private String gram;
+
+    public TaskTextGram() {
+
+    }
+
+    public TaskTextGram(String taskId,
+                        Field field,
+                        String gram) {
+        this.taskId = taskId;
+        this.field = field;
+        this.gram = gram;
+    }
+
+    /**
+     * @return the distinct lower-cased trigrams of the given text, empty if it is shorter than {@link #GRAM_LENGTH}
+     */
+    public static Set<String> gramsOf(String text) {
+        if (text == null || text.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int index = 0; index + GRAM_LENGTH <= lowerCase.length(); index++) {
+            grams.add(lowerCase.substring(index, index + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public void setField(Field field) {
+        this.field = field;
+    }
+
+    public String getGram() {
+        return gram;
+    }
+
+    public void setGram(String gram) {
+        this.gram = gram;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, field, gram);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TaskTextGram other = (TaskTextGram) obj;
+        return Objects.equals(taskId, other.taskId)
+                && field == other.field
+                && Objects.equals(gram, other.gram);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskTextGram [taskId=" + taskId + ", field=" + field + ", gram=" + gram + "]";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class TaskTextGramId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String taskId;
+    private TaskTextGram.Field field;
+    private String gram;
+
+    public TaskTextGramId() {
+
+    }
+
+    public TaskTextGramId(String taskId,
+                          TaskTextGram.Field field,
+                          String gram) {
+        this.taskId = taskId;
+        this.field = field;
+        this.gram = gram;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public TaskTextGram.Field getField() {
+        return field;
+    }
+
+    public String getGram() {
+        return gram;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, field, gram);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TaskTextGramId other = (TaskTextGramId) obj;
+        return Objects.equals(taskId, other.taskId)
+                && field == other.field
+                && Objects.equals(gram, other.gram);
+    }
+}
@@ -34,7 +34,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
                 @Index(name = "task_var_processInstanceId_idx", columnList = "processInstanceId", unique = false),
                 @Index(name = "task_var_taskId_idx", columnList = "taskId", unique = false),
                 @Index(name = "task_var_name_idx", columnList = "name", unique = false),
-                @Index(name = "task_var_executionId_idx", columnList = "executionId", unique = false)
+                @Index(name = "task_var_executionId_idx", columnList = "executionId", unique = false),
+                @Index(name = "task_var_name_string_value_idx", columnList = "name,stringValue", unique = false),
+                @Index(name = "task_var_name_long_value_idx", columnList = "name,longValue", unique = false),
+                @Index(name = "task_var_name_double_value_idx", columnList = "name,doubleValue", unique = false),
+                @Index(name = "task_var_name_date_value_idx", columnList = "name,dateValue", unique = false)
 		})
 public class TaskVariableEntity extends AbstractVariableEntity {
 
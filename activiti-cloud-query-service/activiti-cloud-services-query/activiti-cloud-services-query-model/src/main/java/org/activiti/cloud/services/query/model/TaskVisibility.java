@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.util.Objects;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * Denormalized projection of who is allowed to see a task: one row for each user or group
+ * granted access, or a single {@link PrincipalType#EVERYONE} row for unassigned tasks
+ * without candidates. Maintained by the task event handlers.
+ */
+@Entity(name="TaskVisibility")
+@IdClass(TaskVisibilityId.class)
+@Table(name="TASK_VISIBILITY", indexes= {
+		@Index(name="tv_principal_idx", columnList="principalType,principal,taskId", unique=false)
+	}
+)
+public class TaskVisibility {
+
+    public static final String EVERYONE = "*";
+
+    public enum PrincipalType {
+        USER,
+        GROUP,
+        EVERYONE
+    }
+
+    @Id
+    private String taskId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private PrincipalType principalType;
+
+    @Id
+    private String principal;
+
+    public TaskVisibility() {
+
+    }
+
+    public TaskVisibility(String taskId,
+                          PrincipalType principalType,
+                          String principal) {
+        this.taskId = taskId;
+        this.principalType = principalType;
+        this.principal = principal;
+    }
+
+    public static TaskVisibility user(String taskId, String userId) {
+        return new TaskVisibility(taskId, PrincipalType.USER, userId);
+    }
+
+    public static TaskVisibility group(String taskId, String groupId) {
+        return new TaskVisibility(taskId, PrincipalType.GROUP, groupId);
+    }
+
+    public static TaskVisibility everyone(String taskId) {
+        return new TaskVisibility(taskId, PrincipalType.EVERYONE, EVERYONE);
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public PrincipalType getPrincipalType() {
+        return principalType;
+    }
+
+    public void setPrincipalType(PrincipalType principalType) {
+        this.principalType = principalType;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(String principal) {
+        this.principal = principal;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, principalType, principal);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TaskVisibility other = (TaskVisibility) obj;
+        return Objects.equals(taskId, other.taskId)
+                && principalType == other.principalType
+                && Objects.equals(principal, other.principal);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskVisibility [taskId=" + taskId + ", principalType=" + principalType + ", principal=" + principal + "]";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class TaskVisibilityId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String taskId;
+    private TaskVisibility.PrincipalType principalType;
+    private String principal;
+
+    public TaskVisibilityId() {
+
+    }
+
+    public TaskVisibilityId(String taskId,
+                            TaskVisibility.PrincipalType principalType,
+                            String principal) {
+        this.taskId = taskId;
+        this.principalType = principalType;
+        this.principal = principal;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public TaskVisibility.PrincipalType getPrincipalType() {
+        return principalType;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, principalType, principal);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TaskVisibilityId other = (TaskVisibilityId) obj;
+        return Objects.equals(taskId, other.taskId)
+                && principalType == other.principalType
+                && Objects.equals(principal, other.principal);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.services.query.model;
 
+import java.util.Objects;
+
 public class VariableValue<T> {
 
 	private T value;
@@ -43,6 +45,7 @@ public class VariableValue<T> {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
+		Object value = getValue();
 		result = prime * result + ((value == null) ? 0 : value.hashCode());
 		return result;
 	}
@@ -51,22 +54,14 @@ public class VariableValue<T> {
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		if (obj == null)
-			return false;
-		if (getClass() != obj.getClass())
-			return false;
-		VariableValue<?> other = (VariableValue<?>) obj;
-		if (value == null) {
-			if (other.value != null)
-				return false;
-		} else if (!value.equals(other.value))
+		if (!(obj instanceof VariableValue))
 			return false;
-		return true;
+		return Objects.equals(getValue(), ((VariableValue<?>) obj).getValue());
 	}
 
 	@Override
 	public String toString() {
-		return "VariableValue [value=" + value + "]";
+		return "VariableValue [value=" + getValue() + "]";
 	}
 	
 }
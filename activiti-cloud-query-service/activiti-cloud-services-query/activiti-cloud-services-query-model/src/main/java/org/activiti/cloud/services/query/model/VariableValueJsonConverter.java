@@ -15,8 +15,6 @@
  */
 package org.activiti.cloud.services.query.model;
 
-import java.io.IOException;
-
 import javax.persistence.AttributeConverter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -35,6 +33,9 @@ public class VariableValueJsonConverter implements AttributeConverter<VariableVa
 
     @Override
     public String convertToDatabaseColumn(VariableValue<?> variableValue) {
+        if (variableValue instanceof SerializedVariableValue) {
+            return ((SerializedVariableValue) variableValue).getJson();
+        }
         try {
             return objectMapper.writeValueAsString(variableValue);
         } catch (JsonProcessingException e) {
@@ -42,17 +43,15 @@ public class VariableValueJsonConverter implements AttributeConverter<VariableVa
         }
     }
 
+    /**
+     * Defers deserialization to the first read of the value, see {@link SerializedVariableValue}.
+     */
     @Override
     public VariableValue<?> convertToEntityAttribute(String dbData) {
-        try {
-            if(dbData != null && dbData.length() > 0) {
-                return objectMapper.readValue(dbData, VariableValue.class);
-            } else {
-                return new VariableValue<Object>(null);
-            }
-
-        } catch (IOException e) {
-            throw new QueryException("Unable to deserialize variable.", e);
+        if(dbData != null && dbData.length() > 0) {
+            return new SerializedVariableValue(dbData, objectMapper);
+        } else {
+            return new VariableValue<Object>(null);
         }
     }
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AbstractVariableEntityTest {
+
+    @Test
+    public void setValueShouldFillLongColumnForIntegralValues() {
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+
+        variable.setValue(10);
+
+        assertThat(variable.<Integer>getValue()).isEqualTo(10);
+        assertThat(variable.getLongValue()).isEqualTo(10L);
+        assertThat(variable.getStringValue()).isNull();
+    }
+
+    @Test
+    public void setValueShouldFillTypedColumnMatchingTheValueType() {
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+        Date now = new Date();
+
+        variable.setValue(true);
+        assertThat(variable.getBooleanValue()).isTrue();
+
+        variable.setValue(1.5);
+        assertThat(variable.getDoubleValue()).isEqualTo(1.5);
+        assertThat(variable.getBooleanValue()).isNull();
+
+        variable.setValue(now);
+        assertThat(variable.getDateValue()).isEqualTo(now);
+
+        variable.setValue("text");
+        assertThat(variable.getStringValue()).isEqualTo("text");
+        assertThat(variable.getDateValue()).isNull();
+    }
+
+    @Test
+    public void setValueShouldOnlyKeepJsonForComplexOrLongValues() {
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+
+        variable.setValue(Collections.singletonMap("key", "value"));
+        assertThat(variable.getStringValue()).isNull();
+        assertThat(variable.getLongValue()).isNull();
+
+        variable.setValue(String.join("", Collections.nCopies(AbstractVariableEntity.STRING_VALUE_MAX_LENGTH + 1, "a")));
+        assertThat(variable.getStringValue()).isNull();
+    }
+
+    @Test
+    public void setValueShouldFillDateColumnForSerializedDatesDeclaredAsDates() {
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+        variable.setType(AbstractVariableEntity.DATE_TYPE);
+
+        variable.setValue("2020-06-15T10:00:00.000+0000");
+        assertThat(variable.getDateValue()).isEqualTo(Date.from(Instant.parse("2020-06-15T10:00:00Z")));
+        assertThat(variable.getStringValue()).isNull();
+        assertThat(variable.<String>getValue()).isEqualTo("2020-06-15T10:00:00.000+0000");
+
+        variable.setValue("15/06/2020");
+        assertThat(variable.getDateValue()).isNull();
+        assertThat(variable.getStringValue()).isEqualTo("15/06/2020");
+    }
+
+    @Test
+    public void setValueShouldWidenFloatsThroughTheirDecimalRepresentation() {
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+
+        variable.setValue(0.1f);
+
+        assertThat(variable.getDoubleValue()).isEqualTo(0.1);
+    }
+}
@@ -24,7 +24,12 @@ import org.mockito.Mock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class VariableValueJsonConverterTest {
@@ -93,7 +98,7 @@ public class VariableValueJsonConverterTest {
                                      VariableValue.class)).willThrow(exception);
 
         //when
-        Throwable thrown = catchThrowable(() -> converter.convertToEntityAttribute(JSON_REPRESENTATION));
+        Throwable thrown = catchThrowable(() -> converter.convertToEntityAttribute(JSON_REPRESENTATION).getValue());
 
         //then
         assertThat(thrown)
@@ -101,4 +106,15 @@ public class VariableValueJsonConverterTest {
         .hasMessage("Unable to deserialize variable.")
         .hasCause(exception);
     }
+
+    @Test
+    public void convertToEntityAttributeShouldOnlyDeserializeWhenTheValueIsRead() throws Exception {
+        //when
+        VariableValue<?> convertedValue = converter.convertToEntityAttribute(JSON_REPRESENTATION);
+
+        //then
+        verify(objectMapper, never()).readValue(anyString(), eq(VariableValue.class));
+        assertThat(converter.convertToDatabaseColumn(convertedValue)).isEqualTo(JSON_REPRESENTATION);
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
 }
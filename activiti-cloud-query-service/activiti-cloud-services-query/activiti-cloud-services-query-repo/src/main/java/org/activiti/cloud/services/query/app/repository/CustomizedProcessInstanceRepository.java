@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.querydsl.core.types.Predicate;
+
+public interface CustomizedProcessInstanceRepository {
+
+    /**
+     * @param countTotal when {@code false} the count query is skipped: the returned page total is
+     *                   only a lower bound telling whether a further page exists
+     */
+    Page<ProcessInstanceEntity> findAll(Predicate predicate,
+                                        Pageable pageable,
+                                        boolean countTotal);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.util.Assert;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPQLQuery;
+
+public class CustomizedProcessInstanceRepositoryImpl extends QuerydslRepositorySupport implements CustomizedProcessInstanceRepository {
+
+    public CustomizedProcessInstanceRepositoryImpl() {
+        super(ProcessInstanceEntity.class);
+    }
+
+    @Override
+    public Page<ProcessInstanceEntity> findAll(Predicate predicate,
+                                               Pageable pageable,
+                                               boolean countTotal) {
+        Assert.notNull(predicate, "Predicate must not be null!");
+        Assert.notNull(pageable, "Pageable must not be null!");
+
+        QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(getQuerydsl().applySorting(pageable.getSort(),
+                                                             from(processInstanceEntity).where(predicate))
+                                               .fetch());
+        }
+
+        if (!countTotal) {
+            // fetch one extra row to know whether there is a next page without counting all the matches
+            JPQLQuery<ProcessInstanceEntity> query = getQuerydsl().applySorting(pageable.getSort(),
+                                                                                from(processInstanceEntity).where(predicate))
+                                                                  .offset(pageable.getOffset())
+                                                                  .limit(pageable.getPageSize() + 1L);
+            List<ProcessInstanceEntity> content = new ArrayList<>(query.fetch());
+            boolean hasMore = content.size() > pageable.getPageSize();
+            if (hasMore) {
+                content.remove(content.size() - 1);
+            }
+            return new PageImpl<>(content,
+                                  pageable,
+                                  pageable.getOffset() + content.size() + (hasMore ? 1 : 0));
+        }
+
+        JPQLQuery<ProcessInstanceEntity> query = getQuerydsl().applyPagination(pageable,
+                                                                               from(processInstanceEntity).where(predicate));
+
+        return PageableExecutionUtils.getPage(query.fetch(),
+                                              pageable,
+                                              () -> from(processInstanceEntity).where(predicate).fetchCount());
+    }
+}
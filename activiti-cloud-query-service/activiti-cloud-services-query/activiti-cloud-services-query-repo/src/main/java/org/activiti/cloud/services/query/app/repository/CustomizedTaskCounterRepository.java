@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import java.util.Map;
+
+import org.activiti.cloud.services.query.model.TaskCounterId;
+
+public interface CustomizedTaskCounterRepository {
+
+    /**
+     * Adds {@code delta} to the counter in the database, without reading it first, so that concurrent
+     * updates of the same counter are not lost. A missing counter is created when {@code delta} is positive,
+     * even when another transaction creates it at the same time.
+     */
+    void increment(TaskCounterId id,
+                   long delta);
+
+    /**
+     * Adds every delta to its counter, in the natural order of the counter ids, so that transactions
+     * updating overlapping counters lock them in the same order.
+     */
+    void incrementAll(Map<TaskCounterId, Long> deltas);
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+
+import org.activiti.cloud.services.query.model.QTaskCounter;
+import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.transaction.annotation.Transactional;
+
+public class CustomizedTaskCounterRepositoryImpl extends QuerydslRepositorySupport implements CustomizedTaskCounterRepository {
+
+    private static final String POSTGRESQL_INSERT = "insert into task_counter (dimension, counter_key, status, task_count)" +
+            " values (?1, ?2, ?3, ?4) on conflict do nothing";
+
+    private static final String ORACLE_INSERT = "insert /*+ ignore_row_on_dupkey_index(task_counter(dimension, counter_key, status)) */" +
+            " into task_counter (dimension, counter_key, status, task_count) values (?1, ?2, ?3, ?4)";
+
+    // used by H2, which has no insert or ignore: a concurrent creation fails the transaction, retried on redelivery
+    private static final String DEFAULT_INSERT = "insert into task_counter (dimension, counter_key, status, task_count)" +
+            " select cast(?1 as varchar(255)), cast(?2 as varchar(255)), cast(?3 as varchar(255)), cast(?4 as bigint) from dual" +
+            " where not exists (select 1 from task_counter where dimension = ?1 and counter_key = ?2 and status = ?3)";
+
+    private final DataSource dataSource;
+
+    private volatile String insertStatement;
+
+    public CustomizedTaskCounterRepositoryImpl(DataSource dataSource) {
+        super(TaskCounter.class);
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    @Transactional
+    public void increment(TaskCounterId id,
+                          long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        if (update(id, delta) == 0 && delta > 0 && insert(id, delta) == 0) {
+            // created by a concurrent transaction in the meantime: the insert waited for it to complete
+            update(id, delta);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void incrementAll(Map<TaskCounterId, Long> deltas) {
+        new TreeMap<>(deltas).forEach(this::increment);
+    }
+
+    private long update(TaskCounterId id,
+                        long delta) {
+        QTaskCounter taskCounter = QTaskCounter.taskCounter;
+        return update(taskCounter).set(taskCounter.taskCount,
+                                       taskCounter.taskCount.add(delta))
+                                  .where(taskCounter.dimension.eq(id.getDimension()),
+                                         taskCounter.counterKey.eq(id.getCounterKey()),
+                                         taskCounter.status.eq(id.getStatus()))
+                                  .execute();
+    }
+
+    /**
+     * Inserts the counter unless it already exists, without raising a duplicate key error, which would
+     * mark the whole transaction for rollback.
+     */
+    private int insert(TaskCounterId id,
+                       long delta) {
+        return getEntityManager().createNativeQuery(insertStatement())
+                                 .setParameter(1, id.getDimension().name())
+                                 .setParameter(2, id.getCounterKey())
+                                 .setParameter(3, id.getStatus().name())
+                                 .setParameter(4, delta)
+                                 .executeUpdate();
+    }
+
+    private String insertStatement() {
+        if (insertStatement == null) {
+            insertStatement = resolveInsertStatement();
+        }
+        return insertStatement;
+    }
+
+    private String resolveInsertStatement() {
+        try (Connection connection = dataSource.getConnection()) {
+            String productName = connection.getMetaData().getDatabaseProductName();
+            if ("PostgreSQL".equalsIgnoreCase(productName)) {
+                return POSTGRESQL_INSERT;
+            } else if ("Oracle".equalsIgnoreCase(productName)) {
+                return ORACLE_INSERT;
+            }
+            return DEFAULT_INSERT;
+        } catch (SQLException e) {
+            throw new QueryException("Unable to resolve the database holding the task counters",
+                                     e);
+        }
+    }
+}
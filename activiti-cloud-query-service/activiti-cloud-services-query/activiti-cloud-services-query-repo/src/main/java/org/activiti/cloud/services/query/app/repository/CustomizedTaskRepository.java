@@ -28,4 +28,22 @@ public interface CustomizedTaskRepository {
                                                 VariableValue<?> value,
                                                 Predicate predicate,
                                                 Pageable pageable);
+
+    /**
+     * @param countTotal when {@code false} the count query is skipped: the returned page total is
+     *                   only a lower bound telling whether a further page exists
+     */
+    Page<TaskEntity> findByVariableNameAndValue(String name,
+                                                VariableValue<?> value,
+                                                Predicate predicate,
+                                                Pageable pageable,
+                                                boolean countTotal);
+
+    /**
+     * @param countTotal when {@code false} the count query is skipped: the returned page total is
+     *                   only a lower bound telling whether a further page exists
+     */
+    Page<TaskEntity> findAll(Predicate predicate,
+                             Pageable pageable,
+                             boolean countTotal);
 }
@@ -15,17 +15,25 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.cloud.services.query.model.AbstractVariableEntity;
 import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.util.Assert;
 
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
 
 public class CustomizedTaskRepositoryImpl extends QuerydslRepositorySupport implements CustomizedTaskRepository {
@@ -39,6 +47,19 @@ public class CustomizedTaskRepositoryImpl extends QuerydslRepositorySupport impl
                                                        VariableValue<?> value,
                                                        Predicate predicate,
                                                        Pageable pageable) {
+        return findByVariableNameAndValue(name,
+                                          value,
+                                          predicate,
+                                          pageable,
+                                          true);
+    }
+
+    @Override
+    public Page<TaskEntity> findByVariableNameAndValue(String name,
+                                                       VariableValue<?> value,
+                                                       Predicate predicate,
+                                                       Pageable pageable,
+                                                       boolean countTotal) {
         Assert.notNull(name, "name must not be null!");
         Assert.notNull(value, "value must not be null!");
         Assert.notNull(predicate, "Predicate must not be null!");
@@ -47,17 +68,84 @@ public class CustomizedTaskRepositoryImpl extends QuerydslRepositorySupport impl
         QTaskEntity taskEntity = QTaskEntity.taskEntity;
         QTaskVariableEntity variableEntity = QTaskVariableEntity.taskVariableEntity;
 
-        Predicate condition = variableEntity.name.eq(name)
-                .and(variableEntity.value.eq(value));
+        // semi-join: a task matches at most once, whatever the number of matching variables
+        BooleanExpression hasVariable = JPAExpressions.selectOne()
+                                                      .from(variableEntity)
+                                                      .where(variableEntity.taskId.eq(taskEntity.id),
+                                                             variableEntity.name.eq(name),
+                                                             valueCondition(variableEntity, value))
+                                                      .exists();
+
+        return findPage(pageable,
+                        countTotal,
+                        predicate,
+                        hasVariable);
+    }
+
+    @Override
+    public Page<TaskEntity> findAll(Predicate predicate,
+                                    Pageable pageable,
+                                    boolean countTotal) {
+        Assert.notNull(predicate, "Predicate must not be null!");
+        Assert.notNull(pageable, "Pageable must not be null!");
+
+        return findPage(pageable,
+                        countTotal,
+                        predicate);
+    }
 
-        JPQLQuery<TaskEntity> from = from(taskEntity).innerJoin(taskEntity.variables, variableEntity).on(condition)
-                                                     .where(predicate);
+    private Page<TaskEntity> findPage(Pageable pageable,
+                                      boolean countTotal,
+                                      Predicate... conditions) {
+        QTaskEntity taskEntity = QTaskEntity.taskEntity;
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(from(taskEntity).where(conditions).fetch());
+        }
 
-        final JPQLQuery<?> countQuery = from.select(taskEntity.count());
+        if (!countTotal) {
+            // fetch one extra row to know whether there is a next page without counting all the matches
+            JPQLQuery<TaskEntity> query = getQuerydsl().applySorting(pageable.getSort(),
+                                                                     from(taskEntity).where(conditions))
+                                                       .offset(pageable.getOffset())
+                                                       .limit(pageable.getPageSize() + 1L);
+            List<TaskEntity> content = new ArrayList<>(query.fetch());
+            boolean hasMore = content.size() > pageable.getPageSize();
+            if (hasMore) {
+                content.remove(content.size() - 1);
+            }
+            return new PageImpl<>(content,
+                                  pageable,
+                                  pageable.getOffset() + content.size() + (hasMore ? 1 : 0));
+        }
 
-        JPQLQuery<TaskEntity> tasks = from.select(taskEntity);
+        JPQLQuery<TaskEntity> query = getQuerydsl().applyPagination(pageable,
+                                                                    from(taskEntity).where(conditions));
 
-        return PageableExecutionUtils.getPage(tasks.fetch(), pageable, countQuery::fetchCount);
-   }
+        return PageableExecutionUtils.getPage(query.fetch(),
+                                              pageable,
+                                              () -> from(taskEntity).where(conditions).fetchCount());
+    }
+
+    /**
+     * Compares primitive values against their typed column, so that the search can use the
+     * (name, typed value) indexes; complex values fall back to the serialized JSON column.
+     */
+    protected BooleanExpression valueCondition(QTaskVariableEntity variableEntity,
+                                               VariableValue<?> variableValue) {
+        Object value = variableValue.getValue();
+        if (value instanceof Boolean) {
+            return variableEntity.booleanValue.eq((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return variableEntity.longValue.eq(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            return variableEntity.doubleValue.eq(AbstractVariableEntity.toDouble((Number) value));
+        } else if (value instanceof Date) {
+            return variableEntity.dateValue.eq((Date) value);
+        } else if (value instanceof String && ((String) value).length() <= AbstractVariableEntity.STRING_VALUE_MAX_LENGTH) {
+            return variableEntity.stringValue.eq((String) value);
+        }
+        return variableEntity.value.eq(variableValue);
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import java.util.Set;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.QTaskTextGram;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+
+/**
+ * Portable indexed search backed by the {@link TaskTextGram} side table: candidate tasks are the ones
+ * owning every trigram of the value, found through the (field, gram) index, and the original
+ * {@code like} is then only evaluated against those candidates, so results are the same as
+ * {@link LikeTaskTextSearchStrategy}. Values shorter than a trigram, or holding {@code like}
+ * wildcards, fall back to the plain {@code like}.
+ */
+public class NGramTaskTextSearchStrategy implements TaskTextSearchStrategy {
+
+    private final LikeTaskTextSearchStrategy likeStrategy = new LikeTaskTextSearchStrategy();
+
+    @Override
+    public Predicate contains(QTaskEntity task,
+                              TaskTextGram.Field field,
+                              String value) {
+        Predicate like = likeStrategy.contains(task,
+                                               field,
+                                               value);
+        Set<String> grams = TaskTextGram.gramsOf(value);
+        if (grams.isEmpty() || value.indexOf('%') >= 0 || value.indexOf('_') >= 0) {
+            return like;
+        }
+
+        QTaskTextGram gram = QTaskTextGram.taskTextGram;
+        BooleanExpression hasAllGrams = task.id.in(JPAExpressions.select(gram.taskId)
+                                                                 .from(gram)
+                                                                 .where(gram.field.eq(field),
+                                                                        gram.gram.in(grams))
+                                                                 .groupBy(gram.taskId)
+                                                                 .having(gram.gram.countDistinct().eq((long) grams.size())));
+        return hasAllGrams.and(like);
+    }
+}
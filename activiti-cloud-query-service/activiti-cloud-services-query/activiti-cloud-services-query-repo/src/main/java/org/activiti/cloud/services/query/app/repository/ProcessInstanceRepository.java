@@ -27,7 +27,8 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 @RepositoryRestResource(exported = false)
 public interface ProcessInstanceRepository extends PagingAndSortingRepository<ProcessInstanceEntity, String>,
                                                    QuerydslPredicateExecutor<ProcessInstanceEntity>,
-                                                   QuerydslBinderCustomizer<QProcessInstanceEntity> {
+                                                   QuerydslBinderCustomizer<QProcessInstanceEntity>,
+                                                   CustomizedProcessInstanceRepository {
 
     @Override
     default void customize(QuerydslBindings bindings,
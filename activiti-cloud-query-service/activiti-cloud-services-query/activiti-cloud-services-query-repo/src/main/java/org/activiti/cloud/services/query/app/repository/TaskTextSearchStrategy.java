@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.StringPath;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+
+/**
+ * Builds the predicate used to search tasks whose name or description contains a value.
+ */
+public interface TaskTextSearchStrategy {
+
+    Predicate contains(QTaskEntity task,
+                       TaskTextGram.Field field,
+                       String value);
+
+    static StringPath pathOf(QTaskEntity task,
+                             TaskTextGram.Field field) {
+        return field == TaskTextGram.Field.NAME ? task.name : task.description;
+    }
+}
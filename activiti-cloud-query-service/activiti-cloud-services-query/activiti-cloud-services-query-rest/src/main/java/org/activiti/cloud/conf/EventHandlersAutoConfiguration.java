@@ -15,12 +15,18 @@
  */
 package org.activiti.cloud.conf;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.persistence.EntityManager;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.activiti.cloud.services.query.app.PartitionedQueryConsumerChannelHandler;
 import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
 import org.activiti.cloud.services.query.app.QueryConsumerChannels;
+import org.activiti.cloud.services.query.app.QueryEventLaneDispatcher;
+import org.activiti.cloud.services.query.app.QueryEventLaneProperties;
 import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
 import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
@@ -30,10 +36,14 @@ import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepositor
 import org.activiti.cloud.services.query.app.repository.ProcessModelRepository;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
 import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityCancelledEventHandler;
+import org.activiti.cloud.services.query.events.handlers.BatchingQueryEventHandlerContext;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityCompletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityStartedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNSequenceFlowTakenEventHandler;
@@ -44,6 +54,7 @@ import org.activiti.cloud.services.query.events.handlers.ProcessCancelledEventHa
 import org.activiti.cloud.services.query.events.handlers.ProcessCompletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessCreatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessDeployedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.ProcessInstancePrefetcher;
 import org.activiti.cloud.services.query.events.handlers.ProcessResumedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessStartedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessSuspendedEventHandler;
@@ -53,6 +64,7 @@ import org.activiti.cloud.services.query.events.handlers.ProcessVariableUpdateEv
 import org.activiti.cloud.services.query.events.handlers.ProcessVariableUpdater;
 import org.activiti.cloud.services.query.events.handlers.QueryEventHandler;
 import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.activiti.cloud.services.query.events.handlers.QueryEventPrefetcher;
 import org.activiti.cloud.services.query.events.handlers.TaskActivatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskAssignedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskCancelledEventHandler;
@@ -61,30 +73,76 @@ import org.activiti.cloud.services.query.events.handlers.TaskCandidateGroupRemov
 import org.activiti.cloud.services.query.events.handlers.TaskCandidateUserAddedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskCandidateUserRemovedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskCompletedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.TaskCounterUpdater;
 import org.activiti.cloud.services.query.events.handlers.TaskCreatedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.TaskPrefetcher;
 import org.activiti.cloud.services.query.events.handlers.TaskSuspendedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.TaskTextGramSynchronizer;
+import org.activiti.cloud.services.query.events.handlers.TaskTextIndexUpdater;
 import org.activiti.cloud.services.query.events.handlers.TaskUpdatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskVariableDeletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskVariableUpdatedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.TaskVisibilityUpdater;
 import org.activiti.cloud.services.query.events.handlers.TaskVariableUpdater;
 import org.activiti.cloud.services.query.events.handlers.VariableCreatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.VariableDeletedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.VariablePrefetcher;
 import org.activiti.cloud.services.query.events.handlers.VariableUpdatedEventHandler;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 @EnableBinding(QueryConsumerChannels.class)
+@EnableConfigurationProperties({
+        QueryEventLaneProperties.class,
+        TaskTextSearchProperties.class
+})
 public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = QueryEventLaneProperties.PREFIX, name = "enabled", havingValue = "false", matchIfMissing = true)
     public QueryConsumerChannelHandler queryConsumerChannelHandler(QueryEventHandlerContext eventHandlerContext) {
         return new QueryConsumerChannelHandler(eventHandlerContext);
     }
 
+    /**
+     * A message is only acknowledged once every lane has handled its events, so the lanes are fed by
+     * the concurrent consumers of the binding: its concurrency defaults to 4 when lanes are enabled.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = QueryEventLaneProperties.PREFIX, name = "enabled", havingValue = "true")
+    @PropertySource("classpath:META-INF/query-consumer-lanes.properties")
+    public static class QueryEventLanesConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public QueryEventLaneDispatcher queryEventLaneDispatcher(QueryEventHandlerContext eventHandlerContext,
+                                                                 QueryEventLaneProperties properties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+            return new QueryEventLaneDispatcher(eventHandlerContext,
+                                                properties,
+                                                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PartitionedQueryConsumerChannelHandler partitionedQueryConsumerChannelHandler(QueryEventLaneDispatcher laneDispatcher) {
+            return new PartitionedQueryConsumerChannelHandler(laneDispatcher);
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ProcessDeployedEventHandler processDeployedEventHandler(ProcessDefinitionRepository processDefinitionRepository,
@@ -137,72 +195,151 @@ public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskActivatedEventHandler taskActivatedEventHandler(TaskRepository taskRepository) {
-        return new TaskActivatedEventHandler(taskRepository);
+    public TaskVisibilityUpdater taskVisibilityUpdater(TaskRepository taskRepository,
+                                                       TaskCandidateUserRepository taskCandidateUserRepository,
+                                                       TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                                       TaskVisibilityRepository taskVisibilityRepository) {
+        return new TaskVisibilityUpdater(taskRepository,
+                                         taskCandidateUserRepository,
+                                         taskCandidateGroupRepository,
+                                         taskVisibilityRepository);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskCounterUpdater taskCounterUpdater(TaskRepository taskRepository,
+                                                 TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                                 ProcessDefinitionRepository processDefinitionRepository,
+                                                 TaskCounterRepository taskCounterRepository) {
+        return new TaskCounterUpdater(taskRepository,
+                                      taskCandidateGroupRepository,
+                                      processDefinitionRepository,
+                                      taskCounterRepository);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskTextIndexUpdater taskTextIndexUpdater(TaskTextGramRepository taskTextGramRepository,
+                                                     TaskTextSearchProperties taskTextSearchProperties) {
+        return new TaskTextIndexUpdater(taskTextGramRepository,
+                                        taskTextSearchProperties.getStrategy() == TaskTextSearchProperties.Strategy.NGRAM);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskAssignedEventHandler taskAssignedEventHandler(TaskRepository taskRepository) {
-        return new TaskAssignedEventHandler(taskRepository);
+    public TaskTextGramSynchronizer taskTextGramSynchronizer(TaskRepository taskRepository,
+                                                             TaskTextGramRepository taskTextGramRepository,
+                                                             TaskTextIndexUpdater taskTextIndexUpdater,
+                                                             EntityManager entityManager,
+                                                             PlatformTransactionManager transactionManager) {
+        return new TaskTextGramSynchronizer(taskRepository,
+                                            taskTextGramRepository,
+                                            taskTextIndexUpdater,
+                                            entityManager,
+                                            new TransactionTemplate(transactionManager));
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskCancelledEventHandler taskCancelledEventHandler(TaskRepository taskRepository) {
-        return new TaskCancelledEventHandler(taskRepository);
+    public TaskActivatedEventHandler taskActivatedEventHandler(TaskRepository taskRepository,
+                                                               TaskVisibilityUpdater taskVisibilityUpdater,
+                                                               TaskCounterUpdater taskCounterUpdater) {
+        return new TaskActivatedEventHandler(taskRepository,
+                                             taskVisibilityUpdater,
+                                             taskCounterUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskCandidateGroupAddedEventHandler taskCandidateGroupAddedEventHandler(TaskCandidateGroupRepository taskCandidateGroupRepository) {
-        return new TaskCandidateGroupAddedEventHandler(taskCandidateGroupRepository);
+    public TaskAssignedEventHandler taskAssignedEventHandler(TaskRepository taskRepository,
+                                                             TaskVisibilityUpdater taskVisibilityUpdater,
+                                                             TaskCounterUpdater taskCounterUpdater) {
+        return new TaskAssignedEventHandler(taskRepository,
+                                            taskVisibilityUpdater,
+                                            taskCounterUpdater);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskCancelledEventHandler taskCancelledEventHandler(TaskRepository taskRepository,
+                                                               TaskCounterUpdater taskCounterUpdater) {
+        return new TaskCancelledEventHandler(taskRepository,
+                                             taskCounterUpdater);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskCandidateGroupAddedEventHandler taskCandidateGroupAddedEventHandler(TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                                                                   TaskVisibilityUpdater taskVisibilityUpdater,
+                                                                                   TaskCounterUpdater taskCounterUpdater) {
+        return new TaskCandidateGroupAddedEventHandler(taskCandidateGroupRepository,
+                                                       taskVisibilityUpdater,
+                                                       taskCounterUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public TaskCandidateGroupRemovedEventHandler taskCandidateGroupRemovedEventHandler(TaskRepository taskRepository,
-                                                                                       TaskCandidateGroupRepository taskCandidateGroupRepository) {
-        return new TaskCandidateGroupRemovedEventHandler(taskRepository, taskCandidateGroupRepository);
+                                                                                       TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                                                                       TaskVisibilityUpdater taskVisibilityUpdater,
+                                                                                       TaskCounterUpdater taskCounterUpdater) {
+        return new TaskCandidateGroupRemovedEventHandler(taskRepository, taskCandidateGroupRepository, taskVisibilityUpdater, taskCounterUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskCandidateUserAddedEventHandler taskCandidateUserAddedEventHandler(TaskCandidateUserRepository taskCandidateUserRepository) {
-        return new TaskCandidateUserAddedEventHandler(taskCandidateUserRepository);
+    public TaskCandidateUserAddedEventHandler taskCandidateUserAddedEventHandler(TaskCandidateUserRepository taskCandidateUserRepository,
+                                                                                 TaskVisibilityUpdater taskVisibilityUpdater) {
+        return new TaskCandidateUserAddedEventHandler(taskCandidateUserRepository,
+                                                      taskVisibilityUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public TaskCandidateUserRemovedEventHandler taskCandidateUserRemovedEventHandler(TaskRepository taskRepository,
-                                                                                     TaskCandidateUserRepository taskCandidateUserRepository) {
-        return new TaskCandidateUserRemovedEventHandler(taskRepository, taskCandidateUserRepository);
+                                                                                     TaskCandidateUserRepository taskCandidateUserRepository,
+                                                                                     TaskVisibilityUpdater taskVisibilityUpdater) {
+        return new TaskCandidateUserRemovedEventHandler(taskRepository, taskCandidateUserRepository, taskVisibilityUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskCompletedEventHandler taskCompletedEventHandler(TaskRepository taskRepository) {
-        return new TaskCompletedEventHandler(taskRepository);
+    public TaskCompletedEventHandler taskCompletedEventHandler(TaskRepository taskRepository,
+                                                               TaskCounterUpdater taskCounterUpdater) {
+        return new TaskCompletedEventHandler(taskRepository,
+                                             taskCounterUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public TaskCreatedEventHandler taskCreatedEventHandler(TaskRepository taskRepository,
-                                                           EntityManager entityManager) {
+                                                           EntityManager entityManager,
+                                                           TaskVisibilityUpdater taskVisibilityUpdater,
+                                                           TaskTextIndexUpdater taskTextIndexUpdater,
+                                                           TaskCounterUpdater taskCounterUpdater) {
         return new TaskCreatedEventHandler(taskRepository,
-                                           entityManager);
+                                           entityManager,
+                                           taskVisibilityUpdater,
+                                           taskTextIndexUpdater,
+                                           taskCounterUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskSuspendedEventHandler taskSuspendedEventHandler(TaskRepository taskRepository) {
-        return new TaskSuspendedEventHandler(taskRepository);
+    public TaskSuspendedEventHandler taskSuspendedEventHandler(TaskRepository taskRepository,
+                                                               TaskCounterUpdater taskCounterUpdater) {
+        return new TaskSuspendedEventHandler(taskRepository,
+                                             taskCounterUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskUpdatedEventHandler taskUpdatedEventHandler(TaskRepository taskRepository) {
-        return new TaskUpdatedEventHandler(taskRepository);
+    public TaskUpdatedEventHandler taskUpdatedEventHandler(TaskRepository taskRepository,
+                                                           TaskTextIndexUpdater taskTextIndexUpdater,
+                                                           TaskCounterUpdater taskCounterUpdater) {
+        return new TaskUpdatedEventHandler(taskRepository,
+                                           taskTextIndexUpdater,
+                                           taskCounterUpdater);
     }
 
     @Bean
@@ -306,7 +443,50 @@ public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.query.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
     public QueryEventHandlerContext queryEventHandlerContext(Set<QueryEventHandler> handlers) {
         return new QueryEventHandlerContext(handlers);
     }
+
+    @Configuration
+    @ConditionalOnProperty(name = "activiti.cloud.services.query.consumer.batch.enabled", havingValue = "true")
+    public static class BatchingQueryEventHandlerContextConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ProcessInstancePrefetcher processInstancePrefetcher(ProcessInstanceRepository processInstanceRepository) {
+            return new ProcessInstancePrefetcher(processInstanceRepository);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TaskPrefetcher taskPrefetcher(TaskRepository taskRepository) {
+            return new TaskPrefetcher(taskRepository);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public VariablePrefetcher variablePrefetcher(EntityManager entityManager) {
+            return new VariablePrefetcher(entityManager);
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer() {
+            return hibernateProperties -> {
+                hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, "50");
+                hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+                hibernateProperties.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+            };
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public QueryEventHandlerContext queryEventHandlerContext(Set<QueryEventHandler> handlers,
+                                                                 List<QueryEventPrefetcher> prefetchers,
+                                                                 PlatformTransactionManager transactionManager) {
+            return new BatchingQueryEventHandlerContext(handlers,
+                                                        prefetchers,
+                                                        new TransactionTemplate(transactionManager));
+        }
+    }
 }
@@ -15,11 +15,19 @@
  */
 package org.activiti.cloud.conf;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManager;
+import io.micrometer.core.instrument.Metrics;
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
+import org.activiti.cloud.services.diagram.ProcessDiagramCacheProperties;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
 import org.activiti.cloud.services.query.rest.CommonExceptionHandlerQuery;
 import org.activiti.cloud.services.query.rest.ProcessDefinitionAdminController;
 import org.activiti.cloud.services.query.rest.ProcessDefinitionController;
 import org.activiti.cloud.services.query.rest.ProcessInstanceAdminController;
+import org.activiti.cloud.services.query.rest.ProcessInstanceBulkDeleteController;
 import org.activiti.cloud.services.query.rest.ProcessInstanceController;
 import org.activiti.cloud.services.query.rest.ProcessInstanceDeleteController;
 import org.activiti.cloud.services.query.rest.ProcessInstanceDiagramAdminController;
@@ -29,17 +37,33 @@ import org.activiti.cloud.services.query.rest.ProcessInstanceVariableAdminContro
 import org.activiti.cloud.services.query.rest.ProcessInstanceVariableController;
 import org.activiti.cloud.services.query.rest.ProcessModelAdminController;
 import org.activiti.cloud.services.query.rest.ProcessModelController;
+import org.activiti.cloud.services.query.rest.QueryExportAdminController;
+import org.activiti.cloud.services.query.rest.QueryExportController;
 import org.activiti.cloud.services.query.rest.TaskAdminController;
 import org.activiti.cloud.services.query.rest.TaskController;
+import org.activiti.cloud.services.query.rest.TaskCounterAdminController;
+import org.activiti.cloud.services.query.rest.TaskCounterController;
 import org.activiti.cloud.services.query.rest.TaskDeleteController;
 import org.activiti.cloud.services.query.rest.TaskVariableAdminController;
 import org.activiti.cloud.services.query.rest.TaskVariableController;
+import org.activiti.cloud.services.query.rest.archive.ProcessInstanceArchiveProperties;
+import org.activiti.cloud.services.query.rest.archive.ProcessInstanceArchiver;
+import org.activiti.cloud.services.query.rest.archive.ProcessInstanceArchivingService;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeletionProperties;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeletionService;
+import org.activiti.cloud.services.query.rest.export.QueryExportProperties;
+import org.activiti.cloud.services.query.rest.export.QueryResultExporter;
 import org.activiti.image.ProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 @Import({
@@ -47,6 +71,7 @@ import org.springframework.context.annotation.Import;
     ProcessDefinitionAdminController.class,
     ProcessDefinitionController.class,
     ProcessInstanceAdminController.class,
+    ProcessInstanceBulkDeleteController.class,
     ProcessInstanceController.class,
     ProcessInstanceDeleteController.class,
     ProcessInstanceDiagramAdminController.class,
@@ -56,12 +81,22 @@ import org.springframework.context.annotation.Import;
     ProcessInstanceVariableController.class,
     ProcessModelAdminController.class,
     ProcessModelController.class,
+    QueryExportAdminController.class,
+    QueryExportController.class,
     TaskAdminController.class,
     TaskController.class,
+    TaskCounterAdminController.class,
+    TaskCounterController.class,
     TaskDeleteController.class,
     TaskVariableAdminController.class,
     TaskVariableController.class
 })
+@EnableConfigurationProperties({
+    ProcessDiagramCacheProperties.class,
+    ProcessInstanceArchiveProperties.class,
+    ProcessInstanceBulkDeletionProperties.class,
+    QueryExportProperties.class
+})
 public class QueryRestControllersAutoConfiguration {
 
     @Bean
@@ -76,4 +111,56 @@ public class QueryRestControllersAutoConfiguration {
         return new ProcessDiagramGeneratorWrapper(processDiagramGenerator);
     }    
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessDiagramCache processDiagramCache(ProcessDiagramCacheProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ProcessDiagramCache(properties,
+                                       meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryResultExporter queryResultExporter(EntityManager entityManager,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ObjectProvider<ObjectMapper> objectMapper,
+                                                   QueryExportProperties properties) {
+        return new QueryResultExporter(entityManager,
+                                       transactionManager,
+                                       objectMapper.getIfAvailable(ObjectMapper::new),
+                                       properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessInstanceBulkDeleter processInstanceBulkDeleter(EntityManager entityManager,
+                                                                 TaskCounterRepository taskCounterRepository) {
+        return new ProcessInstanceBulkDeleter(entityManager,
+                                              taskCounterRepository);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.rest.enable-deletion", matchIfMissing = true)
+    public ProcessInstanceBulkDeletionService processInstanceBulkDeletionService(ProcessInstanceBulkDeleter processInstanceBulkDeleter,
+                                                                                 PlatformTransactionManager transactionManager,
+                                                                                 ProcessInstanceBulkDeletionProperties properties) {
+        return new ProcessInstanceBulkDeletionService(processInstanceBulkDeleter,
+                                                      transactionManager,
+                                                      properties);
+    }
+
+    @Bean(initMethod = "start")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = ProcessInstanceArchiveProperties.PREFIX, name = "enabled")
+    public ProcessInstanceArchivingService processInstanceArchivingService(EntityManager entityManager,
+                                                                           ProcessInstanceBulkDeleter processInstanceBulkDeleter,
+                                                                           PlatformTransactionManager transactionManager,
+                                                                           ProcessInstanceArchiveProperties properties) {
+        return new ProcessInstanceArchivingService(new ProcessInstanceArchiver(entityManager,
+                                                                               processInstanceBulkDeleter),
+                                                   transactionManager,
+                                                   properties);
+    }
+
 }
@@ -17,16 +17,25 @@ package org.activiti.cloud.conf;
 
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.services.query.app.repository.LikeTaskTextSearchStrategy;
+import org.activiti.cloud.services.query.app.repository.NGramTaskTextSearchStrategy;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextSearchStrategy;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.rest.QueryLinkRelationProvider;
 import org.activiti.cloud.services.query.rest.TaskControllerHelper;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
+import org.activiti.cloud.services.query.rest.archive.ArchiveTableRouter;
+import org.activiti.cloud.services.query.rest.archive.ProcessInstanceArchiveProperties;
 import org.activiti.cloud.services.query.rest.assembler.ProcessDefinitionRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceVariableRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.TaskVariableRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchBinderCustomizer;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchProperties;
 import org.activiti.cloud.services.security.ProcessDefinitionFilter;
 import org.activiti.cloud.services.security.ProcessDefinitionKeyBasedRestrictionBuilder;
 import org.activiti.cloud.services.security.ProcessDefinitionRestrictionService;
@@ -39,11 +48,20 @@ import org.activiti.cloud.services.security.TaskLookupRestrictionService;
 import org.activiti.cloud.services.security.TaskVariableLookupRestrictionService;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({
+    ProcessInstanceArchiveProperties.class,
+    TaskTextSearchProperties.class
+})
 public class QueryRestWebMvcAutoConfiguration  {
 
     @Bean
@@ -84,8 +102,10 @@ public class QueryRestWebMvcAutoConfiguration  {
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskLookupRestrictionService taskLookupRestrictionService(SecurityManager securityManager) {
-        return new TaskLookupRestrictionService(securityManager);
+    public TaskLookupRestrictionService taskLookupRestrictionService(SecurityManager securityManager,
+                                                                     ObjectProvider<TaskVisibilityRepository> taskVisibilityRepository) {
+        return new TaskLookupRestrictionService(securityManager,
+                                                taskVisibilityRepository.getIfAvailable());
     }
 
     @Bean
@@ -160,8 +180,47 @@ public class QueryRestWebMvcAutoConfiguration  {
     @ConditionalOnMissingBean
     public TaskControllerHelper taskControllerHelper(TaskRepository taskRepository,
         AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler,
-        TaskRepresentationModelAssembler taskRepresentationModelAssembler) {
+        TaskRepresentationModelAssembler taskRepresentationModelAssembler,
+        ArchiveReader archiveReader) {
         return new TaskControllerHelper(taskRepository, pagedCollectionModelAssembler,
-            new QueryDslPredicateAggregator(), taskRepresentationModelAssembler);
+            new QueryDslPredicateAggregator(), taskRepresentationModelAssembler, archiveReader);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ArchiveTableRouter archiveTableRouter() {
+        return new ArchiveTableRouter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = ProcessInstanceArchiveProperties.PREFIX, name = "enabled")
+    public HibernatePropertiesCustomizer archiveTableRouterHibernatePropertiesCustomizer(ArchiveTableRouter archiveTableRouter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                                                              archiveTableRouter);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ArchiveReader archiveReader(ArchiveTableRouter archiveTableRouter,
+                                       ProcessInstanceArchiveProperties processInstanceArchiveProperties) {
+        return new ArchiveReader(archiveTableRouter,
+                                 processInstanceArchiveProperties.isEnabled());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskTextSearchStrategy taskTextSearchStrategy(TaskTextSearchProperties taskTextSearchProperties) {
+        if (taskTextSearchProperties.getStrategy() == TaskTextSearchProperties.Strategy.NGRAM) {
+            return new NGramTaskTextSearchStrategy();
+        }
+        return new LikeTaskTextSearchStrategy();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskTextSearchBinderCustomizer taskTextSearchBinderCustomizer(TaskRepository taskRepository,
+                                                                         TaskTextSearchStrategy taskTextSearchStrategy) {
+        return new TaskTextSearchBinderCustomizer(taskRepository,
+                                                  taskTextSearchStrategy);
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.activiti.cloud.services.query.model.QueryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single threaded, bounded queue of event batches: batches submitted to the same lane
+ * are handled strictly in submission order.
+ */
+public class QueryEventLane {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryEventLane.class);
+
+    private final int index;
+    private final QueryEventHandlerContext eventHandlerContext;
+    private final BlockingQueue<LaneBatch> queue;
+    private final Counter handledEvents;
+    private final Counter failedBatches;
+    private final Timer handleTimer;
+
+    private volatile boolean running = true;
+    private volatile Thread worker;
+
+    public QueryEventLane(int index,
+                          int queueCapacity,
+                          QueryEventHandlerContext eventHandlerContext,
+                          MeterRegistry meterRegistry) {
+        this.index = index;
+        this.eventHandlerContext = eventHandlerContext;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        String lane = String.valueOf(index);
+        Gauge.builder("query.consumer.lane.queue.size", queue, BlockingQueue::size)
+             .tag("lane", lane)
+             .register(meterRegistry);
+        this.handledEvents = Counter.builder("query.consumer.lane.events")
+                                    .tag("lane", lane)
+                                    .register(meterRegistry);
+        this.failedBatches = Counter.builder("query.consumer.lane.failures")
+                                    .tag("lane", lane)
+                                    .register(meterRegistry);
+        this.handleTimer = Timer.builder("query.consumer.lane.handle")
+                                .tag("lane", lane)
+                                .register(meterRegistry);
+
+        startWorker();
+    }
+
+    public CompletableFuture<Void> submit(List<CloudRuntimeEvent<?, ?>> events,
+                                          Duration offerTimeout) {
+        if (!running) {
+            throw new QueryException("Query event lane " + index + " is shut down");
+        }
+        LaneBatch batch = new LaneBatch(events);
+        try {
+            if (!queue.offer(batch, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new QueryException("Query event lane " + index + " is full, unable to enqueue "
+                                                 + events.size() + " events within " + offerTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryException("Interrupted while enqueuing events on query event lane " + index, e);
+        }
+        return batch.completion;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        List<LaneBatch> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(batch -> batch.completion.completeExceptionally(
+                new QueryException("Query event lane " + index + " was shut down before handling the events")));
+    }
+
+    private void startWorker() {
+        Thread thread = new Thread(this::run, "query-event-lane-" + index);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                LaneBatch batch;
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                handle(batch);
+            }
+        } finally {
+            // a worker must never die silently while the lane is in use, its queued batches would never complete
+            if (running) {
+                LOGGER.error("Worker of query event lane {} terminated unexpectedly, starting a new one", index);
+                startWorker();
+            }
+        }
+    }
+
+    private void handle(LaneBatch batch) {
+        try {
+            handleTimer.record(() -> eventHandlerContext.handle(batch.events.toArray(new CloudRuntimeEvent[]{})));
+            handledEvents.increment(batch.events.size());
+            batch.completion.complete(null);
+        } catch (Throwable cause) {
+            LOGGER.error("Error handling events on query event lane " + index, cause);
+            failedBatches.increment();
+            batch.completion.completeExceptionally(cause);
+            if (cause instanceof VirtualMachineError) {
+                throw (VirtualMachineError) cause;
+            }
+        }
+    }
+
+    private static class LaneBatch {
+
+        private final List<CloudRuntimeEvent<?, ?>> events;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private LaneBatch(List<CloudRuntimeEvent<?, ?>> events) {
+            this.events = events;
+        }
+    }
+}
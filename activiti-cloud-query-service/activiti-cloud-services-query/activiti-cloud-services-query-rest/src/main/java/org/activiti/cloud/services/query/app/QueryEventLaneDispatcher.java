@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.api.task.model.TaskCandidateGroup;
+import org.activiti.api.task.model.TaskCandidateUser;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.activiti.cloud.services.query.model.QueryException;
+
+/**
+ * Shards incoming events onto a fixed set of {@link QueryEventLane}s using the process instance id
+ * (or the task id for standalone tasks) as partition key, so that events of the same instance keep
+ * their order while unrelated instances are projected in parallel.
+ * <p>
+ * A dispatch returns only once every lane involved has handled its share of the batch, so a failure
+ * is still propagated to the binder and the message gets redelivered. A single consumer thread would
+ * therefore only ever feed the lanes of one message at a time: lanes only run in parallel across
+ * messages when the binding has several concurrent consumers, see
+ * {@code spring.cloud.stream.bindings.queryConsumer.consumer.concurrency}.
+ */
+public class QueryEventLaneDispatcher {
+
+    private final List<QueryEventLane> lanes;
+    private final Duration offerTimeout;
+
+    public QueryEventLaneDispatcher(QueryEventHandlerContext eventHandlerContext,
+                                    QueryEventLaneProperties properties,
+                                    MeterRegistry meterRegistry) {
+        List<QueryEventLane> lanes = new ArrayList<>();
+        for (int index = 0; index < Math.max(1, properties.getCount()); index++) {
+            lanes.add(new QueryEventLane(index,
+                                         properties.getQueueCapacity(),
+                                         eventHandlerContext,
+                                         meterRegistry));
+        }
+        this.lanes = Collections.unmodifiableList(lanes);
+        this.offerTimeout = properties.getOfferTimeout();
+    }
+
+    public void dispatch(List<CloudRuntimeEvent<?, ?>> events) {
+        Map<QueryEventLane, List<CloudRuntimeEvent<?, ?>>> batches = new LinkedHashMap<>();
+        for (CloudRuntimeEvent<?, ?> event : events) {
+            batches.computeIfAbsent(laneOf(event),
+                                    lane -> new ArrayList<>())
+                   .add(event);
+        }
+
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        QueryException rejection = null;
+        for (Map.Entry<QueryEventLane, List<CloudRuntimeEvent<?, ?>>> batch : batches.entrySet()) {
+            try {
+                pending.add(batch.getKey().submit(batch.getValue(),
+                                                  offerTimeout));
+            } catch (QueryException e) {
+                rejection = e;
+                break;
+            }
+        }
+
+        // always wait for accepted batches so that a redelivery never overlaps with them
+        await(pending);
+        if (rejection != null) {
+            throw rejection;
+        }
+    }
+
+    public List<QueryEventLane> getLanes() {
+        return lanes;
+    }
+
+    public void shutdown() {
+        lanes.forEach(QueryEventLane::shutdown);
+    }
+
+    protected QueryEventLane laneOf(CloudRuntimeEvent<?, ?> event) {
+        String partitionKey = resolvePartitionKey(event);
+        int index = partitionKey == null ? 0 : Math.floorMod(partitionKey.hashCode(),
+                                                             lanes.size());
+        return lanes.get(index);
+    }
+
+    protected String resolvePartitionKey(CloudRuntimeEvent<?, ?> event) {
+        if (event.getProcessInstanceId() != null) {
+            return event.getProcessInstanceId();
+        }
+        Object entity = event.getEntity();
+        if (entity instanceof VariableInstance && ((VariableInstance) entity).getTaskId() != null) {
+            return ((VariableInstance) entity).getTaskId();
+        } else if (entity instanceof TaskCandidateUser) {
+            return ((TaskCandidateUser) entity).getTaskId();
+        } else if (entity instanceof TaskCandidateGroup) {
+            return ((TaskCandidateGroup) entity).getTaskId();
+        }
+        return event.getEntityId();
+    }
+
+    private void await(List<CompletableFuture<Void>> pending) {
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[]{}))
+                             .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof QueryException) {
+                throw (QueryException) e.getCause();
+            }
+            throw new QueryException("Error handling query events",
+                                     e.getCause());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(QueryEventLaneProperties.PREFIX)
+public class QueryEventLaneProperties {
+
+    public static final String PREFIX = "activiti.cloud.services.query.consumer.lanes";
+
+    /**
+     * Enable partition-aware ingestion: events are sharded by process instance onto ordered lanes.
+     * The query consumer binding then defaults to 4 concurrent consumers (ACT_QUERY_CONSUMER_CONCURRENCY)
+     */
+    private boolean enabled;
+
+    /**
+     * Number of ordered lanes, each one backed by a single worker thread
+     */
+    private int count = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of pending batches queued on a single lane
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Maximum time the consumer waits for room on a full lane before rejecting the message
+     */
+    private Duration offerTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Handles a whole message in a single transaction: the referenced entities are prefetched by the
+ * registered {@link QueryEventPrefetcher}s, every event is applied against the persistence context and
+ * the resulting inserts and updates are flushed together on commit, using the JDBC batching and statement
+ * ordering that the batch configuration enables unless <code>spring.jpa.properties.hibernate.*</code>
+ * overrides it.
+ */
+public class BatchingQueryEventHandlerContext extends QueryEventHandlerContext {
+
+    private static Logger LOGGER = LoggerFactory.getLogger(BatchingQueryEventHandlerContext.class);
+
+    private final List<QueryEventPrefetcher> prefetchers;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchingQueryEventHandlerContext(Set<QueryEventHandler> handlers,
+                                            List<QueryEventPrefetcher> prefetchers,
+                                            TransactionTemplate transactionTemplate) {
+        super(handlers);
+        this.prefetchers = prefetchers;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void handle(CloudRuntimeEvent<?, ?>... events) {
+        if (events != null && events.length > 0) {
+            transactionTemplate.execute(status -> {
+                List<CloudRuntimeEvent<?, ?>> batch = Arrays.asList(events);
+                LOGGER.debug("Prefetching entities for a batch of " + batch.size() + " events");
+                prefetchers.forEach(prefetcher -> prefetcher.prefetch(batch));
+                super.handle(events);
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Names of the variables already stored for the process instances and tasks referenced by a batch of events,
+ * loaded at once by the {@link VariablePrefetcher} and bound to the batch transaction. Creating a variable then
+ * checks and records its name here instead of querying the database, which would flush the pending inserts
+ * of the batch one by one.
+ */
+public class PrefetchedVariables implements TransactionSynchronization {
+
+    private final Map<String, Set<String>> processVariableNames = new HashMap<>();
+
+    private final Map<String, Set<String>> taskVariableNames = new HashMap<>();
+
+    public static PrefetchedVariables current() {
+        return (PrefetchedVariables) TransactionSynchronizationManager.getResource(PrefetchedVariables.class);
+    }
+
+    static PrefetchedVariables bind() {
+        PrefetchedVariables prefetchedVariables = current();
+        if (prefetchedVariables == null) {
+            prefetchedVariables = new PrefetchedVariables();
+            TransactionSynchronizationManager.bindResource(PrefetchedVariables.class,
+                                                           prefetchedVariables);
+            TransactionSynchronizationManager.registerSynchronization(prefetchedVariables);
+        }
+        return prefetchedVariables;
+    }
+
+    void prefetchedProcessInstance(String processInstanceId) {
+        processVariableNames.computeIfAbsent(processInstanceId, id -> new HashSet<>());
+    }
+
+    void prefetchedTask(String taskId) {
+        taskVariableNames.computeIfAbsent(taskId, id -> new HashSet<>());
+    }
+
+    public boolean coversProcessInstance(String processInstanceId) {
+        return processVariableNames.containsKey(processInstanceId);
+    }
+
+    public boolean coversTask(String taskId) {
+        return taskVariableNames.containsKey(taskId);
+    }
+
+    /**
+     * @return <code>false</code> when the process instance already has a variable with that name
+     */
+    public boolean addProcessVariable(String processInstanceId,
+                                      String name) {
+        return processVariableNames.computeIfAbsent(processInstanceId, id -> new HashSet<>()).add(name);
+    }
+
+    /**
+     * @return <code>false</code> when the task already has a variable with that name
+     */
+    public boolean addTaskVariable(String taskId,
+                                   String name) {
+        return taskVariableNames.computeIfAbsent(taskId, id -> new HashSet<>()).add(name);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(PrefetchedVariables.class);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+
+public class ProcessInstancePrefetcher implements QueryEventPrefetcher {
+
+    private final ProcessInstanceRepository processInstanceRepository;
+
+    public ProcessInstancePrefetcher(ProcessInstanceRepository processInstanceRepository) {
+        this.processInstanceRepository = processInstanceRepository;
+    }
+
+    @Override
+    public void prefetch(List<CloudRuntimeEvent<?, ?>> events) {
+        Set<String> processInstanceIds = events.stream()
+                                               .map(CloudRuntimeEvent::getProcessInstanceId)
+                                               .filter(Objects::nonNull)
+                                               .collect(Collectors.toSet());
+        if (!processInstanceIds.isEmpty()) {
+            processInstanceRepository.findAllById(processInstanceIds);
+        }
+    }
+}
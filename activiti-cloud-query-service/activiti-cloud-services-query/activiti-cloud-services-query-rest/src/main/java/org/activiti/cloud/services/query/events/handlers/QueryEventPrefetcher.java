@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.List;
+
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+
+/**
+ * Batch-aware extension point used by {@link BatchingQueryEventHandlerContext}: loads up front, with a few
+ * set-based queries, the rows referenced by a whole batch of events so that the handlers find them in the
+ * persistence context instead of querying them one by one. Only lookups by id are served from the persistence
+ * context: predicate based queries always hit the database, so entities found that way are not worth prefetching.
+ */
+public interface QueryEventPrefetcher {
+
+    void prefetch(List<CloudRuntimeEvent<?, ?>> events);
+
+}
@@ -17,6 +17,7 @@ package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
 
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -24,14 +25,21 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskActivatedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskActivatedEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskActivatedEventHandler(TaskRepository taskRepository) {
+    public TaskActivatedEventHandler(TaskRepository taskRepository,
+                                     TaskVisibilityUpdater taskVisibilityUpdater,
+                                     TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -42,6 +50,7 @@ public class TaskActivatedEventHandler implements QueryEventHandler {
         TaskEntity taskEntity = findResult.orElseThrow(
                 () -> new QueryException("Unable to find taskEntity with id: " + eventTask.getId())
         );
+        Set<TaskCounterId> counters = taskCounterUpdater.countersOf(taskEntity);
         if (taskEntity.getAssignee() != null && !taskEntity.getAssignee().isEmpty()) {
             taskEntity.setStatus(Task.TaskStatus.ASSIGNED);
         } else {
@@ -51,6 +60,9 @@ public class TaskActivatedEventHandler implements QueryEventHandler {
         taskEntity.setOwner(taskActivatedEvent.getEntity().getOwner());
         taskEntity.setClaimedDate(taskActivatedEvent.getEntity().getClaimedDate());
         taskRepository.save(taskEntity);
+        taskVisibilityUpdater.refresh(taskEntity.getId());
+        taskCounterUpdater.update(counters,
+                                  taskCounterUpdater.countersOf(taskEntity));
     }
 
     @Override
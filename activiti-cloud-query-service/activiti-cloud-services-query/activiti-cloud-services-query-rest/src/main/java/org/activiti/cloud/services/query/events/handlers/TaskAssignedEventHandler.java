@@ -17,6 +17,7 @@ package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
 
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -24,14 +25,21 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskAssignedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskAssignedEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskAssignedEventHandler(TaskRepository taskRepository) {
+    public TaskAssignedEventHandler(TaskRepository taskRepository,
+                                    TaskVisibilityUpdater taskVisibilityUpdater,
+                                    TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -42,6 +50,7 @@ public class TaskAssignedEventHandler implements QueryEventHandler {
         TaskEntity queryTaskEntity = findResult.orElseThrow(
                 () -> new QueryException("Unable to find task with id: " + eventTask.getId())
         );
+        Set<TaskCounterId> counters = taskCounterUpdater.countersOf(queryTaskEntity);
         queryTaskEntity.setAssignee(eventTask.getAssignee());
         queryTaskEntity.setStatus(Task.TaskStatus.ASSIGNED);
         queryTaskEntity.setLastModified(new Date(taskAssignedEvent.getTimestamp()));
@@ -53,6 +62,9 @@ public class TaskAssignedEventHandler implements QueryEventHandler {
         queryTaskEntity.setOwner(eventTask.getOwner());
         queryTaskEntity.setClaimedDate(eventTask.getClaimedDate());
         taskRepository.save(queryTaskEntity);
+        taskVisibilityUpdater.refresh(queryTaskEntity.getId());
+        taskCounterUpdater.update(counters,
+                                  taskCounterUpdater.countersOf(queryTaskEntity));
     }
 
     @Override
@@ -16,6 +16,7 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Date;
+import java.util.Set;
 
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -23,14 +24,18 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskCancelledEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskCancelledEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskCancelledEventHandler(TaskRepository taskRepository) {
+    public TaskCancelledEventHandler(TaskRepository taskRepository,
+                                     TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -46,9 +51,12 @@ public class TaskCancelledEventHandler implements QueryEventHandler {
 
     private void updateTaskStatus(TaskEntity taskEntity,
                                   Long eventTimestamp) {
+        Set<TaskCounterId> counters = taskCounterUpdater.countersOf(taskEntity);
         taskEntity.setStatus(Task.TaskStatus.CANCELLED);
         taskEntity.setLastModified(new Date(eventTimestamp));
         taskRepository.save(taskEntity);
+        taskCounterUpdater.update(counters,
+                                  taskCounterUpdater.countersOf(taskEntity));
     }
 
     @Override
@@ -15,19 +15,28 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import java.util.Set;
+
 import org.activiti.api.task.model.events.TaskCandidateGroupEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskCandidateGroupAddedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
 import org.activiti.cloud.services.query.model.QueryException;
 import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 
 public class TaskCandidateGroupAddedEventHandler implements QueryEventHandler {
 
     private final TaskCandidateGroupRepository taskCandidateGroupRepository;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskCandidateGroupAddedEventHandler(TaskCandidateGroupRepository taskCandidateGroupRepository) {
+    public TaskCandidateGroupAddedEventHandler(TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                               TaskVisibilityUpdater taskVisibilityUpdater,
+                                               TaskCounterUpdater taskCounterUpdater) {
         this.taskCandidateGroupRepository = taskCandidateGroupRepository;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -41,7 +50,11 @@ public class TaskCandidateGroupAddedEventHandler implements QueryEventHandler {
 
         // Persist into database
         try {
+            Set<TaskCounterId> counters = taskCounterUpdater.countersOf(taskCandidateGroup.getTaskId());
             taskCandidateGroupRepository.save(taskCandidateGroup);
+            taskVisibilityUpdater.refresh(taskCandidateGroup.getTaskId());
+            taskCounterUpdater.update(counters,
+                                      taskCounterUpdater.countersOf(taskCandidateGroup.getTaskId()));
         } catch (Exception cause) {
             throw new QueryException("Error handling TaskCandidateGroupAddedEvent[" + event + "]",
                                      cause);
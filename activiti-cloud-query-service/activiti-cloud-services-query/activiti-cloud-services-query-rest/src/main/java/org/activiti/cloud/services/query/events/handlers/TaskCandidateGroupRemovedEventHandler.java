@@ -16,6 +16,7 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.activiti.api.task.model.events.TaskCandidateGroupEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -23,6 +24,7 @@ import org.activiti.cloud.api.task.model.events.CloudTaskCandidateGroupRemovedEv
 import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,11 +34,17 @@ public class TaskCandidateGroupRemovedEventHandler implements QueryEventHandler
     private static Logger LOGGER = LoggerFactory.getLogger(TaskCandidateGroupRemovedEventHandler.class);
     private final TaskRepository taskRepository;
     private final TaskCandidateGroupRepository taskCandidateGroupRepository;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
+    private final TaskCounterUpdater taskCounterUpdater;
 
     public TaskCandidateGroupRemovedEventHandler(TaskRepository taskRepository,
-                                                 TaskCandidateGroupRepository taskCandidateGroupRepository) {
+                                                 TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                                 TaskVisibilityUpdater taskVisibilityUpdater,
+                                                 TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
         this.taskCandidateGroupRepository = taskCandidateGroupRepository;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -53,7 +61,11 @@ public class TaskCandidateGroupRemovedEventHandler implements QueryEventHandler
                                                                            taskCandidateGroupRemovedEvent.getEntity().getGroupId());
             // Persist into database
             try {
+                Set<TaskCounterId> counters = taskCounterUpdater.countersOf(findResult.get());
                 taskCandidateGroupRepository.delete(taskCandidateGroup);
+                taskVisibilityUpdater.refresh(taskId);
+                taskCounterUpdater.update(counters,
+                                          taskCounterUpdater.countersOf(findResult.get()));
             } catch (Exception cause) {
                 LOGGER.debug("Error handling TaskCandidateGroupRemovedEvent[" + event + "]",
                              cause);
@@ -25,9 +25,12 @@ import org.activiti.cloud.services.query.model.TaskCandidateUser;
 public class TaskCandidateUserAddedEventHandler implements QueryEventHandler {
 
     private final TaskCandidateUserRepository taskCandidateUserRepository;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
 
-    public TaskCandidateUserAddedEventHandler(TaskCandidateUserRepository taskCandidateUserRepository) {
+    public TaskCandidateUserAddedEventHandler(TaskCandidateUserRepository taskCandidateUserRepository,
+                                              TaskVisibilityUpdater taskVisibilityUpdater) {
         this.taskCandidateUserRepository = taskCandidateUserRepository;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
     }
 
     @Override
@@ -38,6 +41,7 @@ public class TaskCandidateUserAddedEventHandler implements QueryEventHandler {
         try {
             taskCandidateUserRepository.save(new TaskCandidateUser(taskCandidateUser.getTaskId(),
                                                                    taskCandidateUser.getUserId()));
+            taskVisibilityUpdater.refresh(taskCandidateUser.getTaskId());
         } catch (Exception cause) {
             throw new QueryException("Error handling TaskCandidateUserAddedEvent[" + event + "]",
                                      cause);
@@ -32,11 +32,14 @@ public class TaskCandidateUserRemovedEventHandler implements QueryEventHandler {
     private static Logger LOGGER = LoggerFactory.getLogger(TaskCandidateUserRemovedEventHandler.class);
     private final TaskRepository taskRepository;
     private final TaskCandidateUserRepository taskCandidateUserRepository;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
 
     public TaskCandidateUserRemovedEventHandler(TaskRepository taskRepository,
-                                                TaskCandidateUserRepository taskCandidateUserRepository) {
+                                                TaskCandidateUserRepository taskCandidateUserRepository,
+                                                TaskVisibilityUpdater taskVisibilityUpdater) {
         this.taskRepository = taskRepository;
         this.taskCandidateUserRepository = taskCandidateUserRepository;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
     }
 
     @Override
@@ -53,6 +56,7 @@ public class TaskCandidateUserRemovedEventHandler implements QueryEventHandler {
             try {
                 taskCandidateUserRepository.delete(new TaskCandidateUser(taskId,
                                                                          taskCandidateUser.getUserId()));
+                taskVisibilityUpdater.refresh(taskId);
             } catch (Exception cause) {
                 LOGGER.debug("Error handling TaskCandidateUserRemovedEvent[" + event + "]",
                              cause);
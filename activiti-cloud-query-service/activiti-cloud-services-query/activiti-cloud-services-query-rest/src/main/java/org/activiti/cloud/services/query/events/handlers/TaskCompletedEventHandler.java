@@ -17,6 +17,7 @@ package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
 
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -24,14 +25,18 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskCompletedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskCompletedEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskCompletedEventHandler(TaskRepository taskRepository) {
+    public TaskCompletedEventHandler(TaskRepository taskRepository,
+                                     TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -43,6 +48,7 @@ public class TaskCompletedEventHandler implements QueryEventHandler {
                 () -> new QueryException("Unable to find task with id: " + eventTask.getId())
         );
 
+        Set<TaskCounterId> counters = taskCounterUpdater.countersOf(queryTaskEntity);
         queryTaskEntity.setStatus(eventTask.getStatus());
         queryTaskEntity.setLastModified(new Date(taskCompletedEvent.getTimestamp()));
         queryTaskEntity.setCompletedDate(new Date (taskCompletedEvent.getTimestamp()));
@@ -52,6 +58,8 @@ public class TaskCompletedEventHandler implements QueryEventHandler {
         }
 
         taskRepository.save(queryTaskEntity);
+        taskCounterUpdater.update(counters,
+                                  taskCounterUpdater.countersOf(queryTaskEntity));
     }
 
     @Override
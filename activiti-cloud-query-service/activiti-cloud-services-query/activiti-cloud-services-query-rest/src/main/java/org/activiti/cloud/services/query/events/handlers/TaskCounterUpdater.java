@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.model.ProcessDefinitionEntity;
+import org.activiti.cloud.services.query.model.QTaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the {@link TaskCounter}s in line with the tasks: handlers capture the counters a task
+ * contributes to before changing it, then hand both snapshots over to {@link #update(Set, Set)}
+ * so that only the counters the task left or joined are touched.
+ * <p>
+ * Within a transaction the changes are only accumulated, and applied all together right before commit,
+ * in the order of the counter ids: a lane handling a batch of events then holds the counter row locks
+ * for the duration of the commit only, and lanes always lock shared counters in the same order, so they
+ * cannot deadlock. A rolled back batch leaves the counters untouched.
+ */
+public class TaskCounterUpdater {
+
+    private final TaskRepository taskRepository;
+    private final TaskCandidateGroupRepository taskCandidateGroupRepository;
+    private final ProcessDefinitionRepository processDefinitionRepository;
+    private final TaskCounterRepository taskCounterRepository;
+
+    public TaskCounterUpdater(TaskRepository taskRepository,
+                              TaskCandidateGroupRepository taskCandidateGroupRepository,
+                              ProcessDefinitionRepository processDefinitionRepository,
+                              TaskCounterRepository taskCounterRepository) {
+        this.taskRepository = taskRepository;
+        this.taskCandidateGroupRepository = taskCandidateGroupRepository;
+        this.processDefinitionRepository = processDefinitionRepository;
+        this.taskCounterRepository = taskCounterRepository;
+    }
+
+    public Set<TaskCounterId> countersOf(String taskId) {
+        // candidates can be received before the task itself
+        return taskRepository.findById(taskId)
+                             .map(this::countersOf)
+                             .orElse(Collections.emptySet());
+    }
+
+    public Set<TaskCounterId> countersOf(TaskEntity task) {
+        Set<TaskCounterId> counters = new LinkedHashSet<>();
+        if (task.getStatus() == null) {
+            return counters;
+        }
+
+        if (task.getAssignee() != null) {
+            counters.add(new TaskCounterId(TaskCounter.Dimension.ASSIGNEE,
+                                           task.getAssignee(),
+                                           task.getStatus()));
+        } else {
+            for (TaskCandidateGroup candidateGroup : taskCandidateGroupRepository.findAll(QTaskCandidateGroup.taskCandidateGroup.taskId.eq(task.getId()))) {
+                counters.add(new TaskCounterId(TaskCounter.Dimension.CANDIDATE_GROUP,
+                                               candidateGroup.getGroupId(),
+                                               task.getStatus()));
+            }
+        }
+
+        if (task.getProcessDefinitionId() != null) {
+            processDefinitionRepository.findById(task.getProcessDefinitionId())
+                                       .map(ProcessDefinitionEntity::getKey)
+                                       .ifPresent(key -> counters.add(new TaskCounterId(TaskCounter.Dimension.PROCESS_DEFINITION_KEY,
+                                                                                        key,
+                                                                                        task.getStatus())));
+        }
+        return counters;
+    }
+
+    public void update(Set<TaskCounterId> before,
+                       Set<TaskCounterId> after) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        for (TaskCounterId counter : before) {
+            if (!after.contains(counter)) {
+                deltas.put(counter,
+                           -1L);
+            }
+        }
+        for (TaskCounterId counter : after) {
+            if (!before.contains(counter)) {
+                deltas.put(counter,
+                           1L);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingDeltas().add(deltas);
+        } else {
+            taskCounterRepository.incrementAll(deltas);
+        }
+    }
+
+    private PendingDeltas pendingDeltas() {
+        PendingDeltas pendingDeltas = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pendingDeltas == null) {
+            pendingDeltas = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this,
+                                                           pendingDeltas);
+            TransactionSynchronizationManager.registerSynchronization(pendingDeltas);
+        }
+        return pendingDeltas;
+    }
+
+    private class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<TaskCounterId, Long> deltas = new HashMap<>();
+
+        void add(Map<TaskCounterId, Long> changes) {
+            changes.forEach((counter, delta) -> deltas.merge(counter,
+                                                             delta,
+                                                             Long::sum));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.values().removeIf(delta -> delta == 0);
+            if (!deltas.isEmpty()) {
+                taskCounterRepository.incrementAll(deltas);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskCounterUpdater.this);
+        }
+    }
+}
@@ -15,6 +15,9 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import java.util.Collections;
+import java.util.Set;
+
 import javax.persistence.EntityManager;
 
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -23,17 +26,27 @@ import org.activiti.cloud.api.task.model.events.CloudTaskCreatedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskCreatedEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
     private final EntityManager entityManager;
+    private final TaskVisibilityUpdater taskVisibilityUpdater;
+    private final TaskTextIndexUpdater taskTextIndexUpdater;
+    private final TaskCounterUpdater taskCounterUpdater;
 
     public TaskCreatedEventHandler(TaskRepository taskRepository,
-                                   EntityManager entityManager) {
+                                   EntityManager entityManager,
+                                   TaskVisibilityUpdater taskVisibilityUpdater,
+                                   TaskTextIndexUpdater taskTextIndexUpdater,
+                                   TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
         this.entityManager = entityManager;
+        this.taskVisibilityUpdater = taskVisibilityUpdater;
+        this.taskTextIndexUpdater = taskTextIndexUpdater;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -59,6 +72,10 @@ public class TaskCreatedEventHandler implements QueryEventHandler {
                                      TaskEntity queryTaskEntity) {
         try {
             taskRepository.save(queryTaskEntity);
+            taskVisibilityUpdater.refresh(queryTaskEntity.getId());
+            taskTextIndexUpdater.refresh(queryTaskEntity);
+            taskCounterUpdater.update(Collections.emptySet(),
+                                      taskCounterUpdater.countersOf(queryTaskEntity));
         } catch (Exception cause) {
             throw new QueryException("Error handling TaskCreatedEvent[" + event + "]",
                                      cause);
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.TaskCandidateGroup;
+import org.activiti.api.task.model.TaskCandidateUser;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+
+public class TaskPrefetcher implements QueryEventPrefetcher {
+
+    private final TaskRepository taskRepository;
+
+    public TaskPrefetcher(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public void prefetch(List<CloudRuntimeEvent<?, ?>> events) {
+        Set<String> taskIds = events.stream()
+                                    .map(CloudRuntimeEvent::getEntity)
+                                    .map(this::resolveTaskId)
+                                    .filter(Objects::nonNull)
+                                    .collect(Collectors.toSet());
+        if (!taskIds.isEmpty()) {
+            taskRepository.findAllById(taskIds);
+        }
+    }
+
+    private String resolveTaskId(Object entity) {
+        if (entity instanceof Task) {
+            return ((Task) entity).getId();
+        } else if (entity instanceof VariableInstance) {
+            return ((VariableInstance) entity).getTaskId();
+        } else if (entity instanceof TaskCandidateUser) {
+            return ((TaskCandidateUser) entity).getTaskId();
+        } else if (entity instanceof TaskCandidateGroup) {
+            return ((TaskCandidateGroup) entity).getTaskId();
+        }
+        return null;
+    }
+}
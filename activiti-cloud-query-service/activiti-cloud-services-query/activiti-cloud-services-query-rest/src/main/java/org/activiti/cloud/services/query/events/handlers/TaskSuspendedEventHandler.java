@@ -16,6 +16,7 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Date;
+import java.util.Set;
 
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -23,14 +24,18 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskSuspendedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskSuspendedEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskSuspendedEventHandler(TaskRepository taskRepository) {
+    public TaskSuspendedEventHandler(TaskRepository taskRepository,
+                                     TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -40,9 +45,12 @@ public class TaskSuspendedEventHandler implements QueryEventHandler {
 
         TaskEntity taskEntity = taskRepository.findById(eventTask.getId())
                 .orElseThrow(() -> new QueryException("Unable to find task with id: " + eventTask.getId()));
+        Set<TaskCounterId> counters = taskCounterUpdater.countersOf(taskEntity);
         taskEntity.setStatus(Task.TaskStatus.SUSPENDED);
         taskEntity.setLastModified(new Date(taskSuspendedEvent.getTimestamp()));
         taskRepository.save(taskEntity);
+        taskCounterUpdater.update(counters,
+                                  taskCounterUpdater.countersOf(taskEntity));
     }
 
     @Override
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.QTaskTextGram;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Brings the {@link TaskTextGram} rows in line with the selected search strategy on startup, as they
+ * are only maintained while the trigram strategy is in use.
+ * <p>
+ * Without it the grams are dropped, so that none is left stale by the task changes made meanwhile.
+ * With it, the grams of the tasks that have none, as happens after a switch from another strategy,
+ * are built in chunks, each in its own transaction.
+ */
+public class TaskTextGramSynchronizer implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskTextGramSynchronizer.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final TaskTextGramRepository taskTextGramRepository;
+    private final TaskTextIndexUpdater taskTextIndexUpdater;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskTextGramSynchronizer(TaskRepository taskRepository,
+                                    TaskTextGramRepository taskTextGramRepository,
+                                    TaskTextIndexUpdater taskTextIndexUpdater,
+                                    EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.taskTextGramRepository = taskTextGramRepository;
+        this.taskTextIndexUpdater = taskTextIndexUpdater;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        synchronize();
+    }
+
+    public void synchronize() {
+        if (!taskTextIndexUpdater.isEnabled()) {
+            int deleted = transactionTemplate.execute(status -> taskTextGramRepository.deleteAllGrams());
+            if (deleted > 0) {
+                LOGGER.info("Dropped {} task text grams, which are not maintained by the selected search strategy", deleted);
+            }
+            return;
+        }
+
+        String lastTaskId = null;
+        long backfilled = 0;
+        List<String> taskIds;
+        do {
+            taskIds = findTaskIdsWithoutGrams(lastTaskId);
+            if (taskIds.isEmpty()) {
+                break;
+            }
+            List<String> chunk = taskIds;
+            try {
+                transactionTemplate.executeWithoutResult(status -> taskRepository.findAllById(chunk)
+                                                                                 .forEach(taskTextIndexUpdater::refresh));
+                backfilled += chunk.size();
+            } catch (DataIntegrityViolationException e) {
+                // another replica, or the event handlers, built the grams of these tasks meanwhile
+                LOGGER.debug("Skipping task text grams already built for tasks {} to {}", chunk.get(0), chunk.get(chunk.size() - 1), e);
+            }
+            lastTaskId = taskIds.get(taskIds.size() - 1);
+        } while (taskIds.size() == CHUNK_SIZE);
+
+        if (backfilled > 0) {
+            LOGGER.info("Built the task text grams of {} tasks", backfilled);
+        }
+    }
+
+    private List<String> findTaskIdsWithoutGrams(String lastTaskId) {
+        QTaskEntity task = QTaskEntity.taskEntity;
+        QTaskTextGram gram = QTaskTextGram.taskTextGram;
+        return new JPAQuery<String>(entityManager).select(task.id)
+                                                  .from(task)
+                                                  .where(lastTaskId != null ? task.id.gt(lastTaskId) : null,
+                                                         JPAExpressions.selectOne()
+                                                                       .from(gram)
+                                                                       .where(gram.taskId.eq(task.id))
+                                                                       .notExists())
+                                                  .orderBy(task.id.asc())
+                                                  .limit(CHUNK_SIZE)
+                                                  .fetch();
+    }
+}
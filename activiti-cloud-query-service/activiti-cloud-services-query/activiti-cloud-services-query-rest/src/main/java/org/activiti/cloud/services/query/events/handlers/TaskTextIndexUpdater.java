@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
+import org.activiti.cloud.services.query.model.QTaskTextGram;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+
+/**
+ * Keeps the {@link TaskTextGram} rows of a task in line with its name and description. Does nothing
+ * when disabled, i.e. when the trigram search strategy is not in use: {@link TaskTextGramSynchronizer}
+ * then brings the rows back in line when the strategy is switched.
+ */
+public class TaskTextIndexUpdater {
+
+    private final TaskTextGramRepository taskTextGramRepository;
+    private final boolean enabled;
+
+    public TaskTextIndexUpdater(TaskTextGramRepository taskTextGramRepository,
+                                boolean enabled) {
+        this.taskTextGramRepository = taskTextGramRepository;
+        this.enabled = enabled;
+    }
+
+    public void refresh(TaskEntity task) {
+        if (!enabled) {
+            return;
+        }
+
+        Set<TaskTextGram> expected = computeGrams(task);
+
+        List<TaskTextGram> stale = new ArrayList<>();
+        for (TaskTextGram existing : taskTextGramRepository.findAll(QTaskTextGram.taskTextGram.taskId.eq(task.getId()))) {
+            if (!expected.remove(existing)) {
+                stale.add(existing);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            taskTextGramRepository.deleteAll(stale);
+        }
+        if (!expected.isEmpty()) {
+            taskTextGramRepository.saveAll(expected);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    protected Set<TaskTextGram> computeGrams(TaskEntity task) {
+        Set<TaskTextGram> grams = new LinkedHashSet<>();
+        for (String gram : TaskTextGram.gramsOf(task.getName())) {
+            grams.add(new TaskTextGram(task.getId(),
+                                       TaskTextGram.Field.NAME,
+                                       gram));
+        }
+        for (String gram : TaskTextGram.gramsOf(task.getDescription())) {
+            grams.add(new TaskTextGram(task.getId(),
+                                       TaskTextGram.Field.DESCRIPTION,
+                                       gram));
+        }
+        return grams;
+    }
+}
@@ -17,6 +17,7 @@ package org.activiti.cloud.services.query.events.handlers;
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
 
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.events.TaskRuntimeEvent;
@@ -24,14 +25,21 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.task.model.events.CloudTaskUpdatedEvent;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 
 public class TaskUpdatedEventHandler implements QueryEventHandler {
 
     private final TaskRepository taskRepository;
+    private final TaskTextIndexUpdater taskTextIndexUpdater;
+    private final TaskCounterUpdater taskCounterUpdater;
 
-    public TaskUpdatedEventHandler(TaskRepository taskRepository) {
+    public TaskUpdatedEventHandler(TaskRepository taskRepository,
+                                   TaskTextIndexUpdater taskTextIndexUpdater,
+                                   TaskCounterUpdater taskCounterUpdater) {
         this.taskRepository = taskRepository;
+        this.taskTextIndexUpdater = taskTextIndexUpdater;
+        this.taskCounterUpdater = taskCounterUpdater;
     }
 
     @Override
@@ -43,6 +51,7 @@ public class TaskUpdatedEventHandler implements QueryEventHandler {
                 () -> new QueryException("Unable to find task with id: " + eventTask.getId())
         );
 
+        Set<TaskCounterId> counters = taskCounterUpdater.countersOf(queryTaskEntity);
         queryTaskEntity.setName(eventTask.getName());
         queryTaskEntity.setDescription(eventTask.getDescription());
         queryTaskEntity.setPriority(eventTask.getPriority());
@@ -53,6 +62,9 @@ public class TaskUpdatedEventHandler implements QueryEventHandler {
         queryTaskEntity.setStatus(eventTask.getStatus());
         
         taskRepository.save(queryTaskEntity);
+        taskTextIndexUpdater.refresh(queryTaskEntity);
+        taskCounterUpdater.update(counters,
+                                  taskCounterUpdater.countersOf(queryTaskEntity));
     }
 
     @Override
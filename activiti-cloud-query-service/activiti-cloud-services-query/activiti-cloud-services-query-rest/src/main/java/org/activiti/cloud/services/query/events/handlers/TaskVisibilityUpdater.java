@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
+import org.activiti.cloud.services.query.model.QTaskCandidateGroup;
+import org.activiti.cloud.services.query.model.QTaskCandidateUser;
+import org.activiti.cloud.services.query.model.QTaskVisibility;
+import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCandidateUser;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskVisibility;
+
+/**
+ * Keeps the {@link TaskVisibility} rows of a task in line with its assignee, owner and candidates,
+ * mirroring the rules applied by {@code TaskLookupRestrictionService}.
+ */
+public class TaskVisibilityUpdater {
+
+    private final TaskRepository taskRepository;
+    private final TaskCandidateUserRepository taskCandidateUserRepository;
+    private final TaskCandidateGroupRepository taskCandidateGroupRepository;
+    private final TaskVisibilityRepository taskVisibilityRepository;
+
+    public TaskVisibilityUpdater(TaskRepository taskRepository,
+                                 TaskCandidateUserRepository taskCandidateUserRepository,
+                                 TaskCandidateGroupRepository taskCandidateGroupRepository,
+                                 TaskVisibilityRepository taskVisibilityRepository) {
+        this.taskRepository = taskRepository;
+        this.taskCandidateUserRepository = taskCandidateUserRepository;
+        this.taskCandidateGroupRepository = taskCandidateGroupRepository;
+        this.taskVisibilityRepository = taskVisibilityRepository;
+    }
+
+    public void refresh(String taskId) {
+        // candidates can be received before the task itself
+        TaskEntity task = taskRepository.findById(taskId).orElse(null);
+
+        Set<TaskVisibility> expected = computeVisibility(taskId,
+                                                         task);
+
+        List<TaskVisibility> stale = new ArrayList<>();
+        for (TaskVisibility existing : taskVisibilityRepository.findAll(QTaskVisibility.taskVisibility.taskId.eq(taskId))) {
+            if (!expected.remove(existing)) {
+                stale.add(existing);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            taskVisibilityRepository.deleteAll(stale);
+        }
+        if (!expected.isEmpty()) {
+            taskVisibilityRepository.saveAll(expected);
+        }
+    }
+
+    protected Set<TaskVisibility> computeVisibility(String taskId,
+                                                    TaskEntity task) {
+        Set<TaskVisibility> visibility = new LinkedHashSet<>();
+        String assignee = task != null ? task.getAssignee() : null;
+        String owner = task != null ? task.getOwner() : null;
+
+        if (assignee != null) {
+            visibility.add(TaskVisibility.user(taskId, assignee));
+        }
+        if (owner != null) {
+            visibility.add(TaskVisibility.user(taskId, owner));
+        }
+
+        if (assignee == null) {
+            boolean hasCandidates = false;
+            for (TaskCandidateUser candidateUser : taskCandidateUserRepository.findAll(QTaskCandidateUser.taskCandidateUser.taskId.eq(taskId))) {
+                visibility.add(TaskVisibility.user(taskId, candidateUser.getUserId()));
+                hasCandidates = true;
+            }
+            for (TaskCandidateGroup candidateGroup : taskCandidateGroupRepository.findAll(QTaskCandidateGroup.taskCandidateGroup.taskId.eq(taskId))) {
+                visibility.add(TaskVisibility.group(taskId, candidateGroup.getGroupId()));
+                hasCandidates = true;
+            }
+            if (!hasCandidates) {
+                visibility.add(TaskVisibility.everyone(taskId));
+            }
+        }
+        return visibility;
+    }
+}
@@ -33,6 +33,7 @@ import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class VariableCreatedEventHandler implements QueryEventHandler {
 
@@ -54,21 +55,23 @@ public class VariableCreatedEventHandler implements QueryEventHandler {
     public void handle(CloudRuntimeEvent<?, ?> event) {
         CloudVariableCreatedEvent variableCreatedEvent = (CloudVariableCreatedEvent) event;
         LOGGER.debug("Handling variableEntity created event: " + variableCreatedEvent.getEntity().getName());
-        
+
         try {
-            if (variableCreatedEvent.getEntity().isTaskVariable()) {           
-                createTaskVariableEntity(variableCreatedEvent); 
-            } else { 
-                createProcessVariableEntity(variableCreatedEvent); 
+            if (variableCreatedEvent.getEntity().isTaskVariable()) {
+                createTaskVariableEntity(variableCreatedEvent);
+            } else {
+                createProcessVariableEntity(variableCreatedEvent);
             }
-        
         } catch (Exception cause) {
+            // within a transaction, such as the one of a batch, the failure has already marked it rollback-only
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw cause;
+            }
             LOGGER.debug("Error handling VariableCreatedEvent[" + event + "]",
                          cause);
         }
-   
     }
-   
+
     private void createTaskVariableEntity(CloudVariableCreatedEvent variableCreatedEvent) {
         ProcessInstanceEntity processInstanceEntity= getProcessInstance(variableCreatedEvent);
         
@@ -82,7 +85,11 @@ public class VariableCreatedEventHandler implements QueryEventHandler {
                         QTaskVariableEntity.taskVariableEntity.taskId.eq(taskId)
                 );
 
-        if (taskVariableRepository.exists(predicate)) {
+        PrefetchedVariables prefetchedVariables = PrefetchedVariables.current();
+        boolean exists = prefetchedVariables != null && prefetchedVariables.coversTask(taskId)
+                ? !prefetchedVariables.addTaskVariable(taskId, variableName)
+                : taskVariableRepository.exists(predicate);
+        if (exists) {
             LOGGER.debug("Variable " + variableName + " already exists in the task " + taskId + "!");
             return;
         }
@@ -119,7 +126,11 @@ public class VariableCreatedEventHandler implements QueryEventHandler {
                         QProcessVariableEntity.processVariableEntity.processInstanceId.eq(processInstanceId)
                 );
         
-        if (variableRepository.exists(predicate)) {
+        PrefetchedVariables prefetchedVariables = PrefetchedVariables.current();
+        boolean exists = prefetchedVariables != null && prefetchedVariables.coversProcessInstance(processInstanceId)
+                ? !prefetchedVariables.addProcessVariable(processInstanceId, variableName)
+                : variableRepository.exists(predicate);
+        if (exists) {
             LOGGER.debug("Variable " + variableName + " already exists in the process " + processInstanceId + "!");
             return;
         }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.activiti.api.model.shared.event.VariableEvent;
+import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.model.QProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskVariableEntity;
+
+/**
+ * Loads the names of the variables already stored for the process instances and tasks that the variables
+ * created by a batch belong to, with one query per owner type, into the {@link PrefetchedVariables} of the
+ * batch transaction.
+ */
+public class VariablePrefetcher implements QueryEventPrefetcher {
+
+    private final EntityManager entityManager;
+
+    public VariablePrefetcher(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void prefetch(List<CloudRuntimeEvent<?, ?>> events) {
+        List<VariableInstance> createdVariables = events.stream()
+                                                        .filter(event -> VariableEvent.VariableEvents.VARIABLE_CREATED == event.getEventType())
+                                                        .map(CloudRuntimeEvent::getEntity)
+                                                        .filter(VariableInstance.class::isInstance)
+                                                        .map(VariableInstance.class::cast)
+                                                        .collect(Collectors.toList());
+        if (createdVariables.isEmpty()) {
+            return;
+        }
+        PrefetchedVariables prefetchedVariables = PrefetchedVariables.bind();
+
+        Set<String> taskIds = createdVariables.stream()
+                                              .filter(VariableInstance::isTaskVariable)
+                                              .map(VariableInstance::getTaskId)
+                                              .collect(Collectors.toSet());
+        if (!taskIds.isEmpty()) {
+            QTaskVariableEntity taskVariable = QTaskVariableEntity.taskVariableEntity;
+            taskIds.forEach(prefetchedVariables::prefetchedTask);
+            for (Tuple stored : new JPAQuery<Tuple>(entityManager).select(taskVariable.taskId, taskVariable.name)
+                                                                  .from(taskVariable)
+                                                                  .where(taskVariable.taskId.in(taskIds))
+                                                                  .fetch()) {
+                prefetchedVariables.addTaskVariable(stored.get(taskVariable.taskId),
+                                                    stored.get(taskVariable.name));
+            }
+        }
+
+        Set<String> processInstanceIds = createdVariables.stream()
+                                                         .filter(variable -> !variable.isTaskVariable())
+                                                         .map(VariableInstance::getProcessInstanceId)
+                                                         .filter(Objects::nonNull)
+                                                         .collect(Collectors.toSet());
+        if (!processInstanceIds.isEmpty()) {
+            QProcessVariableEntity processVariable = QProcessVariableEntity.processVariableEntity;
+            processInstanceIds.forEach(prefetchedVariables::prefetchedProcessInstance);
+            for (Tuple stored : new JPAQuery<Tuple>(entityManager).select(processVariable.processInstanceId, processVariable.name)
+                                                                  .from(processVariable)
+                                                                  .where(processVariable.processInstanceId.in(processInstanceIds))
+                                                                  .fetch()) {
+                prefetchedVariables.addProcessVariable(stored.get(processVariable.processInstanceId),
+                                                       stored.get(processVariable.name));
+            }
+        }
+    }
+}
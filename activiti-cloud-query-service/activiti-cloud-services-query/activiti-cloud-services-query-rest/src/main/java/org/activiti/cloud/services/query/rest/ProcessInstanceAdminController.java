@@ -17,13 +17,20 @@ package org.activiti.cloud.services.query.rest;
 
 import java.util.Optional;
 
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
 import org.activiti.cloud.api.process.model.CloudProcessInstance;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.predicate.KeysetPredicateFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.hateoas.MediaTypes;
@@ -55,15 +62,19 @@ public class ProcessInstanceAdminController {
 
     private EntityFinder entityFinder;
 
+    private ArchiveReader archiveReader;
+
     @Autowired
     public ProcessInstanceAdminController(ProcessInstanceRepository processInstanceRepository,
                                           ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler,
                                           AlfrescoPagedModelAssembler<ProcessInstanceEntity> pagedCollectionModelAssembler,
-                                          EntityFinder entityFinder) {
+                                          EntityFinder entityFinder,
+                                          ArchiveReader archiveReader) {
         this.processInstanceRepository = processInstanceRepository;
         this.processInstanceRepresentationModelAssembler = processInstanceRepresentationModelAssembler;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.entityFinder=entityFinder;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -74,17 +85,47 @@ public class ProcessInstanceAdminController {
                             .orElseGet(BooleanBuilder::new);
 
         return pagedCollectionModelAssembler.toModel(pageable,
-                                                  processInstanceRepository.findAll(predicate,
-                                                                                    pageable),
+                                                  findPage(predicate,
+                                                           pageable),
                                                   processInstanceRepresentationModelAssembler);
     }
 
+    private Page<ProcessInstanceEntity> findPage(Predicate predicate,
+                                                 Pageable pageable) {
+        if (pageable instanceof KeysetPageRequest) {
+            KeysetPageRequest keysetPageRequest = (KeysetPageRequest) pageable;
+            Predicate seekPredicate = new KeysetPredicateFilter(QProcessInstanceEntity.processInstanceEntity,
+                                                                keysetPageRequest).extend(predicate);
+            return KeysetPage.of(queryPage(seekPredicate,
+                                           keysetPageRequest.toSeekPageRequest(KeysetPredicateFilter.ID_PROPERTY),
+                                           keysetPageRequest.isCountTotal()),
+                                 keysetPageRequest,
+                                 KeysetPredicateFilter.ID_PROPERTY);
+        }
+        return queryPage(predicate,
+                         pageable,
+                         AlfrescoPageRequest.isTotalCountRequired(pageable));
+    }
+
+    private Page<ProcessInstanceEntity> queryPage(Predicate predicate,
+                                                  Pageable pageable,
+                                                  boolean countTotal) {
+        if (archiveReader.isProcessInstanceArchiveRequested(predicate)) {
+            return archiveReader.readWithArchive(() -> processInstanceRepository.findAll(predicate,
+                                                                                         pageable,
+                                                                                         countTotal));
+        }
+        return processInstanceRepository.findAll(predicate,
+                                                 pageable,
+                                                 countTotal);
+    }
+
     @RequestMapping(value = "/{processInstanceId}", method = RequestMethod.GET)
     public EntityModel<CloudProcessInstance> findById(@PathVariable String processInstanceId) {
 
-        ProcessInstanceEntity processInstanceEntity = entityFinder.findById(processInstanceRepository,
-                                                                            processInstanceId,
-                                                                            "Unable to find task for the given id:'" + processInstanceId + "'");
+        ProcessInstanceEntity processInstanceEntity = archiveReader.findWithArchiveFallback(() -> entityFinder.findById(processInstanceRepository,
+                                                                                                                        processInstanceId,
+                                                                                                                        "Unable to find task for the given id:'" + processInstanceId + "'"));
         return processInstanceRepresentationModelAssembler.toModel(processInstanceEntity);
     }
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import com.querydsl.core.types.Predicate;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeletion;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeletionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Purges large numbers of process instances, with their tasks, variables, activities, sequence flows
+ * and integration contexts, without loading them: unlike {@link ProcessInstanceDeleteController} the
+ * deleted instances are not returned, only the progress of the deletion.
+ */
+@ConditionalOnProperty(name = "activiti.rest.enable-deletion", matchIfMissing = true)
+@RestController
+@RequestMapping(
+        value = "/admin/v1/process-instances/bulk",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class ProcessInstanceBulkDeleteController {
+
+    private final ProcessInstanceBulkDeletionService bulkDeletionService;
+
+    public ProcessInstanceBulkDeleteController(ProcessInstanceBulkDeletionService bulkDeletionService) {
+        this.bulkDeletionService = bulkDeletionService;
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE)
+    public ResponseEntity<ProcessInstanceBulkDeletion> deleteProcessInstances(@RequestParam(name = "async", defaultValue = "false") boolean async,
+                                                                              @QuerydslPredicate(root = ProcessInstanceEntity.class) Predicate predicate) {
+        if (!async) {
+            return ResponseEntity.ok(bulkDeletionService.delete(predicate));
+        }
+
+        ProcessInstanceBulkDeletion deletion = bulkDeletionService.deleteAsync(predicate);
+        return ResponseEntity.accepted()
+                             .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                                                                  .path("/{deletionId}")
+                                                                  .replaceQuery(null)
+                                                                  .buildAndExpand(deletion.getId())
+                                                                  .toUri())
+                             .body(deletion);
+    }
+
+    @RequestMapping(value = "/{deletionId}", method = RequestMethod.GET)
+    public ResponseEntity<ProcessInstanceBulkDeletion> getDeletion(@PathVariable String deletionId) {
+        return bulkDeletionService.getDeletion(deletionId)
+                                  .map(ResponseEntity::ok)
+                                  .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -18,13 +18,18 @@ package org.activiti.cloud.services.query.rest;
 import java.util.Optional;
 
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
 import org.activiti.cloud.api.process.model.CloudProcessInstance;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.predicate.KeysetPredicateFilter;
 import org.activiti.cloud.services.security.ProcessInstanceRestrictionService;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
@@ -32,6 +37,7 @@ import org.activiti.core.common.spring.security.policies.SecurityPolicyAccess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.hateoas.MediaTypes;
@@ -72,6 +78,8 @@ public class ProcessInstanceController {
 
     private EntityFinder entityFinder;
 
+    private ArchiveReader archiveReader;
+
     @Autowired
     public ProcessInstanceController(ProcessInstanceRepository processInstanceRepository,
                                      ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler,
@@ -79,7 +87,8 @@ public class ProcessInstanceController {
                                      ProcessInstanceRestrictionService processInstanceRestrictionService,
                                      EntityFinder entityFinder,
                                      SecurityPoliciesManager securityPoliciesApplicationService,
-                                     SecurityManager securityManager) {
+                                     SecurityManager securityManager,
+                                     ArchiveReader archiveReader) {
         this.processInstanceRepository = processInstanceRepository;
         this.processInstanceRepresentationModelAssembler = processInstanceRepresentationModelAssembler;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
@@ -87,6 +96,7 @@ public class ProcessInstanceController {
         this.entityFinder = entityFinder;
         this.securityPoliciesApplicationService = securityPoliciesApplicationService;
         this.securityManager = securityManager;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -98,17 +108,51 @@ public class ProcessInstanceController {
                                                                                     SecurityPolicyAccess.READ);
 
         return pagedCollectionModelAssembler.toModel(pageable,
-                                                  processInstanceRepository.findAll(predicate,
-                                                                                    pageable),
+                                                  findPage(predicate,
+                                                           pageable),
                                                   processInstanceRepresentationModelAssembler);
     }
 
+    /**
+     * Fetches the page after the cursor when a {@link KeysetPageRequest} is given, the offset page otherwise;
+     * the count query only runs when the total is requested.
+     */
+    private Page<ProcessInstanceEntity> findPage(Predicate predicate,
+                                                 Pageable pageable) {
+        if (pageable instanceof KeysetPageRequest) {
+            KeysetPageRequest keysetPageRequest = (KeysetPageRequest) pageable;
+            Predicate seekPredicate = new KeysetPredicateFilter(QProcessInstanceEntity.processInstanceEntity,
+                                                                keysetPageRequest).extend(predicate);
+            return KeysetPage.of(queryPage(seekPredicate,
+                                           keysetPageRequest.toSeekPageRequest(KeysetPredicateFilter.ID_PROPERTY),
+                                           keysetPageRequest.isCountTotal()),
+                                 keysetPageRequest,
+                                 KeysetPredicateFilter.ID_PROPERTY);
+        }
+        return queryPage(predicate,
+                         pageable,
+                         AlfrescoPageRequest.isTotalCountRequired(pageable));
+    }
+
+    private Page<ProcessInstanceEntity> queryPage(Predicate predicate,
+                                                  Pageable pageable,
+                                                  boolean countTotal) {
+        if (archiveReader.isProcessInstanceArchiveRequested(predicate)) {
+            return archiveReader.readWithArchive(() -> processInstanceRepository.findAll(predicate,
+                                                                                         pageable,
+                                                                                         countTotal));
+        }
+        return processInstanceRepository.findAll(predicate,
+                                                 pageable,
+                                                 countTotal);
+    }
+
     @RequestMapping(value = "/{processInstanceId}", method = RequestMethod.GET)
     public EntityModel<CloudProcessInstance> findById(@PathVariable String processInstanceId) {
 
-        ProcessInstanceEntity processInstanceEntity = entityFinder.findById(processInstanceRepository,
-                                                                            processInstanceId,
-                                                                            "Unable to find process instance for the given id:'" + processInstanceId + "'");
+        ProcessInstanceEntity processInstanceEntity = archiveReader.findWithArchiveFallback(() -> entityFinder.findById(processInstanceRepository,
+                                                                                                                        processInstanceId,
+                                                                                                                        "Unable to find process instance for the given id:'" + processInstanceId + "'"));
 
         if (!securityPoliciesApplicationService.canRead(processInstanceEntity.getProcessDefinitionKey(),
                                                         processInstanceEntity.getServiceName())) {
@@ -127,9 +171,9 @@ public class ProcessInstanceController {
 
         predicate = Optional.ofNullable(predicate).orElseGet(BooleanBuilder::new);
 
-        ProcessInstanceEntity processInstanceEntity = entityFinder.findById(processInstanceRepository,
-                                                                            processInstanceId,
-                                                                            "Unable to find process for the given id:'" + processInstanceId + "'");
+        ProcessInstanceEntity processInstanceEntity = archiveReader.findWithArchiveFallback(() -> entityFinder.findById(processInstanceRepository,
+                                                                                                                        processInstanceId,
+                                                                                                                        "Unable to find process for the given id:'" + processInstanceId + "'"));
 
         if (!securityPoliciesApplicationService.canRead(processInstanceEntity.getProcessDefinitionKey(),
                                                         processInstanceEntity.getServiceName())) {
@@ -139,14 +183,12 @@ public class ProcessInstanceController {
 
         QProcessInstanceEntity process = QProcessInstanceEntity.processInstanceEntity;
         BooleanExpression expression = process.parentId.eq(processInstanceId);
-        Predicate extendedPredicate = expression;
-        if (predicate != null) {
-            extendedPredicate = expression.and(predicate);
-        }
+        Predicate extendedPredicate = expression.and(predicate);
 
         return pagedCollectionModelAssembler.toModel(pageable,
-                                                  processInstanceRepository.findAll(extendedPredicate,
-                                                                                    pageable),
+                                                  archiveReader.findPageWithArchiveFallback(() -> processInstanceRepository.existsById(processInstanceId),
+                                                                                            () -> findPage(extendedPredicate,
+                                                                                                           pageable)),
                                                   processInstanceRepresentationModelAssembler);
     }
 }
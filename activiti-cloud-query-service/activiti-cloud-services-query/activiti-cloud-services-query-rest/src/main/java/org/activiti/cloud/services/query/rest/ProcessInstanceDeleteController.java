@@ -20,6 +20,7 @@ import org.activiti.cloud.api.process.model.CloudProcessInstance;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
@@ -27,12 +28,14 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 @ConditionalOnProperty(name = "activiti.rest.enable-deletion", matchIfMissing = true)
 @RestController
@@ -48,24 +51,34 @@ public class ProcessInstanceDeleteController {
 
     private ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler;
 
+    private final ProcessInstanceBulkDeleter bulkDeleter;
+
     @Autowired
     public ProcessInstanceDeleteController(ProcessInstanceRepository processInstanceRepository,
-                                           ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler) {
+                                           ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler,
+                                           ProcessInstanceBulkDeleter bulkDeleter) {
         this.processInstanceRepository = processInstanceRepository;
         this.processInstanceRepresentationModelAssembler = processInstanceRepresentationModelAssembler;
+        this.bulkDeleter = bulkDeleter;
     }
 
+    @Transactional
     @RequestMapping(method = RequestMethod.DELETE)
     public CollectionModel<EntityModel<CloudProcessInstance>> deleteProcessInstances (@QuerydslPredicate(root = ProcessInstanceEntity.class) Predicate predicate) {
 
         Collection<EntityModel<CloudProcessInstance>> result = new ArrayList<>();
-        Iterable <ProcessInstanceEntity> iterable = processInstanceRepository.findAll(predicate);
+        List<String> processInstanceIds = new ArrayList<>();
 
-        for(ProcessInstanceEntity entity : iterable){
+        for(ProcessInstanceEntity entity : processInstanceRepository.findAll(predicate)){
             result.add(processInstanceRepresentationModelAssembler.toModel(entity));
+            processInstanceIds.add(entity.getId());
         }
 
-        processInstanceRepository.deleteAll(iterable);
+        // purges the tasks, variables, activities and integration contexts of the process instances too
+        for (List<String> chunk : ProcessInstanceBulkDeleter.toChunks(processInstanceIds)) {
+            bulkDeleter.deleteTasks(chunk);
+            bulkDeleter.deleteProcessInstances(chunk);
+        }
 
         return new CollectionModel<>(result);
     }
@@ -15,12 +15,14 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
 import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.ProcessModelRepository;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -38,19 +40,23 @@ public class ProcessInstanceDiagramAdminController extends ProcessInstanceDiagra
                                             ProcessDiagramGeneratorWrapper processDiagramGenerator,
                                             ProcessInstanceRepository processInstanceRepository,
                                             BPMNActivityRepository bpmnActivityRepository,
-                                            EntityFinder entityFinder) {
+                                            EntityFinder entityFinder,
+                                            ProcessDiagramCache processDiagramCache,
+                                            ArchiveReader archiveReader) {
         super(processModelRepository,
               bpmnSequenceFlowRepository,
               processDiagramGenerator,
               processInstanceRepository,
               bpmnActivityRepository,
-              entityFinder);
+              entityFinder,
+              processDiagramCache,
+              archiveReader);
     }
 
     @GetMapping(produces = IMAGE_SVG_XML)
     @ResponseBody
     public String getProcessDiagram(@PathVariable String processInstanceId) {
-        return generateDiagram(processInstanceId);
+        return archiveReader.findWithArchiveFallback(() -> generateDiagram(processInstanceId));
     }
 
 }
@@ -16,6 +16,7 @@
 package org.activiti.cloud.services.query.rest;
 
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
 import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
@@ -23,6 +24,7 @@ import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.ProcessModelRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.slf4j.Logger;
@@ -51,14 +53,18 @@ public class ProcessInstanceDiagramController extends ProcessInstanceDiagramCont
                                             ProcessInstanceRepository processInstanceRepository,
                                             BPMNActivityRepository bpmnActivityRepository,
                                             EntityFinder entityFinder,
+                                            ProcessDiagramCache processDiagramCache,
                                             SecurityPoliciesManager securityPoliciesManager,
-                                            SecurityManager securityManager) {
+                                            SecurityManager securityManager,
+                                            ArchiveReader archiveReader) {
         super(processModelRepository,
               bpmnSequenceFlowRepository,
               processDiagramGenerator,
               processInstanceRepository,
               bpmnActivityRepository,
-              entityFinder);
+              entityFinder,
+              processDiagramCache,
+              archiveReader);
         
         this.securityPoliciesManager = securityPoliciesManager;
         this.securityManager = securityManager;
@@ -67,18 +73,21 @@ public class ProcessInstanceDiagramController extends ProcessInstanceDiagramCont
     @GetMapping(produces = IMAGE_SVG_XML)
     @ResponseBody
     public String getProcessDiagram(@PathVariable String processInstanceId) {
-        
-        ProcessInstanceEntity processInstanceEntity = entityFinder.findById(processInstanceRepository,
-                                                                            processInstanceId,
-                                                                            "Unable to find process for the given id:'" + processInstanceId + "'");
 
-        if (securityPoliciesManager.arePoliciesDefined() && !securityPoliciesManager.canRead(processInstanceEntity.getProcessDefinitionKey(),
-                                                                                             processInstanceEntity.getServiceName())) {
-            LOGGER.debug("User " + securityManager.getAuthenticatedUserId() + " not permitted to access definition " + processInstanceEntity.getProcessDefinitionKey());
-            throw new ActivitiForbiddenException("Operation not permitted for " + processInstanceEntity.getProcessDefinitionKey());
-        }
+        return archiveReader.findWithArchiveFallback(() -> {
+            ProcessInstanceEntity processInstanceEntity = entityFinder.findById(processInstanceRepository,
+                                                                                processInstanceId,
+                                                                                "Unable to find process for the given id:'" + processInstanceId + "'");
+
+            if (securityPoliciesManager.arePoliciesDefined() && !securityPoliciesManager.canRead(processInstanceEntity.getProcessDefinitionKey(),
+                                                                                                 processInstanceEntity.getServiceName())) {
+                LOGGER.debug("User " + securityManager.getAuthenticatedUserId() + " not permitted to access definition " + processInstanceEntity.getProcessDefinitionKey());
+                throw new ActivitiForbiddenException("Operation not permitted for " + processInstanceEntity.getProcessDefinitionKey());
+            }
 
-        return generateDiagram(processInstanceId);
+            // the activities and sequence flows of an archived process instance are archived along with it
+            return generateDiagram(processInstanceId);
+        });
     }
 
 }
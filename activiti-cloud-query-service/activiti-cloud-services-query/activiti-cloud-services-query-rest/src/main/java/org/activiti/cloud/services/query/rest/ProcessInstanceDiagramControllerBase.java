@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 import org.activiti.bpmn.BpmnAutoLayout;
 import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
 import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
@@ -33,6 +34,7 @@ import org.activiti.cloud.services.query.model.BPMNActivityEntity.BPMNActivitySt
 import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessModelEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public abstract class ProcessInstanceDiagramControllerBase {
@@ -51,13 +53,19 @@ public abstract class ProcessInstanceDiagramControllerBase {
 
     protected final ProcessDiagramGeneratorWrapper processDiagramGenerator;
 
+    protected final ProcessDiagramCache processDiagramCache;
+
+    protected final ArchiveReader archiveReader;
+
     @Autowired
     public ProcessInstanceDiagramControllerBase(ProcessModelRepository processModelRepository,
                                             BPMNSequenceFlowRepository bpmnSequenceFlowRepository,
                                             ProcessDiagramGeneratorWrapper processDiagramGenerator,
                                             ProcessInstanceRepository processInstanceRepository,
                                             BPMNActivityRepository bpmnActivityRepository,
-                                            EntityFinder entityFinder) {
+                                            EntityFinder entityFinder,
+                                            ProcessDiagramCache processDiagramCache,
+                                            ArchiveReader archiveReader) {
         
         this.processInstanceRepository = processInstanceRepository;
         this.processModelRepository = processModelRepository;
@@ -65,23 +73,35 @@ public abstract class ProcessInstanceDiagramControllerBase {
         this.processDiagramGenerator = processDiagramGenerator;
         this.bpmnActivityRepository = bpmnActivityRepository;
         this.bpmnSequenceFlowRepository = bpmnSequenceFlowRepository;
+        this.processDiagramCache = processDiagramCache;
+        this.archiveReader = archiveReader;
 
     }
 
     public String generateDiagram(String processInstanceId) {
         String processDefinitionId = resolveProcessDefinitionId(processInstanceId);
+        BpmnModel bpmnModel = processDiagramCache.getBpmnModel(processDefinitionId,
+                                                               this::getLaidOutBpmnModel);
+
+        List<String> highLightedActivities = resolveStartedActivitiesIds(processInstanceId);
+        List<String> highLightedFlows = resolveCompletedFlows(bpmnModel, processInstanceId);
+
+        return processDiagramCache.getDiagram(processDefinitionId,
+                                              highLightedActivities,
+                                              highLightedFlows,
+                                              () -> new String(processDiagramGenerator.generateDiagram(bpmnModel,
+                                                                                                       highLightedActivities,
+                                                                                                       highLightedFlows),
+                                                               StandardCharsets.UTF_8));
+    }
+
+    protected BpmnModel getLaidOutBpmnModel(String processDefinitionId) {
         BpmnModel bpmnModel = getBpmnModel(processDefinitionId);
 
         if(!bpmnModel.hasDiagramInterchangeInfo())
             new BpmnAutoLayout(bpmnModel).execute();
-        
-        List<String> highLightedActivities = resolveStartedActivitiesIds(processInstanceId);
-        List<String> highLightedFlows = resolveCompletedFlows(bpmnModel, processInstanceId);
 
-        return new String(processDiagramGenerator.generateDiagram(bpmnModel,
-                                                                  highLightedActivities,
-                                                                  highLightedFlows),
-                          StandardCharsets.UTF_8);
+        return bpmnModel;
     }
 
     protected List<String> resolveCompletedFlows(BpmnModel bpmnModel, String processInstanceId) {
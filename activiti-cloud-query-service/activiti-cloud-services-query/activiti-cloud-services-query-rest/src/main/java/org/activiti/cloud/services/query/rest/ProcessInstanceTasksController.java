@@ -17,9 +17,11 @@ package org.activiti.cloud.services.query.rest;
 
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.task.model.CloudTask;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -48,20 +50,29 @@ public class ProcessInstanceTasksController {
 
     private final TaskRepository taskRepository;
 
+    private final ProcessInstanceRepository processInstanceRepository;
+
+    private ArchiveReader archiveReader;
+
     @Autowired
     public ProcessInstanceTasksController(TaskRepository taskRepository,
+                                          ProcessInstanceRepository processInstanceRepository,
                                           TaskRepresentationModelAssembler taskRepresentationModelAssembler,
-                                          AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler) {
+                                          AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler,
+                                          ArchiveReader archiveReader) {
         this.taskRepository = taskRepository;
+        this.processInstanceRepository = processInstanceRepository;
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(value = "/tasks", method = RequestMethod.GET)
     public PagedModel<EntityModel<CloudTask>> getTasks(@PathVariable String processInstanceId,
                                                         Pageable pageable) {
-        Page<TaskEntity> page = taskRepository.findAll(QTaskEntity.taskEntity.processInstanceId.eq(processInstanceId),
-                                                       pageable);
+        Page<TaskEntity> page = archiveReader.findPageWithArchiveFallback(() -> processInstanceRepository.existsById(processInstanceId),
+                                                                          () -> taskRepository.findAll(QTaskEntity.taskEntity.processInstanceId.eq(processInstanceId),
+                                                                                                       pageable));
         return pagedCollectionModelAssembler.toModel(pageable,
                                                   page,
                                                   taskRepresentationModelAssembler);
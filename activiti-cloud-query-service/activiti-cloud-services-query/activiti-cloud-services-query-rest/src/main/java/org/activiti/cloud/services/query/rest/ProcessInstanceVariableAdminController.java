@@ -19,9 +19,11 @@ import java.util.Optional;
 
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.CloudVariableInstance;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QProcessVariableEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceVariableRepresentationModelAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -52,15 +54,23 @@ public class ProcessInstanceVariableAdminController {
 
     private VariableRepository variableRepository;
 
+    private ProcessInstanceRepository processInstanceRepository;
+
     private ProcessInstanceVariableRepresentationModelAssembler variableRepresentationModelAssembler;
 
+    private ArchiveReader archiveReader;
+
     @Autowired
     public ProcessInstanceVariableAdminController(VariableRepository variableRepository,
+                                                  ProcessInstanceRepository processInstanceRepository,
                                    ProcessInstanceVariableRepresentationModelAssembler variableRepresentationModelAssembler,
-                                   AlfrescoPagedModelAssembler<ProcessVariableEntity> pagedVariablesCollectionModelAssembler) {
+                                   AlfrescoPagedModelAssembler<ProcessVariableEntity> pagedVariablesCollectionModelAssembler,
+                                   ArchiveReader archiveReader) {
         this.variableRepository = variableRepository;
+        this.processInstanceRepository = processInstanceRepository;
         this.variableRepresentationModelAssembler = variableRepresentationModelAssembler;
         this.pagedVariablesCollectionModelAssembler = pagedVariablesCollectionModelAssembler;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -82,8 +92,9 @@ public class ProcessInstanceVariableAdminController {
         Predicate extendedPredicate = expression;
 
         return pagedVariablesCollectionModelAssembler.toModel(pageable,
-                                                           variableRepository.findAll(extendedPredicate,
-                                                                                      pageable),
+                                                           archiveReader.findPageWithArchiveFallback(() -> processInstanceRepository.existsById(processInstanceId),
+                                                                                                     () -> variableRepository.findAll(extendedPredicate,
+                                                                                                                                      pageable)),
                                                            variableRepresentationModelAssembler);
     }
 
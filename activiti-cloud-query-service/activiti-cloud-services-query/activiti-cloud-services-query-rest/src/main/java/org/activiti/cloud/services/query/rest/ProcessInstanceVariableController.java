@@ -19,9 +19,11 @@ import java.util.Optional;
 
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.CloudVariableInstance;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QProcessVariableEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceVariableRepresentationModelAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -51,17 +53,25 @@ public class ProcessInstanceVariableController {
 
     private final VariableRepository variableRepository;
 
+    private final ProcessInstanceRepository processInstanceRepository;
+
     private ProcessInstanceVariableRepresentationModelAssembler variableRepresentationModelAssembler;
 
     private AlfrescoPagedModelAssembler<ProcessVariableEntity> pagedCollectionModelAssembler;
 
+    private ArchiveReader archiveReader;
+
     @Autowired
     public ProcessInstanceVariableController(ProcessInstanceVariableRepresentationModelAssembler variableRepresentationModelAssembler,
                                              VariableRepository variableRepository,
-                                             AlfrescoPagedModelAssembler<ProcessVariableEntity> pagedCollectionModelAssembler) {
+                                             ProcessInstanceRepository processInstanceRepository,
+                                             AlfrescoPagedModelAssembler<ProcessVariableEntity> pagedCollectionModelAssembler,
+                                             ArchiveReader archiveReader) {
         this.variableRepository = variableRepository;
+        this.processInstanceRepository = processInstanceRepository;
         this.variableRepresentationModelAssembler = variableRepresentationModelAssembler;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(value = "/variables", method = RequestMethod.GET)
@@ -84,8 +94,9 @@ public class ProcessInstanceVariableController {
         Predicate extendedPredicate = expression;
 
 
-        Page<ProcessVariableEntity> variables = variableRepository.findAll(extendedPredicate,
-                                                                    pageable);
+        Page<ProcessVariableEntity> variables = archiveReader.findPageWithArchiveFallback(() -> processInstanceRepository.existsById(processInstanceId),
+                                                                                          () -> variableRepository.findAll(extendedPredicate,
+                                                                                                                           pageable));
 
         return pagedCollectionModelAssembler.toModel(pageable,
                                                   variables,
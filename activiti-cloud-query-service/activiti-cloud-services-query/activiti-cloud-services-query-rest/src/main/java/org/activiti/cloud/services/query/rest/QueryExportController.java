@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import java.util.Arrays;
+
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.export.QueryExportColumns;
+import org.activiti.cloud.services.query.rest.export.QueryExportFormat;
+import org.activiti.cloud.services.query.rest.export.QueryResultExporter;
+import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
+import org.activiti.cloud.services.query.rest.predicate.RootTasksFilter;
+import org.activiti.cloud.services.query.rest.predicate.StandAloneTaskFilter;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchBinderCustomizer;
+import org.activiti.cloud.services.security.ProcessInstanceRestrictionService;
+import org.activiti.cloud.services.security.ProcessVariableLookupRestrictionService;
+import org.activiti.cloud.services.security.TaskLookupRestrictionService;
+import org.activiti.core.common.spring.security.policies.SecurityPolicyAccess;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+
+/**
+ * Bulk export of the query entities: accepts the same filters as the paged endpoints and applies
+ * the same security restrictions, but streams the whole result set instead of building pages.
+ */
+@RestController
+public class QueryExportController {
+
+    private final QueryResultExporter queryResultExporter;
+
+    private final QueryDslPredicateAggregator predicateAggregator;
+
+    private final TaskLookupRestrictionService taskLookupRestrictionService;
+
+    private final ProcessInstanceRestrictionService processInstanceRestrictionService;
+
+    private final ProcessVariableLookupRestrictionService variableLookupRestrictionService;
+
+    public QueryExportController(QueryResultExporter queryResultExporter,
+                                 TaskLookupRestrictionService taskLookupRestrictionService,
+                                 ProcessInstanceRestrictionService processInstanceRestrictionService,
+                                 ProcessVariableLookupRestrictionService variableLookupRestrictionService) {
+        this.queryResultExporter = queryResultExporter;
+        this.predicateAggregator = new QueryDslPredicateAggregator();
+        this.taskLookupRestrictionService = taskLookupRestrictionService;
+        this.processInstanceRestrictionService = processInstanceRestrictionService;
+        this.variableLookupRestrictionService = variableLookupRestrictionService;
+    }
+
+    @RequestMapping(value = "/v1/tasks/export", method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                             @RequestParam(name = "rootTasksOnly", defaultValue = "false") Boolean rootTasksOnly,
+                                                             @RequestParam(name = "standalone", defaultValue = "false") Boolean standalone,
+                                                             @QuerydslPredicate(root = TaskEntity.class, bindings = TaskTextSearchBinderCustomizer.class) Predicate predicate) {
+        Predicate extendedPredicate = predicateAggregator.applyFilters(predicate,
+                                                                       Arrays.asList(new RootTasksFilter(rootTasksOnly),
+                                                                                     new StandAloneTaskFilter(standalone),
+                                                                                     taskLookupRestrictionService));
+
+        return queryResultExporter.export(QTaskEntity.taskEntity,
+                                          extendedPredicate,
+                                          QueryExportFormat.fromValue(format),
+                                          QueryExportColumns.TASKS,
+                                          "tasks");
+    }
+
+    @RequestMapping(value = "/v1/process-instances/export", method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> exportProcessInstances(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                                        @QuerydslPredicate(root = ProcessInstanceEntity.class) Predicate predicate) {
+        Predicate restrictedPredicate = processInstanceRestrictionService.restrictProcessInstanceQuery(
+                predicate != null ? predicate : new BooleanBuilder(),
+                SecurityPolicyAccess.READ);
+
+        return queryResultExporter.export(QProcessInstanceEntity.processInstanceEntity,
+                                          restrictedPredicate,
+                                          QueryExportFormat.fromValue(format),
+                                          QueryExportColumns.PROCESS_INSTANCES,
+                                          "process-instances");
+    }
+
+    @RequestMapping(value = "/v1/variables/export", method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> exportVariables(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                                 @QuerydslPredicate(root = ProcessVariableEntity.class) Predicate predicate) {
+        QProcessInstanceEntity processInstance = QProcessInstanceEntity.processInstanceEntity;
+        Predicate visibleProcessInstances = processInstanceRestrictionService.restrictProcessInstanceQuery(new BooleanBuilder(),
+                                                                                                          SecurityPolicyAccess.READ);
+
+        // only the variables of the process instances the user can export
+        BooleanExpression ofVisibleProcessInstance = QProcessVariableEntity.processVariableEntity.processInstanceId.in(JPAExpressions.select(processInstance.id)
+                                                                                                                                   .from(processInstance)
+                                                                                                                                   .where(visibleProcessInstances));
+        Predicate restrictedPredicate = variableLookupRestrictionService.restrictProcessInstanceVariableQuery(ofVisibleProcessInstance.and(predicate));
+
+        return queryResultExporter.export(QProcessVariableEntity.processVariableEntity,
+                                          restrictedPredicate,
+                                          QueryExportFormat.fromValue(format),
+                                          QueryExportColumns.VARIABLES,
+                                          "variables");
+    }
+}
@@ -25,9 +25,11 @@ import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskCandidateGroup;
 import org.activiti.cloud.services.query.model.TaskCandidateUser;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.predicate.RootTasksFilter;
 import org.activiti.cloud.services.query.rest.predicate.StandAloneTaskFilter;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchBinderCustomizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
@@ -58,22 +60,26 @@ public class TaskAdminController {
 
     private TaskControllerHelper taskControllerHelper;
 
+    private ArchiveReader archiveReader;
+
     @Autowired
     public TaskAdminController(TaskRepository taskRepository,
         TaskRepresentationModelAssembler taskRepresentationModelAssembler,
         EntityFinder entityFinder,
-        TaskControllerHelper taskControllerHelper) {
+        TaskControllerHelper taskControllerHelper,
+        ArchiveReader archiveReader) {
         this.taskRepository = taskRepository;
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
         this.entityFinder = entityFinder;
         this.taskControllerHelper = taskControllerHelper;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
     public PagedModel<EntityModel<CloudTask>> findAll(
         @RequestParam(name = "rootTasksOnly", defaultValue = "false") Boolean rootTasksOnly,
         @RequestParam(name = "standalone", defaultValue = "false") Boolean standalone,
-        @QuerydslPredicate(root = TaskEntity.class) Predicate predicate,
+        @QuerydslPredicate(root = TaskEntity.class, bindings = TaskTextSearchBinderCustomizer.class) Predicate predicate,
         VariableSearch variableSearch,
         Pageable pageable) {
         return taskControllerHelper.findAll(predicate, variableSearch, pageable,
@@ -84,33 +90,39 @@ public class TaskAdminController {
     @RequestMapping(value = "/{taskId}", method = RequestMethod.GET)
     public EntityModel<CloudTask> findById(@PathVariable String taskId) {
 
-        TaskEntity taskEntity = entityFinder.findById(taskRepository,
-                                                      taskId,
-                                                      "Unable to find taskEntity for the given id:'" + taskId + "'");
+        return archiveReader.findWithArchiveFallback(() -> {
+            TaskEntity taskEntity = entityFinder.findById(taskRepository,
+                                                          taskId,
+                                                          "Unable to find taskEntity for the given id:'" + taskId + "'");
 
-        return taskRepresentationModelAssembler.toModel(taskEntity);
+            return taskRepresentationModelAssembler.toModel(taskEntity);
+        });
     }
 
     @RequestMapping(value = "/{taskId}/candidate-users", method = RequestMethod.GET)
     public List<String> getTaskCandidateUsers(@PathVariable String taskId) {
-        TaskEntity taskEntity = entityFinder.findById(taskRepository,
-                                                      taskId,
-                                                      "Unable to find taskEntity for the given id:'" + taskId + "'");
-
-        return taskEntity.getTaskCandidateUsers() != null ?
-                                      taskEntity.getTaskCandidateUsers().stream().map(TaskCandidateUser::getUserId).collect(Collectors.toList()) :
-                                      null;
+        return archiveReader.findWithArchiveFallback(() -> {
+            TaskEntity taskEntity = entityFinder.findById(taskRepository,
+                                                          taskId,
+                                                          "Unable to find taskEntity for the given id:'" + taskId + "'");
+
+            return taskEntity.getTaskCandidateUsers() != null ?
+                                          taskEntity.getTaskCandidateUsers().stream().map(TaskCandidateUser::getUserId).collect(Collectors.toList()) :
+                                          null;
+        });
     }
 
     @RequestMapping(value = "/{taskId}/candidate-groups", method = RequestMethod.GET)
     public List<String> getTaskCandidateGroups(@PathVariable String taskId) {
-        TaskEntity taskEntity = entityFinder.findById(taskRepository,
-                                                      taskId,
-                                                      "Unable to find taskEntity for the given id:'" + taskId + "'");
-
-        return taskEntity.getTaskCandidateGroups() != null ?
-                                       taskEntity.getTaskCandidateGroups().stream().map(TaskCandidateGroup::getGroupId).collect(Collectors.toList()) :
-                                       null;
+        return archiveReader.findWithArchiveFallback(() -> {
+            TaskEntity taskEntity = entityFinder.findById(taskRepository,
+                                                          taskId,
+                                                          "Unable to find taskEntity for the given id:'" + taskId + "'");
+
+            return taskEntity.getTaskCandidateGroups() != null ?
+                                           taskEntity.getTaskCandidateGroups().stream().map(TaskCandidateGroup::getGroupId).collect(Collectors.toList()) :
+                                           null;
+        });
     }
 
 }
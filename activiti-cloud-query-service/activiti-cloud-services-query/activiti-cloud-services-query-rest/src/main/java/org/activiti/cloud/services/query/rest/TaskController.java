@@ -27,9 +27,11 @@ import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.TaskCandidateGroup;
 import org.activiti.cloud.services.query.model.TaskCandidateUser;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.predicate.RootTasksFilter;
 import org.activiti.cloud.services.query.rest.predicate.StandAloneTaskFilter;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchBinderCustomizer;
 import org.activiti.cloud.services.security.TaskLookupRestrictionService;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
 import org.slf4j.Logger;
@@ -67,6 +69,8 @@ public class TaskController {
 
     private TaskControllerHelper taskControllerHelper;
 
+    private ArchiveReader archiveReader;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskController.class);
 
     public TaskController(TaskRepository taskRepository,
@@ -74,19 +78,21 @@ public class TaskController {
         EntityFinder entityFinder,
         TaskLookupRestrictionService taskLookupRestrictionService,
         SecurityManager securityManager,
-        TaskControllerHelper taskControllerHelper) {
+        TaskControllerHelper taskControllerHelper,
+        ArchiveReader archiveReader) {
         this.taskRepository = taskRepository;
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
         this.entityFinder = entityFinder;
         this.taskLookupRestrictionService = taskLookupRestrictionService;
         this.securityManager = securityManager;
         this.taskControllerHelper = taskControllerHelper;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
     public PagedModel<EntityModel<CloudTask>> findAll(@RequestParam(name = "rootTasksOnly", defaultValue = "false") Boolean rootTasksOnly,
                                                        @RequestParam(name = "standalone", defaultValue = "false") Boolean standalone,
-                                                       @QuerydslPredicate(root = TaskEntity.class) Predicate predicate,
+                                                       @QuerydslPredicate(root = TaskEntity.class, bindings = TaskTextSearchBinderCustomizer.class) Predicate predicate,
                                                        VariableSearch variableSearch,
                                                        Pageable pageable) {
         return taskControllerHelper.findAll(predicate, variableSearch, pageable, Arrays.asList(new RootTasksFilter(rootTasksOnly),
@@ -96,51 +102,60 @@ public class TaskController {
     @RequestMapping(value = "/{taskId}", method = RequestMethod.GET)
     public EntityModel<CloudTask> findById(@PathVariable String taskId) {
 
-        TaskEntity taskEntity = entityFinder.findById(taskRepository,
-                                                      taskId,
-                                                      "Unable to find taskEntity for the given id:'" + taskId + "'");
+        return archiveReader.findWithArchiveFallback(() -> {
+            TaskEntity taskEntity = entityFinder.findById(taskRepository,
+                                                          taskId,
+                                                          "Unable to find taskEntity for the given id:'" + taskId + "'");
 
-        //do restricted query and check if still able to see it
-        Iterable<TaskEntity> taskIterable = taskRepository.findAll(taskLookupRestrictionService.restrictTaskQuery(QTaskEntity.taskEntity.id.eq(taskId)));
-        if (!taskIterable.iterator().hasNext()) {
-            LOGGER.debug("User " + securityManager.getAuthenticatedUserId() + " not permitted to access taskEntity " + taskId);
-            throw new ActivitiForbiddenException("Operation not permitted for " + taskId);
-        }
-        return taskRepresentationModelAssembler.toModel(taskEntity);
+            checkCanRead(taskId);
+
+            return taskRepresentationModelAssembler.toModel(taskEntity);
+        });
     }
 
     @RequestMapping(value = "/{taskId}/candidate-users", method = RequestMethod.GET)
     public List<String> getTaskCandidateUsers(@PathVariable String taskId) {
-        TaskEntity taskEntity = entityFinder.findById(taskRepository,
-                                                      taskId,
-                                                      "Unable to find taskEntity for the given id:'" + taskId + "'");
+        return archiveReader.findWithArchiveFallback(() -> {
+            TaskEntity taskEntity = entityFinder.findById(taskRepository,
+                                                          taskId,
+                                                          "Unable to find taskEntity for the given id:'" + taskId + "'");
 
-        //do restricted query and check if still able to see it
-        Iterable<TaskEntity> taskIterable = taskRepository.findAll(taskLookupRestrictionService.restrictTaskQuery(QTaskEntity.taskEntity.id.eq(taskId)));
-        if (!taskIterable.iterator().hasNext()) {
-            LOGGER.debug("User " + securityManager.getAuthenticatedUserId() + " not permitted to access taskEntity " + taskId);
-            throw new ActivitiForbiddenException("Operation not permitted for " + taskId);
-        }
-        return taskEntity.getTaskCandidateUsers() != null ?
-                                      taskEntity.getTaskCandidateUsers().stream().map(TaskCandidateUser::getUserId).collect(Collectors.toList()) :
-                                      null;
+            checkCanRead(taskId);
+
+            return taskEntity.getTaskCandidateUsers() != null ?
+                                          taskEntity.getTaskCandidateUsers().stream().map(TaskCandidateUser::getUserId).collect(Collectors.toList()) :
+                                          null;
+        });
     }
 
     @RequestMapping(value = "/{taskId}/candidate-groups", method = RequestMethod.GET)
     public List<String> getTaskCandidateGroups(@PathVariable String taskId) {
-        TaskEntity taskEntity = entityFinder.findById(taskRepository,
-                                                      taskId,
-                                                      "Unable to find taskEntity for the given id:'" + taskId + "'");
+        return archiveReader.findWithArchiveFallback(() -> {
+            TaskEntity taskEntity = entityFinder.findById(taskRepository,
+                                                          taskId,
+                                                          "Unable to find taskEntity for the given id:'" + taskId + "'");
+
+            checkCanRead(taskId);
 
-        //do restricted query and check if still able to see it
-        Iterable<TaskEntity> taskIterable = taskRepository.findAll(taskLookupRestrictionService.restrictTaskQuery(QTaskEntity.taskEntity.id.eq(taskId)));
-        if (!taskIterable.iterator().hasNext()) {
+            return taskEntity.getTaskCandidateGroups() != null ?
+                                           taskEntity.getTaskCandidateGroups().stream().map(TaskCandidateGroup::getGroupId).collect(Collectors.toList()) :
+                                           null;
+        });
+    }
+
+    private void checkCanRead(String taskId) {
+        boolean canRead;
+        if (taskLookupRestrictionService.isVisibilityIndexEnabled()) {
+            canRead = taskLookupRestrictionService.canRead(taskId);
+        } else {
+            //do restricted query and check if still able to see it
+            Iterable<TaskEntity> taskIterable = taskRepository.findAll(taskLookupRestrictionService.restrictTaskQuery(QTaskEntity.taskEntity.id.eq(taskId)));
+            canRead = taskIterable.iterator().hasNext();
+        }
+        if (!canRead) {
             LOGGER.debug("User " + securityManager.getAuthenticatedUserId() + " not permitted to access taskEntity " + taskId);
             throw new ActivitiForbiddenException("Operation not permitted for " + taskId);
         }
-        return taskEntity.getTaskCandidateGroups() != null ?
-                                       taskEntity.getTaskCandidateGroups().stream().map(TaskCandidateGroup::getGroupId).collect(Collectors.toList()) :
-                                       null;
     }
 
 }
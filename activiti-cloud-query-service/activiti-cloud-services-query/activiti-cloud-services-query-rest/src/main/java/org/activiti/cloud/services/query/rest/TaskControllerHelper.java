@@ -17,12 +17,19 @@
 package org.activiti.cloud.services.query.rest;
 
 import com.querydsl.core.types.Predicate;
+import java.util.ArrayList;
 import java.util.List;
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
 import org.activiti.cloud.api.task.model.CloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.predicate.KeysetPredicateFilter;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
 import org.springframework.data.domain.Page;
@@ -36,35 +43,70 @@ public class TaskControllerHelper {
     private final AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler;
     private final QueryDslPredicateAggregator predicateAggregator;
     private final TaskRepresentationModelAssembler taskRepresentationModelAssembler;
+    private final ArchiveReader archiveReader;
 
     public TaskControllerHelper(
         TaskRepository taskRepository,
         AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler,
         QueryDslPredicateAggregator predicateAggregator,
-        TaskRepresentationModelAssembler taskRepresentationModelAssembler) {
+        TaskRepresentationModelAssembler taskRepresentationModelAssembler,
+        ArchiveReader archiveReader) {
         this.taskRepository = taskRepository;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.predicateAggregator = predicateAggregator;
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
+        this.archiveReader = archiveReader;
     }
 
     public PagedModel<EntityModel<CloudTask>> findAll(Predicate predicate,
         VariableSearch variableSearch, Pageable pageable, List<QueryDslPredicateFilter> filters) {
+        if (pageable instanceof KeysetPageRequest) {
+            return findAllAfterCursor(predicate, variableSearch, (KeysetPageRequest) pageable, filters);
+        }
         Predicate extendedPredicate = predicateAggregator.applyFilters(predicate, filters);
 
-        Page<TaskEntity> page;
-        if (variableSearch.isSet()) {
-            page = taskRepository
-                .findByVariableNameAndValue(variableSearch.getName(), variableSearch.getValue(),
-                    extendedPredicate,
-                    pageable);
-        } else {
-            page = taskRepository.findAll(extendedPredicate, pageable);
-        }
+        Page<TaskEntity> page = findPage(extendedPredicate, variableSearch, pageable,
+            AlfrescoPageRequest.isTotalCountRequired(pageable));
 
         return pagedCollectionModelAssembler.toModel(pageable,
             page,
             taskRepresentationModelAssembler);
     }
 
+    private PagedModel<EntityModel<CloudTask>> findAllAfterCursor(Predicate predicate,
+        VariableSearch variableSearch, KeysetPageRequest pageable, List<QueryDslPredicateFilter> filters) {
+        List<QueryDslPredicateFilter> keysetFilters = new ArrayList<>(filters);
+        keysetFilters.add(new KeysetPredicateFilter(QTaskEntity.taskEntity, pageable));
+        Predicate extendedPredicate = predicateAggregator.applyFilters(predicate, keysetFilters);
+
+        Page<TaskEntity> page = KeysetPage.of(findPage(extendedPredicate, variableSearch,
+            pageable.toSeekPageRequest(KeysetPredicateFilter.ID_PROPERTY), pageable.isCountTotal()),
+            pageable,
+            KeysetPredicateFilter.ID_PROPERTY);
+
+        return pagedCollectionModelAssembler.toModel(pageable,
+            page,
+            taskRepresentationModelAssembler);
+    }
+
+    private Page<TaskEntity> findPage(Predicate extendedPredicate, VariableSearch variableSearch,
+        Pageable pageable, boolean countTotal) {
+        if (archiveReader.isTaskArchiveRequested(extendedPredicate)) {
+            return archiveReader.readWithArchive(() -> queryPage(extendedPredicate, variableSearch, pageable, countTotal));
+        }
+        return queryPage(extendedPredicate, variableSearch, pageable, countTotal);
+    }
+
+    private Page<TaskEntity> queryPage(Predicate extendedPredicate, VariableSearch variableSearch,
+        Pageable pageable, boolean countTotal) {
+        if (variableSearch.isSet()) {
+            return taskRepository
+                .findByVariableNameAndValue(variableSearch.getName(), variableSearch.getValue(),
+                    extendedPredicate,
+                    pageable,
+                    countTotal);
+        }
+        return taskRepository.findAll(extendedPredicate, pageable, countTotal);
+    }
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import com.querydsl.core.types.Predicate;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(
+        value = "/admin/v1/tasks/counters",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class TaskCounterAdminController {
+
+    private final TaskCounterRepository taskCounterRepository;
+
+    public TaskCounterAdminController(TaskCounterRepository taskCounterRepository) {
+        this.taskCounterRepository = taskCounterRepository;
+    }
+
+    @RequestMapping(method = RequestMethod.GET)
+    public Iterable<TaskCounter> findAll(@QuerydslPredicate(root = TaskCounter.class) Predicate predicate) {
+        return taskCounterRepository.findAll(predicate);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import java.util.List;
+
+import com.querydsl.core.BooleanBuilder;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.model.QTaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.rest.counter.UserTaskCounters;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Inbox badges: reads the materialized {@link TaskCounter}s of the current user and groups instead
+ * of counting the restricted task query.
+ */
+@RestController
+@RequestMapping(
+        value = "/v1/tasks/counters",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class TaskCounterController {
+
+    private final TaskCounterRepository taskCounterRepository;
+
+    private final SecurityManager securityManager;
+
+    public TaskCounterController(TaskCounterRepository taskCounterRepository,
+                                 SecurityManager securityManager) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.securityManager = securityManager;
+    }
+
+    @RequestMapping(method = RequestMethod.GET)
+    public UserTaskCounters getCounters() {
+        QTaskCounter taskCounter = QTaskCounter.taskCounter;
+
+        BooleanBuilder predicate = new BooleanBuilder(taskCounter.dimension.eq(TaskCounter.Dimension.ASSIGNEE)
+                                                                           .and(taskCounter.counterKey.eq(securityManager.getAuthenticatedUserId())));
+        List<String> groups = securityManager.getAuthenticatedUserGroups();
+        if (groups != null && !groups.isEmpty()) {
+            predicate.or(taskCounter.dimension.eq(TaskCounter.Dimension.CANDIDATE_GROUP)
+                                              .and(taskCounter.counterKey.in(groups)));
+        }
+
+        UserTaskCounters counters = new UserTaskCounters();
+        taskCounterRepository.findAll(predicate)
+                             .forEach(counters::add);
+        return counters;
+    }
+}
@@ -20,6 +20,8 @@ import org.activiti.cloud.api.task.model.CloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
+import org.activiti.cloud.services.query.rest.search.TaskTextSearchBinderCustomizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
@@ -27,12 +29,14 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 @ConditionalOnProperty(name = "activiti.rest.enable-deletion", matchIfMissing = true)
 @RestController
@@ -48,24 +52,33 @@ public class TaskDeleteController {
 
     private TaskRepresentationModelAssembler taskRepresentationModelAssembler;
 
+    private final ProcessInstanceBulkDeleter bulkDeleter;
+
     @Autowired
     public TaskDeleteController(TaskRepository taskRepository,
-                                TaskRepresentationModelAssembler taskRepresentationModelAssembler) {
+                                TaskRepresentationModelAssembler taskRepresentationModelAssembler,
+                                ProcessInstanceBulkDeleter bulkDeleter) {
         this.taskRepository = taskRepository;
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
+        this.bulkDeleter = bulkDeleter;
     }
 
+    @Transactional
     @RequestMapping(method = RequestMethod.DELETE)
-    public CollectionModel<EntityModel<CloudTask>> deleteTasks (@QuerydslPredicate(root = TaskEntity.class) Predicate predicate) {
+    public CollectionModel<EntityModel<CloudTask>> deleteTasks (@QuerydslPredicate(root = TaskEntity.class, bindings = TaskTextSearchBinderCustomizer.class) Predicate predicate) {
 
         Collection <EntityModel<CloudTask>> result = new ArrayList<>();
-        Iterable <TaskEntity> iterable = taskRepository.findAll(predicate);
+        List<String> taskIds = new ArrayList<>();
 
-        for(TaskEntity entity : iterable){
+        for(TaskEntity entity : taskRepository.findAll(predicate)){
             result.add(taskRepresentationModelAssembler.toModel(entity));
+            taskIds.add(entity.getId());
         }
 
-        taskRepository.deleteAll(iterable);
+        // releases the counters and purges the rows belonging to the tasks, not only the tasks themselves
+        for (List<String> chunk : ProcessInstanceBulkDeleter.toChunks(taskIds)) {
+            bulkDeleter.deleteTasksById(chunk);
+        }
 
         return new CollectionModel<>(result);
     }
@@ -19,9 +19,11 @@ import java.util.Optional;
 
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.CloudVariableInstance;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskVariableRepresentationModelAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -52,16 +54,23 @@ public class TaskVariableAdminController {
 
     private TaskVariableRepository variableRepository;
 
+    private TaskRepository taskRepository;
+
     private TaskVariableRepresentationModelAssembler variableRepresentationModelAssembler;
 
+    private ArchiveReader archiveReader;
 
     @Autowired
     public TaskVariableAdminController(TaskVariableRepository variableRepository,
+                                       TaskRepository taskRepository,
                                    TaskVariableRepresentationModelAssembler variableRepresentationModelAssembler,
-                                   AlfrescoPagedModelAssembler<TaskVariableEntity> pagedVariablesCollectionModelAssembler) {
+                                   AlfrescoPagedModelAssembler<TaskVariableEntity> pagedVariablesCollectionModelAssembler,
+                                   ArchiveReader archiveReader) {
         this.variableRepository = variableRepository;
+        this.taskRepository = taskRepository;
         this.variableRepresentationModelAssembler = variableRepresentationModelAssembler;
         this.pagedVariablesCollectionModelAssembler = pagedVariablesCollectionModelAssembler;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -84,8 +93,9 @@ public class TaskVariableAdminController {
         Predicate extendedPredicated = expression;
 
         return pagedVariablesCollectionModelAssembler.toModel(pageable,
-                                                           variableRepository.findAll(extendedPredicated,
-                                                                                      pageable),
+                                                           archiveReader.findPageWithArchiveFallback(() -> taskRepository.existsById(taskId),
+                                                                                                     () -> variableRepository.findAll(extendedPredicated,
+                                                                                                                                      pageable)),
                                                            variableRepresentationModelAssembler);
     }
 
@@ -19,9 +19,11 @@ import java.util.Optional;
 
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.CloudVariableInstance;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskVariableRepresentationModelAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -51,18 +53,25 @@ public class TaskVariableController {
 
     private final TaskVariableRepository variableRepository;
 
+    private final TaskRepository taskRepository;
+
     private TaskVariableRepresentationModelAssembler variableRepresentationModelAssembler;
 
     private AlfrescoPagedModelAssembler<TaskVariableEntity> pagedCollectionModelAssembler;
 
+    private ArchiveReader archiveReader;
 
     @Autowired
     public TaskVariableController(TaskVariableRepository variableRepository,
+                                  TaskRepository taskRepository,
                                   TaskVariableRepresentationModelAssembler variableRepresentationModelAssembler,
-                                  AlfrescoPagedModelAssembler<TaskVariableEntity> pagedCollectionModelAssembler) {
+                                  AlfrescoPagedModelAssembler<TaskVariableEntity> pagedCollectionModelAssembler,
+                                  ArchiveReader archiveReader) {
         this.variableRepository = variableRepository;
+        this.taskRepository = taskRepository;
         this.variableRepresentationModelAssembler = variableRepresentationModelAssembler;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
+        this.archiveReader = archiveReader;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -84,8 +93,9 @@ public class TaskVariableController {
         Predicate extendedPredicated = expression;
 
 
-        Page<TaskVariableEntity> variables = variableRepository.findAll(extendedPredicated,
-                                                                    pageable);
+        Page<TaskVariableEntity> variables = archiveReader.findPageWithArchiveFallback(() -> taskRepository.existsById(taskId),
+                                                                                       () -> variableRepository.findAll(extendedPredicated,
+                                                                                                                        pageable));
 
         return pagedCollectionModelAssembler.toModel(pageable,
                                                   variables,
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import org.activiti.api.process.model.ProcessInstance.ProcessInstanceStatus;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.springframework.data.domain.Page;
+
+/**
+ * Decides when a read has to look at archived rows and runs it through the {@link ArchiveTableRouter}:
+ * lists are read from the archive only when their filter restricts the status to final ones, a lookup by
+ * id falls back to the archive only when the hot tables miss it, and a page of the sub-resources of a
+ * process instance or a task only when the parent itself was archived.
+ */
+public class ArchiveReader {
+
+    private static final Collection<ProcessInstanceStatus> ARCHIVED_PROCESS_INSTANCE_STATUSES = Arrays.asList(ProcessInstanceStatus.COMPLETED,
+                                                                                                             ProcessInstanceStatus.CANCELLED);
+
+    private static final Collection<TaskStatus> ARCHIVED_TASK_STATUSES = Arrays.asList(TaskStatus.COMPLETED,
+                                                                                       TaskStatus.CANCELLED);
+
+    private final ArchiveTableRouter archiveTableRouter;
+    private final boolean enabled;
+
+    public ArchiveReader(ArchiveTableRouter archiveTableRouter,
+                         boolean enabled) {
+        this.archiveTableRouter = archiveTableRouter;
+        this.enabled = enabled;
+    }
+
+    public boolean isProcessInstanceArchiveRequested(Predicate predicate) {
+        return enabled && restrictsTo(predicate,
+                                      QProcessInstanceEntity.processInstanceEntity.status,
+                                      ARCHIVED_PROCESS_INSTANCE_STATUSES);
+    }
+
+    public boolean isTaskArchiveRequested(Predicate predicate) {
+        return enabled && restrictsTo(predicate,
+                                      QTaskEntity.taskEntity.status,
+                                      ARCHIVED_TASK_STATUSES);
+    }
+
+    /**
+     * Runs the given query against both the hot and the archived rows.
+     */
+    public <T> T readWithArchive(Supplier<T> query) {
+        return archiveTableRouter.route(query);
+    }
+
+    /**
+     * Runs the given lookup against the hot rows and, if it fails with the {@link IllegalStateException}
+     * raised by {@link org.activiti.cloud.services.query.app.repository.EntityFinder} on a missing entity,
+     * runs it again against both the hot and the archived rows.
+     */
+    public <T> T findWithArchiveFallback(Supplier<T> lookup) {
+        try {
+            return lookup.get();
+        } catch (IllegalStateException notFound) {
+            if (!enabled || archiveTableRouter.isRouting()) {
+                throw notFound;
+            }
+            return readWithArchive(lookup);
+        }
+    }
+
+    /**
+     * Runs the given read of the sub-resources of a process instance or a task against the hot rows, unless
+     * the parent is missing from the hot tables and found in the archive: the sub-resources of an archived
+     * parent are archived along with it, so the read then runs against both the hot and the archived rows.
+     * A hot parent without sub-resources, or an unknown parent, never costs a read of the archive tables.
+     *
+     * @param parentExists checks whether the parent exists, run against the hot rows first
+     */
+    public <T> Page<T> findPageWithArchiveFallback(BooleanSupplier parentExists,
+                                                   Supplier<Page<T>> read) {
+        if (enabled
+                && !archiveTableRouter.isRouting()
+                && !parentExists.getAsBoolean()
+                && readWithArchive(parentExists::getAsBoolean)) {
+            return readWithArchive(read);
+        }
+        return read.get();
+    }
+
+    /**
+     * @return true when the predicate only matches rows whose path value is one of the given values,
+     * i.e. when one of its conjuncts, or each of its disjuncts, is an equality or an inclusion on them
+     */
+    static boolean restrictsTo(Predicate predicate,
+                               Path<?> path,
+                               Collection<?> values) {
+        if (predicate instanceof BooleanBuilder) {
+            return restrictsTo(((BooleanBuilder) predicate).getValue(),
+                               path,
+                               values);
+        }
+        if (!(predicate instanceof Operation)) {
+            return false;
+        }
+        Operation<?> operation = (Operation<?>) predicate;
+        if (operation.getOperator() == Ops.AND) {
+            return operation.getArgs().stream()
+                    .anyMatch(arg -> arg instanceof Predicate && restrictsTo((Predicate) arg,
+                                                                             path,
+                                                                             values));
+        }
+        if (operation.getOperator() == Ops.OR) {
+            return operation.getArgs().stream()
+                    .allMatch(arg -> arg instanceof Predicate && restrictsTo((Predicate) arg,
+                                                                             path,
+                                                                             values));
+        }
+        if ((operation.getOperator() == Ops.EQ || operation.getOperator() == Ops.IN)
+                && isPath(operation.getArg(0), path)
+                && operation.getArg(1) instanceof Constant) {
+            Object constant = ((Constant<?>) operation.getArg(1)).getConstant();
+            Collection<?> requested = constant instanceof Collection ? (Collection<?>) constant : Collections.singleton(constant);
+            return !requested.isEmpty() && values.containsAll(requested);
+        }
+        return false;
+    }
+
+    private static boolean isPath(Expression<?> expression,
+                                  Path<?> path) {
+        return expression instanceof Path && ((Path<?>) expression).getMetadata().equals(path.getMetadata());
+    }
+}
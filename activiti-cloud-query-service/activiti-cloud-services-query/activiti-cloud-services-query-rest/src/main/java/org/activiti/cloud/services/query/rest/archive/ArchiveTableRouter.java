@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} redirecting the statements prepared by the current thread, while
+ * {@link #route(Supplier)} is running, from the hot tables to the <code>*_with_archive</code> views that
+ * union each hot table with its archive table. Entities, repositories and predicates are left untouched,
+ * so any query can be run against hot and archived rows alike.
+ */
+public class ArchiveTableRouter implements StatementInspector {
+
+    public static final String ARCHIVE_SUFFIX = "_archive";
+
+    public static final String VIEW_SUFFIX = "_with_archive";
+
+    public static final List<String> ARCHIVED_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "process_instance",
+            "process_variable",
+            "bpmn_activity",
+            "bpmn_sequence_flow",
+            "integration_context",
+            "task",
+            "task_variable",
+            "task_candidate_user",
+            "task_candidate_group",
+            "task_visibility",
+            "task_text_gram"));
+
+    private static final Pattern TABLE_REFERENCE = Pattern.compile("(\\bfrom\\s+|\\bjoin\\s+|,\\s*)("
+                                                                           + String.join("|", ARCHIVED_TABLES)
+                                                                           + ")(?=\\s|\\)|$)",
+                                                                   Pattern.CASE_INSENSITIVE);
+
+    private final ThreadLocal<Boolean> routing = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    public <T> T route(Supplier<T> query) {
+        if (routing.get()) {
+            return query.get();
+        }
+        routing.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            routing.remove();
+        }
+    }
+
+    public boolean isRouting() {
+        return routing.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (!routing.get()) {
+            return sql;
+        }
+        Matcher matcher = TABLE_REFERENCE.matcher(sql);
+        StringBuffer routed = new StringBuffer(sql.length() + 64);
+        while (matcher.find()) {
+            matcher.appendReplacement(routed,
+                                      "$1$2" + VIEW_SUFFIX);
+        }
+        matcher.appendTail(routed);
+        return routed.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(ProcessInstanceArchiveProperties.PREFIX)
+public class ProcessInstanceArchiveProperties {
+
+    public static final String PREFIX = "activiti.cloud.services.query.archive";
+
+    /**
+     * Periodically move completed and cancelled process instances, together with their tasks, variables,
+     * activities, sequence flows and integration contexts, into the archive tables; archived rows are
+     * still read when a query filters on final statuses or looks an id up
+     */
+    private boolean enabled;
+
+    /**
+     * Time elapsed since the last modification of a completed or cancelled process instance before it gets archived
+     */
+    private Duration age = Duration.ofDays(30);
+
+    /**
+     * Number of process instances archived in a single transaction; at most 1000
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Delay between two archiving runs
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getAge() {
+        return age;
+    }
+
+    public void setAge(Duration age) {
+        this.age = age;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
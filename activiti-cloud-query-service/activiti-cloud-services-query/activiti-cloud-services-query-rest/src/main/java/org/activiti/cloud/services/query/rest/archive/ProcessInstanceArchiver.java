@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.util.Date;
+import java.util.List;
+import javax.persistence.EntityManager;
+
+import org.activiti.api.process.model.ProcessInstance.ProcessInstanceStatus;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
+
+/**
+ * Set-based archiving of process instances: the rows of a chunk of process instances are copied into the
+ * archive tables with a single {@code INSERT ... SELECT} statement per table, then purged from the hot
+ * tables by the {@link ProcessInstanceBulkDeleter}. Archive tables share the column layout of their hot
+ * table. Must be called within a transaction.
+ */
+public class ProcessInstanceArchiver {
+
+    private static final String LOCK_NAME = "archiving";
+
+    private static final String[] PROCESS_INSTANCE_TABLES = {
+            "process_variable",
+            "bpmn_activity",
+            "bpmn_sequence_flow",
+            "integration_context",
+            "task"
+    };
+
+    private static final String[] TASK_TABLES = {
+            "task_variable",
+            "task_candidate_user",
+            "task_candidate_group",
+            "task_visibility",
+            "task_text_gram"
+    };
+
+    private final EntityManager entityManager;
+    private final ProcessInstanceBulkDeleter bulkDeleter;
+
+    public ProcessInstanceArchiver(EntityManager entityManager,
+                                   ProcessInstanceBulkDeleter bulkDeleter) {
+        this.entityManager = entityManager;
+        this.bulkDeleter = bulkDeleter;
+    }
+
+    /**
+     * Locks the row of the archive lock table until the end of the current transaction, so that the
+     * replicas archive one chunk at a time: a replica waits for the chunk of another one to be committed,
+     * then only sees the process instances that are left.
+     */
+    public void lock() {
+        List<?> locked = entityManager.createNativeQuery("select name from process_instance_archive_lock where name = :name for update")
+                                      .setParameter("name",
+                                                    LOCK_NAME)
+                                      .getResultList();
+        if (locked.isEmpty()) {
+            throw new QueryException("Missing '" + LOCK_NAME + "' row in process_instance_archive_lock");
+        }
+    }
+
+    public List<String> findArchivableProcessInstanceIds(Date lastModifiedBefore,
+                                                         int limit) {
+        QProcessInstanceEntity processInstance = QProcessInstanceEntity.processInstanceEntity;
+        return bulkDeleter.findProcessInstanceIds(processInstance.status.in(ProcessInstanceStatus.COMPLETED,
+                                                                            ProcessInstanceStatus.CANCELLED)
+                                                                        .and(processInstance.lastModified.before(lastModifiedBefore)),
+                                                  limit);
+    }
+
+    /**
+     * @return the number of archived process instances
+     */
+    public long archive(List<String> processInstanceIds) {
+        for (String table : TASK_TABLES) {
+            copy(table,
+                 "task_id in (select t.id from task t where t.process_instance_id in (:processInstanceIds))",
+                 processInstanceIds);
+        }
+        for (String table : PROCESS_INSTANCE_TABLES) {
+            copy(table,
+                 "process_instance_id in (:processInstanceIds)",
+                 processInstanceIds);
+        }
+        copy("process_instance",
+             "id in (:processInstanceIds)",
+             processInstanceIds);
+
+        bulkDeleter.deleteTasks(processInstanceIds);
+        return bulkDeleter.deleteProcessInstances(processInstanceIds);
+    }
+
+    private void copy(String table,
+                      String condition,
+                      List<String> processInstanceIds) {
+        entityManager.createNativeQuery("insert into " + table + ArchiveTableRouter.ARCHIVE_SUFFIX
+                                                + " select * from " + table
+                                                + " where " + condition)
+                     .setParameter("processInstanceIds",
+                                   processInstanceIds)
+                     .executeUpdate();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background job moving the process instances that reached a final state more than the configured age
+ * ago into the archive tables, chunk by chunk, each chunk in its own transaction so that the hot tables
+ * are locked for a single chunk only. Every replica runs the job: chunks are serialized through the
+ * {@link ProcessInstanceArchiver#lock() archive lock}, so two replicas never archive the same process instances.
+ */
+public class ProcessInstanceArchivingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceArchivingService.class);
+
+    private final ProcessInstanceArchiver archiver;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration age;
+    private final int chunkSize;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    public ProcessInstanceArchivingService(ProcessInstanceArchiver archiver,
+                                           PlatformTransactionManager transactionManager,
+                                           ProcessInstanceArchiveProperties properties) {
+        this.archiver = archiver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.age = properties.getAge();
+        this.chunkSize = ProcessInstanceBulkDeleter.toChunkSize(properties.getChunkSize());
+        this.interval = properties.getInterval();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-process-instance-archiving");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly,
+                                         interval.toMillis(),
+                                         interval.toMillis(),
+                                         TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the number of archived process instances
+     */
+    public long archive() {
+        Date lastModifiedBefore = Date.from(Instant.now().minus(age));
+        long archived = 0;
+        long chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveChunk(lastModifiedBefore));
+            archived += chunk;
+        } while (chunk == chunkSize);
+        if (archived > 0) {
+            LOGGER.info("{} process instances last modified before {} archived",
+                        archived,
+                        lastModifiedBefore);
+        }
+        return archived;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private long archiveChunk(Date lastModifiedBefore) {
+        archiver.lock();
+        List<String> processInstanceIds = archiver.findArchivableProcessInstanceIds(lastModifiedBefore,
+                                                                                    chunkSize);
+        if (processInstanceIds.isEmpty()) {
+            return 0;
+        }
+        return archiver.archive(processInstanceIds);
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException cause) {
+            // the committed chunks stay archived, the others are picked up again by the next run
+            LOGGER.error("Error archiving process instances", cause);
+        }
+    }
+}
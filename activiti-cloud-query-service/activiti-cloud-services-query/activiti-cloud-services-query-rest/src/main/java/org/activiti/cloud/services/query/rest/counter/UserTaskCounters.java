@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.counter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.cloud.services.query.model.TaskCounter;
+
+/**
+ * Number of tasks per status assigned to the current user, and of unassigned tasks per status
+ * waiting in each of the current user groups.
+ */
+public class UserTaskCounters {
+
+    private final Map<TaskStatus, Long> assigned = new TreeMap<>();
+    private final Map<String, Map<TaskStatus, Long>> candidateGroups = new TreeMap<>();
+
+    public void add(TaskCounter counter) {
+        if (counter.getTaskCount() <= 0) {
+            return;
+        }
+        if (counter.getDimension() == TaskCounter.Dimension.ASSIGNEE) {
+            assigned.put(counter.getStatus(),
+                         counter.getTaskCount());
+        } else if (counter.getDimension() == TaskCounter.Dimension.CANDIDATE_GROUP) {
+            candidateGroups.computeIfAbsent(counter.getCounterKey(),
+                                            group -> new TreeMap<>())
+                           .put(counter.getStatus(),
+                                counter.getTaskCount());
+        }
+    }
+
+    public Map<TaskStatus, Long> getAssigned() {
+        return assigned;
+    }
+
+    public Map<String, Map<TaskStatus, Long>> getCandidateGroups() {
+        return candidateGroups;
+    }
+}
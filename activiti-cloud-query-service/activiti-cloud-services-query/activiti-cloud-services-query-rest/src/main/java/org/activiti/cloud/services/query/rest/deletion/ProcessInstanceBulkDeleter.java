@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.deletion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.model.QBPMNActivityEntity;
+import org.activiti.cloud.services.query.model.QBPMNSequenceFlowEntity;
+import org.activiti.cloud.services.query.model.QIntegrationContextEntity;
+import org.activiti.cloud.services.query.model.QProcessDefinitionEntity;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskCandidateGroup;
+import org.activiti.cloud.services.query.model.QTaskCandidateUser;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.QTaskTextGram;
+import org.activiti.cloud.services.query.model.QTaskVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskVisibility;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
+import org.springframework.util.Assert;
+
+/**
+ * Set-based deletion of process instances and of the rows that belong to them: every table is purged
+ * with a single bulk {@code DELETE ... WHERE ... IN (...)} statement per chunk, children first, without
+ * loading any entity. Must be called within a transaction.
+ */
+public class ProcessInstanceBulkDeleter {
+
+    /**
+     * Maximum number of process instances, or tasks, per chunk, keeping the id lists within the Oracle
+     * limit of 1000 expressions
+     */
+    public static final int MAX_CHUNK_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final TaskCounterRepository taskCounterRepository;
+
+    public ProcessInstanceBulkDeleter(EntityManager entityManager,
+                                      TaskCounterRepository taskCounterRepository) {
+        this.entityManager = entityManager;
+        this.taskCounterRepository = taskCounterRepository;
+    }
+
+    public List<String> findProcessInstanceIds(Predicate predicate,
+                                               int limit) {
+        QProcessInstanceEntity processInstance = QProcessInstanceEntity.processInstanceEntity;
+        return new JPAQuery<String>(entityManager).select(processInstance.id)
+                                                  .from(processInstance)
+                                                  .where(predicate)
+                                                  .limit(limit)
+                                                  .fetch();
+    }
+
+    /**
+     * Deletes the tasks of the given process instances, see {@link #deleteTasksById(List)}.
+     * @return the number of deleted tasks
+     */
+    public long deleteTasks(List<String> processInstanceIds) {
+        checkChunkSize(processInstanceIds);
+        return deleteTasks(QTaskEntity.taskEntity.processInstanceId.in(processInstanceIds));
+    }
+
+    /**
+     * Deletes the given tasks along with their visibility rows, text grams, candidates and variables,
+     * and takes them out of their {@link TaskCounter}s.
+     * @return the number of deleted tasks
+     */
+    public long deleteTasksById(List<String> taskIds) {
+        checkChunkSize(taskIds);
+        return deleteTasks(QTaskEntity.taskEntity.id.in(taskIds));
+    }
+
+    private long deleteTasks(Predicate tasks) {
+        QTaskEntity task = QTaskEntity.taskEntity;
+        JPQLQuery<String> taskIds = JPAExpressions.select(task.id)
+                                                  .from(task)
+                                                  .where(tasks);
+
+        releaseTaskCounters(tasks);
+        delete(QTaskVisibility.taskVisibility,
+               QTaskVisibility.taskVisibility.taskId.in(taskIds));
+        delete(QTaskTextGram.taskTextGram,
+               QTaskTextGram.taskTextGram.taskId.in(taskIds));
+        delete(QTaskCandidateUser.taskCandidateUser,
+               QTaskCandidateUser.taskCandidateUser.taskId.in(taskIds));
+        delete(QTaskCandidateGroup.taskCandidateGroup,
+               QTaskCandidateGroup.taskCandidateGroup.taskId.in(taskIds));
+        delete(QTaskVariableEntity.taskVariableEntity,
+               QTaskVariableEntity.taskVariableEntity.taskId.in(taskIds));
+        return delete(task,
+                      tasks);
+    }
+
+    /**
+     * Deletes the process instances along with their variables, activities, sequence flows and
+     * integration contexts; tasks are expected to be deleted beforehand by {@link #deleteTasks(List)}.
+     * @return the number of deleted process instances
+     */
+    public long deleteProcessInstances(List<String> processInstanceIds) {
+        checkChunkSize(processInstanceIds);
+        deleteByProcessInstanceId(QProcessVariableEntity.processVariableEntity,
+                                  QProcessVariableEntity.processVariableEntity.processInstanceId,
+                                  processInstanceIds);
+        deleteByProcessInstanceId(QBPMNActivityEntity.bPMNActivityEntity,
+                                  QBPMNActivityEntity.bPMNActivityEntity.processInstanceId,
+                                  processInstanceIds);
+        deleteByProcessInstanceId(QBPMNSequenceFlowEntity.bPMNSequenceFlowEntity,
+                                  QBPMNSequenceFlowEntity.bPMNSequenceFlowEntity.processInstanceId,
+                                  processInstanceIds);
+        deleteByProcessInstanceId(QIntegrationContextEntity.integrationContextEntity,
+                                  QIntegrationContextEntity.integrationContextEntity.processInstanceId,
+                                  processInstanceIds);
+        return deleteByProcessInstanceId(QProcessInstanceEntity.processInstanceEntity,
+                                         QProcessInstanceEntity.processInstanceEntity.id,
+                                         processInstanceIds);
+    }
+
+    /**
+     * Takes the deleted tasks out of their {@link TaskCounter}s, one grouped query per dimension, the
+     * counters being then updated all together in the order of their ids.
+     */
+    private void releaseTaskCounters(Predicate tasks) {
+        QTaskEntity task = QTaskEntity.taskEntity;
+        QTaskCandidateGroup candidateGroup = QTaskCandidateGroup.taskCandidateGroup;
+        QProcessDefinitionEntity processDefinition = QProcessDefinitionEntity.processDefinitionEntity;
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+
+        release(deltas,
+                TaskCounter.Dimension.ASSIGNEE,
+                new JPAQuery<Tuple>(entityManager).select(task.assignee, task.status, task.id.count())
+                                                  .from(task)
+                                                  .where(tasks,
+                                                         task.status.isNotNull(),
+                                                         task.assignee.isNotNull())
+                                                  .groupBy(task.assignee, task.status)
+                                                  .fetch());
+        release(deltas,
+                TaskCounter.Dimension.CANDIDATE_GROUP,
+                new JPAQuery<Tuple>(entityManager).select(candidateGroup.groupId, task.status, task.id.count())
+                                                  .from(task, candidateGroup)
+                                                  .where(candidateGroup.taskId.eq(task.id),
+                                                         tasks,
+                                                         task.status.isNotNull(),
+                                                         task.assignee.isNull())
+                                                  .groupBy(candidateGroup.groupId, task.status)
+                                                  .fetch());
+        release(deltas,
+                TaskCounter.Dimension.PROCESS_DEFINITION_KEY,
+                new JPAQuery<Tuple>(entityManager).select(processDefinition.key, task.status, task.id.count())
+                                                  .from(task, processDefinition)
+                                                  .where(processDefinition.id.eq(task.processDefinitionId),
+                                                         tasks,
+                                                         task.status.isNotNull(),
+                                                         processDefinition.key.isNotNull())
+                                                  .groupBy(processDefinition.key, task.status)
+                                                  .fetch());
+        taskCounterRepository.incrementAll(deltas);
+    }
+
+    private void release(Map<TaskCounterId, Long> deltas,
+                         TaskCounter.Dimension dimension,
+                         List<Tuple> counts) {
+        for (Tuple count : counts) {
+            deltas.put(new TaskCounterId(dimension,
+                                         count.get(0, String.class),
+                                         count.get(1, TaskStatus.class)),
+                       -count.get(2, Long.class));
+        }
+    }
+
+    /**
+     * @return the given ids split into chunks of at most {@link #MAX_CHUNK_SIZE} ids
+     */
+    public static List<List<String>> toChunks(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += MAX_CHUNK_SIZE) {
+            chunks.add(ids.subList(start,
+                                   Math.min(start + MAX_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the given chunk size, within 1 and {@link #MAX_CHUNK_SIZE}
+     */
+    public static int toChunkSize(int chunkSize) {
+        return Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+    }
+
+    private void checkChunkSize(List<String> ids) {
+        Assert.isTrue(ids.size() <= MAX_CHUNK_SIZE,
+                      "At most " + MAX_CHUNK_SIZE + " ids can be deleted at once");
+    }
+
+    private long deleteByProcessInstanceId(EntityPath<?> entity,
+                                           StringPath processInstanceId,
+                                           List<String> processInstanceIds) {
+        return delete(entity,
+                      processInstanceId.in(processInstanceIds));
+    }
+
+    private long delete(EntityPath<?> entity,
+                        Predicate predicate) {
+        return new JPADeleteClause(entityManager,
+                                   entity).where(predicate)
+                                          .execute();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.deletion;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk deletion of process instances: counters are updated after every committed chunk.
+ */
+public class ProcessInstanceBulkDeletion {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final Date startDate = new Date();
+    private final AtomicLong deletedProcessInstances = new AtomicLong();
+    private final AtomicLong deletedTasks = new AtomicLong();
+    private final AtomicLong committedChunks = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Date endDate;
+    private volatile String error;
+
+    public ProcessInstanceBulkDeletion(String id) {
+        this.id = id;
+    }
+
+    void chunkCommitted(long processInstances,
+                        long tasks) {
+        deletedProcessInstances.addAndGet(processInstances);
+        deletedTasks.addAndGet(tasks);
+        committedChunks.incrementAndGet();
+    }
+
+    void completed() {
+        endDate = new Date();
+        status = Status.COMPLETED;
+    }
+
+    void failed(Exception cause) {
+        endDate = new Date();
+        error = cause.getMessage();
+        status = Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public long getDeletedProcessInstances() {
+        return deletedProcessInstances.get();
+    }
+
+    public long getDeletedTasks() {
+        return deletedTasks.get();
+    }
+
+    public long getCommittedChunks() {
+        return committedChunks.get();
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
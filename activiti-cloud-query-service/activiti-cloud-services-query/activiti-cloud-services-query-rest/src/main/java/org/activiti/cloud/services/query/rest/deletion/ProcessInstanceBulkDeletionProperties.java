@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.deletion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(ProcessInstanceBulkDeletionProperties.PREFIX)
+public class ProcessInstanceBulkDeletionProperties {
+
+    public static final String PREFIX = "activiti.cloud.services.query.bulk-deletion";
+
+    /**
+     * Number of process instances deleted, together with their tasks, variables, activities,
+     * sequence flows and integration contexts, in a single transaction; at most 1000
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Number of bulk deletions whose progress is kept available once they are finished
+     */
+    private int maxTrackedDeletions = 100;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxTrackedDeletions() {
+        return maxTrackedDeletions;
+    }
+
+    public void setMaxTrackedDeletions(int maxTrackedDeletions) {
+        this.maxTrackedDeletions = maxTrackedDeletions;
+    }
+}
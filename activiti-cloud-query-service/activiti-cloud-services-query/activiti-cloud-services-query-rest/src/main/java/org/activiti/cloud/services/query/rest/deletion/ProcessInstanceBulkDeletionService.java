@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.deletion;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes every process instance matching a predicate, chunk by chunk: each chunk of ids is selected
+ * and purged with set-based statements in its own transaction, so locks are held for a single chunk
+ * only and a failure leaves the already committed chunks deleted. Deletions can run in the
+ * background, one at a time, their progress being available through {@link #getDeletion(String)}.
+ */
+public class ProcessInstanceBulkDeletionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceBulkDeletionService.class);
+
+    private final ProcessInstanceBulkDeleter bulkDeleter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Map<String, ProcessInstanceBulkDeletion> deletions;
+    private final ExecutorService executor;
+
+    public ProcessInstanceBulkDeletionService(ProcessInstanceBulkDeleter bulkDeleter,
+                                              PlatformTransactionManager transactionManager,
+                                              ProcessInstanceBulkDeletionProperties properties) {
+        this.bulkDeleter = bulkDeleter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = ProcessInstanceBulkDeleter.toChunkSize(properties.getChunkSize());
+        int maxTrackedDeletions = Math.max(1, properties.getMaxTrackedDeletions());
+        this.deletions = Collections.synchronizedMap(new LinkedHashMap<String, ProcessInstanceBulkDeletion>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ProcessInstanceBulkDeletion> eldest) {
+                return size() > maxTrackedDeletions && eldest.getValue().isFinished();
+            }
+        });
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-process-instance-bulk-deletion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ProcessInstanceBulkDeletion delete(Predicate predicate) {
+        ProcessInstanceBulkDeletion deletion = register();
+        run(predicate, deletion);
+        return deletion;
+    }
+
+    public ProcessInstanceBulkDeletion deleteAsync(Predicate predicate) {
+        ProcessInstanceBulkDeletion deletion = register();
+        executor.execute(() -> run(predicate, deletion));
+        return deletion;
+    }
+
+    public Optional<ProcessInstanceBulkDeletion> getDeletion(String id) {
+        return Optional.ofNullable(deletions.get(id));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ProcessInstanceBulkDeletion register() {
+        ProcessInstanceBulkDeletion deletion = new ProcessInstanceBulkDeletion(UUID.randomUUID().toString());
+        deletions.put(deletion.getId(), deletion);
+        return deletion;
+    }
+
+    private void run(Predicate predicate,
+                     ProcessInstanceBulkDeletion deletion) {
+        Predicate filter = Optional.ofNullable(predicate)
+                                   .orElseGet(BooleanBuilder::new);
+        try {
+            Chunk chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> deleteChunk(filter));
+                if (chunk.selected > 0) {
+                    deletion.chunkCommitted(chunk.processInstances,
+                                            chunk.tasks);
+                }
+            } while (chunk.hasMore());
+            deletion.completed();
+            LOGGER.info("Bulk deletion {} completed: {} process instances and {} tasks deleted",
+                        deletion.getId(),
+                        deletion.getDeletedProcessInstances(),
+                        deletion.getDeletedTasks());
+        } catch (RuntimeException cause) {
+            LOGGER.error("Bulk deletion " + deletion.getId() + " failed after "
+                                 + deletion.getDeletedProcessInstances() + " deleted process instances",
+                         cause);
+            deletion.failed(cause);
+            throw cause;
+        }
+    }
+
+    private Chunk deleteChunk(Predicate predicate) {
+        List<String> processInstanceIds = bulkDeleter.findProcessInstanceIds(predicate,
+                                                                             chunkSize);
+        if (processInstanceIds.isEmpty()) {
+            return new Chunk(0, 0, 0);
+        }
+        long tasks = bulkDeleter.deleteTasks(processInstanceIds);
+        long processInstances = bulkDeleter.deleteProcessInstances(processInstanceIds);
+        return new Chunk(processInstanceIds.size(),
+                         processInstances,
+                         tasks);
+    }
+
+    private class Chunk {
+
+        private final int selected;
+        private final long processInstances;
+        private final long tasks;
+
+        private Chunk(int selected,
+                      long processInstances,
+                      long tasks) {
+            this.selected = selected;
+            this.processInstances = processInstances;
+            this.tasks = tasks;
+        }
+
+        private boolean hasMore() {
+            // a chunk that removes nothing would be selected again forever
+            return selected == chunkSize && processInstances > 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.export;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+/**
+ * CSV columns of the exported entities: each column is the name of a JSON property of the entity,
+ * so that CSV and NDJSON exports render values the same way.
+ */
+public final class QueryExportColumns {
+
+    public static final List<String> TASKS = unmodifiableList(asList("id",
+                                                                     "name",
+                                                                     "description",
+                                                                     "status",
+                                                                     "assignee",
+                                                                     "owner",
+                                                                     "priority",
+                                                                     "formKey",
+                                                                     "taskDefinitionKey",
+                                                                     "parentTaskId",
+                                                                     "processDefinitionId",
+                                                                     "processDefinitionVersion",
+                                                                     "processInstanceId",
+                                                                     "businessKey",
+                                                                     "createdDate",
+                                                                     "dueDate",
+                                                                     "claimedDate",
+                                                                     "completedDate",
+                                                                     "duration",
+                                                                     "lastModified",
+                                                                     "appName",
+                                                                     "appVersion",
+                                                                     "serviceName"));
+
+    public static final List<String> PROCESS_INSTANCES = unmodifiableList(asList("id",
+                                                                                 "name",
+                                                                                 "status",
+                                                                                 "initiator",
+                                                                                 "businessKey",
+                                                                                 "processDefinitionId",
+                                                                                 "processDefinitionKey",
+                                                                                 "processDefinitionVersion",
+                                                                                 "parentId",
+                                                                                 "startDate",
+                                                                                 "lastModified",
+                                                                                 "appName",
+                                                                                 "appVersion",
+                                                                                 "serviceName"));
+
+    public static final List<String> VARIABLES = unmodifiableList(asList("id",
+                                                                         "name",
+                                                                         "type",
+                                                                         "value",
+                                                                         "processInstanceId",
+                                                                         "executionId",
+                                                                         "createTime",
+                                                                         "lastUpdatedTime",
+                                                                         "markedAsDeleted",
+                                                                         "appName",
+                                                                         "serviceName"));
+
+    private QueryExportColumns() {
+    }
+}
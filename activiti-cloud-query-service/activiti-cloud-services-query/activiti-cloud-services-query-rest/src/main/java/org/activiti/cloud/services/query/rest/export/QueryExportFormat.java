@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.export;
+
+import java.util.Arrays;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum QueryExportFormat {
+
+    NDJSON(MediaType.valueOf("application/x-ndjson")),
+    CSV(MediaType.valueOf("text/csv"));
+
+    private final MediaType mediaType;
+
+    QueryExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static QueryExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                     .filter(format -> format.name().equalsIgnoreCase(value))
+                     .findFirst()
+                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                                                    "Unsupported export format '" + value
+                                                                            + "', expected one of " + Arrays.toString(values())));
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams every entity matching a predicate as NDJSON or CSV, reading them through a forward-only
+ * Hibernate cursor: rows are written as soon as they are fetched and the persistence context is
+ * cleared every {@link QueryExportProperties#getFetchSize() fetch size} rows, so memory stays flat
+ * whatever the size of the result set. No count query is run and no HATEOAS links are built.
+ */
+public class QueryResultExporter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jsonWriter;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public QueryResultExporter(EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               QueryExportProperties properties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writer()
+                                      .without(SerializationFeature.INDENT_OUTPUT)
+                                      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                                      .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = Math.max(1, properties.getFetchSize());
+    }
+
+    /**
+     * @param columns the JSON properties written, in order, as CSV columns; ignored for NDJSON
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(EntityPathBase<T> root,
+                                                            Predicate predicate,
+                                                            QueryExportFormat format,
+                                                            List<String> columns,
+                                                            String fileName) {
+        Predicate restrictedPredicate = Optional.ofNullable(predicate)
+                                                .orElseGet(BooleanBuilder::new);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream,
+                                                                      StandardCharsets.UTF_8));
+            try {
+                transactionTemplate.execute(status -> {
+                    write(root,
+                          restrictedPredicate,
+                          format == QueryExportFormat.CSV ? new CsvRowWriter(writer, columns) : new NdjsonRowWriter(writer));
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                             .contentType(format.getMediaType())
+                             .header(HttpHeaders.CONTENT_DISPOSITION,
+                                     "attachment; filename=\"" + fileName + "." + format.name().toLowerCase() + "\"")
+                             .body(body);
+    }
+
+    protected <T> void write(EntityPathBase<T> root,
+                             Predicate predicate,
+                             RowWriter rowWriter) {
+        Query<?> query = new JPAQuery<T>(entityManager).select(root)
+                                                       .from(root)
+                                                       .where(predicate)
+                                                       .createQuery()
+                                                       .unwrap(Query.class);
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        query.setCacheMode(CacheMode.IGNORE);
+
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            rowWriter.writeHeader();
+            long rows = 0;
+            while (results.next()) {
+                rowWriter.writeRow(results.get(0));
+                if (++rows % fetchSize == 0) {
+                    // entities already written are not needed anymore
+                    session.clear();
+                    rowWriter.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected interface RowWriter {
+
+        void writeHeader() throws IOException;
+
+        void writeRow(Object entity) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(Object entity) throws IOException {
+            jsonWriter.writeValue(writer,
+                                  entity);
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final List<String> columns;
+
+        private CsvRowWriter(Writer writer,
+                             List<String> columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            for (int index = 0; index < columns.size(); index++) {
+                writeCell(index,
+                          columns.get(index));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(Object entity) throws IOException {
+            JsonNode row = objectMapper.valueToTree(entity);
+            for (int index = 0; index < columns.size(); index++) {
+                JsonNode value = row.get(columns.get(index));
+                if (value == null || value.isNull()) {
+                    writeCell(index,
+                              "");
+                } else {
+                    writeCell(index,
+                              value.isValueNode() ? value.asText() : value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeCell(int index,
+                               String value) throws IOException {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(value));
+        }
+    }
+
+    static String escape(String value) {
+        boolean quote = false;
+        for (int index = 0; index < value.length() && !quote; index++) {
+            char c = value.charAt(index);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.predicate;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.PathBuilder;
+import javax.validation.constraints.NotNull;
+import org.activiti.cloud.alfresco.argument.resolver.ContinuationToken;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Restricts the query to the elements following the cursor of a {@link KeysetPageRequest}, consistently
+ * with {@link KeysetPageRequest#toKeysetSort(String)}: ordered by the sort property with nulls last,
+ * then by id.
+ */
+public class KeysetPredicateFilter implements QueryDslPredicateFilter {
+
+    public static final String ID_PROPERTY = "id";
+
+    private final EntityPath<?> root;
+    private final KeysetPageRequest pageRequest;
+
+    public KeysetPredicateFilter(EntityPath<?> root,
+                                 KeysetPageRequest pageRequest) {
+        this.root = root;
+        this.pageRequest = pageRequest;
+    }
+
+    @Override
+    public Predicate extend(@NotNull Predicate currentPredicate) {
+        ContinuationToken cursor = pageRequest.getCursor();
+        if (cursor == null) {
+            return currentPredicate;
+        }
+        return seekPredicate(cursor).and(currentPredicate);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BooleanExpression seekPredicate(ContinuationToken cursor) {
+        PathBuilder<?> entity = new PathBuilder<>(root.getType(),
+                                                  root.getMetadata());
+        boolean ascending = pageRequest.getDirection().isAscending();
+
+        Class idType = propertyType(ID_PROPERTY);
+        ComparableExpression id = entity.getComparable(ID_PROPERTY, idType);
+        Comparable idValue = (Comparable) ContinuationToken.convert(cursor.getId(), idType);
+        BooleanExpression afterId = ascending ? id.gt(idValue) : id.lt(idValue);
+
+        String sortProperty = pageRequest.getSortProperty();
+        if (sortProperty == null || ID_PROPERTY.equals(sortProperty)) {
+            return afterId;
+        }
+
+        Class sortType = propertyType(sortProperty);
+        ComparableExpression sortPath = entity.getComparable(sortProperty, sortType);
+        Comparable sortValue = (Comparable) ContinuationToken.convert(cursor.getSortValue(), sortType);
+        if (sortValue == null) {
+            // nulls come last, so only the remaining null values are after the cursor
+            return sortPath.isNull().and(afterId);
+        }
+        BooleanExpression afterSortValue = ascending ? sortPath.gt(sortValue) : sortPath.lt(sortValue);
+        return afterSortValue
+                .or(sortPath.eq(sortValue).and(afterId))
+                .or(sortPath.isNull());
+    }
+
+    private Class<?> propertyType(String property) {
+        Class<?> type = BeanUtils.findPropertyType(property,
+                                                   root.getType());
+        return ClassUtils.resolvePrimitiveIfNecessary(type);
+    }
+}
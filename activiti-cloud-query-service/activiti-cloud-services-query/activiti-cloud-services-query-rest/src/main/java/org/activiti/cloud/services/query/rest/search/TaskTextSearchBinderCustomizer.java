@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.search;
+
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextSearchStrategy;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+
+/**
+ * Applies the {@link TaskRepository} bindings, then routes the {@code name} and {@code description}
+ * filters through the configured {@link TaskTextSearchStrategy}. Referenced from
+ * {@code @QuerydslPredicate(bindings = ...)} and resolved from the application context.
+ */
+public class TaskTextSearchBinderCustomizer implements QuerydslBinderCustomizer<QTaskEntity> {
+
+    private final TaskRepository taskRepository;
+    private final TaskTextSearchStrategy taskTextSearchStrategy;
+
+    public TaskTextSearchBinderCustomizer(TaskRepository taskRepository,
+                                          TaskTextSearchStrategy taskTextSearchStrategy) {
+        this.taskRepository = taskRepository;
+        this.taskTextSearchStrategy = taskTextSearchStrategy;
+    }
+
+    @Override
+    public void customize(QuerydslBindings bindings,
+                          QTaskEntity root) {
+        taskRepository.customize(bindings,
+                                 root);
+
+        bindings.bind(root.name).first((path, value) -> taskTextSearchStrategy.contains(root,
+                                                                                        TaskTextGram.Field.NAME,
+                                                                                        value));
+        bindings.bind(root.description).first((path, value) -> taskTextSearchStrategy.contains(root,
+                                                                                               TaskTextGram.Field.DESCRIPTION,
+                                                                                               value));
+    }
+}
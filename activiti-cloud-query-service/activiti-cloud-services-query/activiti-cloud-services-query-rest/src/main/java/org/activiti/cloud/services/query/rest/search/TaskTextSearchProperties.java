@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(TaskTextSearchProperties.PREFIX)
+public class TaskTextSearchProperties {
+
+    public static final String PREFIX = "activiti.cloud.services.query.task-text-search";
+
+    public enum Strategy {
+        /**
+         * Plain {@code like '%value%'}, to be paired with a database side infix index such as the
+         * {@code pg_trgm} GIN indexes created on PostgreSQL
+         */
+        LIKE,
+        /**
+         * Portable trigram side table kept up to date by the task event handlers
+         */
+        NGRAM
+    }
+
+    /**
+     * Strategy used to filter tasks by name and description. Trigrams are only maintained while NGRAM is
+     * selected: on startup they are dropped under any other strategy, and built for the tasks missing them under NGRAM
+     */
+    private Strategy strategy = Strategy.LIKE;
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+}
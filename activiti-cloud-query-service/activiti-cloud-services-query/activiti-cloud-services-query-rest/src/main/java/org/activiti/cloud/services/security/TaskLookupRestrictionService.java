@@ -17,27 +17,44 @@ package org.activiti.cloud.services.security;
 
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import java.util.List;
 import javax.validation.constraints.NotNull;
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
 import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskVisibility;
+import org.activiti.cloud.services.query.model.TaskVisibility.PrincipalType;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
 import org.springframework.beans.factory.annotation.Value;
 
 /*
  * Tested by RestrictTaskQueryIT
  * Applies permissions/restrictions to TaskEntity data (and TaskEntity Variables) based upon Candidate user/group logic
+ * When the visibility index is enabled the same rules are evaluated against the precomputed TaskVisibility rows
  */
 public class TaskLookupRestrictionService implements QueryDslPredicateFilter {
 
     private final SecurityManager securityManager;
 
+    private final TaskVisibilityRepository taskVisibilityRepository;
+
     @Value("${activiti.cloud.security.task.restrictions.enabled:true}")
     private boolean restrictionsEnabled;
 
+    @Value("${activiti.cloud.security.task.restrictions.visibility-index.enabled:false}")
+    private boolean visibilityIndexEnabled;
+
     public TaskLookupRestrictionService(SecurityManager securityManager) {
+        this(securityManager,
+             null);
+    }
+
+    public TaskLookupRestrictionService(SecurityManager securityManager,
+                                        TaskVisibilityRepository taskVisibilityRepository) {
         this.securityManager = securityManager;
+        this.taskVisibilityRepository = taskVisibilityRepository;
     }
 
     public Predicate restrictTaskQuery(Predicate predicate){
@@ -70,7 +87,16 @@ public class TaskLookupRestrictionService implements QueryDslPredicateFilter {
 
         BooleanExpression restriction = null;
 
-        if(userId!=null) {
+        if(userId!=null && isVisibilityIndexEnabled()) {
+
+            QTaskVisibility visibility = QTaskVisibility.taskVisibility;
+            restriction = JPAExpressions.selectOne()
+                    .from(visibility)
+                    .where(visibility.taskId.eq(task.id),
+                           visibleTo(visibility, userId))
+                    .exists();
+
+        } else if(userId!=null) {
 
             BooleanExpression isNotAssigned = task.assignee.isNull();
             restriction = task.assignee.eq(userId) //user is assignee
@@ -99,6 +125,37 @@ public class TaskLookupRestrictionService implements QueryDslPredicateFilter {
         return addAndConditionToPredicate(predicate,restriction);
     }
 
+    /**
+     * Checks whether the authenticated user is allowed to see the given task.
+     * Only valid when {@link #isVisibilityIndexEnabled()}: it is answered by the visibility index
+     * without reading the task itself.
+     */
+    public boolean canRead(String taskId) {
+        if (!restrictionsEnabled) {
+            return true;
+        }
+        String userId = securityManager.getAuthenticatedUserId();
+        if (userId == null) {
+            return true;
+        }
+        QTaskVisibility visibility = QTaskVisibility.taskVisibility;
+        return taskVisibilityRepository.exists(visibility.taskId.eq(taskId)
+                                                       .and(visibleTo(visibility, userId)));
+    }
+
+    private BooleanExpression visibleTo(QTaskVisibility visibility, String userId) {
+        BooleanExpression visibleTo = visibility.principalType.eq(PrincipalType.EVERYONE)
+                .or(visibility.principalType.eq(PrincipalType.USER)
+                            .and(visibility.principal.eq(userId)));
+
+        List<String> groups = securityManager.getAuthenticatedUserGroups();
+        if(groups!=null && groups.size()>0) {
+            visibleTo = visibleTo.or(visibility.principalType.eq(PrincipalType.GROUP)
+                                             .and(visibility.principal.in(groups)));
+        }
+        return visibleTo;
+    }
+
     private Predicate addAndConditionToPredicate(Predicate predicate, BooleanExpression expression){
         if(expression != null && predicate !=null){
             return expression.and(predicate);
@@ -116,4 +173,12 @@ public class TaskLookupRestrictionService implements QueryDslPredicateFilter {
     public boolean isRestrictionsEnabled() {
         return restrictionsEnabled;
     }
+
+    public void setVisibilityIndexEnabled(boolean visibilityIndexEnabled) {
+        this.visibilityIndexEnabled = visibilityIndexEnabled;
+    }
+
+    public boolean isVisibilityIndexEnabled() {
+        return visibilityIndexEnabled && taskVisibilityRepository != null;
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCompletedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
+import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.activiti.cloud.services.query.model.QueryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class QueryEventLaneDispatcherTest {
+
+    private QueryEventLaneDispatcher dispatcher;
+
+    @Mock
+    private QueryEventHandlerContext eventHandlerContext;
+
+    private List<CloudRuntimeEvent<?, ?>> handledEvents = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        recordHandledEvents();
+
+        QueryEventLaneProperties properties = new QueryEventLaneProperties();
+        properties.setCount(4);
+        properties.setQueueCapacity(8);
+        dispatcher = new QueryEventLaneDispatcher(eventHandlerContext,
+                                                  properties,
+                                                  new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void dispatchShouldHandleAllEventsKeepingOrderPerProcessInstance() {
+        //given
+        ProcessInstanceImpl first = processInstance("first");
+        ProcessInstanceImpl second = processInstance("second");
+        CloudProcessCreatedEventImpl firstCreated = new CloudProcessCreatedEventImpl(first);
+        CloudProcessCreatedEventImpl secondCreated = new CloudProcessCreatedEventImpl(second);
+        CloudProcessStartedEventImpl firstStarted = new CloudProcessStartedEventImpl(first);
+        CloudProcessStartedEventImpl secondStarted = new CloudProcessStartedEventImpl(second);
+        CloudProcessCompletedEventImpl firstCompleted = new CloudProcessCompletedEventImpl(first);
+
+        //when
+        dispatcher.dispatch(asList(firstCreated,
+                                   secondCreated,
+                                   firstStarted,
+                                   secondStarted,
+                                   firstCompleted));
+
+        //then
+        assertThat(handledEvents).hasSize(5);
+        assertThat(handledEvents).filteredOn(event -> "first".equals(event.getProcessInstanceId()))
+                                 .containsExactly(firstCreated,
+                                                  firstStarted,
+                                                  firstCompleted);
+        assertThat(handledEvents).filteredOn(event -> "second".equals(event.getProcessInstanceId()))
+                                 .containsExactly(secondCreated,
+                                                  secondStarted);
+    }
+
+    @Test
+    public void dispatchShouldPropagateHandlerErrors() {
+        //given
+        doThrow(new QueryException("boom")).when(eventHandlerContext).handle(any());
+
+        //then
+        assertThatExceptionOfType(QueryException.class)
+                .isThrownBy(() -> dispatcher.dispatch(asList(new CloudProcessCreatedEventImpl(processInstance("id")))))
+                .withMessage("boom");
+    }
+
+    @Test
+    public void dispatchShouldPropagateErrorsAndKeepTheLaneAlive() {
+        //given
+        doThrow(new AssertionError("boom")).when(eventHandlerContext).handle(any());
+
+        //then
+        assertThatExceptionOfType(QueryException.class)
+                .isThrownBy(() -> dispatcher.dispatch(asList(new CloudProcessCreatedEventImpl(processInstance("id")))))
+                .withCauseInstanceOf(AssertionError.class);
+
+        //given
+        recordHandledEvents();
+        CloudProcessCreatedEventImpl created = new CloudProcessCreatedEventImpl(processInstance("id"));
+
+        //when
+        dispatcher.dispatch(asList(created));
+
+        //then
+        assertThat(handledEvents).containsExactly(created);
+    }
+
+    @Test
+    public void laneShouldReplaceItsWorkerWhenItDies() {
+        //given
+        doThrow(new StackOverflowError()).when(eventHandlerContext).handle(any());
+        assertThatExceptionOfType(QueryException.class)
+                .isThrownBy(() -> dispatcher.dispatch(asList(new CloudProcessCreatedEventImpl(processInstance("id")))))
+                .withCauseInstanceOf(StackOverflowError.class);
+        recordHandledEvents();
+        CloudProcessCreatedEventImpl created = new CloudProcessCreatedEventImpl(processInstance("id"));
+
+        //when
+        dispatcher.dispatch(asList(created));
+
+        //then
+        assertThat(handledEvents).containsExactly(created);
+    }
+
+    private void recordHandledEvents() {
+        doAnswer(invocation -> {
+            for (Object event : invocation.getArguments()) {
+                handledEvents.add((CloudRuntimeEvent<?, ?>) event);
+            }
+            return null;
+        }).when(eventHandlerContext).handle(any());
+    }
+
+    private ProcessInstanceImpl processInstance(String id) {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId(id);
+        return processInstance;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.Collections;
+
+import org.activiti.api.task.model.events.TaskRuntimeEvent;
+import org.activiti.cloud.api.task.model.events.CloudTaskCreatedEvent;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskCreatedEventImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BatchingQueryEventHandlerContextTest {
+
+    private BatchingQueryEventHandlerContext context;
+
+    @Mock
+    private QueryEventHandler handler;
+
+    @Mock
+    private QueryEventPrefetcher prefetcher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        doReturn(TaskRuntimeEvent.TaskEvents.TASK_CREATED.name()).when(handler).getHandledEvent();
+        context = new BatchingQueryEventHandlerContext(Collections.singleton(handler),
+                                                       singletonList(prefetcher),
+                                                       new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    public void handleShouldPrefetchThenHandleEventsInOneTransaction() {
+        //given
+        CloudTaskCreatedEvent event = new CloudTaskCreatedEventImpl();
+
+        //when
+        context.handle(event);
+
+        //then
+        InOrder inOrder = inOrder(transactionManager, prefetcher, handler);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(prefetcher).prefetch(singletonList(event));
+        inOrder.verify(handler).handle(event);
+        inOrder.verify(transactionManager).commit(any());
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.querydsl.core.types.Predicate;
+import org.activiti.api.task.model.Task;
+import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.model.ProcessDefinitionEntity;
+import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TaskCounterUpdaterTest {
+
+    @InjectMocks
+    private TaskCounterUpdater updater;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCandidateGroupRepository taskCandidateGroupRepository;
+
+    @Mock
+    private ProcessDefinitionRepository processDefinitionRepository;
+
+    @Mock
+    private TaskCounterRepository taskCounterRepository;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        given(taskCandidateGroupRepository.findAll(any(Predicate.class)))
+                .willReturn(Arrays.asList(new TaskCandidateGroup("taskId", "hr"),
+                                          new TaskCandidateGroup("taskId", "finance")));
+        ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+        processDefinition.setKey("invoice");
+        given(processDefinitionRepository.findById("invoice:1:1")).willReturn(Optional.of(processDefinition));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(updater);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void countersOfShouldCountAssignedTaskForAssigneeAndProcessDefinitionKey() {
+        //given
+        TaskEntity task = task("alice",
+                               Task.TaskStatus.ASSIGNED);
+
+        //when
+        Set<TaskCounterId> counters = updater.countersOf(task);
+
+        //then
+        assertThat(counters).containsExactly(counter(TaskCounter.Dimension.ASSIGNEE, "alice", Task.TaskStatus.ASSIGNED),
+                                             counter(TaskCounter.Dimension.PROCESS_DEFINITION_KEY, "invoice", Task.TaskStatus.ASSIGNED));
+    }
+
+    @Test
+    public void countersOfShouldCountUnassignedTaskForEachCandidateGroup() {
+        //given
+        TaskEntity task = task(null,
+                               Task.TaskStatus.CREATED);
+
+        //when
+        Set<TaskCounterId> counters = updater.countersOf(task);
+
+        //then
+        assertThat(counters).containsExactly(counter(TaskCounter.Dimension.CANDIDATE_GROUP, "hr", Task.TaskStatus.CREATED),
+                                             counter(TaskCounter.Dimension.CANDIDATE_GROUP, "finance", Task.TaskStatus.CREATED),
+                                             counter(TaskCounter.Dimension.PROCESS_DEFINITION_KEY, "invoice", Task.TaskStatus.CREATED));
+    }
+
+    @Test
+    public void countersOfShouldBeEmptyWhenTaskIsNotReceivedYet() {
+        //given
+        given(taskRepository.findById("taskId")).willReturn(Optional.empty());
+
+        //then
+        assertThat(updater.countersOf("taskId")).isEmpty();
+    }
+
+    @Test
+    public void updateShouldOnlyMoveChangedCounters() {
+        //given
+        TaskCounterId kept = counter(TaskCounter.Dimension.PROCESS_DEFINITION_KEY, "invoice", Task.TaskStatus.ASSIGNED);
+        TaskCounterId left = counter(TaskCounter.Dimension.ASSIGNEE, "alice", Task.TaskStatus.ASSIGNED);
+        TaskCounterId joined = counter(TaskCounter.Dimension.ASSIGNEE, "bob", Task.TaskStatus.ASSIGNED);
+
+        //when
+        updater.update(new LinkedHashSet<>(Arrays.asList(kept, left)),
+                       new LinkedHashSet<>(Arrays.asList(kept, joined)));
+
+        //then
+        verify(taskCounterRepository).incrementAll(deltas(left, -1L,
+                                                          joined, 1L));
+        verifyNoMoreInteractions(taskCounterRepository);
+    }
+
+    @Test
+    public void updateShouldCountNewTask() {
+        //given
+        TaskCounterId counter = counter(TaskCounter.Dimension.ASSIGNEE, "alice", Task.TaskStatus.ASSIGNED);
+
+        //when
+        updater.update(Collections.emptySet(),
+                       Collections.singleton(counter));
+
+        //then
+        verify(taskCounterRepository).incrementAll(Collections.singletonMap(counter, 1L));
+        verifyNoMoreInteractions(taskCounterRepository);
+    }
+
+    @Test
+    public void updateShouldApplyTheChangesOfTheWholeTransactionBeforeCommit() {
+        //given a lane handling a batch of events in a single transaction
+        TransactionSynchronizationManager.initSynchronization();
+        TaskCounterId alice = counter(TaskCounter.Dimension.ASSIGNEE, "alice", Task.TaskStatus.ASSIGNED);
+        TaskCounterId bob = counter(TaskCounter.Dimension.ASSIGNEE, "bob", Task.TaskStatus.ASSIGNED);
+        TaskCounterId hr = counter(TaskCounter.Dimension.CANDIDATE_GROUP, "hr", Task.TaskStatus.CREATED);
+
+        //when
+        updater.update(Collections.singleton(hr),
+                       Collections.singleton(bob));
+        updater.update(Collections.emptySet(),
+                       Collections.singleton(alice));
+        updater.update(Collections.singleton(bob),
+                       Collections.singleton(alice));
+
+        //then
+        verifyNoInteractions(taskCounterRepository);
+
+        //when
+        TransactionSynchronizationManager.getSynchronizations()
+                                         .forEach(synchronization -> synchronization.beforeCommit(false));
+
+        //then
+        verify(taskCounterRepository).incrementAll(deltas(alice, 2L,
+                                                          hr, -1L));
+        verifyNoMoreInteractions(taskCounterRepository);
+    }
+
+    @Test
+    public void updateShouldDiscardTheChangesOfARolledBackTransaction() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        updater.update(Collections.emptySet(),
+                       Collections.singleton(counter(TaskCounter.Dimension.ASSIGNEE, "alice", Task.TaskStatus.ASSIGNED)));
+
+        //when
+        TransactionSynchronizationManager.getSynchronizations()
+                                         .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //then
+        verifyNoInteractions(taskCounterRepository);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    private TaskEntity task(String assignee,
+                            Task.TaskStatus status) {
+        TaskEntity task = new TaskEntity();
+        task.setId("taskId");
+        task.setAssignee(assignee);
+        task.setStatus(status);
+        task.setProcessDefinitionId("invoice:1:1");
+        return task;
+    }
+
+    private Map<TaskCounterId, Long> deltas(TaskCounterId first,
+                                            Long firstDelta,
+                                            TaskCounterId second,
+                                            Long secondDelta) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        deltas.put(first,
+                   firstDelta);
+        deltas.put(second,
+                   secondDelta);
+        return deltas;
+    }
+
+    private TaskCounterId counter(TaskCounter.Dimension dimension,
+                                  String key,
+                                  Task.TaskStatus status) {
+        return new TaskCounterId(dimension,
+                                 key,
+                                 status);
+    }
+}
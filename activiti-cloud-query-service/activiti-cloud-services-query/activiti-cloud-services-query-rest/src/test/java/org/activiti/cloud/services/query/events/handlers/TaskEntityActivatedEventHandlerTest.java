@@ -47,6 +47,12 @@ public class TaskEntityActivatedEventHandlerTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskVisibilityUpdater taskVisibilityUpdater;
+
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -69,6 +75,7 @@ public class TaskEntityActivatedEventHandlerTest {
 
         //then
         verify(taskRepository).save(taskEntity);
+        verify(taskVisibilityUpdater).refresh(taskId);
         verify(taskEntity).setStatus(Task.TaskStatus.CREATED);
         verify(taskEntity).setLastModified(any(Date.class));
     }
@@ -91,6 +98,7 @@ public class TaskEntityActivatedEventHandlerTest {
 
         //then
         verify(taskRepository).save(taskEntity);
+        verify(taskVisibilityUpdater).refresh(taskId);
         verify(taskEntity).setStatus(Task.TaskStatus.ASSIGNED);
         verify(taskEntity).setLastModified(any(Date.class));
     }
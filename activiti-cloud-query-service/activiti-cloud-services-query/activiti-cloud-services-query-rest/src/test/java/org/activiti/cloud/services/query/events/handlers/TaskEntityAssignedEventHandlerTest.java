@@ -15,8 +15,10 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.activiti.api.task.model.Task;
@@ -25,6 +27,8 @@ import org.activiti.cloud.api.task.model.events.CloudTaskAssignedEvent;
 import org.activiti.cloud.api.task.model.impl.events.CloudTaskAssignedEventImpl;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.QueryException;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.api.task.model.impl.TaskImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +52,12 @@ public class TaskEntityAssignedEventHandlerTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskVisibilityUpdater taskVisibilityUpdater;
+
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -65,12 +75,23 @@ public class TaskEntityAssignedEventHandlerTest {
                 .build();
 
         given(taskRepository.findById(taskId)).willReturn(Optional.of(taskEntity));
+        Set<TaskCounterId> before = Collections.singleton(new TaskCounterId(TaskCounter.Dimension.ASSIGNEE,
+                                                                            "previousUser",
+                                                                            Task.TaskStatus.ASSIGNED));
+        Set<TaskCounterId> after = Collections.singleton(new TaskCounterId(TaskCounter.Dimension.ASSIGNEE,
+                                                                           "user",
+                                                                           Task.TaskStatus.ASSIGNED));
+        given(taskCounterUpdater.countersOf(taskEntity)).willReturn(before,
+                                                                    after);
 
         //when
         handler.handle(event);
 
         //then
         verify(taskRepository).save(taskEntity);
+        verify(taskVisibilityUpdater).refresh(taskId);
+        verify(taskCounterUpdater).update(before,
+                                          after);
         verify(taskEntity).setStatus(Task.TaskStatus.ASSIGNED);
         verify(taskEntity).setAssignee(event.getEntity().getAssignee());
         verify(taskEntity).setLastModified(any(Date.class));
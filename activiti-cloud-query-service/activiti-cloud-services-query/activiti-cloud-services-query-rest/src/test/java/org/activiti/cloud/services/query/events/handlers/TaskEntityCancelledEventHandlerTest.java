@@ -51,6 +51,9 @@ public class TaskEntityCancelledEventHandlerTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -44,6 +44,12 @@ public class TaskEntityCandidateGroupAddedEventHandlerTest {
     @Mock
     private TaskCandidateGroupRepository taskCandidateRepository;
 
+    @Mock
+    private TaskVisibilityUpdater taskVisibilityUpdater;
+
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -61,6 +67,7 @@ public class TaskEntityCandidateGroupAddedEventHandlerTest {
         verify(taskCandidateRepository).save(captor.capture());
         assertThat(captor.getValue().getTaskId()).isEqualTo(event.getEntity().getTaskId());
         assertThat(captor.getValue().getGroupId()).isEqualTo(event.getEntity().getGroupId());
+        verify(taskVisibilityUpdater).refresh(event.getEntity().getTaskId());
     }
 
     @Test
@@ -40,6 +40,9 @@ public class TaskEntityCandidateUserAddedEventHandlerTest {
     @Mock
     private TaskCandidateUserRepository taskCandidateRepository;
 
+    @Mock
+    private TaskVisibilityUpdater taskVisibilityUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -60,6 +63,7 @@ public class TaskEntityCandidateUserAddedEventHandlerTest {
         verify(taskCandidateRepository).save(captor.capture());
         assertThat(captor.getValue().getTaskId()).isEqualTo(event.getEntity().getTaskId());
         assertThat(captor.getValue().getUserId()).isEqualTo(event.getEntity().getUserId());
+        verify(taskVisibilityUpdater).refresh(event.getEntity().getTaskId());
     }
 
     @Test
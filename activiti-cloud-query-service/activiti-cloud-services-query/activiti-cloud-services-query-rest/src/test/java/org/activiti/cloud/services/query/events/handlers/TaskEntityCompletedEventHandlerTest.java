@@ -47,6 +47,9 @@ public class TaskEntityCompletedEventHandlerTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
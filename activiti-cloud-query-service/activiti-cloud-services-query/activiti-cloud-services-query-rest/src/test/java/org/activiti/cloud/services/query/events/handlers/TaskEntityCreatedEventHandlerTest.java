@@ -49,6 +49,15 @@ public class TaskEntityCreatedEventHandlerTest {
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private TaskVisibilityUpdater taskVisibilityUpdater;
+
+    @Mock
+    private TaskTextIndexUpdater taskTextIndexUpdater;
+
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -84,6 +93,8 @@ public class TaskEntityCreatedEventHandlerTest {
         //then
         ArgumentCaptor<TaskEntity> captor = ArgumentCaptor.forClass(TaskEntity.class);
         verify(taskRepository).save(captor.capture());
+        verify(taskVisibilityUpdater).refresh(task.getId());
+        verify(taskTextIndexUpdater).refresh(captor.getValue());
         assertThat(captor.getValue().getStatus()).isEqualTo(Task.TaskStatus.CREATED);
         assertThat(captor.getValue().getLastModified()).isNotNull();
         assertThat(captor.getValue().getProcessInstance()).isEqualTo(processInstanceEntity);
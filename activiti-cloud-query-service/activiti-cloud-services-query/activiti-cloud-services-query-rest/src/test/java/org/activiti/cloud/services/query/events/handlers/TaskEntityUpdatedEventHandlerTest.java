@@ -49,6 +49,12 @@ public class TaskEntityUpdatedEventHandlerTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskTextIndexUpdater taskTextIndexUpdater;
+
+    @Mock
+    private TaskCounterUpdater taskCounterUpdater;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -73,6 +79,7 @@ public class TaskEntityUpdatedEventHandlerTest {
 
         //then
         verify(taskRepository).save(eventTaskEntity);
+        verify(taskTextIndexUpdater).refresh(eventTaskEntity);
         verify(eventTaskEntity).setName(event.getEntity().getName());
         verify(eventTaskEntity).setDescription(event.getEntity().getDescription());
         verify(eventTaskEntity).setPriority(event.getEntity().getPriority());
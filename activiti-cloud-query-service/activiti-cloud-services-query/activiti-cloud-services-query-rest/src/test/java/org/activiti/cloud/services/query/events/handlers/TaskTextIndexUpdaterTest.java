@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.querydsl.core.types.Predicate;
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import static org.activiti.cloud.services.query.events.handlers.TaskBuilder.aTask;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TaskTextIndexUpdaterTest {
+
+    private TaskTextIndexUpdater updater;
+
+    @Mock
+    private TaskTextGramRepository taskTextGramRepository;
+
+    @Captor
+    private ArgumentCaptor<Iterable<TaskTextGram>> captor;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        updater = new TaskTextIndexUpdater(taskTextGramRepository,
+                                           true);
+        given(taskTextGramRepository.findAll(any(Predicate.class))).willReturn(Collections.emptyList());
+    }
+
+    @Test
+    public void refreshShouldIndexLowerCasedTrigramsOfNameAndDescription() {
+        //given
+        TaskEntity task = aTask().withId("taskId").withName("Pay").withDescription("abcd").build();
+
+        //when
+        updater.refresh(task);
+
+        //then
+        verify(taskTextGramRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(new TaskTextGram("taskId", TaskTextGram.Field.NAME, "pay"),
+                                                      new TaskTextGram("taskId", TaskTextGram.Field.DESCRIPTION, "abc"),
+                                                      new TaskTextGram("taskId", TaskTextGram.Field.DESCRIPTION, "bcd"));
+        verify(taskTextGramRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    public void refreshShouldReplaceStaleGrams() {
+        //given
+        TaskEntity task = aTask().withId("taskId").withName("abcd").build();
+        given(taskTextGramRepository.findAll(any(Predicate.class)))
+                .willReturn(Arrays.asList(new TaskTextGram("taskId", TaskTextGram.Field.NAME, "abc"),
+                                          new TaskTextGram("taskId", TaskTextGram.Field.NAME, "xyz")));
+
+        //when
+        updater.refresh(task);
+
+        //then
+        verify(taskTextGramRepository).deleteAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(new TaskTextGram("taskId", TaskTextGram.Field.NAME, "xyz"));
+        verify(taskTextGramRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(new TaskTextGram("taskId", TaskTextGram.Field.NAME, "bcd"));
+    }
+
+    @Test
+    public void refreshShouldDoNothingWhenDisabled() {
+        //given
+        updater = new TaskTextIndexUpdater(taskTextGramRepository,
+                                           false);
+
+        //when
+        updater.refresh(aTask().withId("taskId").withName("abcd").build());
+
+        //then
+        verifyNoInteractions(taskTextGramRepository);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import com.querydsl.core.types.Predicate;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
+import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCandidateUser;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskVisibility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import static org.activiti.cloud.services.query.events.handlers.TaskBuilder.aTask;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TaskVisibilityUpdaterTest {
+
+    @InjectMocks
+    private TaskVisibilityUpdater updater;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCandidateUserRepository taskCandidateUserRepository;
+
+    @Mock
+    private TaskCandidateGroupRepository taskCandidateGroupRepository;
+
+    @Mock
+    private TaskVisibilityRepository taskVisibilityRepository;
+
+    @Captor
+    private ArgumentCaptor<Iterable<TaskVisibility>> captor;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        given(taskCandidateUserRepository.findAll(any(Predicate.class))).willReturn(Collections.emptyList());
+        given(taskCandidateGroupRepository.findAll(any(Predicate.class))).willReturn(Collections.emptyList());
+        given(taskVisibilityRepository.findAll(any(Predicate.class))).willReturn(Collections.emptyList());
+    }
+
+    @Test
+    public void refreshShouldOpenUnassignedTaskWithoutCandidatesToEveryone() {
+        //given
+        TaskEntity task = aTask().withId("taskId").build();
+        given(taskRepository.findById("taskId")).willReturn(Optional.of(task));
+
+        //when
+        updater.refresh("taskId");
+
+        //then
+        verify(taskVisibilityRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(TaskVisibility.everyone("taskId"));
+        verify(taskVisibilityRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    public void refreshShouldReplaceStaleRowsWithCandidates() {
+        //given
+        TaskEntity task = aTask().withId("taskId").build();
+        given(taskRepository.findById("taskId")).willReturn(Optional.of(task));
+        given(taskCandidateUserRepository.findAll(any(Predicate.class)))
+                .willReturn(Collections.singletonList(new TaskCandidateUser("taskId", "bob")));
+        given(taskCandidateGroupRepository.findAll(any(Predicate.class)))
+                .willReturn(Collections.singletonList(new TaskCandidateGroup("taskId", "hr")));
+        given(taskVisibilityRepository.findAll(any(Predicate.class)))
+                .willReturn(Arrays.asList(TaskVisibility.everyone("taskId"),
+                                                    TaskVisibility.user("taskId", "bob")));
+
+        //when
+        updater.refresh("taskId");
+
+        //then
+        verify(taskVisibilityRepository).deleteAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(TaskVisibility.everyone("taskId"));
+        verify(taskVisibilityRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(TaskVisibility.group("taskId", "hr"));
+    }
+
+    @Test
+    public void refreshShouldOnlyGrantAssigneeWhenTaskIsAssigned() {
+        //given
+        TaskEntity task = aTask().withId("taskId").withAssignee("alice").build();
+        given(taskRepository.findById("taskId")).willReturn(Optional.of(task));
+        given(taskCandidateUserRepository.findAll(any(Predicate.class)))
+                .willReturn(Collections.singletonList(new TaskCandidateUser("taskId", "bob")));
+
+        //when
+        updater.refresh("taskId");
+
+        //then
+        verify(taskVisibilityRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(TaskVisibility.user("taskId", "alice"));
+    }
+}
@@ -16,7 +16,10 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -25,6 +28,7 @@ import java.util.UUID;
 
 import javax.persistence.EntityManager;
 
+import com.querydsl.core.types.Predicate;
 import org.activiti.api.model.shared.event.VariableEvent;
 import org.activiti.api.runtime.model.impl.VariableInstanceImpl;
 import org.activiti.cloud.api.model.shared.impl.events.CloudVariableCreatedEventImpl;
@@ -35,11 +39,13 @@ import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
 import org.activiti.test.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class VariableEntityCreatedEventHandlerTest {
 
@@ -60,6 +66,15 @@ public class VariableEntityCreatedEventHandlerTest {
         initMocks(this);
     }
 
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(PrefetchedVariables.class);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     public void handleShouldCreateAndStoreProcessInstanceVariable() {
         //given
@@ -123,6 +138,65 @@ public class VariableEntityCreatedEventHandlerTest {
                 .hasProcessInstance(processInstanceEntity);
     }
 
+    @Test
+    public void handleShouldNotStoreVariableAlreadyPrefetchedForTheBatch() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        CloudVariableCreatedEventImpl event = new CloudVariableCreatedEventImpl(buildVariable());
+        PrefetchedVariables prefetchedVariables = PrefetchedVariables.bind();
+        prefetchedVariables.addProcessVariable(event.getEntity().getProcessInstanceId(),
+                                               event.getEntity().getName());
+
+        //when
+        handler.handle(event);
+
+        //then
+        verify(variableRepository, never()).exists(any(Predicate.class));
+        verify(variableRepository, never()).save(any());
+    }
+
+    @Test
+    public void handleShouldRecordVariableStoredForTheBatch() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        CloudVariableCreatedEventImpl event = new CloudVariableCreatedEventImpl(buildVariable());
+        PrefetchedVariables.bind().prefetchedProcessInstance(event.getEntity().getProcessInstanceId());
+
+        //when
+        handler.handle(event);
+        handler.handle(new CloudVariableCreatedEventImpl(event.getEntity()));
+
+        //then
+        verify(variableRepository, never()).exists(any(Predicate.class));
+        verify(variableRepository).save(any(ProcessVariableEntity.class));
+    }
+
+    @Test
+    public void handleShouldNotFailOutsideOfATransaction() {
+        //given
+        CloudVariableCreatedEventImpl event = new CloudVariableCreatedEventImpl(buildVariable());
+        when(variableRepository.save(any(ProcessVariableEntity.class))).thenThrow(new IllegalStateException("storage failure"));
+
+        //when
+        handler.handle(event);
+
+        //then
+        verify(variableRepository).save(any(ProcessVariableEntity.class));
+    }
+
+    @Test
+    public void handleShouldPropagateStorageErrorsWithinATransaction() {
+        //given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        CloudVariableCreatedEventImpl event = new CloudVariableCreatedEventImpl(buildVariable());
+        when(variableRepository.save(any(ProcessVariableEntity.class))).thenThrow(new IllegalStateException("storage failure"));
+
+        //then
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(() -> handler.handle(event))
+            .withMessage("storage failure");
+    }
+
     private VariableInstanceImpl<String> buildVariable() {
         return new VariableInstanceImpl<>("var",
                                           "string",
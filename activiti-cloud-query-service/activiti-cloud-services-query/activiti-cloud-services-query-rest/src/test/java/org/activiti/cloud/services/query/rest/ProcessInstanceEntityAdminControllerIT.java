@@ -16,8 +16,11 @@
 package org.activiti.cloud.services.query.rest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Collections;
@@ -45,6 +48,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
@@ -93,7 +97,8 @@ public class ProcessInstanceEntityAdminControllerIT {
     public void findAllShouldReturnAllResultsUsingAlfrescoMetadataWhenMediaTypeIsApplicationJson() throws Exception {
         //given
         given(processInstanceRepository.findAll(any(),
-                any(Pageable.class))).willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
+                any(Pageable.class),
+                eq(true))).willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
                 PageRequest.of(1,
                         10),
                 11));
@@ -109,7 +114,7 @@ public class ProcessInstanceEntityAdminControllerIT {
     @Test
     public void findAllShouldReturnAllResultsUsingHalWhenMediaTypeIsApplicationHalJson() throws Exception {
         //given
-        given(processInstanceRepository.findAll(any(), any(Pageable.class)))
+        given(processInstanceRepository.findAll(any(), any(Pageable.class), eq(true)))
             .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
                 PageRequest.of(1, 10),
                 11));
@@ -122,6 +127,23 @@ public class ProcessInstanceEntityAdminControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void findAllAfterCursorShouldSkipTheCountWhenTotalCountIsSkipped() throws Exception {
+        //given
+        given(processInstanceRepository.findAll(any(), any(Pageable.class), eq(false)))
+            .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
+                PageRequest.of(0, 10),
+                1));
+
+        //when
+        mockMvc.perform(get("/admin/v1/process-instances?cursor=&maxItems=10&skipTotalCount=true")
+                .accept(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.entries[0]").exists());
+
+        verify(processInstanceRepository).findAll(any(), eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"))), eq(false));
+    }
 
     private ProcessInstanceEntity buildDefaultProcessInstance() {
         return new ProcessInstanceEntity("My-app", "My-app", "1", null, null,
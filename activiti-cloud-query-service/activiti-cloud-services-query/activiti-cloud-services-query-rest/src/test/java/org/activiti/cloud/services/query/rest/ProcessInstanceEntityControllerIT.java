@@ -104,7 +104,8 @@ public class ProcessInstanceEntityControllerIT {
         given(processInstanceRestrictionService.restrictProcessInstanceQuery(any(),
                                                                               eq(SecurityPolicyAccess.READ))).willReturn(restrictedPredicate);
         given(processInstanceRepository.findAll(eq(restrictedPredicate),
-                                                any(Pageable.class))).willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
+                                                any(Pageable.class),
+                                                eq(true))).willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
                                                                                                              PageRequest.of(1,
                                                                                                                             10),
                                                                                                              11));
@@ -124,7 +125,8 @@ public class ProcessInstanceEntityControllerIT {
         given(processInstanceRestrictionService.restrictProcessInstanceQuery(any(),
                                                                               eq(SecurityPolicyAccess.READ))).willReturn(restrictedPredicate);
         given(processInstanceRepository.findAll(eq(restrictedPredicate),
-                                                any(Pageable.class))).willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
+                                                any(Pageable.class),
+                                                eq(true))).willReturn(new PageImpl<>(Collections.singletonList(buildDefaultProcessInstance()),
                                                                                                              PageRequest.of(1,
                                                                                                                             10),
                                                                                                              11));
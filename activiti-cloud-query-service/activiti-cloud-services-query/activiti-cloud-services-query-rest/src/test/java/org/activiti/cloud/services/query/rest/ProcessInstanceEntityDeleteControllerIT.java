@@ -18,7 +18,7 @@ package org.activiti.cloud.services.query.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -39,11 +39,13 @@ import org.activiti.cloud.services.query.app.repository.ProcessDefinitionReposit
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
 import org.activiti.cloud.services.security.TaskLookupRestrictionService;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -95,6 +97,9 @@ public class ProcessInstanceEntityDeleteControllerIT {
     @MockBean
     private TaskRepository taskRepository;
 
+    @MockBean
+    private ProcessInstanceBulkDeleter bulkDeleter;
+
     @BeforeEach
     public void setUp() {
         when(securityManager.getAuthenticatedUserId()).thenReturn("admin");
@@ -121,7 +126,10 @@ public class ProcessInstanceEntityDeleteControllerIT {
                 //then
                 .andExpect(status().isOk());
 
-        verify(processInstanceRepository).deleteAll(processInstanceEntities);
+        List<String> processInstanceIds = Collections.singletonList(processInstanceEntities.get(0).getId());
+        InOrder inOrder = inOrder(bulkDeleter);
+        inOrder.verify(bulkDeleter).deleteTasks(processInstanceIds);
+        inOrder.verify(bulkDeleter).deleteProcessInstances(processInstanceIds);
 
     }
 
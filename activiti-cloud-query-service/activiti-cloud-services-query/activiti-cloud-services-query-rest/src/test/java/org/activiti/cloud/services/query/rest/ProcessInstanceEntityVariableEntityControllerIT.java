@@ -31,6 +31,7 @@ import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
 import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
 import org.activiti.cloud.conf.QueryRestWebMvcAutoConfiguration;
 import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
@@ -69,6 +70,9 @@ public class ProcessInstanceEntityVariableEntityControllerIT {
     @MockBean
     private VariableRepository variableRepository;
 
+    @MockBean
+    private ProcessInstanceRepository processInstanceRepository;
+
     @MockBean
     private SecurityManager securityManager;
 
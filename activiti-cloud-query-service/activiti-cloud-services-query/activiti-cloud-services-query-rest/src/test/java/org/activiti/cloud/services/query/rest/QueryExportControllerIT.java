@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.VariableRepository;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessVariableEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@SpringBootTest
+@TestPropertySource("classpath:application-test.properties")
+@EnableAutoConfiguration
+public class QueryExportControllerIT {
+
+    @Autowired
+    private QueryExportController controller;
+
+    @Autowired
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @Autowired
+    private VariableRepository variableRepository;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    @BeforeEach
+    public void setUp() {
+        // testuser can read defKey1 and hruser can read defKey2 on test-cmd-endpoint
+        createProcessInstanceWithVariable("1", "defKey1", "testUserVariable");
+        createProcessInstanceWithVariable("2", "defKey2", "hrUserVariable");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        variableRepository.deleteAll();
+        processInstanceRepository.deleteAll();
+    }
+
+    @Test
+    public void exportVariablesShouldOnlyExportTheVariablesOfTheProcessInstancesTheUserCanSee() throws Exception {
+        //given
+        when(securityManager.getAuthenticatedUserId()).thenReturn("testuser");
+
+        //when
+        String export = exportVariables();
+
+        //then
+        assertThat(export).contains("testUserVariable")
+                          .doesNotContain("hrUserVariable");
+    }
+
+    @Test
+    public void exportVariablesShouldNotExportAnyVariableWhenTheUserCannotSeeAnyProcessInstance() throws Exception {
+        //given
+        when(securityManager.getAuthenticatedUserId()).thenReturn("intruder");
+
+        //when
+        String export = exportVariables();
+
+        //then
+        assertThat(export).doesNotContain("testUserVariable")
+                          .doesNotContain("hrUserVariable");
+    }
+
+    private String exportVariables() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = controller.exportVariables("ndjson",
+                                                                                    null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return new String(outputStream.toByteArray(),
+                          StandardCharsets.UTF_8);
+    }
+
+    private void createProcessInstanceWithVariable(String processInstanceId,
+                                                   String processDefinitionKey,
+                                                   String variableName) {
+        ProcessInstanceEntity processInstanceEntity = new ProcessInstanceEntity();
+        processInstanceEntity.setId(processInstanceId);
+        processInstanceEntity.setName("name");
+        processInstanceEntity.setInitiator("initiator");
+        processInstanceEntity.setProcessDefinitionKey(processDefinitionKey);
+        processInstanceEntity.setServiceName("test-cmd-endpoint");
+        processInstanceRepository.save(processInstanceEntity);
+
+        ProcessVariableEntity variableEntity = new ProcessVariableEntity();
+        variableEntity.setName(variableName);
+        variableEntity.setType("string");
+        variableEntity.setValue("value");
+        variableEntity.setProcessInstanceId(processInstanceId);
+        variableEntity.setProcessInstance(processInstanceEntity);
+        variableEntity.setServiceName("test-cmd-endpoint");
+        variableRepository.save(variableEntity);
+    }
+}
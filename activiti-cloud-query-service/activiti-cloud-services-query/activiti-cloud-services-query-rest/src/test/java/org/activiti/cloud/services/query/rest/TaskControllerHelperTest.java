@@ -29,6 +29,7 @@ import org.activiti.cloud.api.task.model.CloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
@@ -61,6 +62,9 @@ public class TaskControllerHelperTest {
     @Mock
     private PagedModel<EntityModel<CloudTask>> cloudTaskPagedModel;
 
+    @Mock
+    private ArchiveReader archiveReader;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -79,7 +83,7 @@ public class TaskControllerHelperTest {
         PageRequest pageable = PageRequest.of(0, 10);
         PageImpl<TaskEntity> pageResult = new PageImpl<>(Collections.singletonList(new TaskEntity()));
         given(taskRepository.findByVariableNameAndValue(variableSearch.getName(), variableSearch.getValue(),
-            extendedPredicate, pageable)).willReturn(
+            extendedPredicate, pageable, true)).willReturn(
             pageResult);
 
         given(pagedCollectionModelAssembler.toModel(pageable, pageResult, taskRepresentationModelAssembler))
@@ -106,7 +110,7 @@ public class TaskControllerHelperTest {
             null);
         PageRequest pageable = PageRequest.of(0, 10);
         PageImpl<TaskEntity> pageResult = new PageImpl<>(Collections.singletonList(new TaskEntity()));
-        given(taskRepository.findAll(extendedPredicate, pageable)).willReturn(pageResult);
+        given(taskRepository.findAll(extendedPredicate, pageable, true)).willReturn(pageResult);
 
         given(pagedCollectionModelAssembler.toModel(pageable, pageResult, taskRepresentationModelAssembler))
             .willReturn(cloudTaskPagedModel);
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.api.task.model.Task;
+import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.events.handlers.TaskCounterUpdater;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@SpringBootTest
+@EnableAutoConfiguration
+public class TaskCounterRepositoryIT {
+
+    private static final TaskCounterId ALICE_ASSIGNED = new TaskCounterId(TaskCounter.Dimension.ASSIGNEE,
+                                                                          "alice",
+                                                                          Task.TaskStatus.ASSIGNED);
+
+    private static final TaskCounterId BOB_ASSIGNED = new TaskCounterId(TaskCounter.Dimension.ASSIGNEE,
+                                                                        "bob",
+                                                                        Task.TaskStatus.ASSIGNED);
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCandidateGroupRepository taskCandidateGroupRepository;
+
+    @Autowired
+    private ProcessDefinitionRepository processDefinitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    @BeforeEach
+    public void setUp() {
+        taskCounterRepository.deleteAll();
+    }
+
+    @Test
+    public void incrementShouldCreateThenUpdateCounter() {
+        //when
+        taskCounterRepository.increment(ALICE_ASSIGNED, 1);
+        taskCounterRepository.increment(ALICE_ASSIGNED, 1);
+        taskCounterRepository.increment(ALICE_ASSIGNED, -1);
+
+        //then
+        assertThat(taskCounterRepository.findById(ALICE_ASSIGNED))
+                .hasValueSatisfying(counter -> assertThat(counter.getTaskCount()).isEqualTo(1));
+    }
+
+    @Test
+    public void incrementShouldNotCreateNegativeCounter() {
+        //when
+        taskCounterRepository.increment(ALICE_ASSIGNED, -1);
+
+        //then
+        assertThat(taskCounterRepository.findById(ALICE_ASSIGNED)).isEmpty();
+    }
+
+    @Test
+    public void incrementAllShouldCreateAndUpdateCounters() {
+        //given
+        taskCounterRepository.increment(ALICE_ASSIGNED, 2);
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        deltas.put(BOB_ASSIGNED, 1L);
+        deltas.put(ALICE_ASSIGNED, -1L);
+
+        //when
+        taskCounterRepository.incrementAll(deltas);
+
+        //then
+        assertThat(taskCounterRepository.findById(ALICE_ASSIGNED))
+                .hasValueSatisfying(counter -> assertThat(counter.getTaskCount()).isEqualTo(1));
+        assertThat(taskCounterRepository.findById(BOB_ASSIGNED))
+                .hasValueSatisfying(counter -> assertThat(counter.getTaskCount()).isEqualTo(1));
+    }
+
+    @Test
+    public void updaterShouldApplyTheChangesOfALaneTransactionOnCommit() {
+        //given
+        TaskCounterUpdater updater = taskCounterUpdater();
+
+        //when the events of a lane batch move a task from alice to bob
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            updater.update(Collections.emptySet(),
+                           Collections.singleton(ALICE_ASSIGNED));
+            updater.update(Collections.singleton(ALICE_ASSIGNED),
+                           Collections.singleton(BOB_ASSIGNED));
+
+            //then nothing is written, nor locked, before commit
+            assertThat(taskCounterRepository.findAll()).isEmpty();
+        });
+
+        //then
+        assertThat(taskCounterRepository.findById(ALICE_ASSIGNED)).isEmpty();
+        assertThat(taskCounterRepository.findById(BOB_ASSIGNED))
+                .hasValueSatisfying(counter -> assertThat(counter.getTaskCount()).isEqualTo(1));
+    }
+
+    @Test
+    public void updaterShouldNotApplyTheChangesOfARolledBackLaneTransaction() {
+        //given
+        TaskCounterUpdater updater = taskCounterUpdater();
+
+        //when
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    updater.update(Collections.emptySet(),
+                                   Collections.singleton(ALICE_ASSIGNED));
+                    throw new IllegalStateException("handler failure");
+                }));
+
+        //then
+        assertThat(taskCounterRepository.findAll()).isEmpty();
+    }
+
+    private TaskCounterUpdater taskCounterUpdater() {
+        return new TaskCounterUpdater(taskRepository,
+                                      taskCandidateGroupRepository,
+                                      processDefinitionRepository,
+                                      taskCounterRepository);
+    }
+}
@@ -97,7 +97,8 @@ public class TaskEntityAdminControllerIT {
                                                                                  20));
 
         given(taskRepository.findAll(any(),
-                                     eq(pageRequest)))
+                                     eq(pageRequest),
+                                     eq(true)))
                 .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultTask()),
                                            pageRequest,
                                            12));
@@ -124,7 +125,8 @@ public class TaskEntityAdminControllerIT {
                                                  10);
 
         given(taskRepository.findAll(any(),
-                                     eq(pageRequest)))
+                                     eq(pageRequest),
+                                     eq(true)))
                 .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultTask()),
                                            pageRequest,
                                            11));
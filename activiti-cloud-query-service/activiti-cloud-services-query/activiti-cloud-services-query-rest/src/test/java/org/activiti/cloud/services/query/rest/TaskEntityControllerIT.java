@@ -105,7 +105,8 @@ public class TaskEntityControllerIT {
                                                                                  20));
 
         given(taskRepository.findAll(any(),
-                                     eq(pageRequest)))
+                                     eq(pageRequest),
+                                     eq(true)))
                 .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultTask()),
                                            pageRequest,
                                            12));
@@ -125,6 +126,35 @@ public class TaskEntityControllerIT {
                 .node("list.pagination.totalItems").isEqualTo(12);
     }
 
+    @Test
+    public void findAllShouldSkipTheCountAndFlagTheTotalAsUnknownWhenSkipTotalCountIsSet() throws Exception {
+        //given
+        AlfrescoPageRequest pageRequest = new AlfrescoPageRequest(0,
+                                                                  1,
+                                                                  PageRequest.of(0,
+                                                                                 20),
+                                                                  false);
+
+        given(taskRepository.findAll(any(),
+                                     eq(pageRequest),
+                                     eq(false)))
+                .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultTask()),
+                                           pageRequest,
+                                           2));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/v1/tasks?skipCount=0&maxItems=1&skipTotalCount=true")
+                                                   .accept(MediaType.APPLICATION_JSON))
+                                   //then
+                                   .andExpect(status().isOk())
+                                   .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString())
+                .node("list.pagination.count").isEqualTo(1)
+                .node("list.pagination.hasMoreItems").isEqualTo(true)
+                .node("list.pagination.totalItemsUnknown").isEqualTo(true);
+    }
+
     @Test
     public void findAllShouldReturnAllResultsUsingHalWhenMediaTypeIsApplicationHalJson() throws Exception {
         //given
@@ -132,7 +162,8 @@ public class TaskEntityControllerIT {
                                                  10);
 
         given(taskRepository.findAll(any(),
-                                     eq(pageRequest)))
+                                     eq(pageRequest),
+                                     eq(true)))
                 .willReturn(new PageImpl<>(Collections.singletonList(buildDefaultTask()),
                                            pageRequest,
                                            11));
@@ -34,6 +34,7 @@ import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
 import org.activiti.cloud.services.security.TaskLookupRestrictionService;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
@@ -87,6 +88,9 @@ public class TaskEntityDeleteControllerIT {
     @MockBean
     private TaskLookupRestrictionService taskLookupRestrictionService;
 
+    @MockBean
+    private ProcessInstanceBulkDeleter bulkDeleter;
+
     @Test
     public void deleteTasksShouldReturnAllTasksAndDeleteThem() throws Exception{
 
@@ -102,6 +106,6 @@ public class TaskEntityDeleteControllerIT {
                 //then
                 .andExpect(status().isOk());
 
-        verify(taskRepository).deleteAll(taskEntities);
+        verify(bulkDeleter).deleteTasksById(Collections.singletonList(taskEntities.get(0).getId()));
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.LikeTaskTextSearchStrategy;
+import org.activiti.cloud.services.query.app.repository.NGramTaskTextSearchStrategy;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextSearchStrategy;
+import org.activiti.cloud.services.query.events.handlers.TaskTextGramSynchronizer;
+import org.activiti.cloud.services.query.events.handlers.TaskTextIndexUpdater;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableAutoConfiguration
+public class TaskTextSearchIT {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTextGramRepository taskTextGramRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    private TaskTextSearchStrategy nGramStrategy = new NGramTaskTextSearchStrategy();
+
+    private TaskTextSearchStrategy likeStrategy = new LikeTaskTextSearchStrategy();
+
+    private TaskTextIndexUpdater taskTextIndexUpdater;
+
+    @BeforeEach
+    public void setUp() {
+        taskTextGramRepository.deleteAll();
+        taskRepository.deleteAll();
+
+        taskTextIndexUpdater = new TaskTextIndexUpdater(taskTextGramRepository,
+                                                        true);
+        taskTextIndexUpdater.refresh(taskRepository.save(task("approve", "Approve Invoice", "Check the invoice amount")));
+        taskTextIndexUpdater.refresh(taskRepository.save(task("review", "Review contract", "Legal review of the invoice")));
+        taskTextIndexUpdater.refresh(taskRepository.save(task("pay", "Pay", null)));
+    }
+
+    @Test
+    public void nGramSearchShouldMatchSameTasksAsLike() {
+        assertNGramSearchMatchesLike();
+    }
+
+    @Test
+    public void nGramSearchShouldRequireEveryGramOfTheValue() {
+        assertThat(search(nGramStrategy, TaskTextGram.Field.NAME, "Invoice")).containsExactly("approve");
+        assertThat(search(nGramStrategy, TaskTextGram.Field.DESCRIPTION, "invoice")).containsExactlyInAnyOrder("approve",
+                                                                                                               "review");
+        assertThat(search(nGramStrategy, TaskTextGram.Field.DESCRIPTION, "invoices")).isEmpty();
+    }
+
+    @Test
+    public void nGramSearchShouldMatchTasksUpdatedWhileLikeWasSelected() {
+        //given the like strategy is selected: grams are dropped and no longer maintained
+        TaskTextIndexUpdater likeUpdater = new TaskTextIndexUpdater(taskTextGramRepository,
+                                                                    false);
+        synchronizer(likeUpdater).synchronize();
+        assertThat(taskTextGramRepository.count()).isZero();
+
+        TaskEntity task = taskRepository.findById("pay").get();
+        task.setName("Pay supplier");
+        task.setDescription("Settle the invoice");
+        likeUpdater.refresh(taskRepository.save(task));
+
+        //when switching to the trigram strategy
+        synchronizer(taskTextIndexUpdater).synchronize();
+
+        //then
+        assertThat(search(likeStrategy, TaskTextGram.Field.NAME, "supplier")).containsExactly("pay");
+        assertThat(search(nGramStrategy, TaskTextGram.Field.NAME, "supplier")).containsExactly("pay");
+        assertThat(search(nGramStrategy, TaskTextGram.Field.DESCRIPTION, "invoice")).containsExactlyInAnyOrder("approve",
+                                                                                                               "review",
+                                                                                                               "pay");
+        assertNGramSearchMatchesLike();
+    }
+
+    private TaskTextGramSynchronizer synchronizer(TaskTextIndexUpdater updater) {
+        return new TaskTextGramSynchronizer(taskRepository,
+                                            taskTextGramRepository,
+                                            updater,
+                                            entityManager,
+                                            new TransactionTemplate(transactionManager));
+    }
+
+    private void assertNGramSearchMatchesLike() {
+        for (String value : new String[]{"Invoice", "invoice", "view", "Pay", "x", "nvo%ce", "unknown"}) {
+            assertThat(search(nGramStrategy, TaskTextGram.Field.NAME, value))
+                    .as("name containing '%s'", value)
+                    .containsExactlyInAnyOrderElementsOf(search(likeStrategy, TaskTextGram.Field.NAME, value));
+            assertThat(search(nGramStrategy, TaskTextGram.Field.DESCRIPTION, value))
+                    .as("description containing '%s'", value)
+                    .containsExactlyInAnyOrderElementsOf(search(likeStrategy, TaskTextGram.Field.DESCRIPTION, value));
+        }
+    }
+
+    private List<String> search(TaskTextSearchStrategy strategy,
+                                          TaskTextGram.Field field,
+                                          String value) {
+        List<String> ids = new ArrayList<>();
+        taskRepository.findAll(strategy.contains(QTaskEntity.taskEntity,
+                                                 field,
+                                                 value))
+                      .forEach(task -> ids.add(task.getId()));
+        return ids;
+    }
+
+    private TaskEntity task(String id,
+                            String name,
+                            String description) {
+        TaskEntity task = new TaskEntity();
+        task.setId(id);
+        task.setName(name);
+        task.setDescription(description);
+        return task;
+    }
+}
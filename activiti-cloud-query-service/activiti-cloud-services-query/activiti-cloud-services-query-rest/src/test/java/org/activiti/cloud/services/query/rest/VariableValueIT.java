@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.querydsl.core.BooleanBuilder;
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.activiti.cloud.services.query.model.VariableValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource("classpath:application-test.properties")
+@EnableAutoConfiguration
+public class VariableValueIT {
+
+    private static final String DUE_DATE = "2020-06-15T10:00:00.000+0000";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVariableRepository taskVariableRepository;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    @AfterEach
+    public void tearDown() {
+        taskVariableRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldReadBackStoredValuesAndFindThemByTypedValue() {
+        //given
+        TaskEntity task = new TaskEntity();
+        task.setId("1");
+        taskRepository.save(task);
+        saveVariable(task, "dueDate", "date", DUE_DATE);
+        saveVariable(task, "count", "integer", 10);
+        saveVariable(task, "amount", "double", 1.5);
+        saveVariable(task, "approved", "boolean", true);
+        saveVariable(task, "outcome", "string", "approved");
+        saveVariable(task, "payload", "json", Collections.singletonMap("key", "value"));
+
+        //when
+        Map<String, Object> values = new HashMap<>();
+        taskVariableRepository.findAll().forEach(variable -> values.put(variable.getName(), variable.getValue()));
+
+        //then
+        assertThat(values).containsEntry("dueDate", DUE_DATE)
+                          .containsEntry("count", 10)
+                          .containsEntry("amount", 1.5)
+                          .containsEntry("approved", true)
+                          .containsEntry("outcome", "approved")
+                          .containsEntry("payload", Collections.singletonMap("key", "value"));
+        assertThat(findTaskIds("dueDate", Date.from(Instant.parse("2020-06-15T10:00:00Z")))).containsExactly("1");
+        assertThat(findTaskIds("dueDate", DUE_DATE)).isEmpty();
+        assertThat(findTaskIds("count", 10L)).containsExactly("1");
+        assertThat(findTaskIds("amount", 1.5)).containsExactly("1");
+        assertThat(findTaskIds("approved", true)).containsExactly("1");
+        assertThat(findTaskIds("outcome", "approved")).containsExactly("1");
+        assertThat(findTaskIds("outcome", "rejected")).isEmpty();
+    }
+
+    private void saveVariable(TaskEntity task,
+                              String name,
+                              String type,
+                              Object value) {
+        TaskVariableEntity variable = new TaskVariableEntity();
+        variable.setName(name);
+        variable.setType(type);
+        variable.setValue(value);
+        variable.setTaskId(task.getId());
+        variable.setTask(task);
+        taskVariableRepository.save(variable);
+    }
+
+    private Iterable<String> findTaskIds(String name,
+                                         Object value) {
+        return taskRepository.findByVariableNameAndValue(name,
+                                                         new VariableValue<>(value),
+                                                         new BooleanBuilder(),
+                                                         PageRequest.of(0, 10))
+                             .map(TaskEntity::getId)
+                             .getContent();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.api.process.model.ProcessInstance.ProcessInstanceStatus;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import com.querydsl.core.BooleanBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ArchiveReaderTest {
+
+    private static final QProcessInstanceEntity PROCESS_INSTANCE = QProcessInstanceEntity.processInstanceEntity;
+
+    private static final QTaskEntity TASK = QTaskEntity.taskEntity;
+
+    private ArchiveTableRouter router = new ArchiveTableRouter();
+
+    private ArchiveReader reader = new ArchiveReader(router,
+                                                     true);
+
+    @Test
+    public void shouldRequestArchiveWhenStatusIsRestrictedToFinalOnes() {
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.status.eq(ProcessInstanceStatus.COMPLETED))).isTrue();
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.status.in(ProcessInstanceStatus.COMPLETED,
+                                                                                       ProcessInstanceStatus.CANCELLED)
+                                                                    .and(PROCESS_INSTANCE.name.eq("name")))).isTrue();
+        assertThat(reader.isProcessInstanceArchiveRequested(new BooleanBuilder(PROCESS_INSTANCE.name.eq("name"))
+                                                                    .and(PROCESS_INSTANCE.status.eq(ProcessInstanceStatus.CANCELLED)))).isTrue();
+        assertThat(reader.isTaskArchiveRequested(TASK.status.eq(TaskStatus.COMPLETED)
+                                                         .or(TASK.status.eq(TaskStatus.CANCELLED)))).isTrue();
+    }
+
+    @Test
+    public void shouldNotRequestArchiveWhenStatusIsNotRestrictedToFinalOnes() {
+        assertThat(reader.isProcessInstanceArchiveRequested(null)).isFalse();
+        assertThat(reader.isProcessInstanceArchiveRequested(new BooleanBuilder())).isFalse();
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.name.eq("name"))).isFalse();
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.status.in(ProcessInstanceStatus.COMPLETED,
+                                                                                       ProcessInstanceStatus.RUNNING))).isFalse();
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.status.eq(ProcessInstanceStatus.COMPLETED)
+                                                                    .or(PROCESS_INSTANCE.name.eq("name")))).isFalse();
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.status.ne(ProcessInstanceStatus.RUNNING))).isFalse();
+        assertThat(reader.isTaskArchiveRequested(TASK.status.eq(TaskStatus.ASSIGNED))).isFalse();
+    }
+
+    @Test
+    public void shouldNotRequestArchiveWhenDisabled() {
+        //given
+        reader = new ArchiveReader(router,
+                                   false);
+
+        //then
+        assertThat(reader.isProcessInstanceArchiveRequested(PROCESS_INSTANCE.status.eq(ProcessInstanceStatus.COMPLETED))).isFalse();
+    }
+
+    @Test
+    public void findWithArchiveFallbackShouldRetryWhileRoutingWhenNotFound() {
+        //when
+        Boolean routed = reader.findWithArchiveFallback(() -> {
+            if (!router.isRouting()) {
+                throw new IllegalStateException("not found");
+            }
+            return Boolean.TRUE;
+        });
+
+        //then
+        assertThat(routed).isTrue();
+        assertThat(router.isRouting()).isFalse();
+    }
+
+    @Test
+    public void findWithArchiveFallbackShouldRethrowWhenNotFoundInArchive() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> reader.findWithArchiveFallback(() -> {
+                    throw new IllegalStateException("not found");
+                }))
+                .withMessage("not found");
+    }
+
+    @Test
+    public void findWithArchiveFallbackShouldNotRetryWhenDisabled() {
+        //given
+        reader = new ArchiveReader(router,
+                                   false);
+
+        //then
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> reader.findWithArchiveFallback(() -> {
+                    assertThat(router.isRouting()).isFalse();
+                    throw new IllegalStateException("not found");
+                }));
+    }
+
+    @Test
+    public void findPageWithArchiveFallbackShouldReadArchivedSubResourcesWhenParentIsArchived() {
+        //when
+        Page<String> page = reader.findPageWithArchiveFallback(() -> router.isRouting(),
+                                                               () -> router.isRouting() ?
+                                                                       new PageImpl<>(Collections.singletonList("archived variable")) :
+                                                                       Page.empty());
+
+        //then
+        assertThat(page.getContent()).containsExactly("archived variable");
+        assertThat(router.isRouting()).isFalse();
+    }
+
+    @Test
+    public void findPageWithArchiveFallbackShouldNotReadArchiveWhenParentIsHot() {
+        //given
+        AtomicInteger parentChecks = new AtomicInteger();
+
+        //when
+        Page<String> page = reader.findPageWithArchiveFallback(() -> {
+                                                                   parentChecks.incrementAndGet();
+                                                                   return true;
+                                                               },
+                                                               () -> {
+                                                                   assertThat(router.isRouting()).isFalse();
+                                                                   return Page.empty();
+                                                               });
+
+        //then
+        assertThat(page).isEmpty();
+        assertThat(parentChecks).hasValue(1);
+    }
+
+    @Test
+    public void findPageWithArchiveFallbackShouldNotReadArchiveWhenParentIsUnknown() {
+        //given
+        AtomicInteger reads = new AtomicInteger();
+
+        //when
+        Page<String> page = reader.findPageWithArchiveFallback(() -> false,
+                                                               () -> {
+                                                                   reads.incrementAndGet();
+                                                                   assertThat(router.isRouting()).isFalse();
+                                                                   return Page.empty();
+                                                               });
+
+        //then
+        assertThat(page).isEmpty();
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    public void findPageWithArchiveFallbackShouldNotReadArchiveWhenDisabled() {
+        //given
+        reader = new ArchiveReader(router,
+                                   false);
+
+        //when
+        Page<String> page = reader.findPageWithArchiveFallback(() -> {
+                                                                   throw new AssertionError("the parent should not be checked");
+                                                               },
+                                                               () -> {
+                                                                   assertThat(router.isRouting()).isFalse();
+                                                                   return Page.empty();
+                                                               });
+
+        //then
+        assertThat(page).isEmpty();
+    }
+}
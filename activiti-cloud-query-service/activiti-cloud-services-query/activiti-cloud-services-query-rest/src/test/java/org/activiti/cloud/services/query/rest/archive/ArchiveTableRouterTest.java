@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArchiveTableRouterTest {
+
+    private ArchiveTableRouter router = new ArchiveTableRouter();
+
+    private static final String QUERY = "select taskentity0_.id as id1_9_ from task taskentity0_"
+            + " inner join task_candidate_group taskcandid1_ on taskentity0_.id=taskcandid1_.task_id"
+            + " cross join process_definition processdef2_"
+            + " where exists (select taskvisibi3_.task_id from task_visibility taskvisibi3_ where taskvisibi3_.task_id=taskentity0_.id)";
+
+    @Test
+    public void inspectShouldLeaveStatementsUntouchedOutsideOfRouting() {
+        assertThat(router.inspect(QUERY)).isEqualTo(QUERY);
+    }
+
+    @Test
+    public void inspectShouldRouteArchivedTablesToTheirViewsWhileRouting() {
+        //when
+        String routed = router.route(() -> router.inspect(QUERY));
+
+        //then
+        assertThat(routed).isEqualTo("select taskentity0_.id as id1_9_ from task_with_archive taskentity0_"
+                                             + " inner join task_candidate_group_with_archive taskcandid1_ on taskentity0_.id=taskcandid1_.task_id"
+                                             + " cross join process_definition processdef2_"
+                                             + " where exists (select taskvisibi3_.task_id from task_visibility_with_archive taskvisibi3_ where taskvisibi3_.task_id=taskentity0_.id)");
+        assertThat(router.isRouting()).isFalse();
+    }
+
+    @Test
+    public void inspectShouldRouteCommaSeparatedTables() {
+        //when
+        String routed = router.route(() -> router.inspect("select count(*) from process_instance p, process_variable v where v.process_instance_id=p.id"));
+
+        //then
+        assertThat(routed).isEqualTo("select count(*) from process_instance_with_archive p, process_variable_with_archive v where v.process_instance_id=p.id");
+    }
+}
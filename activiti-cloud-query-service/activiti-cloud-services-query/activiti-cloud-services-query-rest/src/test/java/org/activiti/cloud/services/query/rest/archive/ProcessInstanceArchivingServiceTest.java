@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.archive;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ProcessInstanceArchivingServiceTest {
+
+    private ProcessInstanceArchivingService service;
+
+    @Mock
+    private ProcessInstanceArchiver archiver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        ProcessInstanceArchiveProperties properties = new ProcessInstanceArchiveProperties();
+        properties.setChunkSize(2);
+        properties.setAge(Duration.ofDays(7));
+        service = new ProcessInstanceArchivingService(archiver,
+                                                      transactionManager,
+                                                      properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void archiveShouldMoveChunksInTheirOwnTransactionUntilNothingIsOldEnough() {
+        //given
+        List<String> firstChunk = asList("1", "2");
+        List<String> lastChunk = asList("3");
+        when(archiver.findArchivableProcessInstanceIds(any(),
+                                                       eq(2))).thenReturn(firstChunk,
+                                                                          lastChunk);
+        when(archiver.archive(firstChunk)).thenReturn(2L);
+        when(archiver.archive(lastChunk)).thenReturn(1L);
+        long now = System.currentTimeMillis();
+
+        //when
+        long archived = service.archive();
+
+        //then
+        assertThat(archived).isEqualTo(3);
+        verify(transactionManager,
+               times(2)).commit(any());
+        ArgumentCaptor<Date> lastModifiedBefore = ArgumentCaptor.forClass(Date.class);
+        verify(archiver,
+               times(2)).findArchivableProcessInstanceIds(lastModifiedBefore.capture(),
+                                                          eq(2));
+        assertThat(lastModifiedBefore.getValue()).isBefore(new Date(now - Duration.ofDays(7).toMillis() + 1000));
+    }
+
+    @Test
+    public void archiveShouldTakeTheArchiveLockBeforePickingEachChunk() {
+        //given
+        List<String> chunk = asList("1");
+        when(archiver.findArchivableProcessInstanceIds(any(),
+                                                       eq(2))).thenReturn(chunk);
+        when(archiver.archive(chunk)).thenReturn(1L);
+
+        //when
+        service.archive();
+
+        //then
+        InOrder inOrder = inOrder(transactionManager,
+                                  archiver);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(archiver).lock();
+        inOrder.verify(archiver).findArchivableProcessInstanceIds(any(),
+                                                                  eq(2));
+        inOrder.verify(archiver).archive(chunk);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    public void archiveShouldDoNothingWhenNoProcessInstanceIsOldEnough() {
+        //given
+        when(archiver.findArchivableProcessInstanceIds(any(),
+                                                       eq(2))).thenReturn(emptyList());
+
+        //when
+        long archived = service.archive();
+
+        //then
+        assertThat(archived).isZero();
+        verify(archiver,
+               never()).archive(anyList());
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.deletion;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.activiti.api.process.model.ProcessInstance.ProcessInstanceStatus;
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCounterRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
+import org.activiti.cloud.services.query.app.repository.VariableRepository;
+import org.activiti.cloud.services.query.model.ProcessDefinitionEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessVariableEntity;
+import org.activiti.cloud.services.query.model.TaskCandidateGroup;
+import org.activiti.cloud.services.query.model.TaskCandidateUser;
+import org.activiti.cloud.services.query.model.TaskCounter;
+import org.activiti.cloud.services.query.model.TaskCounterId;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.activiti.cloud.services.query.model.TaskVisibility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+@SpringBootTest
+@EnableAutoConfiguration
+public class ProcessInstanceBulkDeleterIT {
+
+    private static final TaskCounterId ALICE_ASSIGNED = new TaskCounterId(TaskCounter.Dimension.ASSIGNEE,
+                                                                          "alice",
+                                                                          TaskStatus.ASSIGNED);
+
+    private static final TaskCounterId FINANCE_CREATED = new TaskCounterId(TaskCounter.Dimension.CANDIDATE_GROUP,
+                                                                           "finance",
+                                                                           TaskStatus.CREATED);
+
+    private static final TaskCounterId INVOICE_ASSIGNED = new TaskCounterId(TaskCounter.Dimension.PROCESS_DEFINITION_KEY,
+                                                                            "invoice",
+                                                                            TaskStatus.ASSIGNED);
+
+    private static final TaskCounterId INVOICE_CREATED = new TaskCounterId(TaskCounter.Dimension.PROCESS_DEFINITION_KEY,
+                                                                           "invoice",
+                                                                           TaskStatus.CREATED);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProcessDefinitionRepository processDefinitionRepository;
+
+    @Autowired
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @Autowired
+    private VariableRepository variableRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVariableRepository taskVariableRepository;
+
+    @Autowired
+    private TaskCandidateUserRepository taskCandidateUserRepository;
+
+    @Autowired
+    private TaskCandidateGroupRepository taskCandidateGroupRepository;
+
+    @Autowired
+    private TaskVisibilityRepository taskVisibilityRepository;
+
+    @Autowired
+    private TaskTextGramRepository taskTextGramRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    private ProcessInstanceBulkDeleter bulkDeleter;
+
+    @BeforeEach
+    public void setUp() {
+        tearDown();
+        bulkDeleter = new ProcessInstanceBulkDeleter(entityManager,
+                                                     taskCounterRepository);
+
+        ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+        processDefinition.setId("invoice:1");
+        processDefinition.setKey("invoice");
+        processDefinitionRepository.save(processDefinition);
+
+        processInstance("deleted");
+        processInstance("kept");
+        task("assigned", "deleted", "alice", TaskStatus.ASSIGNED);
+        task("unassigned", "deleted", null, TaskStatus.CREATED);
+        task("other", "kept", "alice", TaskStatus.ASSIGNED);
+        taskCandidateUserRepository.save(new TaskCandidateUser("unassigned", "bob"));
+        taskCandidateGroupRepository.save(new TaskCandidateGroup("unassigned", "finance"));
+        taskVisibilityRepository.save(TaskVisibility.user("unassigned", "bob"));
+        taskVisibilityRepository.save(TaskVisibility.group("unassigned", "finance"));
+
+        taskCounterRepository.increment(ALICE_ASSIGNED, 2);
+        taskCounterRepository.increment(FINANCE_CREATED, 1);
+        taskCounterRepository.increment(INVOICE_ASSIGNED, 2);
+        taskCounterRepository.increment(INVOICE_CREATED, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskTextGramRepository.deleteAll();
+        taskVisibilityRepository.deleteAll();
+        taskCandidateUserRepository.deleteAll();
+        taskCandidateGroupRepository.deleteAll();
+        taskVariableRepository.deleteAll();
+        taskRepository.deleteAll();
+        variableRepository.deleteAll();
+        processInstanceRepository.deleteAll();
+        processDefinitionRepository.deleteAll();
+        taskCounterRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldDeleteTheRowsOfTheProcessInstancesAndReleaseTheirTaskCounters() {
+        //given
+        List<String> processInstanceIds = Collections.singletonList("deleted");
+
+        //when
+        long[] deleted = new TransactionTemplate(transactionManager).execute(status -> new long[]{
+                bulkDeleter.deleteTasks(processInstanceIds),
+                bulkDeleter.deleteProcessInstances(processInstanceIds)
+        });
+
+        //then
+        assertThat(deleted).containsExactly(2L, 1L);
+        assertThat(processInstanceRepository.findAll()).extracting(ProcessInstanceEntity::getId)
+                                                       .containsExactly("kept");
+        assertThat(variableRepository.findAll()).extracting(ProcessVariableEntity::getProcessInstanceId)
+                                                .containsExactly("kept");
+        assertThat(taskRepository.findAll()).extracting(TaskEntity::getId)
+                                            .containsExactly("other");
+        assertThat(taskVariableRepository.findAll()).extracting(TaskVariableEntity::getTaskId)
+                                                    .containsExactly("other");
+        assertThat(taskTextGramRepository.findAll()).extracting(TaskTextGram::getTaskId)
+                                                    .containsOnly("other");
+        assertThat(taskVisibilityRepository.findAll()).extracting(TaskVisibility::getTaskId)
+                                                      .containsOnly("other");
+        assertThat(taskCandidateUserRepository.findAll()).isEmpty();
+        assertThat(taskCandidateGroupRepository.findAll()).isEmpty();
+
+        assertThat(taskCount(ALICE_ASSIGNED)).isEqualTo(1);
+        assertThat(taskCount(FINANCE_CREATED)).isZero();
+        assertThat(taskCount(INVOICE_ASSIGNED)).isEqualTo(1);
+        assertThat(taskCount(INVOICE_CREATED)).isZero();
+    }
+
+    @Test
+    public void shouldDeleteTheRowsOfTheTasksAndReleaseTheirTaskCounters() {
+        //when
+        long deleted = new TransactionTemplate(transactionManager).execute(status -> bulkDeleter.deleteTasksById(
+                Collections.singletonList("unassigned")));
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(taskRepository.findAll()).extracting(TaskEntity::getId)
+                                            .containsExactlyInAnyOrder("assigned",
+                                                                       "other");
+        assertThat(taskVariableRepository.findAll()).extracting(TaskVariableEntity::getTaskId)
+                                                    .containsExactlyInAnyOrder("assigned",
+                                                                               "other");
+        assertThat(taskTextGramRepository.findAll()).extracting(TaskTextGram::getTaskId)
+                                                    .doesNotContain("unassigned");
+        assertThat(taskVisibilityRepository.findAll()).extracting(TaskVisibility::getTaskId)
+                                                      .doesNotContain("unassigned");
+        assertThat(taskCandidateUserRepository.findAll()).isEmpty();
+        assertThat(taskCandidateGroupRepository.findAll()).isEmpty();
+        assertThat(processInstanceRepository.findAll()).hasSize(2);
+
+        assertThat(taskCount(ALICE_ASSIGNED)).isEqualTo(2);
+        assertThat(taskCount(FINANCE_CREATED)).isZero();
+        assertThat(taskCount(INVOICE_ASSIGNED)).isEqualTo(2);
+        assertThat(taskCount(INVOICE_CREATED)).isZero();
+    }
+
+    @Test
+    public void shouldRejectChunksExceedingTheInListLimit() {
+        //given
+        List<String> processInstanceIds = Collections.nCopies(ProcessInstanceBulkDeleter.MAX_CHUNK_SIZE + 1,
+                                                              "deleted");
+
+        //then
+        assertThatIllegalArgumentException().isThrownBy(() -> bulkDeleter.deleteTasks(processInstanceIds));
+        assertThatIllegalArgumentException().isThrownBy(() -> bulkDeleter.deleteProcessInstances(processInstanceIds));
+        assertThatIllegalArgumentException().isThrownBy(() -> bulkDeleter.deleteTasksById(processInstanceIds));
+    }
+
+    private void processInstance(String id) {
+        ProcessInstanceEntity processInstance = new ProcessInstanceEntity();
+        processInstance.setId(id);
+        processInstance.setProcessDefinitionId("invoice:1");
+        processInstance.setStatus(ProcessInstanceStatus.COMPLETED);
+        processInstanceRepository.save(processInstance);
+
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+        variable.setName("amount");
+        variable.setType("integer");
+        variable.setValue(10);
+        variable.setProcessInstanceId(id);
+        variableRepository.save(variable);
+    }
+
+    private void task(String id,
+                      String processInstanceId,
+                      String assignee,
+                      TaskStatus status) {
+        TaskEntity task = new TaskEntity();
+        task.setId(id);
+        task.setName("Approve " + id);
+        task.setProcessInstanceId(processInstanceId);
+        task.setProcessDefinitionId("invoice:1");
+        task.setAssignee(assignee);
+        task.setStatus(status);
+        taskRepository.save(task);
+
+        TaskVariableEntity variable = new TaskVariableEntity();
+        variable.setName("approved");
+        variable.setType("boolean");
+        variable.setValue(true);
+        variable.setProcessInstanceId(processInstanceId);
+        variable.setTaskId(id);
+        variable.setTask(task);
+        taskVariableRepository.save(variable);
+
+        taskVisibilityRepository.save(TaskVisibility.user(id, "alice"));
+        taskTextGramRepository.save(new TaskTextGram(id, TaskTextGram.Field.NAME, "app"));
+    }
+
+    private long taskCount(TaskCounterId id) {
+        return taskCounterRepository.findById(id)
+                                    .map(TaskCounter::getTaskCount)
+                                    .orElse(0L);
+    }
+}
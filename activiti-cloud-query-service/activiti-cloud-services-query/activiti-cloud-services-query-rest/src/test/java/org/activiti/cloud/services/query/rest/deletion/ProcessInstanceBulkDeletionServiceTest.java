@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.deletion;
+
+import java.util.List;
+
+import com.querydsl.core.types.Predicate;
+import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QueryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ProcessInstanceBulkDeletionServiceTest {
+
+    private ProcessInstanceBulkDeletionService service;
+
+    @Mock
+    private ProcessInstanceBulkDeleter bulkDeleter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Predicate predicate = QProcessInstanceEntity.processInstanceEntity.processDefinitionKey.eq("key");
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        ProcessInstanceBulkDeletionProperties properties = new ProcessInstanceBulkDeletionProperties();
+        properties.setChunkSize(2);
+        service = new ProcessInstanceBulkDeletionService(bulkDeleter,
+                                                         transactionManager,
+                                                         properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void deleteShouldPurgeChunksInTheirOwnTransactionUntilNothingMatches() {
+        //given
+        List<String> firstChunk = asList("1", "2");
+        List<String> lastChunk = asList("3");
+        when(bulkDeleter.findProcessInstanceIds(predicate, 2)).thenReturn(firstChunk,
+                                                                          lastChunk);
+        when(bulkDeleter.deleteTasks(firstChunk)).thenReturn(5L);
+        when(bulkDeleter.deleteProcessInstances(firstChunk)).thenReturn(2L);
+        when(bulkDeleter.deleteTasks(lastChunk)).thenReturn(1L);
+        when(bulkDeleter.deleteProcessInstances(lastChunk)).thenReturn(1L);
+
+        //when
+        ProcessInstanceBulkDeletion deletion = service.delete(predicate);
+
+        //then
+        assertThat(deletion.getStatus()).isEqualTo(ProcessInstanceBulkDeletion.Status.COMPLETED);
+        assertThat(deletion.getDeletedProcessInstances()).isEqualTo(3);
+        assertThat(deletion.getDeletedTasks()).isEqualTo(6);
+        assertThat(deletion.getCommittedChunks()).isEqualTo(2);
+        assertThat(service.getDeletion(deletion.getId())).containsSame(deletion);
+        verify(transactionManager, times(2)).commit(any());
+
+        InOrder inOrder = inOrder(bulkDeleter);
+        inOrder.verify(bulkDeleter).deleteTasks(firstChunk);
+        inOrder.verify(bulkDeleter).deleteProcessInstances(firstChunk);
+        inOrder.verify(bulkDeleter).deleteTasks(lastChunk);
+        inOrder.verify(bulkDeleter).deleteProcessInstances(lastChunk);
+    }
+
+    @Test
+    public void deleteShouldCompleteWithoutDeletingWhenNothingMatches() {
+        //given
+        when(bulkDeleter.findProcessInstanceIds(eq(predicate), anyInt())).thenReturn(emptyList());
+
+        //when
+        ProcessInstanceBulkDeletion deletion = service.delete(predicate);
+
+        //then
+        assertThat(deletion.getStatus()).isEqualTo(ProcessInstanceBulkDeletion.Status.COMPLETED);
+        assertThat(deletion.getDeletedProcessInstances()).isZero();
+        assertThat(deletion.getCommittedChunks()).isZero();
+    }
+
+    @Test
+    public void deleteShouldKeepCommittedChunksAndReportFailure() {
+        //given
+        List<String> firstChunk = asList("1", "2");
+        List<String> secondChunk = asList("3", "4");
+        when(bulkDeleter.findProcessInstanceIds(predicate, 2)).thenReturn(firstChunk,
+                                                                          secondChunk);
+        when(bulkDeleter.deleteProcessInstances(firstChunk)).thenReturn(2L);
+        when(bulkDeleter.deleteProcessInstances(secondChunk)).thenThrow(new QueryException("boom"));
+
+        //when
+        assertThatExceptionOfType(QueryException.class).isThrownBy(() -> service.delete(predicate));
+
+        //then
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    public void deleteShouldCapTheChunkSizeToKeepTheIdListsWithinTheInListLimit() {
+        //given
+        ProcessInstanceBulkDeletionProperties properties = new ProcessInstanceBulkDeletionProperties();
+        properties.setChunkSize(5000);
+        ProcessInstanceBulkDeletionService cappedService = new ProcessInstanceBulkDeletionService(bulkDeleter,
+                                                                                                  transactionManager,
+                                                                                                  properties);
+        when(bulkDeleter.findProcessInstanceIds(eq(predicate), anyInt())).thenReturn(emptyList());
+
+        //when
+        try {
+            cappedService.delete(predicate);
+        } finally {
+            cappedService.shutdown();
+        }
+
+        //then
+        verify(bulkDeleter).findProcessInstanceIds(predicate,
+                                                   ProcessInstanceBulkDeleter.MAX_CHUNK_SIZE);
+    }
+}
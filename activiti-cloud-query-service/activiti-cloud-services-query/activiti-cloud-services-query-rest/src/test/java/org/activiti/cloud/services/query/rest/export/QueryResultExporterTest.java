@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.persistence.EntityManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class QueryResultExporterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QueryResultExporter exporter;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        exporter = new QueryResultExporter(entityManager,
+                                           transactionManager,
+                                           new ObjectMapper(),
+                                           new QueryExportProperties()) {
+            @Override
+            protected <T> void write(EntityPathBase<T> root,
+                                     Predicate predicate,
+                                     RowWriter rowWriter) {
+                try {
+                    rowWriter.writeHeader();
+                    rowWriter.writeRow(task("1", "Review", "plain"));
+                    rowWriter.writeRow(task("2", "Approve, then \"sign\"", "line\nbreak"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    @Test
+    public void exportShouldStreamOneJsonDocumentPerLine() throws IOException {
+        //when
+        ResponseEntity<StreamingResponseBody> response = exporter.export(QTaskEntity.taskEntity,
+                                                                         null,
+                                                                         QueryExportFormat.NDJSON,
+                                                                         QueryExportColumns.TASKS,
+                                                                         "tasks");
+
+        //then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(QueryExportFormat.NDJSON.getMediaType());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"tasks.ndjson\"");
+        String[] lines = write(response).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").endsWith("}").contains("\"id\":\"1\"", "\"name\":\"Review\"");
+        assertThat(lines[1]).contains("\"id\":\"2\"", "\"description\":\"line\\nbreak\"");
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    public void exportShouldWriteHeaderAndEscapedCsvRows() throws IOException {
+        //given
+        List<String> columns = asList("id",
+                                      "name",
+                                      "description",
+                                      "assignee");
+
+        //when
+        ResponseEntity<StreamingResponseBody> response = exporter.export(QTaskEntity.taskEntity,
+                                                                         null,
+                                                                         QueryExportFormat.CSV,
+                                                                         columns,
+                                                                         "tasks");
+
+        //then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(QueryExportFormat.CSV.getMediaType());
+        assertThat(write(response)).isEqualTo("id,name,description,assignee\r\n"
+                                                      + "1,Review,plain,\r\n"
+                                                      + "2,\"Approve, then \"\"sign\"\"\",\"line\nbreak\",\r\n");
+    }
+
+    @Test
+    public void fromValueShouldIgnoreCase() {
+        assertThat(QueryExportFormat.fromValue("csv")).isEqualTo(QueryExportFormat.CSV);
+        assertThat(QueryExportFormat.fromValue("NDJSON")).isEqualTo(QueryExportFormat.NDJSON);
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return new String(outputStream.toByteArray(),
+                          StandardCharsets.UTF_8);
+    }
+
+    private TaskEntity task(String id,
+                            String name,
+                            String description) {
+        TaskEntity task = new TaskEntity();
+        task.setId(id);
+        task.setName(name);
+        task.setDescription(description);
+        return task;
+    }
+}
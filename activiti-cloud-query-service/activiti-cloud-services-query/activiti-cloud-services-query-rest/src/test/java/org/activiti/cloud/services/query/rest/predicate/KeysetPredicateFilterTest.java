@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.types.Predicate;
+import java.util.Date;
+import org.activiti.cloud.alfresco.argument.resolver.ContinuationToken;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class KeysetPredicateFilterTest {
+
+    private QTaskEntity task = QTaskEntity.taskEntity;
+
+    @Test
+    public void should_returnInitialPredicate_when_noCursorIsSet() {
+        //given
+        KeysetPredicateFilter filter = new KeysetPredicateFilter(task,
+            new KeysetPageRequest(null, 10, PageRequest.of(0, 10), true));
+        Predicate initialPredicate = task.name.eq("Task1");
+
+        //when
+        Predicate extendedPredicate = filter.extend(initialPredicate);
+
+        //then
+        assertThat(extendedPredicate).isEqualTo(initialPredicate);
+    }
+
+    @Test
+    public void should_seekAfterSortValueAndId_when_cursorIsSet() {
+        //given
+        Date createdDate = new Date(1000L);
+        KeysetPredicateFilter filter = new KeysetPredicateFilter(task,
+            new KeysetPageRequest(new ContinuationToken("createdDate", createdDate, "id1"), 10,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdDate")), true));
+        Predicate initialPredicate = task.name.eq("Task1");
+
+        //when
+        Predicate extendedPredicate = filter.extend(initialPredicate);
+
+        //then
+        assertThat(extendedPredicate.toString()).isEqualTo(
+            task.createdDate.lt(createdDate)
+                .or(task.createdDate.eq(createdDate).and(task.id.lt("id1")))
+                .or(task.createdDate.isNull())
+                .and(initialPredicate)
+                .toString());
+    }
+
+    @Test
+    public void should_seekAfterId_when_sortedById() {
+        //given
+        KeysetPredicateFilter filter = new KeysetPredicateFilter(task,
+            new KeysetPageRequest(new ContinuationToken(null, null, "id1"), 10, PageRequest.of(0, 10), true));
+        Predicate initialPredicate = task.name.eq("Task1");
+
+        //when
+        Predicate extendedPredicate = filter.extend(initialPredicate);
+
+        //then
+        assertThat(extendedPredicate.toString()).isEqualTo(task.id.gt("id1").and(initialPredicate).toString());
+    }
+}
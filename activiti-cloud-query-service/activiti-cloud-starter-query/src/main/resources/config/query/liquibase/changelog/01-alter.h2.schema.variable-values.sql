@@ -0,0 +1,91 @@
+alter table process_variable
+    add column long_value bigint;
+
+alter table process_variable
+    add column double_value double;
+
+alter table process_variable
+    add column boolean_value boolean;
+
+alter table process_variable
+    add column date_value timestamp;
+
+alter table process_variable
+    add column string_value varchar(255);
+
+create index proc_var_name_string_value_idx on process_variable (name, string_value);
+
+create index proc_var_name_long_value_idx on process_variable (name, long_value);
+
+create index proc_var_name_double_value_idx on process_variable (name, double_value);
+
+create index proc_var_name_date_value_idx on process_variable (name, date_value);
+
+alter table task_variable
+    add column long_value bigint;
+
+alter table task_variable
+    add column double_value double;
+
+alter table task_variable
+    add column boolean_value boolean;
+
+alter table task_variable
+    add column date_value timestamp;
+
+alter table task_variable
+    add column string_value varchar(255);
+
+create index task_var_name_string_value_idx on task_variable (name, string_value);
+
+create index task_var_name_long_value_idx on task_variable (name, long_value);
+
+create index task_var_name_double_value_idx on task_variable (name, double_value);
+
+create index task_var_name_date_value_idx on task_variable (name, date_value);
+
+update process_variable
+    set boolean_value = REGEXP_LIKE(value, '^\{"value":true\}$')
+    where REGEXP_LIKE(value, '^\{"value":(true|false)\}$');
+update process_variable
+    set long_value = CAST(SUBSTRING(value, 10, LENGTH(value) - 10) AS BIGINT)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]{1,19}\}$')
+      and CASE WHEN REGEXP_LIKE(value, '^\{"value":-?[0-9]{1,19}\}$')
+               THEN CAST(SUBSTRING(value, 10, LENGTH(value) - 10) AS DECIMAL(20, 0)) END
+          between -9223372036854775808 and 9223372036854775807;
+update process_variable
+    set double_value = CAST(SUBSTRING(value, 10, LENGTH(value) - 10) AS DOUBLE)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]+(\.[0-9]+)?([eE][-+]?[0-9]+)?\}$')
+      and not REGEXP_LIKE(value, '^\{"value":-?[0-9]+\}$');
+update process_variable
+    set date_value = PARSEDATETIME(SUBSTRING(value, 11, 28), 'yyyy-MM-dd''T''HH:mm:ss.SSSZ')
+    where type = 'date'
+      and REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$');
+update process_variable
+    set string_value = SUBSTRING(value, 11, LENGTH(value) - 12)
+    where REGEXP_LIKE(value, '^\{"value":"[^"\\]*"\}$')
+      and LENGTH(value) - 12 <= 255
+      and (type is null or type <> 'date' or not REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$'));
+
+update task_variable
+    set boolean_value = REGEXP_LIKE(value, '^\{"value":true\}$')
+    where REGEXP_LIKE(value, '^\{"value":(true|false)\}$');
+update task_variable
+    set long_value = CAST(SUBSTRING(value, 10, LENGTH(value) - 10) AS BIGINT)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]{1,19}\}$')
+      and CASE WHEN REGEXP_LIKE(value, '^\{"value":-?[0-9]{1,19}\}$')
+               THEN CAST(SUBSTRING(value, 10, LENGTH(value) - 10) AS DECIMAL(20, 0)) END
+          between -9223372036854775808 and 9223372036854775807;
+update task_variable
+    set double_value = CAST(SUBSTRING(value, 10, LENGTH(value) - 10) AS DOUBLE)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]+(\.[0-9]+)?([eE][-+]?[0-9]+)?\}$')
+      and not REGEXP_LIKE(value, '^\{"value":-?[0-9]+\}$');
+update task_variable
+    set date_value = PARSEDATETIME(SUBSTRING(value, 11, 28), 'yyyy-MM-dd''T''HH:mm:ss.SSSZ')
+    where type = 'date'
+      and REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$');
+update task_variable
+    set string_value = SUBSTRING(value, 11, LENGTH(value) - 12)
+    where REGEXP_LIKE(value, '^\{"value":"[^"\\]*"\}$')
+      and LENGTH(value) - 12 <= 255
+      and (type is null or type <> 'date' or not REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$'));
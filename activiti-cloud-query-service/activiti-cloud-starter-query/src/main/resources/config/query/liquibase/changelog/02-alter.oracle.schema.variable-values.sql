@@ -0,0 +1,89 @@
+alter table process_variable
+    add long_value NUMBER(19,0);
+
+alter table process_variable
+    add double_value BINARY_DOUBLE;
+
+alter table process_variable
+    add boolean_value NUMBER(1,0);
+
+alter table process_variable
+    add date_value timestamp;
+
+alter table process_variable
+    add string_value varchar(255);
+
+create index proc_var_name_string_value_idx on process_variable (name, string_value);
+
+create index proc_var_name_long_value_idx on process_variable (name, long_value);
+
+create index proc_var_name_double_value_idx on process_variable (name, double_value);
+
+create index proc_var_name_date_value_idx on process_variable (name, date_value);
+
+alter table task_variable
+    add long_value NUMBER(19,0);
+
+alter table task_variable
+    add double_value BINARY_DOUBLE;
+
+alter table task_variable
+    add boolean_value NUMBER(1,0);
+
+alter table task_variable
+    add date_value timestamp;
+
+alter table task_variable
+    add string_value varchar(255);
+
+create index task_var_name_string_value_idx on task_variable (name, string_value);
+
+create index task_var_name_long_value_idx on task_variable (name, long_value);
+
+create index task_var_name_double_value_idx on task_variable (name, double_value);
+
+create index task_var_name_date_value_idx on task_variable (name, date_value);
+
+update process_variable
+    set boolean_value = CASE WHEN REGEXP_LIKE(value, '^\{"value":true\}$') THEN 1 ELSE 0 END
+    where REGEXP_LIKE(value, '^\{"value":(true|false)\}$');
+update process_variable
+    set long_value = JSON_VALUE(value, '$.value' RETURNING NUMBER(19,0) NULL ON ERROR)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]{1,19}\}$')
+      and JSON_VALUE(value, '$.value' RETURNING NUMBER NULL ON ERROR)
+          between -9223372036854775808 and 9223372036854775807;
+update process_variable
+    set double_value = JSON_VALUE(value, '$.value' RETURNING BINARY_DOUBLE NULL ON ERROR)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]+(\.[0-9]+)?([eE][-+]?[0-9]+)?\}$')
+      and not REGEXP_LIKE(value, '^\{"value":-?[0-9]+\}$');
+update process_variable
+    set date_value = CAST(FROM_TZ(TO_TIMESTAMP(SUBSTR(JSON_VALUE(value, '$.value'), 1, 23), 'YYYY-MM-DD"T"HH24:MI:SS.FF3'), 'UTC') AT LOCAL AS TIMESTAMP)
+    where type = 'date'
+      and REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$');
+update process_variable
+    set string_value = JSON_VALUE(value, '$.value' RETURNING varchar2(255) NULL ON ERROR)
+    where REGEXP_LIKE(value, '^\{"value":"[^"\\]*"\}$')
+      and (type is null or type <> 'date'
+           or not REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$'));
+
+update task_variable
+    set boolean_value = CASE WHEN REGEXP_LIKE(value, '^\{"value":true\}$') THEN 1 ELSE 0 END
+    where REGEXP_LIKE(value, '^\{"value":(true|false)\}$');
+update task_variable
+    set long_value = JSON_VALUE(value, '$.value' RETURNING NUMBER(19,0) NULL ON ERROR)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]{1,19}\}$')
+      and JSON_VALUE(value, '$.value' RETURNING NUMBER NULL ON ERROR)
+          between -9223372036854775808 and 9223372036854775807;
+update task_variable
+    set double_value = JSON_VALUE(value, '$.value' RETURNING BINARY_DOUBLE NULL ON ERROR)
+    where REGEXP_LIKE(value, '^\{"value":-?[0-9]+(\.[0-9]+)?([eE][-+]?[0-9]+)?\}$')
+      and not REGEXP_LIKE(value, '^\{"value":-?[0-9]+\}$');
+update task_variable
+    set date_value = CAST(FROM_TZ(TO_TIMESTAMP(SUBSTR(JSON_VALUE(value, '$.value'), 1, 23), 'YYYY-MM-DD"T"HH24:MI:SS.FF3'), 'UTC') AT LOCAL AS TIMESTAMP)
+    where type = 'date'
+      and REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$');
+update task_variable
+    set string_value = JSON_VALUE(value, '$.value' RETURNING varchar2(255) NULL ON ERROR)
+    where REGEXP_LIKE(value, '^\{"value":"[^"\\]*"\}$')
+      and (type is null or type <> 'date'
+           or not REGEXP_LIKE(value, '^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000"\}$'));
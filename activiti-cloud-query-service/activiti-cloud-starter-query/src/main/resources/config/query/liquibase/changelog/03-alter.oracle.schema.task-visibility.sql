@@ -0,0 +1,27 @@
+create table task_visibility
+(
+    task_id        varchar(255) not null,
+    principal_type varchar(255) not null,
+    principal      varchar(255) not null,
+    primary key (task_id, principal_type, principal)
+);
+
+create index tv_principal_idx on task_visibility (principal_type, principal, task_id);
+
+insert into task_visibility (task_id, principal_type, principal)
+select id, 'USER', assignee from task
+    where assignee is not null
+union
+select id, 'USER', owner from task
+    where owner is not null
+union
+select cu.task_id, 'USER', cu.user_id from task_candidate_user cu
+    where not exists (select 1 from task t where t.id = cu.task_id and t.assignee is not null)
+union
+select cg.task_id, 'GROUP', cg.group_id from task_candidate_group cg
+    where not exists (select 1 from task t where t.id = cg.task_id and t.assignee is not null)
+union
+select t.id, 'EVERYONE', '*' from task t
+    where t.assignee is null
+      and not exists (select 1 from task_candidate_user cu where cu.task_id = t.id)
+      and not exists (select 1 from task_candidate_group cg where cg.task_id = t.id);
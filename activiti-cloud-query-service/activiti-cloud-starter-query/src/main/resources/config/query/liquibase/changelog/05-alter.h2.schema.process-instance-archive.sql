@@ -0,0 +1,108 @@
+create table process_instance_archive as select * from process_instance where 1 = 0;
+alter table process_instance_archive add primary key (id);
+create index pi_archive_status_idx on process_instance_archive (status);
+create index pi_archive_def_key_idx on process_instance_archive (process_definition_key);
+
+create table process_variable_archive as select * from process_variable where 1 = 0;
+alter table process_variable_archive add primary key (id);
+create index proc_var_archive_pi_idx on process_variable_archive (process_instance_id);
+
+create table bpmn_activity_archive as select * from bpmn_activity where 1 = 0;
+alter table bpmn_activity_archive add primary key (id);
+create index bpmn_act_archive_pi_idx on bpmn_activity_archive (process_instance_id);
+
+create table bpmn_sequence_flow_archive as select * from bpmn_sequence_flow where 1 = 0;
+alter table bpmn_sequence_flow_archive add primary key (id);
+create index bpmn_sf_archive_pi_idx on bpmn_sequence_flow_archive (process_instance_id);
+
+create table integration_context_archive as select * from integration_context where 1 = 0;
+alter table integration_context_archive add primary key (id);
+create index int_ctx_archive_pi_idx on integration_context_archive (process_instance_id);
+
+create table task_archive as select * from task where 1 = 0;
+alter table task_archive add primary key (id);
+create index task_archive_pi_idx on task_archive (process_instance_id);
+create index task_archive_status_idx on task_archive (status);
+
+create table task_variable_archive as select * from task_variable where 1 = 0;
+alter table task_variable_archive add primary key (id);
+create index task_var_archive_task_idx on task_variable_archive (task_id);
+
+create table task_candidate_user_archive as select * from task_candidate_user where 1 = 0;
+alter table task_candidate_user_archive add primary key (task_id, user_id);
+create index tcu_archive_user_idx on task_candidate_user_archive (user_id);
+
+create table task_candidate_group_archive as select * from task_candidate_group where 1 = 0;
+alter table task_candidate_group_archive add primary key (group_id, task_id);
+create index tcg_archive_group_idx on task_candidate_group_archive (group_id);
+
+create table task_visibility_archive as select * from task_visibility where 1 = 0;
+alter table task_visibility_archive add primary key (task_id, principal_type, principal);
+create index tv_archive_principal_idx on task_visibility_archive (principal_type, principal, task_id);
+
+create table task_text_gram_archive as select * from task_text_gram where 1 = 0;
+alter table task_text_gram_archive add primary key (task_id, field, gram);
+create index ttg_archive_gram_idx on task_text_gram_archive (field, gram, task_id);
+
+create view process_instance_with_archive as
+select * from process_instance
+union all
+select * from process_instance_archive;
+
+create view process_variable_with_archive as
+select * from process_variable
+union all
+select * from process_variable_archive;
+
+create view bpmn_activity_with_archive as
+select * from bpmn_activity
+union all
+select * from bpmn_activity_archive;
+
+create view bpmn_sequence_flow_with_archive as
+select * from bpmn_sequence_flow
+union all
+select * from bpmn_sequence_flow_archive;
+
+create view integration_context_with_archive as
+select * from integration_context
+union all
+select * from integration_context_archive;
+
+create view task_with_archive as
+select * from task
+union all
+select * from task_archive;
+
+create view task_variable_with_archive as
+select * from task_variable
+union all
+select * from task_variable_archive;
+
+create view task_candidate_user_with_archive as
+select * from task_candidate_user
+union all
+select * from task_candidate_user_archive;
+
+create view task_candidate_group_with_archive as
+select * from task_candidate_group
+union all
+select * from task_candidate_group_archive;
+
+create view task_visibility_with_archive as
+select * from task_visibility
+union all
+select * from task_visibility_archive;
+
+create view task_text_gram_with_archive as
+select * from task_text_gram
+union all
+select * from task_text_gram_archive;
+
+create table process_instance_archive_lock
+(
+    name varchar(255) not null,
+    primary key (name)
+);
+
+insert into process_instance_archive_lock (name) values ('archiving');
@@ -0,0 +1,26 @@
+create table task_counter
+(
+    dimension   varchar(255) not null,
+    counter_key varchar(255) not null,
+    status      varchar(255) not null,
+    task_count  number(19,0) not null,
+    primary key (dimension, counter_key, status)
+);
+
+insert into task_counter (dimension, counter_key, status, task_count)
+select 'ASSIGNEE', t.assignee, t.status, count(t.id) from task t
+    where t.assignee is not null
+      and t.status is not null
+    group by t.assignee, t.status
+union all
+select 'CANDIDATE_GROUP', cg.group_id, t.status, count(t.id) from task t, task_candidate_group cg
+    where cg.task_id = t.id
+      and t.assignee is null
+      and t.status is not null
+    group by cg.group_id, t.status
+union all
+select 'PROCESS_DEFINITION_KEY', pd.process_definition_key, t.status, count(t.id) from task t, process_definition pd
+    where pd.id = t.process_definition_id
+      and pd.process_definition_key is not null
+      and t.status is not null
+    group by pd.process_definition_key, t.status;
@@ -0,0 +1,103 @@
+alter table process_variable
+    add column long_value bigint;
+
+alter table process_variable
+    add column double_value double precision;
+
+alter table process_variable
+    add column boolean_value boolean;
+
+alter table process_variable
+    add column date_value timestamp;
+
+alter table process_variable
+    add column string_value varchar(255);
+
+create index proc_var_name_string_value_idx on process_variable (name, string_value);
+
+create index proc_var_name_long_value_idx on process_variable (name, long_value);
+
+create index proc_var_name_double_value_idx on process_variable (name, double_value);
+
+create index proc_var_name_date_value_idx on process_variable (name, date_value);
+
+alter table task_variable
+    add column long_value bigint;
+
+alter table task_variable
+    add column double_value double precision;
+
+alter table task_variable
+    add column boolean_value boolean;
+
+alter table task_variable
+    add column date_value timestamp;
+
+alter table task_variable
+    add column string_value varchar(255);
+
+create index task_var_name_string_value_idx on task_variable (name, string_value);
+
+create index task_var_name_long_value_idx on task_variable (name, long_value);
+
+create index task_var_name_double_value_idx on task_variable (name, double_value);
+
+create index task_var_name_date_value_idx on task_variable (name, date_value);
+
+update process_variable
+    set boolean_value = (value::json ->> 'value')::boolean
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'boolean';
+update process_variable
+    set long_value = (value::json ->> 'value')::bigint
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'number'
+      and (value::json ->> 'value') ~ '^-?[0-9]{1,19}$'
+      and CASE WHEN (value::json ->> 'value') ~ '^-?[0-9]{1,19}$' THEN (value::json ->> 'value')::numeric END
+          between -9223372036854775808 and 9223372036854775807;
+update process_variable
+    set double_value = (value::json ->> 'value')::double precision
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'number'
+      and (value::json ->> 'value') !~ '^-?[0-9]+$';
+update process_variable
+    set date_value = (value::json ->> 'value')::timestamptz::timestamp
+    where type = 'date'
+      and value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'string'
+      and (value::json ->> 'value') ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000$';
+update process_variable
+    set string_value = value::json ->> 'value'
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'string'
+      and length(value::json ->> 'value') <= 255
+      and (type is null or type <> 'date' or (value::json ->> 'value') !~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000$');
+
+update task_variable
+    set boolean_value = (value::json ->> 'value')::boolean
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'boolean';
+update task_variable
+    set long_value = (value::json ->> 'value')::bigint
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'number'
+      and (value::json ->> 'value') ~ '^-?[0-9]{1,19}$'
+      and CASE WHEN (value::json ->> 'value') ~ '^-?[0-9]{1,19}$' THEN (value::json ->> 'value')::numeric END
+          between -9223372036854775808 and 9223372036854775807;
+update task_variable
+    set double_value = (value::json ->> 'value')::double precision
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'number'
+      and (value::json ->> 'value') !~ '^-?[0-9]+$';
+update task_variable
+    set date_value = (value::json ->> 'value')::timestamptz::timestamp
+    where type = 'date'
+      and value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'string'
+      and (value::json ->> 'value') ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000$';
+update task_variable
+    set string_value = value::json ->> 'value'
+    where value like '{"value":%'
+      and json_typeof(value::json -> 'value') = 'string'
+      and length(value::json ->> 'value') <= 255
+      and (type is null or type <> 'date' or (value::json ->> 'value') !~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3}\+0000$');
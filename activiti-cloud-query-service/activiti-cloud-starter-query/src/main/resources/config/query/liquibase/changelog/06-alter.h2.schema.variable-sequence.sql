@@ -0,0 +1,12 @@
+create sequence variable_sequence start with 1 increment by 50;
+alter sequence variable_sequence restart with (
+    select coalesce(max(id), 0) + 100 from (
+        select id from process_variable
+        union all
+        select id from process_variable_archive
+        union all
+        select id from task_variable
+        union all
+        select id from task_variable_archive
+    ) variable_ids
+);
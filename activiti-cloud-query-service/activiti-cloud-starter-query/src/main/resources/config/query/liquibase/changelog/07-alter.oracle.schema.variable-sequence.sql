@@ -0,0 +1,16 @@
+declare
+    start_with number;
+begin
+    execute immediate 'alter table process_variable modify id generated by default as identity';
+    execute immediate 'alter table task_variable modify id generated by default as identity';
+    select coalesce(max(id), 0) + 100 into start_with from (
+        select id from process_variable
+        union all
+        select id from process_variable_archive
+        union all
+        select id from task_variable
+        union all
+        select id from task_variable_archive
+    );
+    execute immediate 'create sequence variable_sequence start with ' || start_with || ' increment by 50';
+end;
@@ -0,0 +1,16 @@
+create table task_text_gram
+(
+    task_id varchar(255) not null,
+    field   varchar(255) not null,
+    gram    varchar(255) not null,
+    primary key (task_id, field, gram)
+);
+
+create index ttg_gram_idx on task_text_gram (field, gram, task_id);
+
+insert into task_text_gram (task_id, field, gram)
+select t.id, 'NAME', substr(lower(t.name), r.x, 3) from task t, generate_series(1, 255) as r(x)
+    where r.x <= length(lower(t.name)) - 2
+union
+select t.id, 'DESCRIPTION', substr(lower(t.description), r.x, 3) from task t, generate_series(1, 255) as r(x)
+    where r.x <= length(lower(t.description)) - 2;
@@ -0,0 +1,5 @@
+create extension if not exists pg_trgm;
+
+create index task_name_trgm_idx on task using gin (name gin_trgm_ops);
+
+create index task_description_trgm_idx on task using gin (description gin_trgm_ops);
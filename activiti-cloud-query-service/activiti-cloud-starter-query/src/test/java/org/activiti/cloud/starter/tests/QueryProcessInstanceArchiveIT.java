@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.starter.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Collections;
+import java.util.Date;
+import javax.persistence.EntityManager;
+
+import org.activiti.api.process.model.ProcessInstance.ProcessInstanceStatus;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskTextGramRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVisibilityRepository;
+import org.activiti.cloud.services.query.app.repository.VariableRepository;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.model.QTaskVariableEntity;
+import org.activiti.cloud.services.query.model.TaskCandidateUser;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskTextGram;
+import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.activiti.cloud.services.query.model.TaskVisibility;
+import org.activiti.cloud.services.query.rest.archive.ArchiveReader;
+import org.activiti.cloud.services.query.rest.archive.ArchiveTableRouter;
+import org.activiti.cloud.services.query.rest.archive.ProcessInstanceArchiveProperties;
+import org.activiti.cloud.services.query.rest.archive.ProcessInstanceArchiver;
+import org.activiti.cloud.services.query.rest.deletion.ProcessInstanceBulkDeleter;
+import org.activiti.cloud.services.test.containers.KeycloakContainerApplicationInitializer;
+import org.activiti.cloud.services.test.containers.RabbitMQContainerApplicationInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Archives a process instance on the schema created by the Liquibase change logs and reads it back: the
+ * archive tables are filled by <code>insert into x_archive select * from x</code> and read through
+ * <code>select *</code> union views, so both rely on the archive and hot tables sharing their column order.
+ */
+@SpringBootTest(properties = ProcessInstanceArchiveProperties.PREFIX + ".enabled=true")
+@TestPropertySource("classpath:application-test.properties")
+@DirtiesContext
+@ContextConfiguration(initializers = { RabbitMQContainerApplicationInitializer.class, KeycloakContainerApplicationInitializer.class})
+public class QueryProcessInstanceArchiveIT {
+
+    private static final Date START_DATE = new Date(1577880000000L);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProcessInstanceBulkDeleter bulkDeleter;
+
+    @Autowired
+    private ArchiveReader archiveReader;
+
+    @Autowired
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @Autowired
+    private VariableRepository variableRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVariableRepository taskVariableRepository;
+
+    @Autowired
+    private TaskCandidateUserRepository taskCandidateUserRepository;
+
+    @Autowired
+    private TaskVisibilityRepository taskVisibilityRepository;
+
+    @Autowired
+    private TaskTextGramRepository taskTextGramRepository;
+
+    @BeforeEach
+    public void setUp() {
+        tearDown();
+
+        ProcessInstanceEntity archived = new ProcessInstanceEntity();
+        archived.setId("archived");
+        archived.setName("Invoice 42");
+        archived.setBusinessKey("invoice-42");
+        archived.setProcessDefinitionId("invoice:1");
+        archived.setProcessDefinitionKey("invoice");
+        archived.setInitiator("alice");
+        archived.setStartDate(START_DATE);
+        archived.setStatus(ProcessInstanceStatus.COMPLETED);
+        processInstanceRepository.save(archived);
+
+        ProcessInstanceEntity hot = new ProcessInstanceEntity();
+        hot.setId("hot");
+        hot.setProcessDefinitionId("invoice:1");
+        hot.setStatus(ProcessInstanceStatus.RUNNING);
+        processInstanceRepository.save(hot);
+
+        ProcessVariableEntity variable = new ProcessVariableEntity();
+        variable.setName("amount");
+        variable.setType("integer");
+        variable.setValue(42);
+        variable.setProcessInstanceId("archived");
+        variableRepository.save(variable);
+
+        TaskEntity task = new TaskEntity();
+        task.setId("approve");
+        task.setName("Approve invoice");
+        task.setAssignee("bob");
+        task.setPriority(50);
+        task.setCreatedDate(START_DATE);
+        task.setProcessInstanceId("archived");
+        task.setProcessDefinitionId("invoice:1");
+        task.setStatus(TaskStatus.COMPLETED);
+        taskRepository.save(task);
+
+        TaskVariableEntity taskVariable = new TaskVariableEntity();
+        taskVariable.setName("approved");
+        taskVariable.setType("boolean");
+        taskVariable.setValue(true);
+        taskVariable.setProcessInstanceId("archived");
+        taskVariable.setTaskId("approve");
+        taskVariable.setTask(task);
+        taskVariableRepository.save(taskVariable);
+
+        taskCandidateUserRepository.save(new TaskCandidateUser("approve", "carol"));
+        taskVisibilityRepository.save(TaskVisibility.user("approve", "carol"));
+        taskTextGramRepository.save(new TaskTextGram("approve", TaskTextGram.Field.NAME, "app"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskTextGramRepository.deleteAll();
+        taskVisibilityRepository.deleteAll();
+        taskCandidateUserRepository.deleteAll();
+        taskVariableRepository.deleteAll();
+        taskRepository.deleteAll();
+        variableRepository.deleteAll();
+        processInstanceRepository.deleteAll();
+        new TransactionTemplate(transactionManager).execute(status -> {
+            ArchiveTableRouter.ARCHIVED_TABLES.forEach(table -> entityManager.createNativeQuery("delete from " + table + ArchiveTableRouter.ARCHIVE_SUFFIX)
+                                                                             .executeUpdate());
+            return null;
+        });
+    }
+
+    @Test
+    public void shouldReadArchivedRowsBackWithTheirColumnValues() {
+        //when
+        long archived = archive();
+
+        //then
+        assertThat(archived).isEqualTo(1);
+        assertThat(processInstanceRepository.findById("archived")).isEmpty();
+        assertThat(taskRepository.findById("approve")).isEmpty();
+
+        ProcessInstanceEntity processInstance = archiveReader.readWithArchive(() -> processInstanceRepository.findById("archived"))
+                                                             .orElseThrow(AssertionError::new);
+        assertThat(processInstance.getName()).isEqualTo("Invoice 42");
+        assertThat(processInstance.getBusinessKey()).isEqualTo("invoice-42");
+        assertThat(processInstance.getProcessDefinitionId()).isEqualTo("invoice:1");
+        assertThat(processInstance.getProcessDefinitionKey()).isEqualTo("invoice");
+        assertThat(processInstance.getInitiator()).isEqualTo("alice");
+        assertThat(processInstance.getStartDate()).hasSameTimeAs(START_DATE);
+        assertThat(processInstance.getStatus()).isEqualTo(ProcessInstanceStatus.COMPLETED);
+
+        TaskEntity task = archiveReader.readWithArchive(() -> taskRepository.findById("approve"))
+                                       .orElseThrow(AssertionError::new);
+        assertThat(task.getName()).isEqualTo("Approve invoice");
+        assertThat(task.getAssignee()).isEqualTo("bob");
+        assertThat(task.getPriority()).isEqualTo(50);
+        assertThat(task.getCreatedDate()).hasSameTimeAs(START_DATE);
+        assertThat(task.getProcessInstanceId()).isEqualTo("archived");
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+
+        assertThat(archiveReader.readWithArchive(() -> variableRepository.findAll(QProcessVariableEntity.processVariableEntity.processInstanceId.eq("archived"))))
+                .extracting(ProcessVariableEntity::getName,
+                            ProcessVariableEntity::getType,
+                            ProcessVariableEntity::getValue,
+                            ProcessVariableEntity::getLongValue)
+                .containsExactly(tuple("amount",
+                                       "integer",
+                                       42,
+                                       42L));
+        assertThat(archiveReader.readWithArchive(() -> taskVariableRepository.findAll(QTaskVariableEntity.taskVariableEntity.taskId.eq("approve"))))
+                .extracting(TaskVariableEntity::getName,
+                            TaskVariableEntity::getType,
+                            TaskVariableEntity::getValue,
+                            TaskVariableEntity::getBooleanValue)
+                .containsExactly(tuple("approved",
+                                       "boolean",
+                                       true,
+                                       true));
+        assertThat(archiveReader.readWithArchive(() -> taskCandidateUserRepository.findAll()))
+                .extracting(TaskCandidateUser::getTaskId,
+                            TaskCandidateUser::getUserId)
+                .containsExactly(tuple("approve",
+                                       "carol"));
+        assertThat(archiveReader.readWithArchive(() -> taskVisibilityRepository.findAll()))
+                .extracting(TaskVisibility::getTaskId,
+                            TaskVisibility::getPrincipal)
+                .containsExactly(tuple("approve",
+                                       "carol"));
+        assertThat(archiveReader.readWithArchive(() -> taskTextGramRepository.findAll()))
+                .extracting(TaskTextGram::getTaskId,
+                            TaskTextGram::getGram)
+                .containsExactly(tuple("approve",
+                                       "app"));
+    }
+
+    @Test
+    public void shouldReadTheSubResourcesOfAnArchivedParent() {
+        //given
+        archive();
+
+        //when
+        Page<TaskEntity> archivedTasks = archiveReader.findPageWithArchiveFallback(() -> processInstanceRepository.existsById("archived"),
+                                                                                   () -> taskRepository.findAll(QTaskEntity.taskEntity.processInstanceId.eq("archived"),
+                                                                                                                PageRequest.of(0,
+                                                                                                                               10)));
+        Page<TaskEntity> hotTasks = archiveReader.findPageWithArchiveFallback(() -> processInstanceRepository.existsById("hot"),
+                                                                              () -> taskRepository.findAll(QTaskEntity.taskEntity.processInstanceId.eq("hot"),
+                                                                                                           PageRequest.of(0,
+                                                                                                                          10)));
+
+        //then
+        assertThat(archivedTasks).extracting(TaskEntity::getId)
+                                 .containsExactly("approve");
+        assertThat(hotTasks).isEmpty();
+    }
+
+    private long archive() {
+        return new TransactionTemplate(transactionManager).execute(status -> new ProcessInstanceArchiver(entityManager,
+                                                                                                         bulkDeleter)
+                .archive(Collections.singletonList("archived")));
+    }
+}
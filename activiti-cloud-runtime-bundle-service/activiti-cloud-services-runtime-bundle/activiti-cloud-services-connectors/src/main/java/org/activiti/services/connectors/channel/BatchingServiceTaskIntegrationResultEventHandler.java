@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.services.connectors.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.IntegrationResult;
+import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
+import org.activiti.cloud.services.events.converter.RuntimeBundleInfoAppender;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.integration.IntegrationContextService;
+import org.activiti.runtime.api.impl.VariablesMappingProvider;
+import org.activiti.services.connectors.message.IntegrationContextMessageBuilderFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * Groups the integration results received within a short window and handles them as a batch.
+ * <p>
+ * The results of a batch are handled in chunks, each one within a single engine command, so that
+ * the integration contexts of a chunk are loaded and deleted and its executions triggered in one
+ * transaction and one flush. If a chunk fails, its results are retried one by one so that a single
+ * faulty result does not fail the others. A single audit message carries the events of the whole batch.
+ * <p>
+ * Every listener thread waits for the outcome of its own result before returning, so a message is
+ * only acknowledged once its result is committed and failures are still redelivered by the binder.
+ * Results can only be grouped when the binding consumes messages concurrently.
+ */
+public class BatchingServiceTaskIntegrationResultEventHandler extends ServiceTaskIntegrationResultEventHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingServiceTaskIntegrationResultEventHandler.class);
+
+    private final ManagementService managementService;
+    private final IntegrationResultBatchProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private List<PendingResult> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingServiceTaskIntegrationResultEventHandler(RuntimeService runtimeService,
+                                                            IntegrationContextService integrationContextService,
+                                                            MessageChannel auditProducer,
+                                                            RuntimeBundleProperties runtimeBundleProperties,
+                                                            RuntimeBundleInfoAppender runtimeBundleInfoAppender,
+                                                            VariablesMappingProvider outboundVariablesProvider,
+                                                            IntegrationContextMessageBuilderFactory messageBuilderFactory,
+                                                            ManagementService managementService,
+                                                            IntegrationResultBatchProperties properties) {
+        super(runtimeService,
+              integrationContextService,
+              auditProducer,
+              runtimeBundleProperties,
+              runtimeBundleInfoAppender,
+              outboundVariablesProvider,
+              messageBuilderFactory);
+        this.managementService = managementService;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "integration-result-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    @StreamListener(ProcessEngineIntegrationChannels.INTEGRATION_RESULTS_CONSUMER)
+    public void receive(IntegrationResult integrationResult) {
+        PendingResult result = new PendingResult(integrationResult);
+
+        List<PendingResult> fullBatch = enqueue(result);
+        if (fullBatch != null) {
+            // the listener that fills the batch handles it right away
+            handleBatch(fullBatch);
+        }
+
+        try {
+            result.completion.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ActivitiException("Error handling integration result", e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    protected void handleBatch(List<PendingResult> batch) {
+        LOGGER.debug("Handling batch of {} integration results", batch.size());
+
+        List<IntegrationResult> handled = new ArrayList<>(batch.size());
+        List<PendingResult> succeeded = new ArrayList<>(batch.size());
+        int transactionSize = Math.max(1, properties.getTransactionSize());
+
+        for (int from = 0; from < batch.size(); from += transactionSize) {
+            List<PendingResult> chunk = batch.subList(from, Math.min(from + transactionSize, batch.size()));
+            try {
+                handled.addAll(managementService.executeCommand(handleChunk(chunk)));
+                succeeded.addAll(chunk);
+            } catch (Exception cause) {
+                LOGGER.warn("Error handling {} integration results in a single transaction, handling them one by one: {}",
+                            chunk.size(),
+                            cause.getMessage());
+                for (PendingResult result : chunk) {
+                    try {
+                        handled.addAll(managementService.executeCommand(handleChunk(List.of(result))));
+                        succeeded.add(result);
+                    } catch (Exception resultCause) {
+                        result.completion.completeExceptionally(resultCause);
+                    }
+                }
+            }
+        }
+
+        try {
+            sendAuditMessage(handled);
+        } catch (Exception cause) {
+            // the results are committed already, a redelivery would find no integration context left
+            LOGGER.error("Error sending audit message for {} integration results", handled.size(), cause);
+        }
+        succeeded.forEach(result -> result.completion.complete(null));
+    }
+
+    private Command<List<IntegrationResult>> handleChunk(List<PendingResult> chunk) {
+        // nested service calls join this command context, so the whole chunk shares one transaction and one flush
+        return commandContext -> {
+            List<IntegrationResult> handled = new ArrayList<>(chunk.size());
+            for (PendingResult result : chunk) {
+                if (handle(result.integrationResult)) {
+                    handled.add(result.integrationResult);
+                }
+            }
+            return handled;
+        };
+    }
+
+    private void sendAuditMessage(List<IntegrationResult> handled) {
+        if (handled.isEmpty() || !isIntegrationAuditEventsEnabled()) {
+            return;
+        }
+        CloudRuntimeEvent<?, ?>[] payload = handled.stream()
+                                                   .map(this::toAuditEvent)
+                                                   .toArray(CloudRuntimeEvent[]::new);
+
+        Message<CloudRuntimeEvent<?, ?>[]> message = getMessageBuilderFactory().createBatch()
+                                                                               .withPayload(payload)
+                                                                               .build();
+        getAuditProducer().send(message);
+    }
+
+    private List<PendingResult> enqueue(PendingResult result) {
+        synchronized (lock) {
+            pending.add(result);
+            if (pending.size() >= properties.getMaxSize()) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                return takePending();
+            }
+            if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush,
+                                                    properties.getWindow().toMillis(),
+                                                    TimeUnit.MILLISECONDS);
+            }
+            return null;
+        }
+    }
+
+    private void flush() {
+        List<PendingResult> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            handleBatch(batch);
+        }
+    }
+
+    private List<PendingResult> takePending() {
+        List<PendingResult> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    protected static class PendingResult {
+
+        private final IntegrationResult integrationResult;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private PendingResult(IntegrationResult integrationResult) {
+            this.integrationResult = integrationResult;
+        }
+    }
+}
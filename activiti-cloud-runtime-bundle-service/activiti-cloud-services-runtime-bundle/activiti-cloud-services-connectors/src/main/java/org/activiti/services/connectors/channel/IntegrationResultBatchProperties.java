@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.services.connectors.channel;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(IntegrationResultBatchProperties.PREFIX)
+public class IntegrationResultBatchProperties {
+
+    public static final String PREFIX = "activiti.cloud.runtime-bundle.integration-result.batch";
+
+    /**
+     * Group the integration results received within a window and handle them as a batch
+     */
+    private boolean enabled;
+
+    /**
+     * Time a batch stays open for further results after its first result was received
+     */
+    private Duration window = Duration.ofMillis(50);
+
+    /**
+     * Maximum number of results in a batch, a full batch is handled without waiting for the window to close
+     */
+    private int maxSize = 200;
+
+    /**
+     * Maximum number of results handled within a single transaction
+     */
+    private int transactionSize = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getTransactionSize() {
+        return transactionSize;
+    }
+
+    public void setTransactionSize(int transactionSize) {
+        this.transactionSize = transactionSize;
+    }
+}
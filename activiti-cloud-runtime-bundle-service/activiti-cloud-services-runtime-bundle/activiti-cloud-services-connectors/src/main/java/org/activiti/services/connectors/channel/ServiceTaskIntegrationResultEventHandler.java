@@ -69,45 +69,54 @@ public class ServiceTaskIntegrationResultEventHandler {
 
     @StreamListener(ProcessEngineIntegrationChannels.INTEGRATION_RESULTS_CONSUMER)
     public void receive(IntegrationResult integrationResult) {
+        if (handle(integrationResult)) {
+            sendAuditMessage(integrationResult);
+        }
+    }
+
+    /**
+     * Deletes the integration context of the result and triggers the waiting execution.
+     *
+     * @return false if the integration context no longer exists, i.e. the result was already handled
+     */
+    protected boolean handle(IntegrationResult integrationResult) {
         IntegrationContext integrationContext = integrationResult.getIntegrationContext();
         IntegrationContextEntity integrationContextEntity = integrationContextService.findById(integrationContext.getId());
 
-        if (integrationContextEntity != null) {
-            integrationContextService.deleteIntegrationContext(integrationContextEntity);
-
-            List<Execution> executions = runtimeService.createExecutionQuery().executionId(integrationContextEntity.getExecutionId()).list();
-            if (executions.size() > 0) {
-                ExecutionEntity execution = ExecutionEntity.class.cast(executions.get(0));
-
-                if(execution.getActivityId().equals(integrationContext.getClientId())) {
-                    runtimeService.trigger(integrationContextEntity.getExecutionId(),
-                                           outboundVariablesProvider.calculateOutPutVariables(buildMappingExecutionContext(integrationContext.getProcessDefinitionId(),
-                                                                                                                           execution.getActivityId()),
-                                                                                              integrationContext.getOutBoundVariables()));
-                } else {
-                    LOGGER.warn("Could not find matching activityId '{}' for integration result '{}' with executionId '{}'",
-                                 integrationContext.getClientId(),
-                                 integrationResult,
-                                 execution.getId());
-                }
+        if (integrationContextEntity == null) {
+            return false;
+        }
+
+        integrationContextService.deleteIntegrationContext(integrationContextEntity);
+
+        List<Execution> executions = runtimeService.createExecutionQuery().executionId(integrationContextEntity.getExecutionId()).list();
+        if (executions.size() > 0) {
+            ExecutionEntity execution = ExecutionEntity.class.cast(executions.get(0));
+
+            if(execution.getActivityId().equals(integrationContext.getClientId())) {
+                runtimeService.trigger(integrationContextEntity.getExecutionId(),
+                                       outboundVariablesProvider.calculateOutPutVariables(buildMappingExecutionContext(integrationContext.getProcessDefinitionId(),
+                                                                                                                       execution.getActivityId()),
+                                                                                          integrationContext.getOutBoundVariables()));
             } else {
-                String message = "No task is in this RB is waiting for integration result with execution id `" +
-                    integrationContextEntity.getExecutionId() +
-                    ", flow node id `" + integrationContext.getClientId() +
-                    "`. The integration result for the integration context `" + integrationContext.getId() + "` will be ignored.";
-                LOGGER.warn(message);
+                LOGGER.warn("Could not find matching activityId '{}' for integration result '{}' with executionId '{}'",
+                             integrationContext.getClientId(),
+                             integrationResult,
+                             execution.getId());
             }
-            sendAuditMessage(integrationResult);
+        } else {
+            String message = "No task is in this RB is waiting for integration result with execution id `" +
+                integrationContextEntity.getExecutionId() +
+                ", flow node id `" + integrationContext.getClientId() +
+                "`. The integration result for the integration context `" + integrationContext.getId() + "` will be ignored.";
+            LOGGER.warn(message);
         }
+        return true;
     }
 
-
     private void sendAuditMessage(IntegrationResult integrationResult) {
-        if (runtimeBundleProperties.getEventsProperties().isIntegrationAuditEventsEnabled()) {
-            CloudIntegrationResultReceivedEventImpl integrationResultReceived = new CloudIntegrationResultReceivedEventImpl(integrationResult.getIntegrationContext());
-            runtimeBundleInfoAppender.appendRuntimeBundleInfoTo(integrationResultReceived);
-
-            CloudRuntimeEvent<?, ?>[] payload = Stream.of(integrationResultReceived)
+        if (isIntegrationAuditEventsEnabled()) {
+            CloudRuntimeEvent<?, ?>[] payload = Stream.of(toAuditEvent(integrationResult))
                                                       .toArray(CloudRuntimeEvent[]::new);
 
             Message<CloudRuntimeEvent<?, ?>[]> message = messageBuilderFactory.create(integrationResult.getIntegrationContext())
@@ -117,4 +126,22 @@ public class ServiceTaskIntegrationResultEventHandler {
             auditProducer.send(message);
         }
     }
+
+    protected boolean isIntegrationAuditEventsEnabled() {
+        return runtimeBundleProperties.getEventsProperties().isIntegrationAuditEventsEnabled();
+    }
+
+    protected CloudRuntimeEvent<?, ?> toAuditEvent(IntegrationResult integrationResult) {
+        CloudIntegrationResultReceivedEventImpl integrationResultReceived = new CloudIntegrationResultReceivedEventImpl(integrationResult.getIntegrationContext());
+        runtimeBundleInfoAppender.appendRuntimeBundleInfoTo(integrationResultReceived);
+        return integrationResultReceived;
+    }
+
+    protected MessageChannel getAuditProducer() {
+        return auditProducer;
+    }
+
+    protected IntegrationContextMessageBuilderFactory getMessageBuilderFactory() {
+        return messageBuilderFactory;
+    }
 }
@@ -30,12 +30,16 @@ import org.activiti.runtime.api.connector.IntegrationContextBuilder;
 import org.activiti.runtime.api.impl.VariablesMappingProvider;
 import org.activiti.services.connectors.IntegrationRequestSender;
 import org.activiti.services.connectors.behavior.MQServiceTaskBehavior;
+import org.activiti.services.connectors.channel.BatchingServiceTaskIntegrationResultEventHandler;
+import org.activiti.services.connectors.channel.IntegrationResultBatchProperties;
 import org.activiti.services.connectors.channel.ProcessEngineIntegrationChannels;
 import org.activiti.services.connectors.channel.ServiceTaskIntegrationErrorEventHandler;
 import org.activiti.services.connectors.channel.ServiceTaskIntegrationResultEventHandler;
 import org.activiti.services.connectors.message.IntegrationContextMessageBuilderFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.cloud.stream.binding.BinderAwareChannelResolver;
 import org.springframework.context.ApplicationContext;
@@ -48,12 +52,14 @@ import org.springframework.context.annotation.PropertySource;
 @AutoConfigureBefore(value = ConnectorsAutoConfiguration.class)
 @PropertySource("classpath:config/integration-result-stream.properties")
 @EnableBinding(ProcessEngineIntegrationChannels.class)
+@EnableConfigurationProperties(IntegrationResultBatchProperties.class)
 public class CloudConnectorsAutoConfiguration {
 
     private static final String LOCAL_SERVICE_TASK_BEHAVIOUR_BEAN_NAME = "localServiceTaskBehaviour";
 
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = IntegrationResultBatchProperties.PREFIX, name = "enabled", havingValue = "false", matchIfMissing = true)
     public ServiceTaskIntegrationResultEventHandler serviceTaskIntegrationResultEventHandler(RuntimeService runtimeService,
                                                                                              IntegrationContextService integrationContextService,
                                                                                              ProcessEngineChannels processEngineChannels,
@@ -70,6 +76,29 @@ public class CloudConnectorsAutoConfiguration {
                                                             messageBuilderFactory);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = IntegrationResultBatchProperties.PREFIX, name = "enabled", havingValue = "true")
+    public ServiceTaskIntegrationResultEventHandler batchingServiceTaskIntegrationResultEventHandler(RuntimeService runtimeService,
+                                                                                                     IntegrationContextService integrationContextService,
+                                                                                                     ProcessEngineChannels processEngineChannels,
+                                                                                                     RuntimeBundleProperties runtimeBundleProperties,
+                                                                                                     RuntimeBundleInfoAppender runtimeBundleInfoAppender,
+                                                                                                     VariablesMappingProvider outboundVariablesProvider,
+                                                                                                     IntegrationContextMessageBuilderFactory messageBuilderFactory,
+                                                                                                     ManagementService managementService,
+                                                                                                     IntegrationResultBatchProperties integrationResultBatchProperties) {
+        return new BatchingServiceTaskIntegrationResultEventHandler(runtimeService,
+                                                                    integrationContextService,
+                                                                    processEngineChannels.auditProducer(),
+                                                                    runtimeBundleProperties,
+                                                                    runtimeBundleInfoAppender,
+                                                                    outboundVariablesProvider,
+                                                                    messageBuilderFactory,
+                                                                    managementService,
+                                                                    integrationResultBatchProperties);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ServiceTaskIntegrationErrorEventHandler serviceTaskIntegrationErrorEventHandler(RuntimeService runtimeService,
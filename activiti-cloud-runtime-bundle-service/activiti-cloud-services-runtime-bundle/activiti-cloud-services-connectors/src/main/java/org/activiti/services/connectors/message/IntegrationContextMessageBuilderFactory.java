@@ -25,12 +25,14 @@ import org.springframework.util.Assert;
 public class IntegrationContextMessageBuilderFactory
         implements MessageBuilderChainFactory<IntegrationContext> {
 
-    private final RuntimeBundleProperties properties;
+    private static final IntegrationContextRoutingKeyResolver ROUTING_KEY_RESOLVER = new IntegrationContextRoutingKeyResolver();
+
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public IntegrationContextMessageBuilderFactory(RuntimeBundleProperties properties) {
         Assert.notNull(properties, "properties must not be null");
 
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     @Override
@@ -38,9 +40,18 @@ public class IntegrationContextMessageBuilderFactory
         Assert.notNull(integrationContext, "integrationContext must not be null");
         
         return new MessageBuilderAppenderChain()
-                .routingKeyResolver(new IntegrationContextRoutingKeyResolver())
-                .chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
+                .routingKeyResolver(ROUTING_KEY_RESOLVER)
+                .chain(runtimeBundleInfoAppender)
                 .chain(new IntegrationContextMessageBuilderAppender(integrationContext));
     }
 
+    /**
+     * Creates a chain for messages aggregating several integration contexts, carrying only the runtime bundle headers.
+     */
+    public MessageBuilderAppenderChain createBatch() {
+        return new MessageBuilderAppenderChain()
+                .routingKeyResolver(ROUTING_KEY_RESOLVER)
+                .chain(runtimeBundleInfoAppender);
+    }
+
 }
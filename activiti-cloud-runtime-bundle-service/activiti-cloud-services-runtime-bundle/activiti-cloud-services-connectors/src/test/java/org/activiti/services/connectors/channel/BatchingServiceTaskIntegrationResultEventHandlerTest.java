@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.services.connectors.channel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.api.runtime.model.impl.IntegrationContextImpl;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.impl.IntegrationRequestImpl;
+import org.activiti.cloud.api.process.model.impl.IntegrationResultImpl;
+import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
+import org.activiti.cloud.services.events.converter.RuntimeBundleInfoAppender;
+import org.activiti.cloud.services.events.message.MessageBuilderAppenderChain;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntityImpl;
+import org.activiti.engine.integration.IntegrationContextService;
+import org.activiti.engine.runtime.ExecutionQuery;
+import org.activiti.runtime.api.impl.VariablesMappingProvider;
+import org.activiti.services.connectors.message.IntegrationContextMessageBuilderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+public class BatchingServiceTaskIntegrationResultEventHandlerTest {
+
+    private static final String CLIENT_ID = "serviceTask";
+
+    private BatchingServiceTaskIntegrationResultEventHandler handler;
+
+    @Mock
+    private RuntimeService runtimeService;
+
+    @Mock
+    private IntegrationContextService integrationContextService;
+
+    @Mock
+    private MessageChannel auditProducer;
+
+    @Mock
+    private RuntimeBundleProperties runtimeBundleProperties;
+
+    @Mock
+    private RuntimeBundleProperties.RuntimeBundleEventsProperties eventsProperties;
+
+    @Mock
+    private RuntimeBundleInfoAppender runtimeBundleInfoAppender;
+
+    @Mock
+    private VariablesMappingProvider outboundVariablesProvider;
+
+    @Mock
+    private IntegrationContextMessageBuilderFactory messageBuilderFactory;
+
+    @Mock
+    private ManagementService managementService;
+
+    @Mock
+    private ExecutionQuery executionQuery;
+
+    @Captor
+    private ArgumentCaptor<Message<CloudRuntimeEvent<?, ?>[]>> messageCaptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        initMocks(this);
+        when(runtimeBundleProperties.getEventsProperties()).thenReturn(eventsProperties);
+        when(eventsProperties.isIntegrationAuditEventsEnabled()).thenReturn(true);
+        when(runtimeService.createExecutionQuery()).thenReturn(executionQuery);
+        when(executionQuery.executionId(anyString())).thenReturn(executionQuery);
+        ExecutionEntity execution = mock(ExecutionEntity.class);
+        when(execution.getActivityId()).thenReturn(CLIENT_ID);
+        when(executionQuery.list()).thenReturn(Collections.singletonList(execution));
+        when(messageBuilderFactory.createBatch()).thenReturn(new MessageBuilderAppenderChain());
+        when(managementService.executeCommand(any(Command.class)))
+                .thenAnswer(invocation -> invocation.<Command<?>>getArgument(0).execute(null));
+
+        IntegrationResultBatchProperties properties = new IntegrationResultBatchProperties();
+        properties.setMaxSize(2);
+        properties.setWindow(Duration.ofSeconds(30));
+        handler = new BatchingServiceTaskIntegrationResultEventHandler(runtimeService,
+                                                                       integrationContextService,
+                                                                       auditProducer,
+                                                                       runtimeBundleProperties,
+                                                                       runtimeBundleInfoAppender,
+                                                                       outboundVariablesProvider,
+                                                                       messageBuilderFactory,
+                                                                       managementService,
+                                                                       properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    public void receiveShouldHandleResultsOfABatchInOneCommandAndSendOneAuditMessage() throws Exception {
+        //given
+        givenIntegrationContext("first");
+        givenIntegrationContext("second");
+
+        //when
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> handler.receive(integrationResult("first")));
+        handler.receive(integrationResult("second"));
+        first.get(10, TimeUnit.SECONDS);
+
+        //then
+        verify(managementService).executeCommand(any(Command.class));
+        verify(runtimeService, times(2)).trigger(any(), any());
+        verify(auditProducer).send(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).hasSize(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void receiveShouldHandleResultsOneByOneWhenTheBatchTransactionFails() throws Exception {
+        //given
+        givenIntegrationContext("first");
+        givenIntegrationContext("second");
+        doThrow(new ActivitiException("boom"))
+                .doAnswer(invocation -> invocation.<Command<?>>getArgument(0).execute(null))
+                .when(managementService).executeCommand(any(Command.class));
+
+        //when
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> handler.receive(integrationResult("first")));
+        handler.receive(integrationResult("second"));
+        first.get(10, TimeUnit.SECONDS);
+
+        //then
+        verify(managementService, times(3)).executeCommand(any(Command.class));
+        verify(runtimeService, times(2)).trigger(any(), any());
+        verify(auditProducer).send(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).hasSize(2);
+    }
+
+    private void givenIntegrationContext(String id) {
+        IntegrationContextEntityImpl integrationContextEntity = new IntegrationContextEntityImpl();
+        integrationContextEntity.setId(id);
+        integrationContextEntity.setExecutionId("execution-" + id);
+        given(integrationContextService.findById(id)).willReturn(integrationContextEntity);
+    }
+
+    private IntegrationResultImpl integrationResult(String id) {
+        IntegrationContextImpl integrationContext = new IntegrationContextImpl();
+        integrationContext.setId(id);
+        integrationContext.setClientId(CLIENT_ID);
+        return new IntegrationResultImpl(new IntegrationRequestImpl(), integrationContext);
+    }
+}
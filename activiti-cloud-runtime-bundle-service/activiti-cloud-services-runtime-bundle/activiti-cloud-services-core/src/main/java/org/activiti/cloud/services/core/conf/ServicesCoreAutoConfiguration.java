@@ -21,6 +21,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.activiti.api.model.shared.Payload;
 import org.activiti.api.process.runtime.ProcessAdminRuntime;
 import org.activiti.api.task.runtime.TaskAdminRuntime;
@@ -50,10 +53,14 @@ import org.activiti.cloud.services.core.pageable.SpringPageConverter;
 import org.activiti.cloud.services.core.pageable.sort.ProcessDefinitionSortApplier;
 import org.activiti.cloud.services.core.pageable.sort.ProcessInstanceSortApplier;
 import org.activiti.cloud.services.core.pageable.sort.TaskSortApplier;
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
+import org.activiti.cloud.services.diagram.ProcessDiagramCacheProperties;
 import org.activiti.common.util.DateFormatterProvider;
 import org.activiti.image.ProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -63,6 +70,7 @@ import org.springframework.format.support.FormattingConversionService;
 
 @Configuration
 @PropertySource("classpath:config/command-endpoint-channels.properties")
+@EnableConfigurationProperties(ProcessDiagramCacheProperties.class)
 public class ServicesCoreAutoConfiguration {
 
     @Bean
@@ -190,6 +198,14 @@ public class ServicesCoreAutoConfiguration {
         return new ProcessDiagramGeneratorWrapper(processDiagramGenerator);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessDiagramCache processDiagramCache(ProcessDiagramCacheProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ProcessDiagramCache(properties,
+                                       meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
     @Bean
     public ProcessVariableValueSpringConverter<Date> processVariableDateConverter(DateFormatterProvider dateFormatterProvider) {
         return new ProcessVariableDateConverter(dateFormatterProvider);
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.configuration;
+
+import javax.sql.DataSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.activiti.cloud.services.events.ProcessEngineChannels;
+import org.activiti.cloud.services.events.converter.RuntimeBundleInfoAppender;
+import org.activiti.cloud.services.events.listeners.MessageProducerCommandContextCloseListener;
+import org.activiti.cloud.services.events.message.ExecutionContextMessageBuilderFactory;
+import org.activiti.cloud.services.events.outbox.OutboxCommandContextCloseListener;
+import org.activiti.cloud.services.events.outbox.OutboxEventStore;
+import org.activiti.cloud.services.events.outbox.OutboxMessageRelay;
+import org.activiti.cloud.services.events.outbox.OutboxProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replaces the direct audit producer close listener with the transactional outbox when
+ * {@code activiti.cloud.runtime-bundle.outbox.enabled} is set.
+ */
+@Configuration
+@AutoConfigureBefore(CloudEventsAutoConfiguration.class)
+@ConditionalOnProperty(name = OutboxProperties.PREFIX + ".enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxEventStore outboxEventStore(DataSource dataSource,
+                                             OutboxProperties properties,
+                                             ResourceLoader resourceLoader) {
+        OutboxEventStore outboxEventStore = new OutboxEventStore(new JdbcTemplate(dataSource),
+                                                                 properties.getConcurrency());
+        if (properties.isInitializeSchema()) {
+            outboxEventStore.initializeSchema(resourceLoader,
+                                              properties.getSchema());
+        }
+        return outboxEventStore;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MessageProducerCommandContextCloseListener outboxCommandContextCloseListener(ProcessEngineChannels processEngineChannels,
+                                                                                        ExecutionContextMessageBuilderFactory executionContextMessageBuilderFactory,
+                                                                                        RuntimeBundleInfoAppender runtimeBundleInfoAppender,
+                                                                                        OutboxEventStore outboxEventStore,
+                                                                                        ObjectProvider<ObjectMapper> objectMapper) {
+        return new OutboxCommandContextCloseListener(processEngineChannels,
+                                                     executionContextMessageBuilderFactory,
+                                                     runtimeBundleInfoAppender,
+                                                     outboxEventStore,
+                                                     objectMapper.getIfAvailable(ObjectMapper::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxMessageRelay outboxMessageRelay(OutboxEventStore outboxEventStore,
+                                                 ProcessEngineChannels processEngineChannels,
+                                                 ExecutionContextMessageBuilderFactory executionContextMessageBuilderFactory,
+                                                 PlatformTransactionManager transactionManager,
+                                                 OutboxProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxMessageRelay(outboxEventStore,
+                                      processEngineChannels,
+                                      executionContextMessageBuilderFactory,
+                                      new TransactionTemplate(transactionManager),
+                                      properties,
+                                      meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
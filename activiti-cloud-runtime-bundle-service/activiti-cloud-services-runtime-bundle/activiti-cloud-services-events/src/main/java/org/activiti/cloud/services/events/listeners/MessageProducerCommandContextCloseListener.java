@@ -59,12 +59,7 @@ public class MessageProducerCommandContextCloseListener implements CommandContex
 
         if (events != null && !events.isEmpty()) {
 
-            // Add runtime bundle context attributes to every event
-            CloudRuntimeEvent<?, ?>[] payload = events.stream()
-                                                      .filter(CloudRuntimeEventImpl.class::isInstance)
-                                                      .map(CloudRuntimeEventImpl.class::cast)
-                                                      .map(runtimeBundleInfoAppender::appendRuntimeBundleInfoTo)
-                                                      .toArray(CloudRuntimeEvent<?, ?>[]::new);
+            CloudRuntimeEvent<?, ?>[] payload = toPayload(events);
 
             // Inject message headers with null execution context as there may be events from several process instances
             Message<CloudRuntimeEvent<?, ?>[]> message = messageBuilderChainFactory.create(null)
@@ -75,6 +70,15 @@ public class MessageProducerCommandContextCloseListener implements CommandContex
         }
     }
 
+    protected CloudRuntimeEvent<?, ?>[] toPayload(List<CloudRuntimeEvent<?, ?>> events) {
+        // Add runtime bundle context attributes to every event
+        return events.stream()
+                     .filter(CloudRuntimeEventImpl.class::isInstance)
+                     .map(CloudRuntimeEventImpl.class::cast)
+                     .map(runtimeBundleInfoAppender::appendRuntimeBundleInfoTo)
+                     .toArray(CloudRuntimeEvent<?, ?>[]::new);
+    }
+
     @Override
     public void closing(CommandContext commandContext) {
         // No need to implement this method in this class
@@ -16,36 +16,43 @@
 package org.activiti.cloud.services.events.message;
 
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public abstract class AbstractMessageHeadersRoutingKeyResolver implements RoutingKeyResolver<Map<String, Object>> {
     
-    private static final String REPLACEMENT = "-";
-    private static final String ILLEGAL_CHARACTERS = "[\\t\\s\\.*#:]";
-    private static final String DELIMITER = ".";
+    private static final char REPLACEMENT = '-';
+    private static final String ILLEGAL_CHARACTERS = "\t\n\u000B\f\r .*#:";
+    private static final char DELIMITER = '.';
     private static final String UNDERSCORE = "_";
 
     public abstract String resolve(Map<String, Object> headers);
 
+    // Called for every outbound message, so the key is appended in place instead of going through streams and regex
     protected String build(Map<String, Object> headers, String... keys) {
-        return getPrefix() + DELIMITER + Stream.of(keys)
-                     .map(headers::get)
-                     .map(Optional::ofNullable)
-                     .map(this::mapNullOrEmptyValue)
-                     .collect(Collectors.joining(DELIMITER));
-    }
-    
-    private String mapNullOrEmptyValue(Optional<Object> obj) {
-        return obj.map(Object::toString)
-                  .filter(value -> !value.isEmpty())
-                  .map(this::escapeIllegalCharacters)
-                  .orElse(UNDERSCORE);
+        StringBuilder routingKey = new StringBuilder(64).append(getPrefix());
+        for (String key : keys) {
+            routingKey.append(DELIMITER);
+            Object value = headers.get(key);
+            String text = value != null ? value.toString() : null;
+            if (text == null || text.isEmpty()) {
+                routingKey.append(UNDERSCORE);
+            } else {
+                routingKey.append(escapeIllegalCharacters(text));
+            }
+        }
+        return routingKey.toString();
     }
     
     protected String escapeIllegalCharacters(String value) {
-        return value.replaceAll(ILLEGAL_CHARACTERS, REPLACEMENT);
+        char[] escaped = null;
+        for (int index = 0; index < value.length(); index++) {
+            if (ILLEGAL_CHARACTERS.indexOf(value.charAt(index)) >= 0) {
+                if (escaped == null) {
+                    escaped = value.toCharArray();
+                }
+                escaped[index] = REPLACEMENT;
+            }
+        }
+        return escaped != null ? new String(escaped) : value;
     }
     
     public abstract String getPrefix(); 
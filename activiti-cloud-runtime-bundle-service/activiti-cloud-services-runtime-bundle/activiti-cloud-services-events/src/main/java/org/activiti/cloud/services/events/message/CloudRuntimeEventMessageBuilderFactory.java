@@ -22,12 +22,14 @@ import org.springframework.util.Assert;
 public class CloudRuntimeEventMessageBuilderFactory
         implements MessageBuilderChainFactory<CloudRuntimeEvent<?, ?>> {
 
-    private final RuntimeBundleProperties properties;
+    private static final AuditProducerRoutingKeyResolver ROUTING_KEY_RESOLVER = new AuditProducerRoutingKeyResolver();
+
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public CloudRuntimeEventMessageBuilderFactory(RuntimeBundleProperties properties) {
         Assert.notNull(properties, "properties must not be null");
 
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     @Override
@@ -35,8 +37,8 @@ public class CloudRuntimeEventMessageBuilderFactory
         Assert.notNull(event, "event must not be null");
 
         return new MessageBuilderAppenderChain()
-                .routingKeyResolver(new AuditProducerRoutingKeyResolver())
-                .chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
+                .routingKeyResolver(ROUTING_KEY_RESOLVER)
+                .chain(runtimeBundleInfoAppender)
                 .chain(new CloudRuntimeEventMessageBuilderAppender(event));
     }
 
@@ -22,19 +22,21 @@ import org.springframework.util.Assert;
 public class ExecutionContextMessageBuilderFactory
         implements MessageBuilderChainFactory<ExecutionContext> {
 
-    private final RuntimeBundleProperties properties;
+    private static final AuditProducerRoutingKeyResolver ROUTING_KEY_RESOLVER = new AuditProducerRoutingKeyResolver();
+
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public ExecutionContextMessageBuilderFactory(RuntimeBundleProperties properties) {
         Assert.notNull(properties, "properties must not be null");
 
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     @Override
     public MessageBuilderAppenderChain create(ExecutionContext executionContext) {
         return new MessageBuilderAppenderChain()
-                .routingKeyResolver(new AuditProducerRoutingKeyResolver())
-                .chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
+                .routingKeyResolver(ROUTING_KEY_RESOLVER)
+                .chain(runtimeBundleInfoAppender)
                 .chain(new ExecutionContextMessageBuilderAppender(executionContext));
     }
 
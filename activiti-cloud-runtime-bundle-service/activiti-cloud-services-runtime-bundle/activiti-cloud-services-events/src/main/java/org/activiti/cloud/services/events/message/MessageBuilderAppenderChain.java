@@ -31,10 +31,12 @@ public class MessageBuilderAppenderChain {
 
     private static final String MESSAGE_PAYLOAD_TYPE = "messagePayloadType";
 
-    private final List<MessageBuilderAppender> appenders = new ArrayList<>();
+    private static final RoutingKeyResolver<Map<String, Object>> DEFAULT_ROUTING_KEY_RESOLVER = new DefaultRoutingKeyResolver();
+
+    private final List<MessageBuilderAppender> appenders = new ArrayList<>(4);
 
     // Noop routing key resolver that resolves routing key for message payload type header
-    private RoutingKeyResolver<Map<String, Object>> routingKeyResolver = new DefaultRoutingKeyResolver();
+    private RoutingKeyResolver<Map<String, Object>> routingKeyResolver = DEFAULT_ROUTING_KEY_RESOLVER;
     
     public MessageBuilderAppenderChain() {
         // Silence is golden
@@ -15,14 +15,24 @@
  */
 package org.activiti.cloud.services.events.message;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.util.Assert;
 
+/**
+ * Appends the static runtime bundle headers. They are resolved once into an immutable template
+ * on first use, so a single appender instance can be shared by all the messages of a factory.
+ */
 public class RuntimeBundleInfoMessageBuilderAppender implements MessageBuilderAppender {
 
     private final RuntimeBundleProperties properties;
 
+    private volatile Map<String, Object> headers;
+
     public RuntimeBundleInfoMessageBuilderAppender(RuntimeBundleProperties properties) {
         Assert.notNull(properties, "properties must not be null");
 
@@ -33,11 +43,33 @@ public class RuntimeBundleInfoMessageBuilderAppender implements MessageBuilderAp
     public <P> MessageBuilder<P> apply(MessageBuilder<P> request) {
         Assert.notNull(request, "request must not be null");
         
-        return request.setHeader(RuntimeBundleInfoMessageHeaders.APP_NAME, properties.getAppName())
-                .setHeader(RuntimeBundleInfoMessageHeaders.SERVICE_NAME, properties.getServiceName())
-                .setHeader(RuntimeBundleInfoMessageHeaders.SERVICE_FULL_NAME, properties.getServiceFullName())
-                .setHeader(RuntimeBundleInfoMessageHeaders.SERVICE_TYPE, properties.getServiceType())
-                .setHeader(RuntimeBundleInfoMessageHeaders.SERVICE_VERSION, properties.getServiceVersion());
+        return request.copyHeaders(getHeaders());
+    }
+
+    protected Map<String, Object> getHeaders() {
+        Map<String, Object> template = headers;
+        if (template == null) {
+            template = createHeaders();
+            headers = template;
+        }
+        return template;
+    }
+
+    private Map<String, Object> createHeaders() {
+        Map<String, Object> template = new LinkedHashMap<>();
+        putIfNotNull(template, RuntimeBundleInfoMessageHeaders.APP_NAME, properties.getAppName());
+        putIfNotNull(template, RuntimeBundleInfoMessageHeaders.SERVICE_NAME, properties.getServiceName());
+        putIfNotNull(template, RuntimeBundleInfoMessageHeaders.SERVICE_FULL_NAME, properties.getServiceFullName());
+        putIfNotNull(template, RuntimeBundleInfoMessageHeaders.SERVICE_TYPE, properties.getServiceType());
+        putIfNotNull(template, RuntimeBundleInfoMessageHeaders.SERVICE_VERSION, properties.getServiceVersion());
+        return Collections.unmodifiableMap(template);
+    }
+
+    // setting a null header is a no-op, so null values are simply left out of the template
+    private void putIfNotNull(Map<String, Object> template, String name, Object value) {
+        if (value != null) {
+            template.put(name, value);
+        }
     }
 
 }
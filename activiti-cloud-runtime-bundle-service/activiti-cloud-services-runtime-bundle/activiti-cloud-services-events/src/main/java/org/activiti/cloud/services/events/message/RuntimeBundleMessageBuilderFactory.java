@@ -19,15 +19,17 @@ import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
 
 public class RuntimeBundleMessageBuilderFactory {
 
-    private final RuntimeBundleProperties properties;
+    private static final AuditProducerRoutingKeyResolver ROUTING_KEY_RESOLVER = new AuditProducerRoutingKeyResolver();
+
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public RuntimeBundleMessageBuilderFactory(RuntimeBundleProperties properties) {
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     public MessageBuilderAppenderChain create() {
         return new MessageBuilderAppenderChain()
-                .routingKeyResolver(new AuditProducerRoutingKeyResolver())
-                .chain(new RuntimeBundleInfoMessageBuilderAppender(properties));
+                .routingKeyResolver(ROUTING_KEY_RESOLVER)
+                .chain(runtimeBundleInfoAppender);
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.events.ProcessEngineChannels;
+import org.activiti.cloud.services.events.converter.RuntimeBundleInfoAppender;
+import org.activiti.cloud.services.events.listeners.MessageProducerCommandContextCloseListener;
+import org.activiti.cloud.services.events.message.MessageBuilderChainFactory;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.context.ExecutionContext;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Writes the aggregated events of a command into the outbox table once the engine sessions are flushed,
+ * on the engine connection, instead of sending them to the audit producer after the command completes.
+ * The {@link OutboxMessageRelay} is in charge of delivering them.
+ */
+public class OutboxCommandContextCloseListener extends MessageProducerCommandContextCloseListener {
+
+    private final OutboxEventStore outboxEventStore;
+    private final ObjectMapper objectMapper;
+
+    public OutboxCommandContextCloseListener(ProcessEngineChannels producer,
+                                             MessageBuilderChainFactory<ExecutionContext> messageBuilderChainFactory,
+                                             RuntimeBundleInfoAppender runtimeBundleInfoAppender,
+                                             OutboxEventStore outboxEventStore,
+                                             ObjectMapper objectMapper) {
+        super(producer,
+              messageBuilderChainFactory,
+              runtimeBundleInfoAppender);
+        this.outboxEventStore = outboxEventStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterSessionsFlush(CommandContext commandContext) {
+        List<CloudRuntimeEvent<?, ?>> events = commandContext.getGenericAttribute(PROCESS_ENGINE_EVENTS);
+
+        if (events != null && !events.isEmpty()) {
+            CloudRuntimeEvent<?, ?>[] payload = toPayload(events);
+            try {
+                outboxEventStore.insert(commandContext.getDbSqlSession()
+                                                      .getSqlSession()
+                                                      .getConnection(),
+                                        partitionKeyOf(payload),
+                                        payload.length,
+                                        objectMapper.writeValueAsString(payload));
+            } catch (JsonProcessingException | SQLException e) {
+                throw new ActivitiException("Unable to write process engine events into the outbox",
+                                            e);
+            }
+        }
+    }
+
+    @Override
+    public void closed(CommandContext commandContext) {
+        // events have already been written into the outbox within the engine transaction
+    }
+
+    protected int partitionKeyOf(CloudRuntimeEvent<?, ?>[] payload) {
+        String partitionKey = Arrays.stream(payload)
+                                    .map(event -> event.getProcessInstanceId() != null ? event.getProcessInstanceId() : event.getEntityId())
+                                    .filter(Objects::nonNull)
+                                    .findFirst()
+                                    .orElse("");
+        return partitionKey.hashCode() & Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+/**
+ * Aggregated events of a single engine command, stored as a JSON array in the outbox table.
+ */
+public class OutboxEvent {
+
+    private final long id;
+    private final int eventCount;
+    private final String payload;
+
+    public OutboxEvent(long id,
+                       int eventCount,
+                       String payload) {
+        this.id = id;
+        this.eventCount = eventCount;
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Plain JDBC access to the outbox table. Rows are inserted on the engine connection so that they
+ * are committed or rolled back together with the command that produced them.
+ * <p>
+ * Every row is assigned to a bucket, its partition key modulo the number of buckets, which is stored
+ * in an indexed column so that each relay worker only reads the rows of its own bucket.
+ */
+public class OutboxEventStore {
+
+    static final String TABLE = "ACT_RB_OUTBOX";
+
+    static final String INSERT = "INSERT INTO ACT_RB_OUTBOX (PARTITION_KEY_, BUCKET_, EVENT_COUNT_, PAYLOAD_, CREATE_TIME_) VALUES (?, ?, ?, ?, ?)";
+
+    static final String SELECT_FOR_UPDATE = "SELECT ID_, EVENT_COUNT_, PAYLOAD_ FROM ACT_RB_OUTBOX WHERE BUCKET_ = ? ORDER BY ID_ FOR UPDATE";
+
+    // Oracle does not accept a row limiting clause in a FOR UPDATE query, so the oldest rows are selected in a subquery
+    static final String SELECT_FOR_UPDATE_SKIP_LOCKED = "SELECT ID_, EVENT_COUNT_, PAYLOAD_ FROM ACT_RB_OUTBOX WHERE ID_ IN "
+            + "(SELECT ID_ FROM ACT_RB_OUTBOX WHERE BUCKET_ = ? ORDER BY ID_ FETCH FIRST ? ROWS ONLY) ORDER BY ID_ FOR UPDATE SKIP LOCKED";
+
+    static final String SELECT_OLDEST = "SELECT MIN(ID_) FROM ACT_RB_OUTBOX WHERE BUCKET_ = ?";
+
+    static final String UPDATE_BUCKETS = "UPDATE ACT_RB_OUTBOX SET BUCKET_ = MOD(PARTITION_KEY_, ?) WHERE BUCKET_ <> MOD(PARTITION_KEY_, ?)";
+
+    static final String DELETE = "DELETE FROM ACT_RB_OUTBOX WHERE ID_ = ?";
+
+    static final String COUNT = "SELECT COUNT(*) FROM ACT_RB_OUTBOX";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int buckets;
+    private volatile Boolean skipLocked;
+
+    public OutboxEventStore(JdbcTemplate jdbcTemplate,
+                            int buckets) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buckets = Math.max(1, buckets);
+    }
+
+    public void insert(Connection connection,
+                       int partitionKey,
+                       int eventCount,
+                       String payload) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            statement.setInt(1, partitionKey);
+            statement.setInt(2, partitionKey % buckets);
+            statement.setInt(3, eventCount);
+            statement.setString(4, payload);
+            statement.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Locks the oldest rows of the given bucket until the surrounding transaction completes.
+     * <p>
+     * On Oracle, which locks every row of a {@code FOR UPDATE} result set up front, the rows held by
+     * another relay are skipped instead of waited for. Nothing is returned unless the oldest row of the
+     * bucket is among the locked ones, so that rows are never relayed ahead of older ones still in flight.
+     */
+    public List<OutboxEvent> lock(int bucket,
+                                  int limit) {
+        boolean skipLocked = isSkipLocked();
+        List<OutboxEvent> events = jdbcTemplate.query(connection -> {
+                                                          PreparedStatement statement;
+                                                          if (skipLocked) {
+                                                              statement = connection.prepareStatement(SELECT_FOR_UPDATE_SKIP_LOCKED);
+                                                              statement.setInt(1, bucket);
+                                                              statement.setInt(2, limit);
+                                                          } else {
+                                                              statement = connection.prepareStatement(SELECT_FOR_UPDATE);
+                                                              statement.setInt(1, bucket);
+                                                              statement.setMaxRows(limit);
+                                                          }
+                                                          return statement;
+                                                      },
+                                                      (resultSet, rowNum) -> new OutboxEvent(resultSet.getLong(1),
+                                                                                             resultSet.getInt(2),
+                                                                                             resultSet.getString(3)));
+        if (skipLocked && !events.isEmpty()) {
+            Long oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, Long.class, bucket);
+            if (oldest != null && oldest < events.get(0).getId()) {
+                return Collections.emptyList();
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Moves the rows written with a different number of buckets to the bucket they belong to now.
+     */
+    public int reassignBuckets() {
+        return jdbcTemplate.update(UPDATE_BUCKETS, buckets, buckets);
+    }
+    public void delete(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(DELETE,
+                                 events.stream()
+                                       .map(event -> new Object[]{event.getId()})
+                                       .collect(Collectors.toList()));
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Creates the outbox table unless it already exists. Any error raised by the script fails the startup.
+     */
+    public void initializeSchema(ResourceLoader resourceLoader,
+                                 String location) {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        if (tableExists(dataSource)) {
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(resourceLoader.getResource(location.replace("@@platform@@",
+                                                                                                                        platformOf(dataSource))));
+        DatabasePopulatorUtils.execute(populator, dataSource);
+    }
+
+    private boolean isSkipLocked() {
+        if (skipLocked == null) {
+            skipLocked = DatabaseDriver.ORACLE.getId().equals(platformOf(jdbcTemplate.getDataSource()));
+        }
+        return skipLocked;
+    }
+
+    private boolean tableExists(DataSource dataSource) {
+        try {
+            return (Boolean) JdbcUtils.extractDatabaseMetaData(dataSource,
+                                                               metaData -> tableExists(metaData, TABLE) || tableExists(metaData, TABLE.toLowerCase()));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to check whether the outbox table exists", e);
+        }
+    }
+
+    private boolean tableExists(DatabaseMetaData metaData,
+                                String table) throws SQLException {
+        Connection connection = metaData.getConnection();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(),
+                                                   connection.getSchema(),
+                                                   table,
+                                                   new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private String platformOf(DataSource dataSource) {
+        try {
+            String url = JdbcUtils.extractDatabaseMetaData(dataSource, "getURL");
+            DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(url);
+            if (driver.getId() == null) {
+                throw new IllegalStateException("Unsupported outbox database platform for " + url);
+            }
+            return driver.getId();
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to detect the database platform of the outbox", e);
+        }
+    }
+}
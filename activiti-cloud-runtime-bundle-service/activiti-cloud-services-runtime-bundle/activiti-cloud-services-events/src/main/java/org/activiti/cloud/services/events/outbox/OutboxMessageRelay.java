@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.events.ProcessEngineChannels;
+import org.activiti.cloud.services.events.message.MessageBuilderChainFactory;
+import org.activiti.engine.impl.context.ExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Drains the outbox table in id order and sends its rows to the audit producer channel, coalescing
+ * the events of several commands into a single message.
+ * <p>
+ * Each worker owns a partition of the outbox, so the events of a process instance are always relayed
+ * in commit order. Rows are locked, sent and deleted in a single transaction: a failed send rolls the
+ * batch back and it is relayed again on the next poll, which gives at-least-once delivery.
+ */
+public class OutboxMessageRelay implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxMessageRelay.class);
+
+    private static final String MESSAGE_PAYLOAD_TYPE = "messagePayloadType";
+
+    private final OutboxEventStore outboxEventStore;
+    private final ProcessEngineChannels producer;
+    private final MessageBuilderChainFactory<ExecutionContext> messageBuilderChainFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final int concurrency;
+
+    private final Counter relayedEvents;
+    private final Counter sentMessages;
+    private final Counter failedAttempts;
+    private final Timer sendTimer;
+    private final AtomicLong highWaterMark = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public OutboxMessageRelay(OutboxEventStore outboxEventStore,
+                              ProcessEngineChannels producer,
+                              MessageBuilderChainFactory<ExecutionContext> messageBuilderChainFactory,
+                              TransactionTemplate transactionTemplate,
+                              OutboxProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.outboxEventStore = outboxEventStore;
+        this.producer = producer;
+        this.messageBuilderChainFactory = messageBuilderChainFactory;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.concurrency = Math.max(1, properties.getConcurrency());
+
+        Gauge.builder("runtime.bundle.outbox.pending", this, OutboxMessageRelay::pending)
+             .description("Number of outbox rows waiting to be relayed")
+             .register(meterRegistry);
+        Gauge.builder("runtime.bundle.outbox.high.water.mark", highWaterMark, AtomicLong::get)
+             .description("Highest number of pending outbox rows observed")
+             .register(meterRegistry);
+        this.relayedEvents = Counter.builder("runtime.bundle.outbox.relayed.events")
+                                    .register(meterRegistry);
+        this.sentMessages = Counter.builder("runtime.bundle.outbox.sent.messages")
+                                   .register(meterRegistry);
+        this.failedAttempts = Counter.builder("runtime.bundle.outbox.send.failures")
+                                     .register(meterRegistry);
+        this.sendTimer = Timer.builder("runtime.bundle.outbox.send")
+                              .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        int reassigned = outboxEventStore.reassignBuckets();
+        if (reassigned > 0) {
+            LOGGER.info("Reassigned {} outbox rows to the {} relay partitions", reassigned, concurrency);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(concurrency,
+                                                    runnable -> {
+                                                        Thread thread = new Thread(runnable,
+                                                                                   "outbox-relay-" + threads.getAndIncrement());
+                                                        thread.setDaemon(true);
+                                                        return thread;
+                                                    });
+        running = true;
+        for (int partition = 0; partition < concurrency; partition++) {
+            int worker = partition;
+            executor.scheduleWithFixedDelay(() -> drain(worker),
+                                            0,
+                                            properties.getPollInterval().toMillis(),
+                                            TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(properties.getPollInterval().toMillis() + properties.getRetryBackoff().toMillis(),
+                                          TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    protected void drain(int partition) {
+        try {
+            int relayed;
+            do {
+                relayed = relay(partition);
+            } while (running && relayed >= properties.getBatchSize());
+        } catch (Exception e) {
+            LOGGER.error("Error relaying outbox partition " + partition + ", retrying on next poll", e);
+        }
+    }
+
+    /**
+     * Relays a single batch of the given partition and returns the number of outbox rows relayed.
+     */
+    protected int relay(int partition) {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventStore.lock(partition,
+                                                             properties.getBatchSize());
+            if (events.isEmpty()) {
+                return 0;
+            }
+            for (List<OutboxEvent> chunk : coalesce(events)) {
+                send(chunk);
+            }
+            outboxEventStore.delete(events);
+            return events.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    protected List<List<OutboxEvent>> coalesce(List<OutboxEvent> events) {
+        List<List<OutboxEvent>> chunks = new ArrayList<>();
+        List<OutboxEvent> chunk = new ArrayList<>();
+        int chunkEvents = 0;
+        for (OutboxEvent event : events) {
+            if (!chunk.isEmpty() && chunkEvents + event.getEventCount() > properties.getMaxEventsPerMessage()) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                chunkEvents = 0;
+            }
+            chunk.add(event);
+            chunkEvents += event.getEventCount();
+        }
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    protected void send(List<OutboxEvent> chunk) {
+        Message<byte[]> message = messageBuilderChainFactory.create(null)
+                                                            .withPayload(toJsonArray(chunk))
+                                                            .setHeader(MessageHeaders.CONTENT_TYPE,
+                                                                       MimeTypeUtils.APPLICATION_JSON_VALUE)
+                                                            .setHeader(MESSAGE_PAYLOAD_TYPE,
+                                                                       CloudRuntimeEvent[].class.getName())
+                                                            .build();
+        int events = chunk.stream().mapToInt(OutboxEvent::getEventCount).sum();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (sendTimer.record(() -> producer.auditProducer().send(message))) {
+                    sentMessages.increment();
+                    relayedEvents.increment(events);
+                    return;
+                }
+                throw new IllegalStateException("Audit producer channel rejected the outbox message");
+            } catch (RuntimeException e) {
+                failedAttempts.increment();
+                if (attempt >= properties.getMaxAttempts()) {
+                    throw e;
+                }
+                LOGGER.warn("Unable to send {} outbox events (attempt {} of {})", events, attempt, properties.getMaxAttempts(), e);
+                backoff();
+            }
+        }
+    }
+
+    private void backoff() {
+        try {
+            Thread.sleep(properties.getRetryBackoff().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox events", e);
+        }
+    }
+
+    // rows already hold JSON arrays, so they are merged without deserializing the events
+    private byte[] toJsonArray(List<OutboxEvent> chunk) {
+        StringBuilder json = new StringBuilder("[");
+        for (OutboxEvent event : chunk) {
+            String payload = event.getPayload().trim();
+            String elements = payload.substring(1, payload.length() - 1).trim();
+            if (!elements.isEmpty()) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append(elements);
+            }
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double pending() {
+        long pending = outboxEventStore.count();
+        highWaterMark.accumulateAndGet(pending, Math::max);
+        return pending;
+    }
+}
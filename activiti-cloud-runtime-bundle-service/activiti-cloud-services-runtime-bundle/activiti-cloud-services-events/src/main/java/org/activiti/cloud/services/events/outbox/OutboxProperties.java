@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(OutboxProperties.PREFIX)
+public class OutboxProperties {
+
+    public static final String PREFIX = "activiti.cloud.runtime-bundle.outbox";
+
+    /**
+     * Write aggregated engine events into an outbox table within the engine transaction
+     * and relay them to the audit producer asynchronously
+     */
+    private boolean enabled;
+
+    /**
+     * Number of relay workers; outbox rows are partitioned by process instance so that every
+     * process instance keeps its event order, pending rows are moved to their new partition on startup
+     */
+    private int concurrency = 1;
+
+    /**
+     * Maximum number of outbox rows drained by a relay worker in a single transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of events coalesced into a single audit producer message
+     */
+    private int maxEventsPerMessage = 1000;
+
+    /**
+     * Delay between two polls of an idle relay worker
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Number of attempts to send a message before the batch is rolled back and retried on the next poll
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Delay between two send attempts
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Create the outbox table on startup if it does not exist yet
+     */
+    private boolean initializeSchema = true;
+
+    /**
+     * Location of the outbox schema script, @@platform@@ is replaced with the detected database platform
+     */
+    private String schema = "classpath:org/activiti/cloud/services/events/outbox/schema-@@platform@@.sql";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxEventsPerMessage() {
+        return maxEventsPerMessage;
+    }
+
+    public void setMaxEventsPerMessage(int maxEventsPerMessage) {
+        this.maxEventsPerMessage = maxEventsPerMessage;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public boolean isInitializeSchema() {
+        return initializeSchema;
+    }
+
+    public void setInitializeSchema(boolean initializeSchema) {
+        this.initializeSchema = initializeSchema;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+}
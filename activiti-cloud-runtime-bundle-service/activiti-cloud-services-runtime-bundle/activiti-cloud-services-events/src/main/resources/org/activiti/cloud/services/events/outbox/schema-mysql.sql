@@ -0,0 +1,10 @@
+create table ACT_RB_OUTBOX (
+    ID_ bigint not null auto_increment primary key,
+    PARTITION_KEY_ integer not null,
+    BUCKET_ integer not null,
+    EVENT_COUNT_ integer not null,
+    PAYLOAD_ longtext not null,
+    CREATE_TIME_ timestamp(3) not null
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+create index ACT_IDX_RB_OUTBOX_BUCKET on ACT_RB_OUTBOX (BUCKET_, ID_);
@@ -0,0 +1,10 @@
+create table ACT_RB_OUTBOX (
+    ID_ NUMBER(19) generated by default as identity primary key,
+    PARTITION_KEY_ INTEGER not null,
+    BUCKET_ INTEGER not null,
+    EVENT_COUNT_ INTEGER not null,
+    PAYLOAD_ NCLOB not null,
+    CREATE_TIME_ TIMESTAMP(6) not null
+);
+
+create index ACT_IDX_RB_OUTBOX_BUCKET on ACT_RB_OUTBOX (BUCKET_, ID_);
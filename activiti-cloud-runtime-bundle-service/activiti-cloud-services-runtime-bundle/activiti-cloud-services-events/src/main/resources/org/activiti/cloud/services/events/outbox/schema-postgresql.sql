@@ -0,0 +1,10 @@
+create table ACT_RB_OUTBOX (
+    ID_ bigserial primary key,
+    PARTITION_KEY_ integer not null,
+    BUCKET_ integer not null,
+    EVENT_COUNT_ integer not null,
+    PAYLOAD_ text not null,
+    CREATE_TIME_ timestamp not null
+);
+
+create index ACT_IDX_RB_OUTBOX_BUCKET on ACT_RB_OUTBOX (BUCKET_, ID_);
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptStatementFailedException;
+
+public class OutboxEventStoreTest {
+
+    private static final String SCHEMA = new OutboxProperties().getSchema();
+
+    private SingleConnectionDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                                                    true);
+    }
+
+    @Test
+    public void initializeSchemaShouldSkipAnExistingTable() {
+        //given
+        OutboxEventStore outboxEventStore = new OutboxEventStore(new JdbcTemplate(dataSource),
+                                                                 1);
+        outboxEventStore.initializeSchema(new DefaultResourceLoader(),
+                                          SCHEMA);
+
+        //when
+        outboxEventStore.initializeSchema(new DefaultResourceLoader(),
+                                          SCHEMA);
+
+        //then
+        assertThat(outboxEventStore.count()).isZero();
+    }
+
+    @Test
+    public void initializeSchemaShouldFailOnScriptErrors() {
+        //given
+        OutboxEventStore outboxEventStore = new OutboxEventStore(new JdbcTemplate(dataSource),
+                                                                 1);
+
+        //then
+        assertThatExceptionOfType(ScriptStatementFailedException.class)
+                .isThrownBy(() -> outboxEventStore.initializeSchema(new DefaultResourceLoader(),
+                                                                    "classpath:org/activiti/cloud/services/events/outbox/invalid-schema-@@platform@@.sql"));
+    }
+
+    @Test
+    public void lockShouldOnlyReturnTheRowsOfTheBucket() throws SQLException {
+        //given
+        OutboxEventStore outboxEventStore = new OutboxEventStore(new JdbcTemplate(dataSource),
+                                                                 2);
+        outboxEventStore.initializeSchema(new DefaultResourceLoader(),
+                                          SCHEMA);
+        insert(outboxEventStore, 1, 2, 3, 5);
+
+        //then
+        assertThat(outboxEventStore.lock(1, 10)).extracting(OutboxEvent::getPayload)
+                                                .containsExactly("[1]", "[3]", "[5]");
+        assertThat(outboxEventStore.lock(1, 2)).extracting(OutboxEvent::getPayload)
+                                               .containsExactly("[1]", "[3]");
+        assertThat(outboxEventStore.lock(0, 10)).extracting(OutboxEvent::getPayload)
+                                                .containsExactly("[2]");
+    }
+
+    @Test
+    public void reassignBucketsShouldMoveRowsWrittenWithAnotherNumberOfBuckets() throws SQLException {
+        //given
+        OutboxEventStore previousOutboxEventStore = new OutboxEventStore(new JdbcTemplate(dataSource),
+                                                                         2);
+        previousOutboxEventStore.initializeSchema(new DefaultResourceLoader(),
+                                                  SCHEMA);
+        insert(previousOutboxEventStore, 1, 2, 3, 5);
+        OutboxEventStore outboxEventStore = new OutboxEventStore(new JdbcTemplate(dataSource),
+                                                                 3);
+
+        //when
+        int reassigned = outboxEventStore.reassignBuckets();
+
+        //then
+        assertThat(reassigned).isEqualTo(3);
+        assertThat(outboxEventStore.lock(0, 10)).extracting(OutboxEvent::getPayload)
+                                                .containsExactly("[3]");
+        assertThat(outboxEventStore.lock(1, 10)).extracting(OutboxEvent::getPayload)
+                                                .containsExactly("[1]");
+        assertThat(outboxEventStore.lock(2, 10)).extracting(OutboxEvent::getPayload)
+                                                .containsExactly("[2]", "[5]");
+        assertThat(outboxEventStore.reassignBuckets()).isZero();
+    }
+
+    private void insert(OutboxEventStore outboxEventStore,
+                        int... partitionKeys) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        for (int partitionKey : partitionKeys) {
+            outboxEventStore.insert(connection,
+                                    partitionKey,
+                                    1,
+                                    "[" + partitionKey + "]");
+        }
+    }
+}
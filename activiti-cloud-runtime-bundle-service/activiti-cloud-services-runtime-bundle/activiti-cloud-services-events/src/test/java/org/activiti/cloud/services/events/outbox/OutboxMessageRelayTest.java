@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.activiti.cloud.services.events.ProcessEngineChannels;
+import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
+import org.activiti.cloud.services.events.message.ExecutionContextMessageBuilderFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class OutboxMessageRelayTest {
+
+    private OutboxMessageRelay relay;
+
+    @Mock
+    private OutboxEventStore outboxEventStore;
+
+    @Mock
+    private ProcessEngineChannels producer;
+
+    @Mock
+    private MessageChannel auditChannel;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Captor
+    private ArgumentCaptor<Message<byte[]>> messageCaptor;
+
+    private OutboxProperties properties = new OutboxProperties();
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        given(producer.auditProducer()).willReturn(auditChannel);
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0)
+                                                                                      .doInTransaction(null));
+
+        RuntimeBundleProperties runtimeBundleProperties = new RuntimeBundleProperties();
+        runtimeBundleProperties.setRbSpringAppName("rb");
+        runtimeBundleProperties.setAppName("app");
+
+        properties.setMaxEventsPerMessage(3);
+        properties.setMaxAttempts(2);
+        properties.setRetryBackoff(Duration.ZERO);
+
+        relay = new OutboxMessageRelay(outboxEventStore,
+                                       producer,
+                                       new ExecutionContextMessageBuilderFactory(runtimeBundleProperties),
+                                       transactionTemplate,
+                                       properties,
+                                       new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void relayShouldCoalesceRowsIntoMessagesAndDeleteThem() {
+        //given
+        List<OutboxEvent> events = asList(new OutboxEvent(1, 2, "[{\"id\":\"1\"},{\"id\":\"2\"}]"),
+                                          new OutboxEvent(2, 2, "[{\"id\":\"3\"},{\"id\":\"4\"}]"),
+                                          new OutboxEvent(3, 1, "[{\"id\":\"5\"}]"));
+        given(outboxEventStore.lock(eq(0), anyInt())).willReturn(events);
+        given(auditChannel.send(any())).willReturn(true);
+
+        //when
+        int relayed = relay.relay(0);
+
+        //then
+        assertThat(relayed).isEqualTo(3);
+        verify(auditChannel, times(2)).send(messageCaptor.capture());
+        assertThat(messageCaptor.getAllValues())
+                .extracting(message -> new String(message.getPayload(), StandardCharsets.UTF_8))
+                .containsExactly("[{\"id\":\"1\"},{\"id\":\"2\"}]",
+                                 "[{\"id\":\"3\"},{\"id\":\"4\"},{\"id\":\"5\"}]");
+        assertThat(messageCaptor.getValue().getHeaders()).containsEntry("routingKey", "engineEvents.rb.app");
+        verify(outboxEventStore).delete(events);
+    }
+
+    @Test
+    public void relayShouldKeepRowsWhenSendKeepsFailing() {
+        //given
+        given(outboxEventStore.lock(eq(0), anyInt())).willReturn(asList(new OutboxEvent(1, 1, "[{}]")));
+        given(auditChannel.send(any())).willReturn(false);
+
+        //then
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> relay.relay(0));
+        verify(auditChannel, times(2)).send(any());
+        verify(outboxEventStore, never()).delete(any());
+    }
+}
@@ -0,0 +1,5 @@
+create table ACT_RB_OUTBOX (
+    ID_ bigint generated by default as identity primary key,
+    PARTITION_KEY_ integer not null,
+    BUCKET_ unknown_type not null
+);
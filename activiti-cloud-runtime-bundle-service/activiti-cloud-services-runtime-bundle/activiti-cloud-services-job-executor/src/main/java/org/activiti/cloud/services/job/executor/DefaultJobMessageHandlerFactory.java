@@ -20,9 +20,19 @@ import org.springframework.messaging.MessageHandler;
 
 public class DefaultJobMessageHandlerFactory implements JobMessageHandlerFactory {
     
+    private final JobExecutionStage jobExecutionStage;
+
+    public DefaultJobMessageHandlerFactory() {
+        this(null);
+    }
+
+    public DefaultJobMessageHandlerFactory(JobExecutionStage jobExecutionStage) {
+        this.jobExecutionStage = jobExecutionStage;
+    }
+
     @Override
     public MessageHandler create(ProcessEngineConfigurationImpl configuration) {
-        return new JobMessageHandler(configuration);
+        return new JobMessageHandler(configuration, jobExecutionStage);
     }
     
 }
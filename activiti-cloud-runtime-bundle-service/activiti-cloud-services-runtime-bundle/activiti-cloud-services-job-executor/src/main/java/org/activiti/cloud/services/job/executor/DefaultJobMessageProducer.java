@@ -15,6 +15,11 @@
  */
 package org.activiti.cloud.services.job.executor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,13 +41,25 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
     private final BinderAwareChannelResolver resolver;
     private final ApplicationEventPublisher eventPublisher;
     private final JobMessageBuilderFactory jobMessageBuilderFactory;
+    private final JobMessageProducerProperties properties;
 
     public DefaultJobMessageProducer(BinderAwareChannelResolver resolver,
                                      ApplicationEventPublisher eventPublisher,
                                      JobMessageBuilderFactory jobMessageBuilderFactory) {
+        this(resolver,
+             eventPublisher,
+             jobMessageBuilderFactory,
+             new JobMessageProducerProperties());
+    }
+
+    public DefaultJobMessageProducer(BinderAwareChannelResolver resolver,
+                                     ApplicationEventPublisher eventPublisher,
+                                     JobMessageBuilderFactory jobMessageBuilderFactory,
+                                     JobMessageProducerProperties properties) {
         this.resolver = resolver;
         this.eventPublisher = eventPublisher;
         this.jobMessageBuilderFactory = jobMessageBuilderFactory;
+        this.properties = properties;
     }
 
     @Override
@@ -54,10 +71,12 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
         Assert.hasLength(job.getId(), "job id must not be empty");
         Assert.hasLength(destination, "destination must not be empty");
         
-        Message<String> message = jobMessageBuilderFactory.create(job)
-                                                          .withPayload(job.getId())
-                                                          .setHeader(ROUTING_KEY, destination)
-                                                          .build();
+        if (properties.isBatchEnabled()) {
+            getJobMessageBatch(destination).add(job);
+            return;
+        }
+
+        Message<String> message = buildJobMessage(destination, job);
         
         // Let's try to resolve message channel while inside main Activiti transaction to minimize infrastructure errors 
         MessageChannel messageChannel = resolver.resolveDestination(destination);
@@ -66,6 +85,104 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
         TransactionSynchronizationManager.registerSynchronization(new JobMessageTransactionSynchronization(message, 
                                                                                                            messageChannel));
     }
+
+    protected Message<String> buildJobMessage(String destination, Job job) {
+        return jobMessageBuilderFactory.create(job)
+                                       .withPayload(job.getId())
+                                       .setHeader(ROUTING_KEY, destination)
+                                       .build();
+    }
+
+    protected Message<String> buildJobBatchMessage(String destination, List<String> jobIds) {
+        return jobMessageBuilderFactory.createBatch()
+                                       .withPayload(String.join(JobMessageHeaders.JOB_ID_DELIMITER, jobIds))
+                                       .setHeader(ROUTING_KEY, destination)
+                                       .setHeader(JobMessageHeaders.JOB_BATCH_SIZE, jobIds.size())
+                                       .build();
+    }
+
+    protected void send(Message<String> message, MessageChannel messageChannel) {
+        logger.debug("Sending job message '{}' via message channel: {}", message, messageChannel);
+        
+        try { 
+            boolean sent = messageChannel.send(message);
+            
+            if(!sent) {
+                throw new MessageDispatchingException(message);
+            }
+
+            eventPublisher.publishEvent(new JobMessageSentEvent(message, messageChannel));
+            
+        } catch(Exception cause) {
+            logger.error("Sending job message {} failed due to error: {}", message, cause.getMessage());
+
+            eventPublisher.publishEvent(new JobMessageFailedEvent(message, cause, messageChannel));
+        }
+    }
+
+    /**
+     * Returns the batch collecting the jobs sent to the destination by the current transaction, registering
+     * a single transaction synchronization per destination the first time it is used. 
+     */
+    @SuppressWarnings("unchecked")
+    private JobMessageBatchTransactionSynchronization getJobMessageBatch(String destination) {
+        Map<String, JobMessageBatchTransactionSynchronization> batches = 
+                (Map<String, JobMessageBatchTransactionSynchronization>) TransactionSynchronizationManager.getResource(this);
+        
+        if (batches == null) {
+            batches = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, batches);
+        }
+        
+        return batches.computeIfAbsent(destination, key -> {
+            // Let's try to resolve message channel while inside main Activiti transaction to minimize infrastructure errors 
+            JobMessageBatchTransactionSynchronization batch = new JobMessageBatchTransactionSynchronization(key,
+                                                                                                            resolver.resolveDestination(key));
+            TransactionSynchronizationManager.registerSynchronization(batch);
+            return batch;
+        });
+    }
+
+    class JobMessageBatchTransactionSynchronization implements TransactionSynchronization {
+
+        private final String destination;
+        private final MessageChannel messageChannel;
+        private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+        public JobMessageBatchTransactionSynchronization(String destination, MessageChannel messageChannel) {
+            this.destination = destination;
+            this.messageChannel = messageChannel;
+        }
+
+        public void add(Job job) {
+            jobs.putIfAbsent(job.getId(), job);
+        }
+
+        @Override
+        public void afterCommit() {
+            List<Job> pending = new ArrayList<>(jobs.values());
+            int maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+
+            for (int from = 0; from < pending.size(); from += maxBatchSize) {
+                List<Job> chunk = pending.subList(from, Math.min(from + maxBatchSize, pending.size()));
+                
+                if (chunk.size() == 1) {
+                    // A single job keeps the plain job message format with all the job headers
+                    send(buildJobMessage(destination, chunk.get(0)), messageChannel);
+                } else {
+                    List<String> jobIds = new ArrayList<>(chunk.size());
+                    chunk.forEach(job -> jobIds.add(job.getId()));
+                    
+                    send(buildJobBatchMessage(destination, jobIds), messageChannel);
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DefaultJobMessageProducer.this);
+        }
+    }
     
     class JobMessageTransactionSynchronization implements TransactionSynchronization {
 
@@ -79,22 +196,7 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
 
         @Override
         public void afterCommit() {
-            logger.debug("Sending job message '{}' via message channel: {}", message, messageChannel);
-            
-            try { 
-                boolean sent = messageChannel.send(message);
-                
-                if(!sent) {
-                    throw new MessageDispatchingException(message);
-                }
-
-                eventPublisher.publishEvent(new JobMessageSentEvent(message, messageChannel));
-                
-            } catch(Exception cause) {
-                logger.error("Sending job message {} failed due to error: {}", message, cause.getMessage());
-
-                eventPublisher.publishEvent(new JobMessageFailedEvent(message, cause, messageChannel));
-            }
+            send(message, messageChannel);
         }
     }
 }
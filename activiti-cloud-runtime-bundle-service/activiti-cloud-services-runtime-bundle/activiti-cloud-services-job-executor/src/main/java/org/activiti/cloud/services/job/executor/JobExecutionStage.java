@@ -0,0 +1,364 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.activiti.engine.ActivitiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Executes consumed jobs on a fixed pool of workers behind the job message handler.
+ * <p>
+ * Jobs are queued per partition key (the process definition id) and workers take them round robin
+ * across partitions, so a burst of jobs of one definition does not starve the others. The number of
+ * jobs accepted and not completed yet is bounded by the prefetch window: once it is full the
+ * listener thread blocks, which in turn stops the binder from consuming more messages.
+ * <p>
+ * A job message is acknowledged once its jobs are queued, not once they are executed, so the stage
+ * drains itself when the runtime bundle stops: it is stopped right after the job message consumer is
+ * unbound, waits up to the shutdown timeout for the accepted jobs to complete, and hands the jobs still
+ * queued by then back, which sends their job messages again for another runtime bundle instance.
+ */
+public class JobExecutionStage implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobExecutionStage.class);
+
+    private static final String DEFAULT_PARTITION_KEY = "";
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Map<String, Deque<JobExecution>> partitions = new HashMap<>();
+    private final Deque<String> readyPartitions = new ArrayDeque<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final int capacity;
+    private final Semaphore window;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter failures;
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    public JobExecutionStage(JobExecutionStageProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.capacity = Math.max(1, properties.getPrefetch());
+        this.window = new Semaphore(capacity);
+        this.offerTimeout = properties.getOfferTimeout();
+        this.shutdownTimeout = properties.getShutdownTimeout();
+
+        Gauge.builder("runtime.bundle.job.executor.queue.size", queueSize, AtomicInteger::get)
+             .register(meterRegistry);
+        this.waitTimer = Timer.builder("runtime.bundle.job.executor.wait")
+                              .register(meterRegistry);
+        this.runTimer = Timer.builder("runtime.bundle.job.executor.run")
+                             .register(meterRegistry);
+        this.failures = Counter.builder("runtime.bundle.job.executor.failures")
+                               .register(meterRegistry);
+
+        for (int index = 0; index < Math.max(1, properties.getPoolSize()); index++) {
+            Thread worker = new Thread(this::run, "job-executor-" + index);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues the executions of the jobs of a message, waiting for room in the prefetch window if needed.
+     * <p>
+     * Room is reserved for all the jobs at once, so a message is either fully queued or rejected and
+     * redelivered without any of its jobs being queued. Jobs already queued or executing on this stage,
+     * as happens when a message is redelivered, are skipped.
+     *
+     * @throws ActivitiException if the window stays full for longer than the offer timeout
+     */
+    public void submit(List<Submission> submissions) {
+        if (!accepting) {
+            throw new ActivitiException("Job execution stage is shut down");
+        }
+        List<Submission> accepted = new ArrayList<>(submissions.size());
+        for (Submission submission : submissions) {
+            if (inFlight.add(submission.jobId)) {
+                accepted.add(submission);
+            } else {
+                logger.debug("Job {} is already queued or executing, skipping it", submission.jobId);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // a message larger than the whole window only waits for the window to be free
+        int permits = Math.min(accepted.size(), capacity);
+        try {
+            if (!window.tryAcquire(permits, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                accepted.forEach(submission -> inFlight.remove(submission.jobId));
+                throw new ActivitiException("Job execution stage is full, unable to queue " + accepted.size() + " jobs within " + offerTimeout);
+            }
+        } catch (InterruptedException e) {
+            accepted.forEach(submission -> inFlight.remove(submission.jobId));
+            Thread.currentThread().interrupt();
+            throw new ActivitiException("Interrupted while queuing jobs on job execution stage", e);
+        }
+
+        long queuedAt = System.nanoTime();
+        lock.lock();
+        try {
+            for (int index = 0; index < accepted.size(); index++) {
+                Submission submission = accepted.get(index);
+                String key = submission.partitionKey != null ? submission.partitionKey : DEFAULT_PARTITION_KEY;
+                Deque<JobExecution> partition = partitions.get(key);
+                if (partition == null) {
+                    partition = new ArrayDeque<>();
+                    partitions.put(key, partition);
+                    readyPartitions.addLast(key);
+                }
+                partition.addLast(new JobExecution(submission,
+                                                   queuedAt,
+                                                   index < permits));
+                queueSize.incrementAndGet();
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    @Override
+    public void start() {
+        accepting = running;
+    }
+
+    /**
+     * Stops accepting jobs and waits up to the shutdown timeout for the accepted ones to complete,
+     * then hands the jobs still queued back.
+     */
+    @Override
+    public void stop() {
+        accepting = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        lock.lock();
+        try {
+            while (!inFlight.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                drained.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        handBackQueuedJobs();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    /**
+     * Stops right after the job message consumer, which runs in the default phase, is unbound, and before
+     * the output bindings that the executed and handed back jobs send their messages to.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1;
+    }
+
+    public void shutdown() {
+        accepting = false;
+        handBackQueuedJobs();
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void handBackQueuedJobs() {
+        List<JobExecution> queued = new ArrayList<>();
+        lock.lock();
+        try {
+            for (String key : readyPartitions) {
+                queued.addAll(partitions.get(key));
+            }
+            partitions.clear();
+            readyPartitions.clear();
+            queueSize.set(0);
+        } finally {
+            lock.unlock();
+        }
+        if (queued.isEmpty()) {
+            return;
+        }
+        logger.warn("Handing {} queued jobs back on job execution stage shutdown", queued.size());
+        for (JobExecution execution : queued) {
+            try {
+                execution.submission.handBack.run();
+            } catch (Exception cause) {
+                logger.error("Exception '{}' when handing job {} back on job execution stage shutdown", cause.getMessage(), execution.submission.jobId, cause);
+            } finally {
+                release(execution);
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            JobExecution execution;
+            try {
+                execution = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (execution != null) {
+                execute(execution);
+            }
+        }
+    }
+
+    private JobExecution take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && readyPartitions.isEmpty()) {
+                notEmpty.await();
+            }
+            if (!running) {
+                return null;
+            }
+            String key = readyPartitions.pollFirst();
+            Deque<JobExecution> partition = partitions.get(key);
+            JobExecution execution = partition.pollFirst();
+            if (partition.isEmpty()) {
+                partitions.remove(key);
+            } else {
+                readyPartitions.addLast(key);
+            }
+            queueSize.decrementAndGet();
+            return execution;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void execute(JobExecution execution) {
+        try {
+            waitTimer.record(System.nanoTime() - execution.queuedAt, TimeUnit.NANOSECONDS);
+            runTimer.record(execution.submission.runnable);
+        } catch (Exception cause) {
+            logger.error("Exception '{}' when executing job {} on job execution stage", cause.getMessage(), execution.submission.jobId, cause);
+            failures.increment();
+        } finally {
+            release(execution);
+        }
+    }
+
+    private void release(JobExecution execution) {
+        inFlight.remove(execution.submission.jobId);
+        if (execution.holdsPermit) {
+            window.release();
+        }
+        if (inFlight.isEmpty()) {
+            lock.lock();
+            try {
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Execution of a single job, queued per partition key, and how to hand the job back if the stage
+     * shuts down before executing it.
+     */
+    public static class Submission {
+
+        private final String jobId;
+        private final String partitionKey;
+        private final Runnable runnable;
+        private final Runnable handBack;
+
+        public Submission(String jobId,
+                          String partitionKey,
+                          Runnable runnable) {
+            this(jobId,
+                 partitionKey,
+                 runnable,
+                 () -> logger.warn("Job {} was not executed before job execution stage shutdown", jobId));
+        }
+
+        public Submission(String jobId,
+                          String partitionKey,
+                          Runnable runnable,
+                          Runnable handBack) {
+            this.jobId = jobId;
+            this.partitionKey = partitionKey;
+            this.runnable = runnable;
+            this.handBack = handBack;
+        }
+    }
+
+    private static class JobExecution {
+
+        private final Submission submission;
+        private final long queuedAt;
+        private final boolean holdsPermit;
+
+        private JobExecution(Submission submission,
+                             long queuedAt,
+                             boolean holdsPermit) {
+            this.submission = submission;
+            this.queuedAt = queuedAt;
+            this.holdsPermit = holdsPermit;
+        }
+    }
+}
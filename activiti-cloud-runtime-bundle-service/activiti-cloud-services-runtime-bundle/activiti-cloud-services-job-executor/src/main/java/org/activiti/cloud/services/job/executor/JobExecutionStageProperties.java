@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(JobExecutionStageProperties.PREFIX)
+public class JobExecutionStageProperties {
+
+    public static final String PREFIX = "spring.activiti.cloud.rb.job-executor.message-job-executor";
+
+    /**
+     * Execute consumed jobs on a dedicated worker pool instead of the message listener thread
+     */
+    private boolean enabled;
+
+    /**
+     * Number of worker threads executing jobs
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * Maximum number of jobs accepted from the broker and not completed yet, queued or running
+     */
+    private int prefetch = 64;
+
+    /**
+     * Maximum time the listener waits for room in the prefetch window before rejecting the message
+     */
+    private Duration offerTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum time the runtime bundle waits on shutdown for the accepted jobs to complete before handing the
+     * jobs still queued back to the broker
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public void setPrefetch(int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -22,14 +22,18 @@ import org.activiti.engine.runtime.Job;
 
 public class JobMessageBuilderFactory {
 
-    private final RuntimeBundleProperties properties;
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public JobMessageBuilderFactory(RuntimeBundleProperties properties) {
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     public MessageBuilderAppenderChain create(Job job) {
-        return new MessageBuilderAppenderChain().chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
+        return new MessageBuilderAppenderChain().chain(runtimeBundleInfoAppender)
                                                 .chain(new JobMessageBuilderAppender(job));
     }
+
+    public MessageBuilderAppenderChain createBatch() {
+        return new MessageBuilderAppenderChain().chain(runtimeBundleInfoAppender);
+    }
 }
@@ -15,12 +15,23 @@
  */
 package org.activiti.cloud.services.job.executor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ManagementService;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.NativeJobQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -32,9 +43,20 @@ public class JobMessageHandler  implements MessageHandler {
     private static final Logger logger = LoggerFactory.getLogger(JobMessageHandler.class);
 
     private final ProcessEngineConfigurationImpl processEngineConfiguration;
+    private final JobExecutionStage jobExecutionStage;
 
     public JobMessageHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        this(processEngineConfiguration, null);
+    }
+
+    /**
+     * @param jobExecutionStage if not null, jobs are fetched on the listener thread and executed
+     * on the stage workers, otherwise they are executed on the listener thread
+     */
+    public JobMessageHandler(ProcessEngineConfigurationImpl processEngineConfiguration,
+                             JobExecutionStage jobExecutionStage) {
         this.processEngineConfiguration = processEngineConfiguration;
+        this.jobExecutionStage = jobExecutionStage;
     }
 
     @Override
@@ -43,20 +65,12 @@ public class JobMessageHandler  implements MessageHandler {
 
         try {
 
-            String jobId = new String((byte[]) message.getPayload());
-
-            logger.info("Received job message with id: " + jobId);
-            
-            JobEntity job = findJobById(jobId);
-
-            if(job != null) {
-                logger.debug("Found existing job: {}", job);
-
-                executeJob(job);
+            String payload = new String((byte[]) message.getPayload());
 
-                logger.debug("Job executed: {}", job);
+            if (message.getHeaders().containsKey(JobMessageHeaders.JOB_BATCH_SIZE)) {
+                handleJobs(Arrays.asList(payload.split(JobMessageHeaders.JOB_ID_DELIMITER)));
             } else {
-                logger.info("Job " + jobId + " does not exist. Job message has been dropped.");
+                handleJob(payload);
             }
 
         } catch (Exception cause) {
@@ -65,6 +79,61 @@ public class JobMessageHandler  implements MessageHandler {
             throw new ActivitiException("Exception when handling message from job queue", cause);
         }
     }
+
+    protected void handleJob(String jobId) {
+        logger.info("Received job message with id: " + jobId);
+        
+        JobEntity job = findJobById(jobId);
+
+        if(job != null) {
+            executeExistingJobs(Collections.singletonList(job));
+        } else {
+            logger.info("Job " + jobId + " does not exist. Job message has been dropped.");
+        }
+    }
+
+    protected void handleJobs(List<String> jobIds) {
+        logger.info("Received batched job message with ids: " + jobIds);
+
+        Map<String, JobEntity> jobs = findJobsByIds(jobIds);
+
+        // Let's execute the jobs in the order they were created by the producer transaction
+        List<JobEntity> existingJobs = new ArrayList<>(jobs.size());
+        for (String jobId : jobIds) {
+            JobEntity job = jobs.get(jobId);
+
+            if(job != null) {
+                existingJobs.add(job);
+            } else {
+                logger.info("Job " + jobId + " does not exist. Job has been dropped from batched job message.");
+            }
+        }
+        executeExistingJobs(existingJobs);
+    }
+
+    private void executeExistingJobs(List<JobEntity> jobs) {
+        logger.debug("Found existing jobs: {}", jobs);
+
+        if (jobExecutionStage != null) {
+            // the jobs of a message are queued all together or not at all
+            jobExecutionStage.submit(jobs.stream()
+                                         .map(job -> new JobExecutionStage.Submission(job.getId(),
+                                                                                      job.getProcessDefinitionId(),
+                                                                                      () -> {
+                                                                                          executeJob(job);
+
+                                                                                          logger.debug("Job executed: {}", job);
+                                                                                      },
+                                                                                      () -> handBackJob(job)))
+                                         .collect(Collectors.toList()));
+        } else {
+            for (JobEntity job : jobs) {
+                executeJob(job);
+
+                logger.debug("Job executed: {}", job);
+            }
+        }
+    }
     
     public JobEntity findJobById(String jobId) {
         return processEngineConfiguration.getCommandExecutor()
@@ -76,6 +145,50 @@ public class JobMessageHandler  implements MessageHandler {
                                          });
     }
     
+    /**
+     * Fetches all the jobs of a batched job message with a single query.
+     * Jobs that no longer exist are simply missing from the returned map.
+     */
+    public Map<String, JobEntity> findJobsByIds(List<String> jobIds) {
+        ManagementService managementService = processEngineConfiguration.getManagementService();
+
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ").append(managementService.getTableName(JobEntity.class))
+                                                                  .append(" RES WHERE RES.ID_ IN (");
+        for (int index = 0; index < jobIds.size(); index++) {
+            sql.append(index == 0 ? "" : ", ").append("#{jobId").append(index).append("}");
+        }
+        sql.append(")");
+
+        NativeJobQuery query = managementService.createNativeJobQuery()
+                                                .sql(sql.toString());
+        for (int index = 0; index < jobIds.size(); index++) {
+            query.parameter("jobId" + index, jobIds.get(index));
+        }
+
+        Map<String, JobEntity> jobs = new HashMap<>();
+        for (Job job : query.list()) {
+            jobs.put(job.getId(), (JobEntity) job);
+        }
+        return jobs;
+    }
+    
+    /**
+     * Sends the message of a job accepted but not executed yet again, so that it is not lost
+     * when the runtime bundle stops.
+     */
+    public void handBackJob(JobEntity job) {
+        logger.info("Handing job " + job.getId() + " back to the job queue");
+
+        processEngineConfiguration.getCommandExecutor()
+                                  .execute(new Command<Void>() {
+                                      @Override
+                                      public Void execute(CommandContext commandContext) {
+                                          processEngineConfiguration.getJobManager().unacquire(job);
+                                          return null;
+                                      }
+                                  });
+    }
+
     public void executeJob(JobEntity job) {
         ExecuteAsyncRunnable executeAsyncRunnable = new ExecuteAsyncRunnable(job, 
                                                                              processEngineConfiguration);
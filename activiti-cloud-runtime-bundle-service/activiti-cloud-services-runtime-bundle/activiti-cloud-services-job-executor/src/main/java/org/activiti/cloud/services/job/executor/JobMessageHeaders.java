@@ -33,5 +33,11 @@ public final class JobMessageHeaders {
     public static final String JOB_EXCEPTION_MESSAGE = "jobExceptionMessage";
     public static final String JOB_HANDLER_TYPE = "jobHandlerType";
     public static final String JOB_HANDLER_CONFIGURATION = "jobHandlerConfiguration";
+    public static final String JOB_BATCH_SIZE = "jobBatchSize";
+
+    /**
+     * Separates the job ids carried in the payload of a batched job message
+     */
+    public static final String JOB_ID_DELIMITER = ",";
 
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(JobMessageProducerProperties.PREFIX)
+public class JobMessageProducerProperties {
+
+    public static final String PREFIX = "spring.activiti.cloud.rb.job-executor.message-job-producer";
+
+    /**
+     * Coalesce the job messages of a transaction into batched messages carrying the list of job ids.
+     * Runtime bundles that predate batched job messages read the list as a single unknown job id and
+     * drop the message, so only enable it once every runtime bundle consuming the job destination has
+     * been upgraded, and disable it before rolling any of them back
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * Maximum number of job ids carried by a single batched job message
+     */
+    private int maxBatchSize = 100;
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
@@ -15,11 +15,15 @@
  */
 package org.activiti.cloud.services.job.executor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.binder.ConsumerProperties;
 import org.springframework.cloud.stream.binding.BinderAwareChannelResolver;
 import org.springframework.cloud.stream.binding.BindingService;
@@ -31,6 +35,7 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ConditionalOnProperty(name = "spring.activiti.asyncExecutorActivate", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties({JobMessageProducerProperties.class, JobExecutionStageProperties.class})
 public class MessageBasedJobManagerAutoConfiguration {
     
     @Bean
@@ -65,16 +70,27 @@ public class MessageBasedJobManagerAutoConfiguration {
     @ConditionalOnMissingBean
     public JobMessageProducer jobMessageProducer(BinderAwareChannelResolver resolver,
                                                  ApplicationEventPublisher eventPublisher,
-                                                 JobMessageBuilderFactory jobMessageBuilderFactory) {
+                                                 JobMessageBuilderFactory jobMessageBuilderFactory,
+                                                 JobMessageProducerProperties jobMessageProducerProperties) {
         return new DefaultJobMessageProducer(resolver,
                                              eventPublisher,
-                                             jobMessageBuilderFactory);
+                                             jobMessageBuilderFactory,
+                                             jobMessageProducerProperties);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public JobMessageHandlerFactory jobMessageHandlerFactory() {
-        return new DefaultJobMessageHandlerFactory();
+    @ConditionalOnProperty(prefix = JobExecutionStageProperties.PREFIX, name = "enabled", havingValue = "true")
+    public JobExecutionStage jobExecutionStage(JobExecutionStageProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JobExecutionStage(properties,
+                                     meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JobMessageHandlerFactory jobMessageHandlerFactory(ObjectProvider<JobExecutionStage> jobExecutionStage) {
+        return new DefaultJobMessageHandlerFactory(jobExecutionStage.getIfAvailable());
     }
     
     @Bean
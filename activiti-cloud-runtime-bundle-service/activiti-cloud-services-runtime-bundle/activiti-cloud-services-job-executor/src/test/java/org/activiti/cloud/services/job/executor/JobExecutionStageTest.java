@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.activiti.engine.ActivitiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class JobExecutionStageTest {
+
+    private JobExecutionStage stage;
+
+    @AfterEach
+    public void tearDown() {
+        stage.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteJobsRoundRobinAcrossProcessDefinitions() throws Exception {
+        //given
+        stage = new JobExecutionStage(properties(1, 16),
+                                      new SimpleMeterRegistry());
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(4);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        // keep the single worker busy until all the jobs are queued
+        submit("blocker", () -> awaitQuietly(blocked));
+        submit("a", () -> execute(executed, "a1", completed));
+        submit("a", () -> execute(executed, "a2", completed));
+        submit("a", () -> execute(executed, "a3", completed));
+        submit("b", () -> execute(executed, "b1", completed));
+
+        //when
+        blocked.countDown();
+
+        //then
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly("a1", "b1", "a2", "a3");
+        assertThat(stage.getQueueSize()).isZero();
+    }
+
+    @Test
+    public void shouldRejectJobsWhenPrefetchWindowIsFull() throws Exception {
+        //given
+        stage = new JobExecutionStage(properties(1, 1),
+                                      new SimpleMeterRegistry());
+        CountDownLatch blocked = new CountDownLatch(1);
+        submit("a", () -> awaitQuietly(blocked));
+
+        //then
+        assertThatExceptionOfType(ActivitiException.class)
+                .isThrownBy(() -> submit("b", () -> { }))
+                .withMessageContaining("is full");
+
+        blocked.countDown();
+    }
+
+    @Test
+    public void shouldKeepExecutingJobsAfterFailure() throws Exception {
+        //given
+        stage = new JobExecutionStage(properties(1, 4),
+                                      new SimpleMeterRegistry());
+        CountDownLatch executed = new CountDownLatch(1);
+
+        //when
+        submit("a", () -> { throw new ActivitiException("boom"); });
+        submit("a", executed::countDown);
+
+        //then
+        assertThat(executed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectAllTheJobsOfAMessageWhenThePrefetchWindowCannotHoldThemAll() throws Exception {
+        //given
+        stage = new JobExecutionStage(properties(1, 2),
+                                      new SimpleMeterRegistry());
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        submit("a", () -> awaitQuietly(blocked));
+
+        //when
+        assertThatExceptionOfType(ActivitiException.class)
+                .isThrownBy(() -> stage.submit(Arrays.asList(new JobExecutionStage.Submission("b1", "b", () -> executed.add("b1")),
+                                                             new JobExecutionStage.Submission("b2", "b", () -> executed.add("b2")))))
+                .withMessageContaining("is full");
+        blocked.countDown();
+
+        //then
+        CountDownLatch completed = new CountDownLatch(1);
+        stage.submit(Arrays.asList(new JobExecutionStage.Submission("b1", "b", () -> executed.add("b1")),
+                                   new JobExecutionStage.Submission("b2", "b", () -> {
+                                       executed.add("b2");
+                                       completed.countDown();
+                                   })));
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly("b1", "b2");
+    }
+
+    @Test
+    public void shouldQueueAMessageLargerThanThePrefetchWindow() throws Exception {
+        //given
+        stage = new JobExecutionStage(properties(1, 1),
+                                      new SimpleMeterRegistry());
+        CountDownLatch completed = new CountDownLatch(3);
+
+        //when
+        stage.submit(Arrays.asList(new JobExecutionStage.Submission("a1", "a", completed::countDown),
+                                   new JobExecutionStage.Submission("a2", "a", completed::countDown),
+                                   new JobExecutionStage.Submission("a3", "a", completed::countDown)));
+
+        //then
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        submit("a", () -> { });
+    }
+
+    @Test
+    public void shouldSkipJobsAlreadyQueuedOrExecuting() throws Exception {
+        //given
+        stage = new JobExecutionStage(properties(1, 4),
+                                      new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        JobExecutionStage.Submission job = new JobExecutionStage.Submission("job",
+                                                                            "a",
+                                                                            () -> {
+                                                                                executions.incrementAndGet();
+                                                                                started.countDown();
+                                                                                awaitQuietly(blocked);
+                                                                            });
+        stage.submit(Collections.singletonList(job));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        //when the message is redelivered while the job is executing
+        stage.submit(Collections.singletonList(job));
+
+        //then
+        assertThat(stage.getQueueSize()).isZero();
+        blocked.countDown();
+        CountDownLatch executed = new CountDownLatch(1);
+        submit("a", executed::countDown);
+        assertThat(executed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    public void stopShouldWaitForTheQueuedJobsToComplete() throws Exception {
+        //given
+        JobExecutionStageProperties properties = properties(1, 4);
+        properties.setShutdownTimeout(Duration.ofSeconds(10));
+        stage = new JobExecutionStage(properties,
+                                      new SimpleMeterRegistry());
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        submit("a", () -> awaitQuietly(blocked));
+        submit("a", () -> executed.add("a1"));
+        submit("b", () -> executed.add("b1"));
+
+        //when
+        blocked.countDown();
+        stage.stop();
+
+        //then
+        assertThat(executed).containsExactlyInAnyOrder("a1", "b1");
+        assertThat(stage.isRunning()).isFalse();
+        assertThatExceptionOfType(ActivitiException.class)
+                .isThrownBy(() -> submit("a", () -> { }))
+                .withMessageContaining("shut down");
+    }
+
+    @Test
+    public void stopShouldHandBackTheJobsStillQueuedAfterTheShutdownTimeout() throws Exception {
+        //given
+        JobExecutionStageProperties properties = properties(1, 4);
+        properties.setShutdownTimeout(Duration.ofMillis(100));
+        stage = new JobExecutionStage(properties,
+                                      new SimpleMeterRegistry());
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        List<String> handedBack = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        submit("a", () -> {
+            started.countDown();
+            awaitQuietly(blocked);
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        stage.submit(Arrays.asList(new JobExecutionStage.Submission("a1", "a", () -> executed.add("a1"), () -> handedBack.add("a1")),
+                                   new JobExecutionStage.Submission("b1", "b", () -> executed.add("b1"), () -> handedBack.add("b1"))));
+
+        //when
+        stage.stop();
+        blocked.countDown();
+
+        //then
+        assertThat(handedBack).containsExactlyInAnyOrder("a1", "b1");
+        assertThat(executed).isEmpty();
+        assertThat(stage.getQueueSize()).isZero();
+    }
+
+    private void submit(String partitionKey, Runnable execution) {
+        stage.submit(Collections.singletonList(new JobExecutionStage.Submission(UUID.randomUUID().toString(),
+                                                                                partitionKey,
+                                                                                execution)));
+    }
+
+    private JobExecutionStageProperties properties(int poolSize, int prefetch) {
+        JobExecutionStageProperties properties = new JobExecutionStageProperties();
+        properties.setPoolSize(poolSize);
+        properties.setPrefetch(prefetch);
+        properties.setOfferTimeout(Duration.ofMillis(100));
+        return properties;
+    }
+
+    private void execute(List<String> executed, String job, CountDownLatch completed) {
+        executed.add(job);
+        completed.countDown();
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
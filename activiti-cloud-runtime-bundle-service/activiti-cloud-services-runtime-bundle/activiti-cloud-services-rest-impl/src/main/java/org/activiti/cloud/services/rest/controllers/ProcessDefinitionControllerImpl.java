@@ -30,6 +30,8 @@
 
 package org.activiti.cloud.services.rest.controllers;
 
+import static java.util.Collections.emptyList;
+
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.activiti.api.process.model.ProcessDefinition;
 import org.activiti.api.process.runtime.ProcessRuntime;
@@ -39,6 +41,7 @@ import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.process.model.CloudProcessDefinition;
 import org.activiti.cloud.services.core.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.core.pageable.SpringPageConverter;
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
 import org.activiti.cloud.services.rest.api.ProcessDefinitionController;
 import org.activiti.cloud.services.rest.assemblers.ProcessDefinitionRepresentationModelAssembler;
 import org.activiti.editor.language.json.converter.BpmnJsonConverter;
@@ -71,19 +74,23 @@ public class ProcessDefinitionControllerImpl implements ProcessDefinitionControl
 
     private final SpringPageConverter pageConverter;
 
+    private final ProcessDiagramCache processDiagramCache;
+
     @Autowired
     public ProcessDefinitionControllerImpl(RepositoryService repositoryService,
                                            ProcessDiagramGeneratorWrapper processDiagramGenerator,
                                            ProcessDefinitionRepresentationModelAssembler representationModelAssembler,
                                            ProcessRuntime processRuntime,
                                            AlfrescoPagedModelAssembler<ProcessDefinition> pagedCollectionModelAssembler,
-                                           SpringPageConverter pageConverter) {
+                                           SpringPageConverter pageConverter,
+                                           ProcessDiagramCache processDiagramCache) {
         this.repositoryService = repositoryService;
         this.processDiagramGenerator = processDiagramGenerator;
         this.representationModelAssembler = representationModelAssembler;
         this.processRuntime = processRuntime;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.pageConverter = pageConverter;
+        this.processDiagramCache = processDiagramCache;
     }
 
     @Override
@@ -131,8 +138,10 @@ public class ProcessDefinitionControllerImpl implements ProcessDefinitionControl
     public String getProcessDiagram(@PathVariable String id) {
         checkUserCanReadProcessDefinition(id);
 
-        BpmnModel bpmnModel = repositoryService.getBpmnModel(id);
-        return new String(processDiagramGenerator.generateDiagram(bpmnModel),
-                          StandardCharsets.UTF_8);
+        return processDiagramCache.getDiagram(id,
+                                              emptyList(),
+                                              emptyList(),
+                                              () -> new String(processDiagramGenerator.generateDiagram(repositoryService.getBpmnModel(id)),
+                                                               StandardCharsets.UTF_8));
     }
 }
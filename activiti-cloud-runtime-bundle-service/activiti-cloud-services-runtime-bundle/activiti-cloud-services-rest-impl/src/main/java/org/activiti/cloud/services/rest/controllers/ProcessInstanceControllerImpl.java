@@ -33,6 +33,7 @@ package org.activiti.cloud.services.rest.controllers;
 import static java.util.Collections.emptyList;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.activiti.api.process.model.ProcessInstance;
 import org.activiti.api.process.model.builders.ProcessPayloadBuilder;
@@ -50,6 +51,7 @@ import org.activiti.cloud.api.process.model.CloudProcessInstance;
 import org.activiti.cloud.services.core.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.core.ProcessVariablesPayloadConverter;
 import org.activiti.cloud.services.core.pageable.SpringPageConverter;
+import org.activiti.cloud.services.diagram.ProcessDiagramCache;
 import org.activiti.cloud.services.rest.api.ProcessInstanceController;
 import org.activiti.cloud.services.rest.assemblers.ProcessInstanceRepresentationModelAssembler;
 import org.activiti.engine.RepositoryService;
@@ -70,6 +72,8 @@ public class ProcessInstanceControllerImpl implements ProcessInstanceController
 
     private final ProcessDiagramGeneratorWrapper processDiagramGenerator;
 
+    private final ProcessDiagramCache processDiagramCache;
+
     private final ProcessInstanceRepresentationModelAssembler representationModelAssembler;
 
     private final AlfrescoPagedModelAssembler<ProcessInstance> pagedCollectionModelAssembler;
@@ -87,7 +91,8 @@ public class ProcessInstanceControllerImpl implements ProcessInstanceController
                                          AlfrescoPagedModelAssembler<ProcessInstance> pagedCollectionModelAssembler,
                                          ProcessRuntime processRuntime,
                                          SpringPageConverter pageConverter,
-                                         ProcessVariablesPayloadConverter variablesPayloadConverter) {
+                                         ProcessVariablesPayloadConverter variablesPayloadConverter,
+                                         ProcessDiagramCache processDiagramCache) {
         this.repositoryService = repositoryService;
         this.processDiagramGenerator = processDiagramGenerator;
         this.representationModelAssembler = representationModelAssembler;
@@ -95,6 +100,7 @@ public class ProcessInstanceControllerImpl implements ProcessInstanceController
         this.processRuntime = processRuntime;
         this.pageConverter = pageConverter;
         this.variablesPayloadConverter = variablesPayloadConverter;
+        this.processDiagramCache = processDiagramCache;
     }
 
     @Override
@@ -135,13 +141,20 @@ public class ProcessInstanceControllerImpl implements ProcessInstanceController
     @Override
     public String getProcessDiagram(@PathVariable String processInstanceId) {
         ProcessInstance processInstance = processRuntime.processInstance(processInstanceId);
-
-        BpmnModel bpmnModel = repositoryService.getBpmnModel(processInstance.getProcessDefinitionId());
-        return new String(processDiagramGenerator.generateDiagram(bpmnModel,
-                                                                  processRuntime.processInstanceMeta(processInstance.getId())
-                                                                                .getActiveActivitiesIds(),
-                                                                  emptyList()),
-                          StandardCharsets.UTF_8);
+        String processDefinitionId = processInstance.getProcessDefinitionId();
+        List<String> activeActivitiesIds = processRuntime.processInstanceMeta(processInstance.getId())
+                                                         .getActiveActivitiesIds();
+
+        return processDiagramCache.getDiagram(processDefinitionId,
+                                              activeActivitiesIds,
+                                              emptyList(),
+                                              () -> {
+                                                  BpmnModel bpmnModel = repositoryService.getBpmnModel(processDefinitionId);
+                                                  return new String(processDiagramGenerator.generateDiagram(bpmnModel,
+                                                                                                            activeActivitiesIds,
+                                                                                                            emptyList()),
+                                                                    StandardCharsets.UTF_8);
+                                              });
     }
 
     @Override
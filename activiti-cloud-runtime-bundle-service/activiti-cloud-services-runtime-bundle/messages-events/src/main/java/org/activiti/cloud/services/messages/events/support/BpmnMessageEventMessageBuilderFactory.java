@@ -22,14 +22,14 @@ import org.activiti.cloud.services.events.message.RuntimeBundleInfoMessageBuilde
 
 public class BpmnMessageEventMessageBuilderFactory {
 
-    private final RuntimeBundleProperties properties;
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public BpmnMessageEventMessageBuilderFactory(RuntimeBundleProperties properties) {
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     public MessageBuilderAppenderChain create(BPMNMessage bpmnMessage) {
-        return new MessageBuilderAppenderChain().chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
+        return new MessageBuilderAppenderChain().chain(runtimeBundleInfoAppender)
                                                 .chain(new MessageEventPayloadMessageBuilderAppender(bpmnMessage.getMessagePayload()));
     }
 }
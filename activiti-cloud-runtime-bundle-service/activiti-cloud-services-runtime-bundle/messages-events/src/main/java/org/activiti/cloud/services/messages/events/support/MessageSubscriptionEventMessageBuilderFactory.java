@@ -22,14 +22,14 @@ import org.activiti.cloud.services.events.message.RuntimeBundleInfoMessageBuilde
 
 public class MessageSubscriptionEventMessageBuilderFactory {
 
-    private final RuntimeBundleProperties properties;
+    private final RuntimeBundleInfoMessageBuilderAppender runtimeBundleInfoAppender;
 
     public MessageSubscriptionEventMessageBuilderFactory(RuntimeBundleProperties properties) {
-        this.properties = properties;
+        this.runtimeBundleInfoAppender = new RuntimeBundleInfoMessageBuilderAppender(properties);
     }
 
     public MessageBuilderAppenderChain create(MessageSubscription messageSubscription) {
-        return new MessageBuilderAppenderChain().chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
+        return new MessageBuilderAppenderChain().chain(runtimeBundleInfoAppender)
                                                 .chain(new MessageSubscriptionMessageBuilderAppender(messageSubscription));
     }
 }
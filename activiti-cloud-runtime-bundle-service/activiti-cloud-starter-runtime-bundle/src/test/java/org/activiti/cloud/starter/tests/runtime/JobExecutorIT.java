@@ -93,7 +93,8 @@ import static org.mockito.Mockito.verify;
 @TestPropertySource("classpath:application-test.properties")
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
     "spring.activiti.asyncExecutorActivate=true",
-    "spring.activiti.cloud.rb.job-executor.message-job-consumer.max-attempts=4" // customized
+    "spring.activiti.cloud.rb.job-executor.message-job-consumer.max-attempts=4", // customized
+    "spring.activiti.cloud.rb.job-executor.message-job-producer.batch-enabled=true"
 })
 @DirtiesContext
 @ContextConfiguration(classes = {RuntimeITConfiguration.class,
@@ -672,6 +673,42 @@ public class JobExecutorIT {
 
     }
 
+    @Test
+    public void shouldBuildBatchedJobMessage() {
+        // given
+        String destination = "spyAsyncExecutorJobs";
+
+        doReturn(true).when(spyJobMessageChannel)
+            .send(any(Message.class));
+
+        // when
+        new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                jobMessageProducer.sendMessage(destination, new TestJobEntity("jobId1"));
+                jobMessageProducer.sendMessage(destination, new TestJobEntity("jobId2"));
+                jobMessageProducer.sendMessage(destination, new TestJobEntity("jobId3"));
+            }
+
+        });
+
+        // then
+        verify(spyJobMessageChannel).send(messageArgumentCaptor.capture());
+
+        Message<String> message = messageArgumentCaptor.getValue();
+
+        assertThat(message.getPayload()).as("should build job ids as payload")
+            .isEqualTo("jobId1,jobId2,jobId3");
+
+        assertThat(message.getHeaders()).as("should build batch headers")
+            .containsEntry("routingKey", destination)
+            .containsEntry(JobMessageHeaders.JOB_BATCH_SIZE, 3)
+            .containsEntry(RuntimeBundleInfoMessageHeaders.SERVICE_NAME, properties.getServiceName())
+            .doesNotContainKey(JobMessageHeaders.JOB_ID)
+        ;
+    }
+
 
     abstract class AbstractActvitiEventListener implements ActivitiEventListener {
 
@@ -19,10 +19,12 @@ import org.springframework.core.MethodParameter;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableArgumentResolver;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
 
 public class AlfrescoPageArgumentMethodResolver implements PageableArgumentResolver {
 
@@ -52,13 +54,33 @@ public class AlfrescoPageArgumentMethodResolver implements PageableArgumentResol
                                                                                       binderFactory);
 
         AlfrescoQueryParameters alfrescoQueryParameters = pageParameterParser.parseParameters(webRequest);
-        if (alfrescoQueryParameters.getSkipCountParameter().isSet() || alfrescoQueryParameters.getMaxItemsParameter().isSet()) {
+        if (alfrescoQueryParameters.getCursorParameter().isSet()) {
+            return toKeysetPageRequest(alfrescoQueryParameters,
+                                       basePageable);
+        } else if (alfrescoQueryParameters.getSkipCountParameter().isSet() || alfrescoQueryParameters.getMaxItemsParameter().isSet()
+                || alfrescoQueryParameters.getSkipTotalCountParameter().isSet()) {
 
             return new AlfrescoPageRequest(alfrescoQueryParameters.getSkipCountParameter().getValue(),
                                            alfrescoQueryParameters.getMaxItemsParameter().getValue(),
-                                           basePageable);
+                                           basePageable,
+                                           !alfrescoQueryParameters.getSkipTotalCountParameter().getValue());
         } else {
             return basePageable;
         }
     }
+
+    private KeysetPageRequest toKeysetPageRequest(AlfrescoQueryParameters alfrescoQueryParameters,
+                                                  Pageable basePageable) {
+        String cursor = alfrescoQueryParameters.getCursorParameter().getValue();
+        try {
+            return new KeysetPageRequest(cursor.isEmpty() ? null : ContinuationToken.decode(cursor),
+                                         alfrescoQueryParameters.getMaxItemsParameter().getValue(),
+                                         basePageable,
+                                         !alfrescoQueryParameters.getSkipTotalCountParameter().getValue());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              e.getMessage(),
+                                              e);
+        }
+    }
 }
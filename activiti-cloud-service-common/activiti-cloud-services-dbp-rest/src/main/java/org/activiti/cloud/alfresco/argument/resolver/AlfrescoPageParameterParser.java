@@ -26,7 +26,7 @@ public class AlfrescoPageParameterParser {
     }
 
     public AlfrescoQueryParameters parseParameters(NativeWebRequest webRequest) {
-        return new AlfrescoQueryParameters(parseSkipCount(webRequest), parseMaxItems(webRequest));
+        return new AlfrescoQueryParameters(parseSkipCount(webRequest), parseMaxItems(webRequest), parseSkipTotalCount(webRequest), parseCursor(webRequest));
     }
 
     protected MaxItemsParameter parseMaxItems(NativeWebRequest webRequest) {
@@ -51,4 +51,18 @@ public class AlfrescoPageParameterParser {
         return new SkipCountParameter(isSet, skipCount);
     }
 
+    protected SkipTotalCountParameter parseSkipTotalCount(NativeWebRequest webRequest) {
+        String skipTotalCountString = webRequest.getParameter("skipTotalCount");
+        boolean isSet = skipTotalCountString != null;
+        return new SkipTotalCountParameter(isSet, isSet && Boolean.parseBoolean(skipTotalCountString));
+    }
+
+    /**
+     * An empty cursor asks for the first page in cursor mode.
+     */
+    protected CursorParameter parseCursor(NativeWebRequest webRequest) {
+        String cursor = webRequest.getParameter("cursor");
+        return new CursorParameter(cursor != null, cursor);
+    }
+
 }
@@ -23,13 +23,35 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
 
     private final long skipCount;
     private final Pageable pageable;
+    private final boolean countTotal;
 
     public AlfrescoPageRequest(long skipCount,
                                int maxItems, Pageable pageable) {
+        this(skipCount,
+             maxItems,
+             pageable,
+             true);
+    }
+
+    /**
+     * @param countTotal when {@code false} the caller does not need the exact number of matching
+     *                   elements, so repositories may skip the count query
+     */
+    public AlfrescoPageRequest(long skipCount,
+                               int maxItems, Pageable pageable, boolean countTotal) {
         super(0,
               maxItems);
         this.skipCount = skipCount;
         this.pageable = pageable;
+        this.countTotal = countTotal;
+    }
+
+    /**
+     * Tells whether the given pageable requires the total number of elements to be computed.
+     * Only an {@link AlfrescoPageRequest} created with {@code skipTotalCount=true} opts out.
+     */
+    public static boolean isTotalCountRequired(Pageable pageable) {
+        return !(pageable instanceof AlfrescoPageRequest) || ((AlfrescoPageRequest) pageable).isCountTotal();
     }
 
     @Override
@@ -39,7 +61,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
 
     @Override
     public AlfrescoPageRequest next() {
-        return new AlfrescoPageRequest(skipCount + getPageSize(), getPageSize(), getPageable());
+        return new AlfrescoPageRequest(skipCount + getPageSize(), getPageSize(), getPageable(), countTotal);
     }
 
     @Override
@@ -71,7 +93,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
             nextPageSize = Math.toIntExact(skipCount);
         }
         return new AlfrescoPageRequest(newSkipCount,
-                                       nextPageSize, getPageable());
+                                       nextPageSize, getPageable(), countTotal);
     }
 
     @Override
@@ -79,7 +101,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         long remainder = skipCount % getPageSize();
         int pageSize = Math.toIntExact(remainder == 0 ? getPageSize() : remainder);
         return new AlfrescoPageRequest(0,
-                                       pageSize, getPageable());
+                                       pageSize, getPageable(), countTotal);
     }
 
     @Override
@@ -91,6 +113,10 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         return pageable;
     }
 
+    public boolean isCountTotal() {
+        return countTotal;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -108,6 +134,9 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         if (skipCount != that.skipCount) {
             return false;
         }
+        if (countTotal != that.countTotal) {
+            return false;
+        }
         return pageable != null ? pageable.equals(that.pageable) : that.pageable == null;
     }
 
@@ -116,6 +145,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         int result = super.hashCode();
         result = 31 * result + (int) (skipCount ^ (skipCount >>> 32));
         result = 31 * result + (pageable != null ? pageable.hashCode() : 0);
+        result = 31 * result + (countTotal ? 1 : 0);
         return result;
     }
 }
@@ -21,10 +21,36 @@ public class AlfrescoQueryParameters {
 
     private MaxItemsParameter maxItemsParameter;
 
+    private SkipTotalCountParameter skipTotalCountParameter;
+
+    private CursorParameter cursorParameter;
+
     public AlfrescoQueryParameters(SkipCountParameter skipCountParameter,
                                    MaxItemsParameter maxItemsParameter) {
+        this(skipCountParameter,
+             maxItemsParameter,
+             new SkipTotalCountParameter(false,
+                                         false));
+    }
+
+    public AlfrescoQueryParameters(SkipCountParameter skipCountParameter,
+                                   MaxItemsParameter maxItemsParameter,
+                                   SkipTotalCountParameter skipTotalCountParameter) {
+        this(skipCountParameter,
+             maxItemsParameter,
+             skipTotalCountParameter,
+             new CursorParameter(false,
+                                 null));
+    }
+
+    public AlfrescoQueryParameters(SkipCountParameter skipCountParameter,
+                                   MaxItemsParameter maxItemsParameter,
+                                   SkipTotalCountParameter skipTotalCountParameter,
+                                   CursorParameter cursorParameter) {
         this.skipCountParameter = skipCountParameter;
         this.maxItemsParameter = maxItemsParameter;
+        this.skipTotalCountParameter = skipTotalCountParameter;
+        this.cursorParameter = cursorParameter;
     }
 
     public SkipCountParameter getSkipCountParameter() {
@@ -34,4 +60,12 @@ public class AlfrescoQueryParameters {
     public MaxItemsParameter getMaxItemsParameter() {
         return maxItemsParameter;
     }
+
+    public SkipTotalCountParameter getSkipTotalCountParameter() {
+        return skipTotalCountParameter;
+    }
+
+    public CursorParameter getCursorParameter() {
+        return cursorParameter;
+    }
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+/**
+ * Opaque position of a keyset page: the sort key and the id of the last element returned so far.
+ * <p>
+ * Sort values are restricted to the types that can be compared in a query (strings, numbers,
+ * booleans, dates and enums, the latter being kept by name); use {@link #convert(Object, Class)}
+ * to turn a decoded value back into the type of the sorted property.
+ */
+public class ContinuationToken {
+
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 'N';
+    private static final byte STRING = 'S';
+    private static final byte LONG = 'L';
+    private static final byte DOUBLE = 'D';
+    private static final byte BOOLEAN = 'B';
+    private static final byte DATE = 'T';
+
+    private final String sortProperty;
+    private final Object sortValue;
+    private final Object id;
+
+    public ContinuationToken(String sortProperty,
+                             Object sortValue,
+                             Object id) {
+        this.sortProperty = sortProperty;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * Builds the token pointing after the given element.
+     * @param sortProperty the sorted property, or {@literal null} when ordering by id only
+     */
+    public static ContinuationToken after(Object element,
+                                          String sortProperty,
+                                          String idProperty) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(element);
+        return new ContinuationToken(sortProperty,
+                                     sortProperty != null ? wrapper.getPropertyValue(sortProperty) : null,
+                                     wrapper.getPropertyValue(idProperty));
+    }
+
+    public static ContinuationToken decode(String token) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (input.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            String sortProperty = input.readUTF();
+            Object sortValue = readValue(input);
+            Object id = readValue(input);
+            return new ContinuationToken(sortProperty.isEmpty() ? null : sortProperty,
+                                         sortValue,
+                                         id);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token,
+                                               e);
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            output.writeUTF(sortProperty != null ? sortProperty : "");
+            writeValue(output, sortValue);
+            writeValue(output, id);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode cursor",
+                                            e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Converts a decoded value to the given property type: integral numbers are kept as {@link Long},
+     * decimals as {@link Double} and enums by name.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Object convert(Object value,
+                                 Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (type.isEnum() && value instanceof String) {
+            return Enum.valueOf((Class<? extends Enum>) type, (String) value);
+        }
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == Integer.class || type == int.class) {
+                return number.intValue();
+            } else if (type == Long.class || type == long.class) {
+                return number.longValue();
+            } else if (type == Short.class || type == short.class) {
+                return number.shortValue();
+            } else if (type == Double.class || type == double.class) {
+                return number.doubleValue();
+            } else if (type == Float.class || type == float.class) {
+                return number.floatValue();
+            }
+        }
+        if (value instanceof Boolean && type == boolean.class) {
+            return value;
+        }
+        throw new IllegalArgumentException("Cursor value " + value + " is not compatible with " + type.getName());
+    }
+
+    private static void writeValue(DataOutputStream output,
+                                   Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            output.writeByte(LONG);
+            output.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Date) {
+            output.writeByte(DATE);
+            output.writeLong(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            output.writeByte(STRING);
+            output.writeUTF(((Enum<?>) value).name());
+        } else {
+            output.writeByte(STRING);
+            output.writeUTF(value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return input.readUTF();
+            case LONG:
+                return input.readLong();
+            case DOUBLE:
+                return input.readDouble();
+            case BOOLEAN:
+                return input.readBoolean();
+            case DATE:
+                return new Date(input.readLong());
+            default:
+                throw new IllegalArgumentException("Invalid cursor value type: " + type);
+        }
+    }
+
+    public String getSortProperty() {
+        return sortProperty;
+    }
+
+    public Object getSortValue() {
+        return sortValue;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ContinuationToken that = (ContinuationToken) o;
+        return Objects.equals(sortProperty, that.sortProperty) &&
+                Objects.equals(sortValue, that.sortValue) &&
+                Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortProperty, sortValue, id);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import java.util.Objects;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page request of the cursor (keyset) mode: instead of skipping rows, the next page starts right after
+ * the element identified by the {@link ContinuationToken}. Elements are ordered by the first sort
+ * order of the base pageable, with nulls last, and then by id so that the position is never ambiguous.
+ */
+public class KeysetPageRequest extends AlfrescoPageRequest {
+
+    private final ContinuationToken cursor;
+
+    /**
+     * @param cursor position to continue from, or {@literal null} for the first page
+     */
+    public KeysetPageRequest(ContinuationToken cursor,
+                             int maxItems,
+                             Pageable pageable,
+                             boolean countTotal) {
+        super(0,
+              maxItems,
+              pageable,
+              countTotal);
+        this.cursor = cursor;
+        if (cursor != null && !Objects.equals(cursor.getSortProperty(), getSortProperty())) {
+            throw new IllegalArgumentException("The cursor was issued for a different sort order");
+        }
+    }
+
+    public ContinuationToken getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return the keyset order, or {@literal null} when no sort was requested and elements are only ordered by id
+     */
+    public Sort.Order getSortOrder() {
+        return getPageable() == null ? null : getPageable().getSort().stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    public String getSortProperty() {
+        Sort.Order order = getSortOrder();
+        return order != null ? order.getProperty() : null;
+    }
+
+    public Sort.Direction getDirection() {
+        Sort.Order order = getSortOrder();
+        return order != null ? order.getDirection() : Sort.Direction.ASC;
+    }
+
+    /**
+     * @return the order to apply to the query: the keyset order with nulls last, then the id
+     */
+    public Sort toKeysetSort(String idProperty) {
+        Sort.Order order = getSortOrder();
+        Sort idSort = Sort.by(getDirection(),
+                              idProperty);
+        if (order == null || order.getProperty().equals(idProperty)) {
+            return idSort;
+        }
+        return Sort.by(order.nullsLast()).and(idSort);
+    }
+
+    /**
+     * @return a plain page request fetching the first page of the seek query
+     */
+    public PageRequest toSeekPageRequest(String idProperty) {
+        return PageRequest.of(0,
+                              getPageSize(),
+                              toKeysetSort(idProperty));
+    }
+
+    /**
+     * @return the encoded cursor of the page following the given one, or {@literal null} for the last page
+     */
+    public String nextCursor(Page<?> page,
+                             String idProperty) {
+        if (!page.hasNext() || !page.hasContent()) {
+            return null;
+        }
+        Object last = page.getContent().get(page.getNumberOfElements() - 1);
+        return ContinuationToken.after(last,
+                                       getSortProperty(),
+                                       idProperty)
+                .encode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        return Objects.equals(cursor, ((KeysetPageRequest) o).cursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(cursor);
+    }
+}
@@ -24,15 +24,26 @@ public class PageMetadataConverter {
     public PaginationMetadata toAlfrescoPageMetadata(PagedModel.PageMetadata basePageMetadata,
                                                      long count) {
         long skipCount = basePageMetadata.getNumber() * basePageMetadata.getSize();
+        String nextCursor = null;
+        // the page number starts from zero, so it's necessary to increment by one before comparing with total pages
+        boolean hasMoreItems = basePageMetadata.getTotalPages() > basePageMetadata.getNumber() + 1;
+        boolean totalItemsUnknown = false;
         if (basePageMetadata instanceof ExtendedPageMetadata) {
-            skipCount = ((ExtendedPageMetadata) basePageMetadata).getSkipCount();
+            ExtendedPageMetadata extendedPageMetadata = (ExtendedPageMetadata) basePageMetadata;
+            skipCount = extendedPageMetadata.getSkipCount();
+            nextCursor = extendedPageMetadata.getNext();
+            if (extendedPageMetadata.isTotalElementsUnknown()) {
+                totalItemsUnknown = true;
+                hasMoreItems = extendedPageMetadata.hasNext();
+            }
         }
 
-        // the page number starts from zero, so it's necessary to increment by one before comparing with total pages
         return new PaginationMetadata(skipCount,
                                       basePageMetadata.getSize(),
                                       count,
-                                      basePageMetadata.getTotalPages() > basePageMetadata.getNumber() + 1,
-                                      basePageMetadata.getTotalElements());
+                                      hasMoreItems,
+                                      basePageMetadata.getTotalElements(),
+                                      nextCursor,
+                                      totalItemsUnknown);
     }
 }
@@ -15,19 +15,38 @@
  */
 package org.activiti.cloud.alfresco.data.domain;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponents;
 
 public class AlfrescoPagedModelAssembler<T> extends PagedResourcesAssembler<T> {
 
+    private static final String CURSOR_PARAMETER = "cursor";
+
+    private static final List<LinkRelation> PAGING_RELATIONS = Arrays.asList(IanaLinkRelations.FIRST,
+                                                                             IanaLinkRelations.PREV,
+                                                                             IanaLinkRelations.NEXT,
+                                                                             IanaLinkRelations.LAST);
+
     private final ExtendedPageMetadataConverter extendedPageMetadataConverter;
 
     /**
@@ -48,13 +67,63 @@ public class AlfrescoPagedModelAssembler<T> extends PagedResourcesAssembler<T> {
     public <R extends RepresentationModel<?>> PagedModel<R> toModel(Pageable pageable,
                                                                     Page<T> page,
                                                                     RepresentationModelAssembler<T, R> assembler) {
+        if (pageable instanceof KeysetPageRequest && !(page instanceof KeysetPage)) {
+            // the endpoint fetched an offset page: answering it would silently restart from the first element
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              "The cursor parameter is not supported by this endpoint");
+        }
         PagedModel<R> pagedModel = toModel(page, assembler);
-        ExtendedPageMetadata extendedPageMetadata = extendedPageMetadataConverter.toExtendedPageMetadata(pageable.getOffset(),
-                                                                                                         pagedModel.getMetadata());
+        boolean totalCountRequired = AlfrescoPageRequest.isTotalCountRequired(pageable);
+        if (page instanceof KeysetPage) {
+            return toKeysetModel(pagedModel,
+                                 ((KeysetPage<T>) page).getNextCursor(),
+                                 totalCountRequired);
+        }
+        ExtendedPageMetadata extendedPageMetadata;
+        if (totalCountRequired) {
+            extendedPageMetadata = extendedPageMetadataConverter.toExtendedPageMetadata(pageable.getOffset(),
+                                                                                        pagedModel.getMetadata());
+        } else {
+            // the total is a lower bound which only exceeds the elements fetched so far when a next page exists
+            extendedPageMetadata = extendedPageMetadataConverter.toTotalUnknownPageMetadata(pageable.getOffset(),
+                                                                                            pagedModel.getMetadata(),
+                                                                                            null,
+                                                                                            pageable.getOffset() + page.getNumberOfElements() < page.getTotalElements());
+        }
         pagedModel = new PagedModel<>(pagedModel.getContent(),
                                               extendedPageMetadata,
                                               pagedModel.getLinks());
 
         return pagedModel;
     }
+
+    /**
+     * Offset based navigation links make no sense in cursor mode: they are replaced by a single
+     * next link carrying the cursor of the following page.
+     */
+    private <R extends RepresentationModel<?>> PagedModel<R> toKeysetModel(PagedModel<R> pagedModel,
+                                                                           String nextCursor,
+                                                                           boolean totalCountRequired) {
+        ExtendedPageMetadata extendedPageMetadata = totalCountRequired
+                ? extendedPageMetadataConverter.toExtendedPageMetadata(0,
+                                                                       pagedModel.getMetadata(),
+                                                                       nextCursor)
+                : extendedPageMetadataConverter.toTotalUnknownPageMetadata(0,
+                                                                           pagedModel.getMetadata(),
+                                                                           nextCursor,
+                                                                           nextCursor != null);
+        List<Link> links = pagedModel.getLinks().stream()
+                .filter(link -> PAGING_RELATIONS.stream().noneMatch(link::hasRel))
+                .collect(Collectors.toList());
+        if (nextCursor != null) {
+            links.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest()
+                                       .replaceQueryParam(CURSOR_PARAMETER, nextCursor)
+                                       .replaceQueryParam("skipCount")
+                                       .toUriString(),
+                               IanaLinkRelations.NEXT));
+        }
+        return new PagedModel<>(pagedModel.getContent(),
+                                extendedPageMetadata,
+                                links);
+    }
 }
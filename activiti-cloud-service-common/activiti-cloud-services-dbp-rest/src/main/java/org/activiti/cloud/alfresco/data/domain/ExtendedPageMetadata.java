@@ -16,6 +16,7 @@
 package org.activiti.cloud.alfresco.data.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.hateoas.PagedModel;
 
 public class ExtendedPageMetadata extends PagedModel.PageMetadata {
@@ -23,20 +24,82 @@ public class ExtendedPageMetadata extends PagedModel.PageMetadata {
     @JsonIgnore
     private long skipCount;
 
+    /**
+     * Cursor of the following page when paging in cursor mode
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
+    /**
+     * Set when the total number of elements was not computed: the total is then only a lower bound
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean totalElementsUnknown;
+
+    @JsonIgnore
+    private boolean hasNext;
+
     public ExtendedPageMetadata(long skipCount,
                                 long size,
                                 long number,
                                 long totalElements,
                                 long totalPages) {
+        this(skipCount,
+             size,
+             number,
+             totalElements,
+             totalPages,
+             null);
+    }
+
+    public ExtendedPageMetadata(long skipCount,
+                                long size,
+                                long number,
+                                long totalElements,
+                                long totalPages,
+                                String next) {
+        this(skipCount,
+             size,
+             number,
+             totalElements,
+             totalPages,
+             next,
+             false,
+             totalPages > number + 1);
+    }
+
+    public ExtendedPageMetadata(long skipCount,
+                                long size,
+                                long number,
+                                long totalElements,
+                                long totalPages,
+                                String next,
+                                boolean totalElementsUnknown,
+                                boolean hasNext) {
         super(size,
               number,
               totalElements,
               totalPages);
         this.skipCount = skipCount;
+        this.next = next;
+        this.totalElementsUnknown = totalElementsUnknown;
+        this.hasNext = hasNext;
     }
 
     public long getSkipCount() {
         return skipCount;
     }
 
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isTotalElementsUnknown() {
+        return totalElementsUnknown;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
 }
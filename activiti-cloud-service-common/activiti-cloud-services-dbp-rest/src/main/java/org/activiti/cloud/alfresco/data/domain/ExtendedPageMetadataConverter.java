@@ -20,6 +20,26 @@ import org.springframework.hateoas.PagedModel;
 public class ExtendedPageMetadataConverter {
 
     public ExtendedPageMetadata toExtendedPageMetadata(long skipCount, PagedModel.PageMetadata basePageMetadata) {
+        return toExtendedPageMetadata(skipCount, basePageMetadata, null);
+    }
+
+    /**
+     * Builds the metadata of a page fetched without counting the matching elements: the total number of
+     * elements is flagged as unknown and only the presence of a next page is reliable.
+     */
+    public ExtendedPageMetadata toTotalUnknownPageMetadata(long skipCount, PagedModel.PageMetadata basePageMetadata, String next, boolean hasNext) {
+        ExtendedPageMetadata pageMetadata = toExtendedPageMetadata(skipCount, basePageMetadata, next);
+        return new ExtendedPageMetadata(skipCount,
+                                        pageMetadata.getSize(),
+                                        pageMetadata.getNumber(),
+                                        pageMetadata.getTotalElements(),
+                                        pageMetadata.getTotalPages(),
+                                        next,
+                                        true,
+                                        hasNext);
+    }
+
+    public ExtendedPageMetadata toExtendedPageMetadata(long skipCount, PagedModel.PageMetadata basePageMetadata, String next) {
         long totalPages = basePageMetadata.getTotalPages();
         int skipCountRemainder = Math.toIntExact(skipCount % basePageMetadata.getSize());
         if (skipCountRemainder != 0) {
@@ -35,7 +55,8 @@ public class ExtendedPageMetadataConverter {
                                         basePageMetadata.getSize(),
                                         basePageMetadata.getNumber(),
                                         basePageMetadata.getTotalElements(),
-                                        totalPages
+                                        totalPages,
+                                        next
         );
     }
 
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import java.util.List;
+
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page fetched in cursor mode, carrying the encoded cursor of the following page, if any.
+ * <p>
+ * The total number of elements only accounts for the elements from the cursor onward.
+ */
+public class KeysetPage<T> extends PageImpl<T> {
+
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content,
+                      Pageable pageable,
+                      long total,
+                      String nextCursor) {
+        super(content,
+              pageable,
+              total);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Wraps the result of a seek query fetched with {@link KeysetPageRequest#toSeekPageRequest(String)}.
+     */
+    public static <T> KeysetPage<T> of(Page<T> page,
+                                       KeysetPageRequest pageRequest,
+                                       String idProperty) {
+        return new KeysetPage<>(page.getContent(),
+                                pageRequest,
+                                page.getTotalElements(),
+                                pageRequest.nextCursor(page,
+                                                       idProperty));
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
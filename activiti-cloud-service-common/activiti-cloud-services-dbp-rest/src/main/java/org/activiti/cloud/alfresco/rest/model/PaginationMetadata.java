@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.alfresco.rest.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class PaginationMetadata {
 
     private long skipCount;
@@ -27,6 +29,15 @@ public class PaginationMetadata {
 
     private long totalItems;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * Set when the total was not computed: totalItems is then only a lower bound, while hasMoreItems stays exact
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean totalItemsUnknown;
+
     public PaginationMetadata() {
     }
 
@@ -42,6 +53,36 @@ public class PaginationMetadata {
         this.totalItems = totalItems;
     }
 
+    public PaginationMetadata(long skipCount,
+                              long maxItems,
+                              long count,
+                              boolean hasMoreItems,
+                              long totalItems,
+                              String nextCursor) {
+        this(skipCount,
+             maxItems,
+             count,
+             hasMoreItems,
+             totalItems);
+        this.nextCursor = nextCursor;
+    }
+
+    public PaginationMetadata(long skipCount,
+                              long maxItems,
+                              long count,
+                              boolean hasMoreItems,
+                              long totalItems,
+                              String nextCursor,
+                              boolean totalItemsUnknown) {
+        this(skipCount,
+             maxItems,
+             count,
+             hasMoreItems,
+             totalItems,
+             nextCursor);
+        this.totalItemsUnknown = totalItemsUnknown;
+    }
+
     public long getSkipCount() {
         return skipCount;
     }
@@ -62,4 +103,12 @@ public class PaginationMetadata {
         return totalItems;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isTotalItemsUnknown() {
+        return totalItemsUnknown;
+    }
+
 }
@@ -16,6 +16,7 @@
 package org.activiti.cloud.alfresco.argument.resolver;
 
 import java.util.Collections;
+import java.util.Date;
 
 import org.activiti.test.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,13 +24,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -148,4 +154,75 @@ public class AlfrescoPageArgumentMethodResolverTest {
         //then
         assertThat(resolvedPageable).isEqualTo(basePageable);
     }
+
+    @Test
+    public void resolveArgumentShouldReturnAKeysetPageRequestWhenCursorIsSet() throws Exception {
+        //given
+        MethodParameter methodParameter = mock(MethodParameter.class);
+        ModelAndViewContainer modelAndViewContainer = mock(ModelAndViewContainer.class);
+        NativeWebRequest webRequest = mock(NativeWebRequest.class);
+        WebDataBinderFactory binderFactory = mock(WebDataBinderFactory.class);
+
+        Pageable basePageable = PageRequest.of(0,
+                                               10,
+                                               Sort.by("createdDate"));
+        given(pageableHandlerMethodArgumentResolver.resolveArgument(methodParameter,
+                                                                    modelAndViewContainer,
+                                                                    webRequest,
+                                                                    binderFactory))
+                .willReturn(basePageable);
+        ContinuationToken cursor = new ContinuationToken("createdDate",
+                                                         new Date(1000L),
+                                                         "lastId");
+        given(pageParameterParser.parseParameters(webRequest))
+                .willReturn(new AlfrescoQueryParameters(new SkipCountParameter(false,
+                                                                               0),
+                                                        new MaxItemsParameter(true,
+                                                                              20),
+                                                        new SkipTotalCountParameter(false,
+                                                                                    false),
+                                                        new CursorParameter(true,
+                                                                            cursor.encode())));
+
+        //when
+        Pageable resolvedPageable = alfrescoPageArgumentMethodResolver.resolveArgument(methodParameter,
+                                                                                       modelAndViewContainer,
+                                                                                       webRequest,
+                                                                                       binderFactory);
+
+        //then
+        assertThat(resolvedPageable).isInstanceOf(KeysetPageRequest.class);
+        KeysetPageRequest keysetPageRequest = (KeysetPageRequest) resolvedPageable;
+        assertThat(keysetPageRequest.getCursor()).isEqualTo(cursor);
+        assertThat(keysetPageRequest.getOffset()).isZero();
+        assertThat(keysetPageRequest.getPageSize()).isEqualTo(20);
+        assertThat(keysetPageRequest.toKeysetSort("id"))
+                .containsExactly(Sort.Order.asc("createdDate").nullsLast(),
+                                 Sort.Order.asc("id"));
+    }
+
+    @Test
+    public void resolveArgumentShouldRejectAnInvalidCursor() throws Exception {
+        //given
+        MethodParameter methodParameter = mock(MethodParameter.class);
+        NativeWebRequest webRequest = mock(NativeWebRequest.class);
+
+        given(pageParameterParser.parseParameters(webRequest))
+                .willReturn(new AlfrescoQueryParameters(new SkipCountParameter(false,
+                                                                               0),
+                                                        new MaxItemsParameter(false,
+                                                                              100),
+                                                        new SkipTotalCountParameter(false,
+                                                                                    false),
+                                                        new CursorParameter(true,
+                                                                            "not a cursor")));
+
+        //then
+        assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> alfrescoPageArgumentMethodResolver.resolveArgument(methodParameter,
+                                                                                     null,
+                                                                                     webRequest,
+                                                                                     null))
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
 }
@@ -27,6 +27,7 @@ public class AlfrescoPageRequestParameterParserTest {
     private static final int DEFAULT_PAGE_SIZE = 100;
     private static final String MAX_ITEMS_KEY = "maxItems";
     private static final String SKIP_COUNT_KEY = "skipCount";
+    private static final String SKIP_TOTAL_COUNT_KEY = "skipTotalCount";
 
     private AlfrescoPageParameterParser pageParameterParser = new AlfrescoPageParameterParser(DEFAULT_PAGE_SIZE);
 
@@ -115,4 +116,33 @@ public class AlfrescoPageRequestParameterParserTest {
                 .isSet()
                 .hasValue(10);
     }
+
+    @Test
+    public void parseSkipTotalCountShouldReturnValueOfSkipTotalCountParameter() throws Exception {
+        //given
+        NativeWebRequest request = buildRequest(SKIP_TOTAL_COUNT_KEY,
+                                                "true");
+
+        //when
+        SkipTotalCountParameter skipTotalCount = pageParameterParser.parseSkipTotalCount(request);
+
+        //then
+        assertThat(skipTotalCount)
+                .isSet()
+                .hasValue(true);
+    }
+
+    @Test
+    public void parseSkipTotalCountShouldReturnFalseWhenSkipTotalCountIsNotSet() throws Exception {
+        //given
+        NativeWebRequest request = mock(NativeWebRequest.class);
+
+        //when
+        SkipTotalCountParameter skipTotalCount = pageParameterParser.parseSkipTotalCount(request);
+
+        //then
+        assertThat(skipTotalCount)
+                .isNotSet()
+                .hasValue(false);
+    }
 }
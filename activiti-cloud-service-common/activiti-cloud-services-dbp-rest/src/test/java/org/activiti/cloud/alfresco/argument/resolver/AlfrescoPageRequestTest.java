@@ -194,4 +194,25 @@ public class AlfrescoPageRequestTest {
         //then
         assertThat(pageRequest).hasSort(sort);
     }
+
+    @Test
+    public void nextShouldKeepSkippingTotalCount() throws Exception {
+        //given
+        AlfrescoPageRequest page = new AlfrescoPageRequest(0,
+                                                           10,
+                                                           PageRequest.of(0,
+                                                                          10),
+                                                           false);
+
+        //when
+        AlfrescoPageRequest next = page.next();
+
+        //then
+        assertThat(next)
+                .hasOffset(10)
+                .isNotCountTotal();
+        assertThat(AlfrescoPageRequest.isTotalCountRequired(next)).isFalse();
+        assertThat(AlfrescoPageRequest.isTotalCountRequired(PageRequest.of(0,
+                                                                           10))).isTrue();
+    }
 }
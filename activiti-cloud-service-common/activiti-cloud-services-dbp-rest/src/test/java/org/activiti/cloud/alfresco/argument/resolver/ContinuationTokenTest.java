@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ContinuationTokenTest {
+
+    @Test
+    public void decodeShouldRestoreEncodedToken() {
+        //given
+        ContinuationToken token = new ContinuationToken("createdDate",
+                                                        new Date(1593561600000L),
+                                                        "taskId");
+
+        //when
+        ContinuationToken decoded = ContinuationToken.decode(token.encode());
+
+        //then
+        assertThat(decoded).isEqualTo(token);
+    }
+
+    @Test
+    public void decodeShouldRestoreNullSortValueAndNumericId() {
+        //given
+        ContinuationToken token = new ContinuationToken("dueDate",
+                                                        null,
+                                                        42L);
+
+        //when
+        ContinuationToken decoded = ContinuationToken.decode(token.encode());
+
+        //then
+        assertThat(decoded.getSortProperty()).isEqualTo("dueDate");
+        assertThat(decoded.getSortValue()).isNull();
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    public void afterShouldReadSortValueAndIdFromElement() {
+        //given
+        Element element = new Element("id1",
+                                      Status.ASSIGNED);
+
+        //when
+        ContinuationToken token = ContinuationToken.after(element,
+                                                          "status",
+                                                          "id");
+
+        //then
+        assertThat(token.getId()).isEqualTo("id1");
+        assertThat(ContinuationToken.convert(ContinuationToken.decode(token.encode()).getSortValue(),
+                                             Status.class)).isEqualTo(Status.ASSIGNED);
+    }
+
+    @Test
+    public void decodeShouldRejectInvalidToken() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ContinuationToken.decode("AAAA"));
+    }
+
+    @Test
+    public void convertShouldNarrowNumbersToPropertyType() {
+        assertThat(ContinuationToken.convert(10L,
+                                             Integer.class)).isEqualTo(10);
+        assertThat(ContinuationToken.convert(10L,
+                                             Long.class)).isEqualTo(10L);
+    }
+
+    public enum Status {
+        CREATED,
+        ASSIGNED
+    }
+
+    public static class Element {
+
+        private String id;
+        private Status status;
+
+        public Element(String id,
+                       Status status) {
+            this.id = id;
+            this.status = status;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
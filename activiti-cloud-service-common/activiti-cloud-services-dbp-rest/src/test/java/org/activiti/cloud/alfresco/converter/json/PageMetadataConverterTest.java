@@ -79,4 +79,42 @@ public class PageMetadataConverterTest {
         assertThat(alfrescoPageMetadata).hasSkipCount(3);
     }
 
+    @Test
+    public void toAlfrescoPageMetadataShouldTakeMoreItemsFromExtendedPageMetadataWhenTotalIsUnknown() {
+        //given
+        ExtendedPageMetadata baseMetadata = new ExtendedPageMetadata(0,
+                                                                     10,
+                                                                     0,
+                                                                     11,
+                                                                     2,
+                                                                     null,
+                                                                     true,
+                                                                     true);
+
+        //when
+        PaginationMetadata alfrescoPageMetadata = converter.toAlfrescoPageMetadata(baseMetadata,
+                                                                                   10);
+
+        //then
+        assertThat(alfrescoPageMetadata)
+                .isHasMoreItems()
+                .isTotalItemsUnknown();
+    }
+
+    @Test
+    public void toAlfrescoPageMetadataShouldNotFlagTotalAsUnknownWhenItWasCounted() {
+        //given
+        PagedModel.PageMetadata basePageMetadata = new PagedModel.PageMetadata(10,
+                                                                               0,
+                                                                               11);
+
+        //when
+        PaginationMetadata alfrescoPageMetadata = converter.toAlfrescoPageMetadata(basePageMetadata,
+                                                                                   10);
+
+        //then
+        assertThat(alfrescoPageMetadata)
+                .isNotTotalItemsUnknown();
+    }
+
 }
@@ -18,6 +18,7 @@ package org.activiti.cloud.alfresco.data.domain;
 import java.util.Collections;
 
 import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -28,8 +29,10 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.hateoas.RepresentationModel;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -88,4 +91,56 @@ public class AlfrescoPagedModelAssemblerTest {
         assertThat(pagedCollectionModel.getLinks()).contains(link);
     }
 
+    @Test
+    public void toResourceShouldFlagTotalAsUnknownWhenTotalCountIsSkipped() throws Exception {
+        //given
+        AlfrescoPageRequest alfrescoPageRequest = new AlfrescoPageRequest(20,
+                                                                          10,
+                                                                          null,
+                                                                          false);
+
+        PagedModel.PageMetadata baseMetadata = new PagedModel.PageMetadata(10,
+                                                                           2,
+                                                                           31);
+        PagedModel<RepresentationModel> basePagedModel = new PagedModel<>(Collections.singletonList(new RepresentationModel()),
+                                                                          baseMetadata);
+
+        doReturn(basePagedModel).when(alfrescoPagedModelAssembler).toModel(page,
+                                                                           resourceAssembler);
+        given(page.getNumberOfElements()).willReturn(10);
+        given(page.getTotalElements()).willReturn(31L);
+        ExtendedPageMetadata extendedPageMetadata = mock(ExtendedPageMetadata.class);
+        given(extendedPageMetadataConverter.toTotalUnknownPageMetadata(20,
+                                                                       baseMetadata,
+                                                                       null,
+                                                                       true)).willReturn(extendedPageMetadata);
+
+        //when
+        PagedModel<RepresentationModel<?>> pagedCollectionModel = alfrescoPagedModelAssembler.toModel(alfrescoPageRequest,
+                                                                                                    page,
+                                                                                                    resourceAssembler);
+
+        //then
+        assertThat(pagedCollectionModel.getMetadata()).isEqualTo(extendedPageMetadata);
+    }
+
+    @Test
+    public void toResourceShouldRejectCursorWhenTheEndpointFetchedAnOffsetPage() throws Exception {
+        //given
+        KeysetPageRequest keysetPageRequest = new KeysetPageRequest(null,
+                                                                    10,
+                                                                    null,
+                                                                    true);
+
+        //when
+        Throwable throwable = catchThrowable(() -> alfrescoPagedModelAssembler.toModel(keysetPageRequest,
+                                                                                      page,
+                                                                                      resourceAssembler));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("cursor");
+    }
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.diagram;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.bpmn.model.BpmnModel;
+
+/**
+ * Two level cache for process diagrams: parsed {@link BpmnModel}s by process definition id, and
+ * rendered SVG diagrams by process definition id plus highlighted activities and flows.
+ * Process definitions are immutable once deployed, so entries are only evicted to honour the size limits.
+ */
+public class ProcessDiagramCache {
+
+    private final boolean enabled;
+    private final WeightedLruCache<String, BpmnModel> models;
+    private final WeightedLruCache<DiagramKey, String> diagrams;
+
+    public ProcessDiagramCache(ProcessDiagramCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.models = new WeightedLruCache<>("model",
+                                             properties.getMaxModels(),
+                                             model -> 1,
+                                             meterRegistry);
+        this.diagrams = new WeightedLruCache<>("diagram",
+                                               properties.getMaxDiagramsSize().toBytes(),
+                                               String::length,
+                                               meterRegistry);
+    }
+
+    /**
+     * Get the process model of a process definition, loading it on a cache miss.
+     * The returned model is shared and must not be modified.
+     * @param processDefinitionId the process definition id
+     * @param loader loads (and lays out) the model when missing
+     * @return the process model
+     */
+    public BpmnModel getBpmnModel(String processDefinitionId,
+                                  Function<String, BpmnModel> loader) {
+        if (!enabled || processDefinitionId == null) {
+            return loader.apply(processDefinitionId);
+        }
+        return models.get(processDefinitionId,
+                          loader);
+    }
+
+    /**
+     * Get the diagram of a process definition with the given highlights, rendering it on a cache miss.
+     * @param processDefinitionId the process definition id
+     * @param highLightedActivities the activity ids to highlight in diagram
+     * @param highLightedFlows the flow ids to highlight in diagram
+     * @param renderer renders the diagram when missing
+     * @return the diagram
+     */
+    public String getDiagram(String processDefinitionId,
+                             Collection<String> highLightedActivities,
+                             Collection<String> highLightedFlows,
+                             Supplier<String> renderer) {
+        if (!enabled || processDefinitionId == null) {
+            return renderer.get();
+        }
+        return diagrams.get(new DiagramKey(processDefinitionId,
+                                           highLightedActivities,
+                                           highLightedFlows),
+                            key -> renderer.get());
+    }
+
+    private static final class DiagramKey {
+
+        private final String processDefinitionId;
+        private final List<String> highLightedActivities;
+        private final List<String> highLightedFlows;
+        private final int hashCode;
+
+        private DiagramKey(String processDefinitionId,
+                           Collection<String> highLightedActivities,
+                           Collection<String> highLightedFlows) {
+            this.processDefinitionId = processDefinitionId;
+            this.highLightedActivities = sorted(highLightedActivities);
+            this.highLightedFlows = sorted(highLightedFlows);
+            this.hashCode = Objects.hash(processDefinitionId,
+                                         this.highLightedActivities,
+                                         this.highLightedFlows);
+        }
+
+        private static List<String> sorted(Collection<String> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<String> sorted = new ArrayList<>(ids);
+            Collections.sort(sorted);
+            return sorted;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DiagramKey)) {
+                return false;
+            }
+            DiagramKey other = (DiagramKey) obj;
+            return processDefinitionId.equals(other.processDefinitionId)
+                    && highLightedActivities.equals(other.highLightedActivities)
+                    && highLightedFlows.equals(other.highLightedFlows);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
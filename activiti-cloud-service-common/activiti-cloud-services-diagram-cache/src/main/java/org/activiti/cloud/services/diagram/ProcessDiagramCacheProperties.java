@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.diagram;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(ProcessDiagramCacheProperties.PREFIX)
+public class ProcessDiagramCacheProperties {
+
+    public static final String PREFIX = "activiti.diagram.cache";
+
+    /**
+     * Enable caching of parsed process models and rendered diagrams
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of parsed (and laid out) process models kept in memory
+     */
+    private int maxModels = 256;
+
+    /**
+     * Maximum total size of the rendered diagrams kept in memory
+     */
+    private DataSize maxDiagramsSize = DataSize.ofMegabytes(32);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxModels() {
+        return maxModels;
+    }
+
+    public void setMaxModels(int maxModels) {
+        this.maxModels = maxModels;
+    }
+
+    public DataSize getMaxDiagramsSize() {
+        return maxDiagramsSize;
+    }
+
+    public void setMaxDiagramsSize(DataSize maxDiagramsSize) {
+        this.maxDiagramsSize = maxDiagramsSize;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.diagram;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Least recently used cache bounded by the total weight of its values.
+ * Values are loaded outside the lock, so concurrent misses on the same key may load it twice.
+ */
+class WeightedLruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private long weight;
+
+    WeightedLruCache(String name,
+                     long maxWeight,
+                     ToLongFunction<V> weigher,
+                     MeterRegistry meterRegistry) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.hits = Counter.builder("process.diagram.cache.requests")
+                           .tag("cache", name)
+                           .tag("result", "hit")
+                           .register(meterRegistry);
+        this.misses = Counter.builder("process.diagram.cache.requests")
+                             .tag("cache", name)
+                             .tag("result", "miss")
+                             .register(meterRegistry);
+        this.evictions = Counter.builder("process.diagram.cache.evictions")
+                                .tag("cache", name)
+                                .register(meterRegistry);
+        Gauge.builder("process.diagram.cache.size", this, cache -> cache.size())
+             .tag("cache", name)
+             .register(meterRegistry);
+        Gauge.builder("process.diagram.cache.weight", this, cache -> cache.weight())
+             .tag("cache", name)
+             .register(meterRegistry);
+    }
+
+    V get(K key,
+          Function<K, V> loader) {
+        V value;
+        synchronized (this) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized void put(K key,
+                                  V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += valueWeight;
+
+        // the entry just added is the most recently used, so it is the last one to go
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= weigher.applyAsLong(eldest.next().getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+}
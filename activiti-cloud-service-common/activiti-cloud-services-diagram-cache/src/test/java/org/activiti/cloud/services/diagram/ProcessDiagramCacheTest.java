@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.diagram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.activiti.bpmn.model.BpmnModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessDiagramCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProcessDiagramCacheProperties properties;
+
+    private AtomicInteger renderings;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ProcessDiagramCacheProperties();
+        renderings = new AtomicInteger();
+    }
+
+    @Test
+    public void getBpmnModelShouldLoadModelOnlyOnce() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(properties, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        BpmnModel first = cache.getBpmnModel("def", id -> {
+            loads.incrementAndGet();
+            return new BpmnModel();
+        });
+        BpmnModel second = cache.getBpmnModel("def", id -> {
+            loads.incrementAndGet();
+            return new BpmnModel();
+        });
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("process.diagram.cache.requests")
+                                .tag("cache", "model")
+                                .tag("result", "hit")
+                                .counter()
+                                .count()).isEqualTo(1);
+    }
+
+    @Test
+    public void getDiagramShouldIgnoreHighlightsOrder() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(properties, meterRegistry);
+
+        //when
+        cache.getDiagram("def", asList("a", "b"), asList("f1", "f2"), this::render);
+        String diagram = cache.getDiagram("def", asList("b", "a"), asList("f2", "f1"), this::render);
+
+        //then
+        assertThat(diagram).isEqualTo("<svg>1</svg>");
+        assertThat(renderings).hasValue(1);
+    }
+
+    @Test
+    public void getDiagramShouldRenderAgainForDifferentHighlights() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(properties, meterRegistry);
+
+        //when
+        cache.getDiagram("def", asList("a"), emptyList(), this::render);
+        String diagram = cache.getDiagram("def", asList("b"), emptyList(), this::render);
+
+        //then
+        assertThat(diagram).isEqualTo("<svg>2</svg>");
+        assertThat(renderings).hasValue(2);
+    }
+
+    @Test
+    public void getDiagramShouldEvictLeastRecentlyUsedWhenFull() {
+        //given
+        properties.setMaxDiagramsSize(DataSize.ofBytes(24));
+        ProcessDiagramCache cache = new ProcessDiagramCache(properties, meterRegistry);
+        cache.getDiagram("first", emptyList(), emptyList(), this::render);
+        cache.getDiagram("second", emptyList(), emptyList(), this::render);
+
+        //when
+        cache.getDiagram("first", emptyList(), emptyList(), this::render);
+        cache.getDiagram("third", emptyList(), emptyList(), this::render);
+        cache.getDiagram("first", emptyList(), emptyList(), this::render);
+        cache.getDiagram("second", emptyList(), emptyList(), this::render);
+
+        //then
+        assertThat(renderings).hasValue(4);
+        assertThat(meterRegistry.get("process.diagram.cache.evictions")
+                                .tag("cache", "diagram")
+                                .counter()
+                                .count()).isEqualTo(2);
+    }
+
+    @Test
+    public void getDiagramShouldAlwaysRenderWhenDisabled() {
+        //given
+        properties.setEnabled(false);
+        ProcessDiagramCache cache = new ProcessDiagramCache(properties, meterRegistry);
+
+        //when
+        cache.getDiagram("def", emptyList(), emptyList(), this::render);
+        cache.getDiagram("def", emptyList(), emptyList(), this::render);
+
+        //then
+        assertThat(renderings).hasValue(2);
+    }
+
+    private String render() {
+        return "<svg>" + renderings.incrementAndGet() + "</svg>";
+    }
+}
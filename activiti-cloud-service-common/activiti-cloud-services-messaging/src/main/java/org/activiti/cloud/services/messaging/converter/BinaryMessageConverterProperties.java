@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messaging.converter;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(BinaryMessageConverterProperties.PREFIX)
+public class BinaryMessageConverterProperties {
+
+    public static final String PREFIX = "activiti.cloud.messaging.binary";
+
+    /**
+     * Register the Smile and CBOR message converters, used by the bindings whose content type is
+     * application/x-jackson-smile or application/cbor
+     */
+    private boolean enabled = true;
+
+    /**
+     * Event attributes moved into message headers when the content type has the metadata=headers parameter
+     */
+    private List<String> metadataFields = Arrays.asList("appName",
+                                                        "serviceName",
+                                                        "serviceFullName",
+                                                        "serviceType",
+                                                        "serviceVersion");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getMetadataFields() {
+        return metadataFields;
+    }
+
+    public void setMetadataFields(List<String> metadataFields) {
+        this.metadataFields = metadataFields;
+    }
+}
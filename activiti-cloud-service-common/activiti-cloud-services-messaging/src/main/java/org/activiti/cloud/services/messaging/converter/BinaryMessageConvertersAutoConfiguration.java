@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messaging.converter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.stream.annotation.StreamMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MessageConverter;
+
+/**
+ * Registers the binary stream message converters. The object mappers are built from the application
+ * {@link Jackson2ObjectMapperBuilder}, so the event type mappings of the model modules apply to every format.
+ */
+@Configuration
+@ConditionalOnClass({SmileFactory.class, CBORFactory.class, StreamMessageConverter.class})
+@ConditionalOnProperty(name = BinaryMessageConverterProperties.PREFIX + ".enabled", matchIfMissing = true)
+@EnableConfigurationProperties(BinaryMessageConverterProperties.class)
+public class BinaryMessageConvertersAutoConfiguration {
+
+    @Bean
+    @StreamMessageConverter
+    @ConditionalOnMissingBean(name = "smileMessageConverter")
+    public MessageConverter smileMessageConverter(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                                                  BinaryMessageConverterProperties properties) {
+        return new JacksonBinaryMessageConverter(objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::new)
+                                                                    .factory(new SmileFactory())
+                                                                    .build(),
+                                                 JacksonBinaryMessageConverter.APPLICATION_SMILE,
+                                                 properties.getMetadataFields());
+    }
+
+    @Bean
+    @StreamMessageConverter
+    @ConditionalOnMissingBean(name = "cborMessageConverter")
+    public MessageConverter cborMessageConverter(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                                                 BinaryMessageConverterProperties properties) {
+        return new JacksonBinaryMessageConverter(objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::new)
+                                                                    .factory(new CBORFactory())
+                                                                    .build(),
+                                                 JacksonBinaryMessageConverter.APPLICATION_CBOR,
+                                                 properties.getMetadataFields());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messaging.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Jackson message converter for binary data formats such as Smile or CBOR, selected per binding
+ * through its content type. Two optional content type parameters shrink the payload further:
+ * <ul>
+ * <li>{@code compression=gzip} compresses the whole encoded payload</li>
+ * <li>{@code metadata=headers} removes the service metadata attributes from every event when they
+ * match the message headers of the same name, and restores them from the headers on the consumer side</li>
+ * </ul>
+ * Consumers pick the converter from the content type header of each message, so a producer can switch
+ * format without breaking JSON consumers of other bindings.
+ */
+public class JacksonBinaryMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType APPLICATION_SMILE = new MimeType("application", "x-jackson-smile");
+
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+
+    public static final String COMPRESSION = "compression";
+
+    public static final String GZIP = "gzip";
+
+    public static final String METADATA = "metadata";
+
+    public static final String HEADERS = "headers";
+
+    private final ObjectMapper objectMapper;
+    private final List<String> metadataFields;
+
+    public JacksonBinaryMessageConverter(ObjectMapper objectMapper,
+                                         MimeType mimeType,
+                                         List<String> metadataFields) {
+        super(mimeType);
+        this.objectMapper = objectMapper;
+        this.metadataFields = metadataFields;
+        // never claim messages without a content type, those are left to the default JSON converter
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message,
+                                         Class<?> targetClass,
+                                         Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[])) {
+            return null;
+        }
+        MimeType mimeType = getMimeType(message.getHeaders());
+        try {
+            byte[] payload = isCompressed(mimeType) ? decompress((byte[]) message.getPayload()) : (byte[]) message.getPayload();
+            JavaType javaType = getJavaType(targetClass,
+                                            conversionHint);
+            if (hasMetadataInHeaders(mimeType)) {
+                JsonNode tree = objectMapper.readTree(payload);
+                restoreMetadata(tree,
+                                message.getHeaders());
+                return objectMapper.readerFor(javaType)
+                                   .readValue(tree);
+            }
+            return objectMapper.readValue(payload,
+                                          javaType);
+        } catch (IOException e) {
+            throw new MessageConversionException(message,
+                                                 "Could not read " + mimeType + " payload: " + e.getMessage(),
+                                                 e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload,
+                                       MessageHeaders headers,
+                                       Object conversionHint) {
+        MimeType mimeType = getMimeType(headers);
+        try {
+            byte[] encoded;
+            if (headers != null && hasMetadataInHeaders(mimeType)) {
+                JsonNode tree = objectMapper.valueToTree(payload);
+                removeMetadata(tree,
+                               headers);
+                encoded = objectMapper.writeValueAsBytes(tree);
+            } else {
+                encoded = objectMapper.writeValueAsBytes(payload);
+            }
+            return isCompressed(mimeType) ? compress(encoded) : encoded;
+        } catch (IOException e) {
+            throw new MessageConversionException("Could not write " + mimeType + " payload: " + e.getMessage(),
+                                                 e);
+        }
+    }
+
+    protected void restoreMetadata(JsonNode tree,
+                                   MessageHeaders headers) {
+        for (JsonNode element : tree.isArray() ? tree : List.of(tree)) {
+            if (element instanceof ObjectNode) {
+                ObjectNode event = (ObjectNode) element;
+                for (String field : metadataFields) {
+                    Object value = headers.get(field);
+                    if (value != null && !event.has(field)) {
+                        event.put(field,
+                                  value.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    protected void removeMetadata(JsonNode tree,
+                                  MessageHeaders headers) {
+        for (JsonNode element : tree.isArray() ? tree : List.of(tree)) {
+            if (element instanceof ObjectNode) {
+                ObjectNode event = (ObjectNode) element;
+                for (String field : metadataFields) {
+                    Object value = headers.get(field);
+                    // only values that can be restored from the headers are removed
+                    if (value != null && event.path(field).isTextual() && value.toString().equals(event.get(field).textValue())) {
+                        event.remove(field);
+                    }
+                }
+            }
+        }
+    }
+
+    private JavaType getJavaType(Class<?> targetClass,
+                                 Object conversionHint) {
+        if (conversionHint instanceof MethodParameter) {
+            MethodParameter parameter = ((MethodParameter) conversionHint).nestedIfOptional();
+            if (Message.class.isAssignableFrom(parameter.getParameterType())) {
+                parameter = parameter.nested();
+            }
+            Type type = GenericTypeResolver.resolveType(parameter.getNestedGenericParameterType(),
+                                                        parameter.getContainingClass());
+            return objectMapper.getTypeFactory().constructType(type);
+        }
+        return objectMapper.constructType(targetClass);
+    }
+
+    private boolean isCompressed(MimeType mimeType) {
+        return mimeType != null && GZIP.equalsIgnoreCase(mimeType.getParameter(COMPRESSION));
+    }
+
+    private boolean hasMetadataInHeaders(MimeType mimeType) {
+        return mimeType != null && HEADERS.equalsIgnoreCase(mimeType.getParameter(METADATA));
+    }
+
+    private byte[] compress(byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 2 + 32);
+        try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        return compressed.toByteArray();
+    }
+
+    private byte[] decompress(byte[] payload) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return StreamUtils.copyToByteArray(gzip);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messaging.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+public class JacksonBinaryMessageConverterTest {
+
+    private ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private JacksonBinaryMessageConverter converter = new JacksonBinaryMessageConverter(smileMapper,
+                                                                                        JacksonBinaryMessageConverter.APPLICATION_SMILE,
+                                                                                        Arrays.asList("appName",
+                                                                                                      "serviceName"));
+
+    @Test
+    public void shouldRoundTripSmilePayload() throws Exception {
+        //given
+        MessageHeaders headers = headers("application/x-jackson-smile");
+
+        //when
+        Message<?> message = converter.toMessage(Arrays.asList(event("1"), event("2")),
+                                                 headers);
+
+        //then
+        assertThat(message.getPayload()).isInstanceOf(byte[].class);
+        assertThat(smileMapper.readValue((byte[]) message.getPayload(), List.class)).hasSize(2);
+        assertThat((List<?>) converter.fromMessage(message, List.class)).containsExactly(event("1"),
+                                                                                       event("2"));
+    }
+
+    @Test
+    public void shouldMoveMetadataToHeadersAndCompress() throws Exception {
+        //given
+        MessageHeaders headers = headers("application/x-jackson-smile;compression=gzip;metadata=headers");
+
+        //when
+        Message<?> message = converter.toMessage(Arrays.asList(event("1"), event("2")),
+                                                 headers);
+
+        //then
+        byte[] payload = (byte[]) message.getPayload();
+        assertThat(payload[0]).isEqualTo((byte) 0x1f);
+        assertThat(payload[1]).isEqualTo((byte) 0x8b);
+        assertThat((List<?>) converter.fromMessage(message, List.class)).containsExactly(event("1"),
+                                                                                       event("2"));
+    }
+
+    @Test
+    public void shouldOnlyRemoveMetadataMatchingHeaders() {
+        //given
+        MessageHeaders headers = headers("application/x-jackson-smile;metadata=headers");
+        Map<String, Object> event = event("1");
+        event.put("serviceName", "other-rb");
+
+        //when
+        Message<?> message = converter.toMessage(Arrays.asList(event),
+                                                 headers);
+        List<?> result = (List<?>) new JacksonBinaryMessageConverter(smileMapper,
+                                                                     JacksonBinaryMessageConverter.APPLICATION_SMILE,
+                                                                     Arrays.asList()).fromMessage(message, List.class);
+
+        //then
+        assertThat(result).hasSize(1);
+        assertThat((Map<?, ?>) result.get(0)).doesNotContainKey("appName")
+                                            .containsEntry("serviceName", "other-rb");
+    }
+
+    @Test
+    public void shouldIgnoreMessagesWithOtherContentType() {
+        //given
+        Message<byte[]> message = MessageBuilder.withPayload("[]".getBytes())
+                                                .setHeader(MessageHeaders.CONTENT_TYPE, "application/json")
+                                                .build();
+
+        //then
+        assertThat(converter.fromMessage(message, List.class)).isNull();
+    }
+
+    private MessageHeaders headers(String contentType) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(MessageHeaders.CONTENT_TYPE, contentType);
+        headers.put("appName", "app");
+        headers.put("serviceName", "rb");
+        return new MessageHeaders(headers);
+    }
+
+    private Map<String, Object> event(String id) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("id", id);
+        event.put("eventType", "PROCESS_STARTED");
+        event.put("appName", "app");
+        event.put("serviceName", "rb");
+        return event;
+    }
+}